@@ -35,6 +35,7 @@ import io.prestosql.plugin.jdbc.WriteMapping;
 import io.prestosql.plugin.jdbc.optimization.JdbcConverterContext;
 import io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule;
 import io.prestosql.plugin.jdbc.optimization.JdbcQueryGeneratorResult;
+import io.prestosql.plugin.jdbc.optimization.JdbcQueryGeneratorResult.GeneratedSql;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.SuppressFBWarnings;
 import io.prestosql.spi.connector.ColumnHandle;
@@ -431,6 +432,14 @@ public class ClickHouseClient
             throws SQLException
     {
         if (table.getGeneratedSql().isPresent()) {
+            GeneratedSql generatedSql = table.getGeneratedSql().get();
+            String sql = generatedSql.getSql();
+            Optional<String> additionalPredicate = split.getAdditionalPredicate();
+            if (additionalPredicate.isPresent() && generatedSql.isSplittable()) {
+                // the split predicate selects rows of the table scanned by the pushed down query
+                sql = generatedSql.getSql(additionalPredicate.get());
+                additionalPredicate = Optional.empty();
+            }
             // openLooKeng: If the sub-query is pushed down, use it as the table
             return new ClickHouseQueryBuilder(identifierQuote, true).buildSql(
                     this,
@@ -438,10 +447,10 @@ public class ClickHouseClient
                     connection,
                     null,
                     null,
-                    table.getGeneratedSql().get().getSql(),
+                    sql,
                     columns,
                     table.getConstraint(),
-                    split.getAdditionalPredicate(),
+                    additionalPredicate,
                     tryApplyLimit(table.getLimit()));
         }
         return new ClickHouseQueryBuilder(identifierQuote).buildSql(
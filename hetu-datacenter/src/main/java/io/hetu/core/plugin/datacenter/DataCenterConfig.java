@@ -24,6 +24,8 @@ import io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule;
 import io.prestosql.spi.function.Mandatory;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import java.net.URI;
@@ -48,6 +50,10 @@ public class DataCenterConfig
 
     private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 20;
 
+    private static final int DEFAULT_PREFETCH_BUFFER_SIZE_MB = 16;
+
+    private static final int DEFAULT_PREFETCH_THREADS = 16;
+
     private URI connectionUrl;
 
     private String connectionUser = System.getProperty("user.name");
@@ -123,6 +129,12 @@ public class DataCenterConfig
 
     private Duration updateThreshold = new Duration(1, TimeUnit.MINUTES);
 
+    private DataSize prefetchBufferSize = new DataSize(DEFAULT_PREFETCH_BUFFER_SIZE_MB, DataSize.Unit.MEGABYTE);
+
+    private int splitCount; // 0 means the split count is decided by the remote data center
+
+    private int prefetchThreads = DEFAULT_PREFETCH_THREADS;
+
     @NotNull
     public URI getConnectionUrl()
     {
@@ -844,4 +856,67 @@ public class DataCenterConfig
         this.maxIdleConnections = maxIdleConnectionsParameter;
         return this;
     }
+
+    @NotNull
+    public DataSize getPrefetchBufferSize()
+    {
+        return this.prefetchBufferSize;
+    }
+
+    /**
+     * set the maximum size of the pages prefetched by a split from the remote data center.
+     *
+     * @param prefetchBufferSizeParameter maximum size of the prefetched pages.
+     * @return DataCenterConfig object
+     */
+    @Config("dc.prefetch.buffer.size")
+    @ConfigDescription("Maximum size of the pages that a split prefetches from the remote data center before they are processed")
+    public DataCenterConfig setPrefetchBufferSize(DataSize prefetchBufferSizeParameter)
+    {
+        this.prefetchBufferSize = prefetchBufferSizeParameter;
+        return this;
+    }
+
+    @Min(0)
+    @Max(100)
+    public int getSplitCount()
+    {
+        return this.splitCount;
+    }
+
+    /**
+     * set the number of splits that read the results of a remote query in parallel.
+     *
+     * @param splitCountParameter number of splits, 0 to use the split count of the remote data center.
+     * @return DataCenterConfig object
+     */
+    @Config("dc.split.count")
+    @ConfigDescription("Number of splits that read the results of a remote query in parallel, "
+            + "0 to use the value of hetu.data.center.split.count of the remote data center")
+    public DataCenterConfig setSplitCount(int splitCountParameter)
+    {
+        this.splitCount = splitCountParameter;
+        return this;
+    }
+
+    @Min(1)
+    public int getPrefetchThreads()
+    {
+        return this.prefetchThreads;
+    }
+
+    /**
+     * set the number of threads that prefetch pages from the remote data center.
+     *
+     * @param prefetchThreadsParameter number of prefetch threads of the connector.
+     * @return DataCenterConfig object
+     */
+    @Config("dc.prefetch.threads")
+    @ConfigDescription("Number of threads of the connector that prefetch pages from the remote data center, "
+            + "the splits of all the queries share them")
+    public DataCenterConfig setPrefetchThreads(int prefetchThreadsParameter)
+    {
+        this.prefetchThreads = prefetchThreadsParameter;
+        return this;
+    }
 }
@@ -16,6 +16,7 @@
 package io.hetu.core.plugin.datacenter;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.airlift.bootstrap.LifeCycleManager;
 import io.airlift.log.Logger;
 import io.hetu.core.plugin.datacenter.client.DataCenterClient;
@@ -39,9 +40,11 @@ import javax.inject.Inject;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static io.hetu.core.plugin.datacenter.DataCenterTransactionHandle.INSTANCE;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 
 /**
  * Data center connector.
@@ -65,6 +68,8 @@ public class DataCenterConnector
 
     private final OkHttpClient httpClient;
 
+    private final ExecutorService pageFetchExecutor;
+
     private final ConnectorPlanOptimizer planOptimizer;
 
     /**
@@ -85,7 +90,10 @@ public class DataCenterConnector
         this.httpClient = DataCenterStatementClientFactory.newHttpClient(dataCenterConfig);
         this.dataCenterClient = new DataCenterClient(dataCenterConfig, this.httpClient, typeManager);
         this.splitManager = new DataCenterSplitManager(dataCenterConfig, this.dataCenterClient);
-        this.pageSourceProvider = new DataCenterPageSourceProvider(dataCenterConfig, this.httpClient, typeManager);
+        this.pageFetchExecutor = newFixedThreadPool(dataCenterConfig.getPrefetchThreads(),
+                new ThreadFactoryBuilder().setNameFormat("dc-page-fetcher-%s").setDaemon(true).build());
+        this.pageSourceProvider = new DataCenterPageSourceProvider(dataCenterConfig, this.httpClient, typeManager,
+                this.pageFetchExecutor);
         this.planOptimizer = planOptimizer;
         if (dataCenterConfig.isMetadataCacheEnabled()) {
             this.metadata = new CachedConnectorMetadata(new DataCenterMetadata(dataCenterClient, dataCenterConfig),
@@ -154,6 +162,7 @@ public class DataCenterConnector
         catch (Exception e) {
             log.error(e, "Error shutting down connector");
         }
+        this.pageFetchExecutor.shutdownNow();
         this.httpClient.dispatcher().executorService().shutdown();
         this.httpClient.connectionPool().evictAll();
     }
@@ -40,6 +40,8 @@ public class DataCenterSplitManager
 
     private final GlobalQueryIdGenerator globalQueryIdGenerator;
 
+    private final int splitCount;
+
     /**
      * Constructor of data center split manager.
      *
@@ -50,6 +52,7 @@ public class DataCenterSplitManager
     {
         this.client = client;
         this.globalQueryIdGenerator = new GlobalQueryIdGenerator(Optional.ofNullable(config.getRemoteClusterId()));
+        this.splitCount = config.getSplitCount();
     }
 
     @Override
@@ -57,7 +60,8 @@ public class DataCenterSplitManager
             ConnectorTableHandle connectorTableHandle, SplitSchedulingStrategy splitSchedulingStrategy)
     {
         String queryId = globalQueryIdGenerator.createId();
-        int splitCount = this.client.getSplits(queryId);
+        // every split registers its own consumer of the remote query, the consumers share the results of the query
+        int splitCount = this.splitCount > 0 ? this.splitCount : this.client.getSplits(queryId);
         List<ConnectorSplit> splits = new ArrayList<>(splitCount);
         for (int i = 0; i < splitCount; i++) {
             splits.add(new DataCenterSplit(queryId));
@@ -17,6 +17,8 @@ package io.hetu.core.plugin.datacenter.pagesource;
 
 import com.google.common.collect.ImmutableMap;
 import io.airlift.log.Logger;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
 import io.prestosql.client.DataCenterClientSession;
 import io.prestosql.client.DataCenterStatementClient;
 import io.prestosql.spi.Page;
@@ -29,17 +31,34 @@ import io.prestosql.spi.dynamicfilter.DynamicFilterSupplier;
 import io.prestosql.spi.dynamicfilter.HashSetDynamicFilter;
 import okhttp3.OkHttpClient;
 
+import javax.annotation.concurrent.GuardedBy;
+
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.units.DataSize.succinctBytes;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Data center page source.
+ * <p>
+ * Pages of the remote query are prefetched by a background task into a buffer of bounded size, so that the driver
+ * does not wait on the remote data center while it processes the pages that have already arrived. The read time
+ * reported by this page source is the time spent fetching from the remote data center, which makes the completed
+ * bytes over the read time the transfer rate of the split.
  *
  * @since 2020-02-11
  */
@@ -48,15 +67,27 @@ public class DataCenterPageSource
 {
     private static final Logger LOGGER = Logger.get(DataCenterPageSource.class);
 
-    private final long startTime;
+    private final String queryId;
     private final int numberOfColumns;
-    private DataCenterStatementClient client;
-    private long readBytes;
-    private long lastMemoryUsage;
-    private Queue<Page> pages = new LinkedList<>();
+    private final DataCenterStatementClient client;
+    private final Executor executor;
+    private final long maxBufferedBytes;
+    private final AtomicLong readBytes = new AtomicLong();
+    private final AtomicLong readTimeNanos = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
     private final Optional<DynamicFilterSupplier> dynamicFilterSupplier;
     private final Set<String> appliedDynamicFilters = new HashSet<>();
 
+    @GuardedBy("this")
+    private final Queue<Page> pages = new ArrayDeque<>();
+    @GuardedBy("this")
+    private long bufferedBytes;
+    @GuardedBy("this")
+    private boolean fetching;
+    @GuardedBy("this")
+    private CompletableFuture<?> blocked = NOT_BLOCKED;
+    private volatile boolean closed;
+
     /**
      * Constructor of data center page source.
      *
@@ -65,38 +96,54 @@ public class DataCenterPageSource
      * @param sql sql statement.
      * @param queryId id of query that user issued.
      * @param columns columns of sql.
+     * @param dynamicFilterSupplier supplier of the dynamic filters to send to the remote data center.
+     * @param executor executor of the tasks that prefetch pages from the remote data center.
+     * @param maxBufferedSize maximum size of the prefetched pages that are not consumed yet.
      */
     public DataCenterPageSource(OkHttpClient httpClient, DataCenterClientSession clientSession, String sql,
-            String queryId, List<ColumnHandle> columns)
+            String queryId, List<ColumnHandle> columns, Optional<DynamicFilterSupplier> dynamicFilterSupplier,
+            Executor executor, DataSize maxBufferedSize)
     {
-        this(httpClient, clientSession, sql, queryId, columns, null);
-    }
-
-    public DataCenterPageSource(OkHttpClient httpClient, DataCenterClientSession clientSession, String sql,
-            String queryId, List<ColumnHandle> columns, Optional<DynamicFilterSupplier> dynamicFilterSupplier)
-    {
-        this.startTime = System.nanoTime();
+        this.queryId = queryId;
         this.client = DataCenterStatementClient.newStatementClient(httpClient, clientSession, sql, queryId);
         this.numberOfColumns = columns.size();
-        this.dynamicFilterSupplier = dynamicFilterSupplier;
+        this.dynamicFilterSupplier = requireNonNull(dynamicFilterSupplier, "dynamicFilterSupplier is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        this.maxBufferedBytes = requireNonNull(maxBufferedSize, "maxBufferedSize is null").toBytes();
     }
 
     @Override
     public long getCompletedBytes()
     {
-        return this.readBytes;
+        return this.readBytes.get();
     }
 
     @Override
     public long getReadTimeNanos()
     {
-        return System.nanoTime() - this.startTime;
+        return this.readTimeNanos.get();
+    }
+
+    @Override
+    public synchronized boolean isFinished()
+    {
+        return this.failure.get() == null && this.pages.isEmpty() && !this.fetching
+                && (this.closed || !this.client.isRunning());
     }
 
     @Override
-    public boolean isFinished()
+    public CompletableFuture<?> isBlocked()
     {
-        return this.pages.isEmpty() && !this.client.isRunning();
+        scheduleFetch();
+        synchronized (this) {
+            if (this.failure.get() != null || !this.pages.isEmpty() || !this.fetching) {
+                return NOT_BLOCKED;
+            }
+            if (this.blocked.isDone()) {
+                this.blocked = new CompletableFuture<>();
+            }
+            return this.blocked;
+        }
     }
 
     @Override
@@ -108,18 +155,79 @@ public class DataCenterPageSource
             applyDynamicFilters(dynamicFilterSupplier.get().getDynamicFilters().get(0));
         }
 
-        if (!this.pages.isEmpty()) {
-            return processPage(this.pages.poll());
+        Throwable throwable = this.failure.get();
+        if (throwable != null) {
+            throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
         }
-        if (this.client.isRunning()) {
-            List<Page> pageList = client.getPages();
-            if (pageList != null && !pageList.isEmpty()) {
-                this.update(pageList);
-                this.pages.addAll(pageList);
+
+        Page page;
+        synchronized (this) {
+            page = this.pages.poll();
+            if (page != null) {
+                this.bufferedBytes -= page.getRetainedSizeInBytes();
             }
-            this.client.advance();
         }
-        return null;
+        // keep the buffer filled while the page is processed
+        scheduleFetch();
+        return page == null ? null : processPage(page);
+    }
+
+    private void scheduleFetch()
+    {
+        synchronized (this) {
+            if (this.fetching || this.closed || this.failure.get() != null || this.bufferedBytes >= this.maxBufferedBytes
+                    || !this.client.isRunning()) {
+                return;
+            }
+            this.fetching = true;
+        }
+        try {
+            this.executor.execute(this::fetch);
+        }
+        catch (RejectedExecutionException e) {
+            this.failure.compareAndSet(null, e);
+            fetchDone();
+        }
+    }
+
+    private void fetch()
+    {
+        long start = System.nanoTime();
+        try {
+            while (!this.closed && this.client.isRunning()) {
+                List<Page> pageList = this.client.getPages();
+                if (pageList != null && !pageList.isEmpty()) {
+                    this.addPages(pageList);
+                }
+                this.client.advance();
+                synchronized (this) {
+                    if (this.bufferedBytes >= this.maxBufferedBytes) {
+                        break;
+                    }
+                }
+            }
+        }
+        catch (RuntimeException e) {
+            // failures caused by closing the client are expected
+            if (!this.closed) {
+                this.failure.compareAndSet(null, e);
+            }
+        }
+        finally {
+            this.readTimeNanos.addAndGet(System.nanoTime() - start);
+            fetchDone();
+        }
+    }
+
+    private void fetchDone()
+    {
+        CompletableFuture<?> future;
+        synchronized (this) {
+            this.fetching = false;
+            future = this.blocked;
+        }
+        future.complete(null);
     }
 
     private void applyDynamicFilters(Map<ColumnHandle, DynamicFilter> dynamicFilters)
@@ -168,7 +276,7 @@ public class DataCenterPageSource
         }
     }
 
-    private void update(List<Page> pageList)
+    private void addPages(List<Page> pageList)
     {
         long bytes = 0L;
         long memory = 0L;
@@ -176,20 +284,44 @@ public class DataCenterPageSource
             bytes += page.getSizeInBytes();
             memory += page.getRetainedSizeInBytes();
         }
-        this.readBytes += bytes;
-        this.lastMemoryUsage = memory;
+        this.readBytes.addAndGet(bytes);
+
+        CompletableFuture<?> future;
+        synchronized (this) {
+            this.pages.addAll(pageList);
+            this.bufferedBytes += memory;
+            future = this.blocked;
+        }
+        future.complete(null);
     }
 
     @Override
-    public long getSystemMemoryUsage()
+    public synchronized long getSystemMemoryUsage()
     {
-        return this.lastMemoryUsage;
+        return this.bufferedBytes;
     }
 
     @Override
     public void close()
             throws IOException
     {
+        this.closed = true;
         this.client.close();
+
+        CompletableFuture<?> future;
+        synchronized (this) {
+            this.pages.clear();
+            this.bufferedBytes = 0;
+            future = this.blocked;
+        }
+        future.complete(null);
+
+        if (LOGGER.isDebugEnabled()) {
+            long nanos = this.readTimeNanos.get();
+            long bytesPerSecond = nanos == 0 ? 0 : (long) (this.readBytes.get() * 1_000_000_000.0 / nanos);
+            LOGGER.debug("Split of query %s read %s from the remote data center in %s (%s/s)", this.queryId,
+                    succinctBytes(this.readBytes.get()), new Duration(nanos, NANOSECONDS).convertToMostSuccinctTimeUnit(),
+                    succinctBytes(bytesPerSecond));
+        }
     }
 }
@@ -69,7 +69,10 @@ public class TestDataCenterConfig
                 .setCompressionEnabled(false)
                 .setMaxAnticipatedDelay(new Duration(10, TimeUnit.MINUTES))
                 .setUpdateThreshold(new Duration(1, TimeUnit.MINUTES))
-                .setMaxIdleConnections(20));
+                .setMaxIdleConnections(20)
+                .setPrefetchBufferSize(DataSize.valueOf("16MB"))
+                .setSplitCount(0)
+                .setPrefetchThreads(16));
     }
 
     @Test
@@ -110,6 +113,9 @@ public class TestDataCenterConfig
                 .put("dc.max.anticipated.delay", "5s")
                 .put("hetu.dc.catalog.update.threshold", "2m")
                 .put("dc.httpclient.maximum.idle.connections", "10")
+                .put("dc.prefetch.buffer.size", "64MB")
+                .put("dc.split.count", "8")
+                .put("dc.prefetch.threads", "4")
                 .build();
 
         DataCenterConfig expected = new DataCenterConfig().setConnectionUrl(URI.create("http://127.0.0.1:9002"))
@@ -145,7 +151,10 @@ public class TestDataCenterConfig
                 .setCompressionEnabled(true)
                 .setMaxAnticipatedDelay(new Duration(5, TimeUnit.SECONDS))
                 .setUpdateThreshold(new Duration(2, TimeUnit.MINUTES))
-                .setMaxIdleConnections(10);
+                .setMaxIdleConnections(10)
+                .setPrefetchBufferSize(DataSize.valueOf("64MB"))
+                .setSplitCount(8)
+                .setPrefetchThreads(4);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
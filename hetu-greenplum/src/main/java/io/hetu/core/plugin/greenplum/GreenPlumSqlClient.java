@@ -78,6 +78,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -483,14 +484,23 @@ public class GreenPlumSqlClient
         return true;
     }
 
+    @Override
+    public Optional<String> buildMultiRowInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return Optional.of(buildMultiRowValuesInsertSql(handle, rowCount));
+    }
+
     private static ColumnMapping timestampWithTimeZoneColumnMapping()
     {
         return ColumnMapping.longMapping(
                 TIMESTAMP_WITH_TIME_ZONE,
                 (resultSet, columnIndex) -> {
                     // PostgreSQL does not store zone information in "timestamp with time zone" data type
-                    long millisUtc = resultSet.getTimestamp(columnIndex).getTime();
-                    return packDateTimeWithZone(millisUtc, UTC_KEY);
+                    Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+                    if (timestamp == null) {
+                        return 0;
+                    }
+                    return packDateTimeWithZone(timestamp.getTime(), UTC_KEY);
                 },
                 timestampWithTimeZoneWriteFunction());
     }
@@ -515,7 +525,11 @@ public class GreenPlumSqlClient
     private static BlockReadFunction arrayReadFunction(ConnectorSession session, Type elementType)
     {
         return (resultSet, columnIndex) -> {
-            Object[] objectArray = toBoxedArray(resultSet.getArray(columnIndex).getArray());
+            Array array = resultSet.getArray(columnIndex);
+            if (array == null) {
+                return null;
+            }
+            Object[] objectArray = toBoxedArray(array.getArray());
             return jdbcObjectArrayToBlock(session, elementType, objectArray);
         };
     }
@@ -551,7 +565,10 @@ public class GreenPlumSqlClient
     {
         return ColumnMapping.sliceMapping(
                 jsonType,
-                (resultSet, columnIndex) -> jsonParse(utf8Slice(resultSet.getString(columnIndex))),
+                (resultSet, columnIndex) -> {
+                    String value = resultSet.getString(columnIndex);
+                    return value == null ? null : jsonParse(utf8Slice(value));
+                },
                 typedVarcharWriteFunction("json"),
                 DISABLE_PUSHDOWN);
     }
@@ -560,7 +577,10 @@ public class GreenPlumSqlClient
     {
         return ColumnMapping.sliceMapping(
                 VarcharType.VARCHAR,
-                (resultSet, columnIndex) -> utf8Slice(resultSet.getString(columnIndex)),
+                (resultSet, columnIndex) -> {
+                    String value = resultSet.getString(columnIndex);
+                    return value == null ? null : utf8Slice(value);
+                },
                 typedVarcharWriteFunction(jdbcTypeName));
     }
 
@@ -591,7 +611,10 @@ public class GreenPlumSqlClient
     {
         return ColumnMapping.sliceMapping(
                 uuidType,
-                (resultSet, columnIndex) -> uuidSlice((UUID) resultSet.getObject(columnIndex)),
+                (resultSet, columnIndex) -> {
+                    UUID value = (UUID) resultSet.getObject(columnIndex);
+                    return value == null ? null : uuidSlice(value);
+                },
                 uuidWriteFunction());
     }
 
@@ -364,8 +364,10 @@ public class HanaClient
     private static ColumnMapping hanaSmallDecimalColumnMapping()
     {
         // JDBC driver can return BigDecimal with lower scale than column's scale when there are trailing zeroes
-        return ColumnMapping.doubleMapping(DOUBLE, (resultSet,
-                        columnIndex) -> hanaEncodeShortScaledShortDecimalValue(resultSet.getBigDecimal(columnIndex)),
+        return ColumnMapping.doubleMapping(DOUBLE, (resultSet, columnIndex) -> {
+            BigDecimal value = resultSet.getBigDecimal(columnIndex);
+            return value == null ? 0 : hanaEncodeShortScaledShortDecimalValue(value);
+        },
                 hanaShortDecimalWriteFunction());
     }
 
@@ -15,16 +15,20 @@
 package io.hetu.core.heuristicindex;
 
 import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
 import io.hetu.core.filesystem.HetuLocalFileSystemClient;
 import io.hetu.core.filesystem.LocalConfig;
 import io.hetu.core.heuristicindex.util.IndexConstants;
 import io.hetu.core.heuristicindex.util.IndexServiceUtils;
 import io.prestosql.spi.HetuConstant;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.CreateIndexMetadata;
 import io.prestosql.spi.filesystem.HetuFileSystemClient;
 import io.prestosql.spi.heuristicindex.Index;
 import io.prestosql.spi.heuristicindex.IndexWriter;
 import io.prestosql.spi.heuristicindex.Pair;
+import io.prestosql.spi.type.Type;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -33,15 +37,18 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -49,6 +56,8 @@ import java.util.stream.Collectors;
 import static io.prestosql.spi.HetuConstant.DATASOURCE_PAGE_NUMBER;
 import static io.prestosql.spi.HetuConstant.DATASOURCE_STRIPE_OFFSET;
 import static io.prestosql.spi.HetuConstant.DATASOURCE_TOTAL_PAGES;
+import static io.prestosql.spi.heuristicindex.TypeUtils.getActualValue;
+import static java.lang.Double.doubleToLongBits;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -68,6 +77,9 @@ public class FileIndexWriter
     private final String dataSourceFileLastModifiedTime;
     // "stripe offset" -> (column name -> list<entry<page values, page number>>)
     private final Map<Long, Map<String, List<Map.Entry<List<Object>, Integer>>>> indexPages;
+    // "stripe offset" -> (column name -> list<entry<page block, page number>>), for the pages added with their blocks
+    private final Map<Long, Map<String, List<Map.Entry<Block, Integer>>>> indexBlocks;
+    private final Map<String, Type> columnTypes;
     private final Map<Long, AtomicInteger> pageCountExpected;
     private final CreateIndexMetadata createIndexMetadata;
     private final HetuFileSystemClient fs;
@@ -88,6 +100,8 @@ public class FileIndexWriter
         this.fs = requireNonNull(fs);
         this.root = root;
         this.indexPages = new ConcurrentHashMap<>();
+        this.indexBlocks = new ConcurrentHashMap<>();
+        this.columnTypes = new ConcurrentHashMap<>();
         this.pageCountExpected = new ConcurrentHashMap<>();
     }
 
@@ -111,6 +125,41 @@ public class FileIndexWriter
                     .add(new AbstractMap.SimpleEntry(e.getValue(), Integer.parseInt(connectorMetadata.getProperty(DATASOURCE_PAGE_NUMBER))));
         }
 
+        pageAdded(stripeOffset, connectorMetadata);
+    }
+
+    /**
+     * This method IS thread-safe. Multiple operators can add data to one writer in parallel.
+     * <p>
+     * The blocks of the page are cached as they are, and handed to the index once all pages of the stripe
+     * have been received, so the values are never converted to Java objects one by one.
+     *
+     * @param page              page holding one channel for each indexed column
+     * @param columns           name and type of the indexed columns, in the order of the page channels
+     * @param connectorMetadata metadata for the index
+     */
+    @Override
+    public void addData(Page page, List<Pair<String, Type>> columns, Properties connectorMetadata)
+            throws IOException
+    {
+        long stripeOffset = Long.parseLong(connectorMetadata.getProperty(DATASOURCE_STRIPE_OFFSET));
+        int pageNumber = Integer.parseInt(connectorMetadata.getProperty(DATASOURCE_PAGE_NUMBER));
+
+        // Add blocks first
+        Map<String, List<Map.Entry<Block, Integer>>> stripeBlocks = indexBlocks.computeIfAbsent(stripeOffset, k -> new ConcurrentHashMap<>());
+        for (int channel = 0; channel < page.getChannelCount(); channel++) {
+            String column = columns.get(channel).getFirst();
+            columnTypes.putIfAbsent(column, columns.get(channel).getSecond());
+            stripeBlocks.computeIfAbsent(column, k -> Collections.synchronizedList(new LinkedList<>()))
+                    .add(new AbstractMap.SimpleEntry<>(page.getBlock(channel).getLoadedBlock(), pageNumber));
+        }
+
+        pageAdded(stripeOffset, connectorMetadata);
+    }
+
+    private void pageAdded(long stripeOffset, Properties connectorMetadata)
+            throws IOException
+    {
         // Update page count
         int current = pageCountExpected.computeIfAbsent(stripeOffset, k -> new AtomicInteger()).decrementAndGet();
         if (connectorMetadata.getProperty(DATASOURCE_TOTAL_PAGES) != null) {
@@ -123,7 +172,12 @@ public class FileIndexWriter
         // Check page count to know if all pages have been received for a stripe. Persist and delete values if true to save memory
         if (pageCountExpected.get(stripeOffset).get() == 0) {
             synchronized (pageCountExpected.get(stripeOffset)) {
-                if (indexPages.containsKey(stripeOffset)) {
+                if (indexBlocks.containsKey(stripeOffset)) {
+                    LOG.debug("All pages for offset %d have been received. Persisting.", stripeOffset);
+                    persistStripeBlocks(stripeOffset, indexBlocks.get(stripeOffset));
+                    indexBlocks.remove(stripeOffset);
+                }
+                else if (indexPages.containsKey(stripeOffset)) {
                     LOG.debug("All pages for offset %d have been received. Persisting.", stripeOffset);
                     // sort the stripe's pages and collect the values into a single list
                     List<Pair<String, List<Object>>> columnValuesMap = new ArrayList<>();
@@ -172,6 +226,9 @@ public class FileIndexWriter
     public long persist()
             throws IOException
     {
+        for (Long offset : indexBlocks.keySet()) {
+            LOG.error("Offset %d data is NOT PERSISTED. Current page count: %d. Check debug log.", offset, pageCountExpected.get(offset).get());
+        }
         for (Long offset : indexPages.keySet()) {
             LOG.error("Offset %d data is NOT PERSISTED. Current page count: %d. Check debug log.", offset, pageCountExpected.get(offset).get());
         }
@@ -202,12 +259,6 @@ public class FileIndexWriter
     private void persistStripe(Long offset, List<Pair<String, List<Object>>> stripeData)
             throws IOException
     {
-        synchronized (this) {
-            if (tmpPath == null) {
-                tmpPath = Files.createTempDirectory("tmp-indexwriter-");
-            }
-        }
-
         // Get sum of expected entries
         int expectedNumEntries = 0;
         for (Pair<String, List<Object>> l : stripeData) {
@@ -215,16 +266,125 @@ public class FileIndexWriter
         }
 
         // Create index and put values
-        try (Index index = HeuristicIndexFactory.createIndex(createIndexMetadata.getIndexType())) {
-            index.setProperties(createIndexMetadata.getProperties());
-            index.setExpectedNumOfEntries(expectedNumEntries);
+        try (Index index = createIndex(expectedNumEntries)) {
             index.addValues(stripeData);
+            writeStripeIndex(offset, index);
+        }
+    }
+
+    private void persistStripeBlocks(Long offset, Map<String, List<Map.Entry<Block, Integer>>> stripeBlocks)
+            throws IOException
+    {
+        // sort the blocks of each column based on page numbers
+        Map<String, List<Block>> columnBlocks = new HashMap<>();
+        for (Map.Entry<String, List<Map.Entry<Block, Integer>>> entry : stripeBlocks.entrySet()) {
+            entry.getValue().sort(Comparator.comparingInt(Map.Entry::getValue));
+            columnBlocks.put(entry.getKey(), entry.getValue().stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+        }
+
+        if (columnBlocks.size() != 1) {
+            // composite indexes take the values of all columns at once
+            List<Pair<String, List<Object>>> stripeData = new ArrayList<>();
+            for (Map.Entry<String, List<Block>> entry : columnBlocks.entrySet()) {
+                stripeData.add(new Pair<>(entry.getKey(), getValues(columnTypes.get(entry.getKey()), entry.getValue())));
+            }
+            persistStripe(offset, stripeData);
+            return;
+        }
+
+        Map.Entry<String, List<Block>> column = columnBlocks.entrySet().iterator().next();
+        Type type = columnTypes.get(column.getKey());
+        try (Index index = createIndex(countDistinctValues(type, column.getValue()))) {
+            index.addValues(column.getKey(), column.getValue(), type);
+            writeStripeIndex(offset, index);
+        }
+    }
+
+    private Index createIndex(int expectedNumEntries)
+    {
+        Index index = HeuristicIndexFactory.createIndex(createIndexMetadata.getIndexType());
+        index.setProperties(createIndexMetadata.getProperties());
+        index.setExpectedNumOfEntries(expectedNumEntries);
+        return index;
+    }
+
+    private void writeStripeIndex(Long offset, Index index)
+            throws IOException
+    {
+        synchronized (this) {
+            if (tmpPath == null) {
+                tmpPath = Files.createTempDirectory("tmp-indexwriter-");
+            }
+        }
+
+        // Persist one index (e.g. 3.bloom)
+        String indexFileName = offset + "." + index.getId();
+        try (OutputStream os = LOCAL_FS_CLIENT.newOutputStream(tmpPath.resolve(indexFileName))) {
+            index.serialize(os);
+        }
+    }
 
-            // Persist one index (e.g. 3.bloom)
-            String indexFileName = offset + "." + index.getId();
-            try (OutputStream os = LOCAL_FS_CLIENT.newOutputStream(tmpPath.resolve(indexFileName))) {
-                index.serialize(os);
+    private static List<Object> getValues(Type type, List<Block> blocks)
+    {
+        List<Object> values = new ArrayList<>();
+        for (Block block : blocks) {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                values.add(getActualValue(type, block, position));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Counts the distinct values of the blocks, null included, like the size of a set of the values would.
+     * Values of primitive types are sorted instead of being added to a set one by one.
+     */
+    static int countDistinctValues(Type type, List<Block> blocks)
+    {
+        Class<?> javaType = type.getJavaType();
+        boolean hasNull = false;
+
+        if (javaType == long.class || javaType == double.class) {
+            long[] values = new long[blocks.stream().mapToInt(Block::getPositionCount).sum()];
+            int count = 0;
+            for (Block block : blocks) {
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (block.isNull(position)) {
+                        hasNull = true;
+                    }
+                    else if (javaType == long.class) {
+                        values[count++] = type.getLong(block, position);
+                    }
+                    else {
+                        values[count++] = doubleToLongBits(type.getDouble(block, position));
+                    }
+                }
+            }
+
+            Arrays.sort(values, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || values[i] != values[i - 1]) {
+                    distinct++;
+                }
+            }
+            return hasNull ? distinct + 1 : distinct;
+        }
+
+        Set<Object> values = new HashSet<>();
+        for (Block block : blocks) {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                if (block.isNull(position)) {
+                    hasNull = true;
+                }
+                else if (javaType == Slice.class) {
+                    values.add(type.getSlice(block, position));
+                }
+                else {
+                    values.add(getActualValue(type, block, position));
+                }
             }
         }
+        return hasNull ? values.size() + 1 : values.size();
     }
 }
@@ -22,6 +22,12 @@ import io.prestosql.spi.function.BuiltInFunctionHandle;
 import io.prestosql.spi.function.OperatorType;
 import io.prestosql.spi.function.Signature;
 import io.prestosql.spi.relation.CallExpression;
+import io.prestosql.spi.type.BigintType;
+import io.prestosql.spi.type.DateType;
+import io.prestosql.spi.type.IntegerType;
+import io.prestosql.spi.type.SmallintType;
+import io.prestosql.spi.type.TinyintType;
+import io.prestosql.spi.type.Type;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.compress.utils.IOUtils;
@@ -293,6 +299,22 @@ public class IndexServiceUtils
         return input == null ? null : input.toString().replace("\"", "").replace("'", "");
     }
 
+    /**
+     * Checks if the values of the type are indexed as the long read from the block, i.e. if
+     * {@link io.prestosql.spi.heuristicindex.TypeUtils#getActualValue} returns that long unchanged.
+     *
+     * @param type type of the indexed column
+     * @return true if the values can be read with {@link Type#getLong} and used as they are
+     */
+    public static boolean isLongValueType(Type type)
+    {
+        return type instanceof BigintType
+                || type instanceof IntegerType
+                || type instanceof SmallintType
+                || type instanceof TinyintType
+                || type instanceof DateType;
+    }
+
     public static GroupSerializer getSerializer(String type)
     {
         switch (type) {
@@ -16,6 +16,7 @@ package io.hetu.core.plugin.heuristicindex.index.bitmap;
 
 import com.google.common.collect.ImmutableSet;
 import io.airlift.log.Logger;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.CreateIndexMetadata;
 import io.prestosql.spi.heuristicindex.Index;
 import io.prestosql.spi.heuristicindex.Pair;
@@ -23,8 +24,10 @@ import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.Marker;
 import io.prestosql.spi.predicate.Range;
 import io.prestosql.spi.predicate.SortedRangeSet;
+import io.prestosql.spi.type.Type;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.mapdb.BTreeMap;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
@@ -61,6 +64,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.hetu.core.heuristicindex.util.IndexServiceUtils.extractType;
 import static io.hetu.core.heuristicindex.util.IndexServiceUtils.getSerializer;
+import static io.hetu.core.heuristicindex.util.IndexServiceUtils.isLongValueType;
 import static io.prestosql.spi.heuristicindex.TypeUtils.getActualValue;
 
 /**
@@ -128,13 +132,7 @@ public class BitmapIndex
             throws IOException
     {
         checkClosed();
-
-        // values can only be added once
-        if (!updateAllowed.getAndSet(false)) {
-            throw new UnsupportedOperationException("Unable to update index. " +
-                    "An existing Btree index can not be updated because all values must be added together since the " +
-                    "position of the values is important.");
-        }
+        checkUpdateAllowed();
 
         if (values.size() != 1) {
             throw new UnsupportedOperationException("Only single column is supported.");
@@ -142,23 +140,78 @@ public class BitmapIndex
 
         List<Object> columnValues = values.get(0).getSecond();
 
-        Map<Object, ArrayList<Integer>> positions = new HashMap<>();
+        Map<Object, RoaringBitmap> positions = new HashMap<>();
 
         for (int i = 0; i < columnValues.size(); i++) {
             Object value = columnValues.get(i);
             if (value != null) {
-                positions.computeIfAbsent(value, k -> new ArrayList<>()).add(i);
+                positions.computeIfAbsent(value, k -> new RoaringBitmap()).add(i);
             }
         }
 
+        writeBitmaps(positions);
+        return true;
+    }
+
+    @Override
+    public boolean addValues(String column, List<Block> blocks, Type type)
+            throws IOException
+    {
+        if (!isLongValueType(type)) {
+            return Index.super.addValues(column, blocks, type);
+        }
+
+        checkClosed();
+        checkUpdateAllowed();
+
+        // group the positions by the primitive values, so only the distinct values are boxed
+        Long2ObjectOpenHashMap<RoaringBitmap> valuePositions = new Long2ObjectOpenHashMap<>();
+        int offset = 0;
+        for (Block block : blocks) {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                if (block.isNull(position)) {
+                    continue;
+                }
+                long value = type.getLong(block, position);
+                RoaringBitmap bitmap = valuePositions.get(value);
+                if (bitmap == null) {
+                    bitmap = new RoaringBitmap();
+                    valuePositions.put(value, bitmap);
+                }
+                bitmap.add(offset + position);
+            }
+            offset += block.getPositionCount();
+        }
+
+        Map<Object, RoaringBitmap> positions = new HashMap<>(valuePositions.size());
+        for (Long2ObjectMap.Entry<RoaringBitmap> entry : valuePositions.long2ObjectEntrySet()) {
+            positions.put(entry.getLongKey(), entry.getValue());
+        }
+
+        writeBitmaps(positions);
+        return true;
+    }
+
+    private void checkUpdateAllowed()
+    {
+        // values can only be added once
+        if (!updateAllowed.getAndSet(false)) {
+            throw new UnsupportedOperationException("Unable to update index. " +
+                    "An existing Btree index can not be updated because all values must be added together since the " +
+                    "position of the values is important.");
+        }
+    }
+
+    private void writeBitmaps(Map<Object, RoaringBitmap> positions)
+            throws IOException
+    {
         if (positions.isEmpty()) {
-            return true;
+            return;
         }
 
         List<kotlin.Pair> bitmaps = new ArrayList<>(positions.size());
-        for (Map.Entry<Object, ArrayList<Integer>> e : positions.entrySet()) {
-            int[] valuePositions = ArrayUtils.toPrimitive(e.getValue().toArray(new Integer[0]));
-            RoaringBitmap rr = RoaringBitmap.bitmapOf(valuePositions);
+        for (Map.Entry<Object, RoaringBitmap> e : positions.entrySet()) {
+            RoaringBitmap rr = e.getValue();
             rr.runOptimize();
             ByteArrayOutputStream bos = new ByteArrayOutputStream();
             DataOutputStream dos = new DataOutputStream(bos);
@@ -170,8 +223,6 @@ public class BitmapIndex
         }
         Collections.sort(bitmaps, (o1, o2) -> ((Comparable) o1.component1()).compareTo(o2.component1()));
         getBtreeWriteOptimized(bitmaps.iterator().next().component1(), bitmaps.iterator());
-
-        return true;
     }
 
     @Override
@@ -18,12 +18,25 @@ package io.hetu.core.plugin.heuristicindex.index.bloom;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.CreateIndexMetadata;
 import io.prestosql.spi.heuristicindex.Index;
 import io.prestosql.spi.heuristicindex.Pair;
 import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.relation.CallExpression;
+import io.prestosql.spi.type.CharType;
+import io.prestosql.spi.type.DoubleType;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.VarcharType;
 import io.prestosql.spi.util.BloomFilter;
+import it.unimi.dsi.fastutil.doubles.DoubleIterator;
+import it.unimi.dsi.fastutil.doubles.DoubleOpenHashSet;
+import it.unimi.dsi.fastutil.doubles.DoubleSet;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import java.io.File;
 import java.io.IOException;
@@ -39,6 +52,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
 
+import static io.hetu.core.heuristicindex.util.IndexServiceUtils.isLongValueType;
 import static io.hetu.core.heuristicindex.util.IndexServiceUtils.matchCallExpEqual;
 import static io.prestosql.spi.heuristicindex.TypeUtils.getActualValue;
 
@@ -97,6 +111,60 @@ public class BloomIndex
         return true;
     }
 
+    @Override
+    public synchronized boolean addValues(String column, List<Block> blocks, Type type)
+            throws IOException
+    {
+        if (!isLongValueType(type) && !(type instanceof DoubleType) && !(type instanceof VarcharType) && !(type instanceof CharType)) {
+            return Index.super.addValues(column, blocks, type);
+        }
+
+        // the filter holds the UTF-8 bytes of the string form of the values, like the values added as objects.
+        // Values are deduplicated first, numbers as primitives so that only the distinct values are converted
+        // to strings, and strings as the slices of their bytes in the blocks.
+        BloomFilter bloomFilter = getFilterFromMemory();
+        if (isLongValueType(type)) {
+            LongSet distinctValues = new LongOpenHashSet();
+            for (Block block : blocks) {
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (!block.isNull(position)) {
+                        distinctValues.add(type.getLong(block, position));
+                    }
+                }
+            }
+            for (LongIterator iterator = distinctValues.iterator(); iterator.hasNext(); ) {
+                bloomFilter.add(Long.toString(iterator.nextLong()).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        else if (type instanceof DoubleType) {
+            DoubleSet distinctValues = new DoubleOpenHashSet();
+            for (Block block : blocks) {
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (!block.isNull(position)) {
+                        distinctValues.add(type.getDouble(block, position));
+                    }
+                }
+            }
+            for (DoubleIterator iterator = distinctValues.iterator(); iterator.hasNext(); ) {
+                bloomFilter.add(Double.toString(iterator.nextDouble()).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        else {
+            Set<Slice> distinctValues = new ObjectOpenHashSet<>();
+            for (Block block : blocks) {
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (!block.isNull(position)) {
+                        distinctValues.add(type.getSlice(block, position));
+                    }
+                }
+            }
+            for (Slice value : distinctValues) {
+                bloomFilter.add(value);
+            }
+        }
+        return true;
+    }
+
     @Override
     public synchronized boolean matches(Object expression)
     {
@@ -17,6 +17,7 @@ package io.hetu.core.plugin.heuristicindex.index.minmax;
 
 import com.google.common.collect.ImmutableSet;
 import io.hetu.core.common.util.SecureObjectInputStream;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.CreateIndexMetadata;
 import io.prestosql.spi.function.BuiltInFunctionHandle;
 import io.prestosql.spi.function.OperatorType;
@@ -24,6 +25,8 @@ import io.prestosql.spi.function.Signature;
 import io.prestosql.spi.heuristicindex.Index;
 import io.prestosql.spi.heuristicindex.Pair;
 import io.prestosql.spi.relation.CallExpression;
+import io.prestosql.spi.type.DoubleType;
+import io.prestosql.spi.type.Type;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,6 +40,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import static io.hetu.core.heuristicindex.util.IndexConstants.TYPES_WHITELIST;
+import static io.hetu.core.heuristicindex.util.IndexServiceUtils.isLongValueType;
 import static io.prestosql.spi.heuristicindex.TypeUtils.extractValueFromRowExpression;
 
 /**
@@ -98,21 +102,78 @@ public class MinMaxIndex
             }
 
             Comparable value = (Comparable) v;
-            if (min == null && max == null) {
-                min = value;
-                max = value;
-            }
-            else {
-                if (value.compareTo(min) < 0) {
-                    min = value;
+            addRange(value, value);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addValues(String column, List<Block> blocks, Type type)
+            throws IOException
+    {
+        if (isLongValueType(type)) {
+            boolean hasValue = false;
+            long blocksMin = Long.MAX_VALUE;
+            long blocksMax = Long.MIN_VALUE;
+            for (Block block : blocks) {
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (!block.isNull(position)) {
+                        long value = type.getLong(block, position);
+                        blocksMin = Math.min(blocksMin, value);
+                        blocksMax = Math.max(blocksMax, value);
+                        hasValue = true;
+                    }
                 }
+            }
+            if (hasValue) {
+                addRange(blocksMin, blocksMax);
+            }
+            return true;
+        }
 
-                if (value.compareTo(max) > 0) {
-                    max = value;
+        if (type instanceof DoubleType) {
+            boolean hasValue = false;
+            double blocksMin = 0;
+            double blocksMax = 0;
+            for (Block block : blocks) {
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (!block.isNull(position)) {
+                        // compare like Double#compareTo, which orders the boxed values added as objects
+                        double value = type.getDouble(block, position);
+                        if (!hasValue || Double.compare(value, blocksMin) < 0) {
+                            blocksMin = value;
+                        }
+                        if (!hasValue || Double.compare(value, blocksMax) > 0) {
+                            blocksMax = value;
+                        }
+                        hasValue = true;
+                    }
                 }
             }
+            if (hasValue) {
+                addRange(blocksMin, blocksMax);
+            }
+            return true;
+        }
+
+        return Index.super.addValues(column, blocks, type);
+    }
+
+    private void addRange(Comparable rangeMin, Comparable rangeMax)
+    {
+        if (min == null && max == null) {
+            min = rangeMin;
+            max = rangeMax;
+        }
+        else {
+            if (rangeMin.compareTo(min) < 0) {
+                min = rangeMin;
+            }
+
+            if (rangeMax.compareTo(max) > 0) {
+                max = rangeMax;
+            }
         }
-        return true;
     }
 
     @Override
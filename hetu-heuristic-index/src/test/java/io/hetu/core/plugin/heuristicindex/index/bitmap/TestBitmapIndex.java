@@ -16,6 +16,8 @@ package io.hetu.core.plugin.heuristicindex.index.bitmap;
 
 import com.google.common.collect.ImmutableList;
 import io.hetu.core.common.filesystem.TempFolder;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.heuristicindex.Pair;
 import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.Range;
@@ -116,6 +118,45 @@ public class TestBitmapIndex
         }
     }
 
+    @Test
+    public void testBlocks() throws IOException
+    {
+        try (TempFolder folder = new TempFolder();
+                BitmapIndex bitmapIndexWrite = new BitmapIndex();
+                BitmapIndex bitmapIndexRead = new BitmapIndex()) {
+            folder.create();
+            File file = folder.newFile();
+
+            BlockBuilder first = BigintType.BIGINT.createBlockBuilder(null, 3);
+            BigintType.BIGINT.writeLong(first, 3);
+            first.appendNull();
+            BigintType.BIGINT.writeLong(first, 1024);
+            BlockBuilder second = BigintType.BIGINT.createBlockBuilder(null, 2);
+            BigintType.BIGINT.writeLong(second, 3);
+            BigintType.BIGINT.writeLong(second, 2048);
+            List<Block> blocks = ImmutableList.of(first.build(), second.build());
+
+            bitmapIndexWrite.setExpectedNumOfEntries(5);
+            bitmapIndexWrite.addValues("column", blocks, BigintType.BIGINT);
+
+            try (FileOutputStream os = new FileOutputStream(file); FileInputStream is = new FileInputStream(file)) {
+                bitmapIndexWrite.serialize(os);
+                bitmapIndexRead.deserialize(is);
+            }
+
+            // positions continue across the blocks
+            assertEquals(iteratorToList(bitmapIndexRead.lookUp(
+                    Domain.create(ValueSet.ofRanges(equal(BigintType.BIGINT, 3L)), false))),
+                    ImmutableList.of(0, 3));
+            assertEquals(iteratorToList(bitmapIndexRead.lookUp(
+                    Domain.create(ValueSet.ofRanges(equal(BigintType.BIGINT, 2048L)), false))),
+                    ImmutableList.of(4));
+            assertEquals(iteratorToList(bitmapIndexRead.lookUp(
+                    Domain.create(ValueSet.ofRanges(equal(BigintType.BIGINT, 0L)), false))),
+                    ImmutableList.of());
+        }
+    }
+
     @Test
     public void testLargeEntries() throws IOException
     {
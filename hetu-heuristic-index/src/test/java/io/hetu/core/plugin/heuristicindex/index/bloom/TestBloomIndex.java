@@ -16,6 +16,7 @@ package io.hetu.core.plugin.heuristicindex.index.bloom;
 
 import com.google.common.collect.ImmutableList;
 import io.hetu.core.common.filesystem.TempFolder;
+import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.function.OperatorType;
 import io.prestosql.spi.heuristicindex.Pair;
 import io.prestosql.spi.predicate.Domain;
@@ -38,6 +39,7 @@ import java.util.Properties;
 import java.util.Random;
 import java.util.UUID;
 
+import static io.airlift.slice.Slices.utf8Slice;
 import static io.hetu.core.HeuristicIndexTestUtils.simplePredicate;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.DoubleType.DOUBLE;
@@ -90,6 +92,48 @@ public class TestBloomIndex
         }
     }
 
+    @Test
+    public void testAddBlocks()
+            throws IOException
+    {
+        try (TempFolder folder = new TempFolder();
+                BloomIndex stringBloomIndex = new BloomIndex();
+                BloomIndex longBloomIndex = new BloomIndex()) {
+            folder.create();
+
+            BlockBuilder strings = VARCHAR.createBlockBuilder(null, 3);
+            VARCHAR.writeSlice(strings, utf8Slice("a"));
+            strings.appendNull();
+            VARCHAR.writeSlice(strings, utf8Slice("测试"));
+            stringBloomIndex.setExpectedNumOfEntries(2);
+            stringBloomIndex.addValues("testColumn", ImmutableList.of(strings.build()), VARCHAR);
+
+            BlockBuilder longs = BIGINT.createBlockBuilder(null, 2);
+            BIGINT.writeLong(longs, 12);
+            BIGINT.writeLong(longs, -3);
+            longBloomIndex.setExpectedNumOfEntries(2);
+            longBloomIndex.addValues("testColumn", ImmutableList.of(longs.build()), BIGINT);
+
+            for (BloomIndex index : ImmutableList.of(stringBloomIndex, longBloomIndex)) {
+                File testFile = folder.newFile();
+                try (FileOutputStream fo = new FileOutputStream(testFile)) {
+                    index.serialize(fo);
+                }
+                try (FileInputStream fi = new FileInputStream(testFile)) {
+                    index.deserialize(fi);
+                }
+            }
+
+            // the values added from blocks match the same predicates as the values added as objects
+            assertTrue(stringBloomIndex.matches(simplePredicate(OperatorType.EQUAL, "testColumn", VARCHAR, "a")));
+            assertTrue(stringBloomIndex.matches(simplePredicate(OperatorType.EQUAL, "testColumn", VARCHAR, "测试")));
+            assertFalse(stringBloomIndex.matches(simplePredicate(OperatorType.EQUAL, "testColumn", VARCHAR, "e")));
+            assertTrue(longBloomIndex.matches(simplePredicate(OperatorType.EQUAL, "testColumn", BIGINT, 12L)));
+            assertTrue(longBloomIndex.matches(simplePredicate(OperatorType.EQUAL, "testColumn", BIGINT, -3L)));
+            assertFalse(longBloomIndex.matches(simplePredicate(OperatorType.EQUAL, "testColumn", BIGINT, 4L)));
+        }
+    }
+
     @Test
     public void testDomainMatching()
             throws IOException
@@ -16,6 +16,7 @@ package io.hetu.core.plugin.heuristicindex.index.minmax;
 
 import com.google.common.collect.ImmutableList;
 import io.hetu.core.common.filesystem.TempFolder;
+import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.function.OperatorType;
 import io.prestosql.spi.heuristicindex.Pair;
 import io.prestosql.spi.relation.RowExpression;
@@ -60,6 +61,26 @@ public class TestMinMaxIndex
         assertTrue(minMaxIndex.matches(expression5));
     }
 
+    @Test
+    public void testAddBlocks()
+            throws IOException
+    {
+        BlockBuilder first = BIGINT.createBlockBuilder(null, 3);
+        BIGINT.writeLong(first, 10);
+        first.appendNull();
+        BIGINT.writeLong(first, -5);
+        BlockBuilder second = BIGINT.createBlockBuilder(null, 1);
+        BIGINT.writeLong(second, 100);
+
+        MinMaxIndex minMaxIndex = new MinMaxIndex();
+        minMaxIndex.addValues("testColumn", ImmutableList.of(first.build(), second.build()), BIGINT);
+
+        assertFalse(minMaxIndex.matches(simplePredicate(OperatorType.LESS_THAN, "testColumn", BIGINT, -5L)));
+        assertTrue(minMaxIndex.matches(simplePredicate(OperatorType.EQUAL, "testColumn", BIGINT, -5L)));
+        assertTrue(minMaxIndex.matches(simplePredicate(OperatorType.EQUAL, "testColumn", BIGINT, 100L)));
+        assertFalse(minMaxIndex.matches(simplePredicate(OperatorType.GREATER_THAN, "testColumn", BIGINT, 100L)));
+    }
+
     @Test
     public void testContains()
     {
@@ -30,6 +30,7 @@ import io.prestosql.plugin.jdbc.optimization.JdbcConverterContext;
 import io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule;
 import io.prestosql.plugin.jdbc.optimization.JdbcPushDownParameter;
 import io.prestosql.plugin.jdbc.optimization.JdbcQueryGeneratorResult;
+import io.prestosql.plugin.jdbc.optimization.JdbcQueryGeneratorResult.GeneratedSql;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ConnectorSession;
@@ -118,6 +119,14 @@ public class KylinClient
             throws SQLException
     {
         if (table.getGeneratedSql().isPresent()) {
+            GeneratedSql generatedSql = table.getGeneratedSql().get();
+            String sql = generatedSql.getSql();
+            Optional<String> additionalPredicate = split.getAdditionalPredicate();
+            if (additionalPredicate.isPresent() && generatedSql.isSplittable()) {
+                // the split predicate selects rows of the table scanned by the pushed down query
+                sql = generatedSql.getSql(additionalPredicate.get());
+                additionalPredicate = Optional.empty();
+            }
             // Hetu: If the query is pushed down, use it as the table
             return new QueryBuilder(KylinConstants.KYLIN_IDENTIFIER_QUOTE, true).buildSql(
                     this,
@@ -125,10 +134,10 @@ public class KylinClient
                     connection,
                     null,
                     null,
-                    table.getGeneratedSql().get().getSql(),
+                    sql,
                     columns,
                     table.getConstraint(),
-                    split.getAdditionalPredicate(),
+                    additionalPredicate,
                     tryApplyLimit(table.getLimit()));
         }
         return new QueryBuilder(KylinConstants.KYLIN_IDENTIFIER_QUOTE).buildSql(
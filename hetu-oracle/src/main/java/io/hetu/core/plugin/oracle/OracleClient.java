@@ -244,8 +244,10 @@ public class OracleClient
     private static ColumnMapping charColumnMapping(CharType charType)
     {
         requireNonNull(charType, "charType is null");
-        return ColumnMapping.sliceMapping(charType, (resultSet, columnIndex) -> utf8Slice(
-                CharMatcher.is(' ').trimTrailingFrom(resultSet.getString(columnIndex))), charWriteFunction(charType.getLength()));
+        return ColumnMapping.sliceMapping(charType, (resultSet, columnIndex) -> {
+            String value = resultSet.getString(columnIndex);
+            return value == null ? null : utf8Slice(CharMatcher.is(' ').trimTrailingFrom(value));
+        }, charWriteFunction(charType.getLength()));
     }
 
     private static SliceWriteFunction charWriteFunction(int charTypeLength)
@@ -651,11 +653,17 @@ public class OracleClient
         int scale = decimalType.getScale();
         if (decimalType.isShort()) {
             return ColumnMapping.longMapping(decimalType,
-                    (resultSet, columnIndex) -> encodeShortScaledValue(resultSet.getBigDecimal(columnIndex), scale),
+                    (resultSet, columnIndex) -> {
+                        BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                        return value == null ? 0 : encodeShortScaledValue(value, scale);
+                    },
                     shortDecimalWriteFunction(decimalType));
         }
         return ColumnMapping.sliceMapping(decimalType,
-                (resultSet, columnIndex) -> encodeScaledValue(resultSet.getBigDecimal(columnIndex), scale),
+                (resultSet, columnIndex) -> {
+                    BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                    return value == null ? null : encodeScaledValue(value, scale);
+                },
                 longDecimalWriteFunction(decimalType));
     }
 
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.transport.execution.buffer;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airlift.compress.Compressor;
+import io.airlift.compress.lz4.Lz4Compressor;
+import io.airlift.compress.zstd.ZstdCompressor;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.DictionaryBlock;
+import io.prestosql.spi.block.RunLengthEncodedBlock;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.hetu.core.transport.execution.buffer.PageCompressionCodec.LZ4;
+import static io.hetu.core.transport.execution.buffer.PageCompressionCodec.NONE;
+import static io.hetu.core.transport.execution.buffer.PageCompressionCodec.ZSTD;
+import static java.util.Objects.requireNonNull;
+import static sun.misc.Unsafe.ARRAY_BYTE_BASE_OFFSET;
+
+/**
+ * Chooses the compression codec of the pages serialized by one {@link PagesSerde}, that is of the pages
+ * of one exchange operator.
+ * <p>
+ * Every {@link #SAMPLE_INTERVAL} pages, the page is compressed with both LZ4 and ZSTD and the codec with the
+ * lowest estimated cost, the compression time plus the time to send the compressed bytes, is used until the
+ * next sample. When neither codec pays off the pages are sent uncompressed, so incompressible data is only
+ * compressed for the sampled pages.
+ * <p>
+ * Pages only made of dictionary and run length encoded blocks are already deduplicated: they are compressed
+ * with LZ4, which is enough for the dictionary ids, without being sampled.
+ */
+@NotThreadSafe
+public class AdaptivePageCompressor
+{
+    @VisibleForTesting
+    static final int SAMPLE_INTERVAL = 64;
+    // cost of sending one byte to another node, about 1GB/s
+    private static final double NETWORK_NANOS_PER_BYTE = 1.0;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 8 * 1024 * 1024;
+
+    private final double minimumCompressionRatio;
+    private final Compressor lz4Compressor = new Lz4Compressor();
+    private final Compressor zstdCompressor = new ZstdCompressor();
+    private byte[] lz4Buffer;
+    private byte[] zstdBuffer;
+
+    private PageCompressionCodec codec = LZ4;
+    private int pagesUntilSample;
+
+    public AdaptivePageCompressor(double minimumCompressionRatio)
+    {
+        checkArgument(minimumCompressionRatio > 0 && minimumCompressionRatio <= 1, "minimumCompressionRatio must be in (0, 1]");
+        this.minimumCompressionRatio = minimumCompressionRatio;
+    }
+
+    /**
+     * Compress the serialized page, the result is backed by a buffer reused for the next pages
+     *
+     * @param page the page before serialization
+     * @param uncompressed the serialized page, backed by a byte array
+     */
+    public CompressedSlice compress(Page page, Slice uncompressed)
+    {
+        if (isDictionaryEncoded(page)) {
+            return compress(LZ4, uncompressed);
+        }
+
+        if (pagesUntilSample > 0) {
+            pagesUntilSample--;
+            CompressedSlice compressed = compress(codec, uncompressed);
+            if (codec != NONE && compressed.getCodec() == NONE) {
+                // the data is not as compressible anymore
+                pagesUntilSample = 0;
+            }
+            return compressed;
+        }
+
+        pagesUntilSample = SAMPLE_INTERVAL - 1;
+        long start = System.nanoTime();
+        CompressedSlice lz4 = compress(LZ4, uncompressed);
+        long lz4Nanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        CompressedSlice zstd = compress(ZSTD, uncompressed);
+        long zstdNanos = System.nanoTime() - start;
+
+        double noneCost = uncompressed.length() * NETWORK_NANOS_PER_BYTE;
+        double lz4Cost = cost(lz4, lz4Nanos);
+        double zstdCost = cost(zstd, zstdNanos);
+        if (noneCost <= lz4Cost && noneCost <= zstdCost) {
+            codec = NONE;
+            return new CompressedSlice(NONE, uncompressed);
+        }
+        codec = lz4Cost <= zstdCost ? LZ4 : ZSTD;
+        return codec == LZ4 ? lz4 : zstd;
+    }
+
+    @VisibleForTesting
+    PageCompressionCodec getCodec()
+    {
+        return codec;
+    }
+
+    private static double cost(CompressedSlice compressed, long compressionNanos)
+    {
+        if (compressed.getCodec() == NONE) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return compressionNanos + compressed.getSlice().length() * NETWORK_NANOS_PER_BYTE;
+    }
+
+    private CompressedSlice compress(PageCompressionCodec pageCodec, Slice uncompressed)
+    {
+        Compressor compressor;
+        byte[] buffer;
+        switch (pageCodec) {
+            case NONE:
+                return new CompressedSlice(NONE, uncompressed);
+            case LZ4:
+                compressor = lz4Compressor;
+                lz4Buffer = ensureCapacity(lz4Buffer, compressor.maxCompressedLength(uncompressed.length()));
+                buffer = lz4Buffer;
+                break;
+            case ZSTD:
+                compressor = zstdCompressor;
+                zstdBuffer = ensureCapacity(zstdBuffer, compressor.maxCompressedLength(uncompressed.length()));
+                buffer = zstdBuffer;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported codec " + pageCodec);
+        }
+
+        int compressedSize = compressor.compress(
+                (byte[]) uncompressed.getBase(),
+                (int) (uncompressed.getAddress() - ARRAY_BYTE_BASE_OFFSET),
+                uncompressed.length(),
+                buffer,
+                0,
+                buffer.length);
+        if (((double) compressedSize) / uncompressed.length() > minimumCompressionRatio) {
+            return new CompressedSlice(NONE, uncompressed);
+        }
+        return new CompressedSlice(pageCodec, Slices.wrappedBuffer(buffer, 0, compressedSize));
+    }
+
+    /**
+     * Release the buffers that grew too large to be kept, once the last result is not used anymore
+     */
+    public void releaseLargeBuffers()
+    {
+        if (lz4Buffer != null && lz4Buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+            lz4Buffer = null;
+        }
+        if (zstdBuffer != null && zstdBuffer.length > MAX_RETAINED_BUFFER_SIZE) {
+            zstdBuffer = null;
+        }
+    }
+
+    private static byte[] ensureCapacity(byte[] buffer, int size)
+    {
+        if (buffer == null || buffer.length < size) {
+            return new byte[size];
+        }
+        return buffer;
+    }
+
+    private static boolean isDictionaryEncoded(Page page)
+    {
+        if (page.getChannelCount() == 0) {
+            return false;
+        }
+        for (int channel = 0; channel < page.getChannelCount(); channel++) {
+            Block block = page.getBlock(channel);
+            if (!(block instanceof DictionaryBlock) && !(block instanceof RunLengthEncodedBlock)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static class CompressedSlice
+    {
+        private final PageCompressionCodec codec;
+        private final Slice slice;
+
+        CompressedSlice(PageCompressionCodec codec, Slice slice)
+        {
+            this.codec = requireNonNull(codec, "codec is null");
+            this.slice = requireNonNull(slice, "slice is null");
+        }
+
+        public PageCompressionCodec getCodec()
+        {
+            return codec;
+        }
+
+        public Slice getSlice()
+        {
+            return slice;
+        }
+    }
+}
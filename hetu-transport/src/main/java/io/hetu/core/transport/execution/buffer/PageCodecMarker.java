@@ -27,7 +27,9 @@ public enum PageCodecMarker
 {
     COMPRESSED(1),
     ENCRYPTED(2),
-    MARKER_PAGE(3);
+    MARKER_PAGE(3),
+    // set with COMPRESSED when the page is compressed with LZ4 instead of the compressor of the serde
+    LZ4(4);
 
     private final int mask;
 
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.transport.execution.buffer;
+
+import static io.hetu.core.transport.execution.buffer.PageCodecMarker.COMPRESSED;
+
+/**
+ * Compression codec of a {@link SerializedPage}
+ */
+public enum PageCompressionCodec
+{
+    NONE,
+    LZ4,
+    ZSTD;
+
+    public static PageCompressionCodec fromMarkers(byte markers)
+    {
+        if (!COMPRESSED.isSet(markers)) {
+            return NONE;
+        }
+        return PageCodecMarker.LZ4.isSet(markers) ? LZ4 : ZSTD;
+    }
+}
@@ -15,10 +15,12 @@ package io.hetu.core.transport.execution.buffer;
 
 import io.airlift.compress.Compressor;
 import io.airlift.compress.Decompressor;
+import io.airlift.compress.lz4.Lz4Decompressor;
 import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
 import io.airlift.slice.SliceOutput;
 import io.airlift.slice.Slices;
+import io.hetu.core.transport.execution.buffer.AdaptivePageCompressor.CompressedSlice;
 import io.hetu.core.transport.execution.buffer.PageCodecMarker.MarkerSet;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.block.BlockEncodingSerde;
@@ -34,6 +36,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static io.hetu.core.transport.execution.buffer.PageCodecMarker.COMPRESSED;
 import static io.hetu.core.transport.execution.buffer.PageCodecMarker.ENCRYPTED;
+import static io.hetu.core.transport.execution.buffer.PageCompressionCodec.LZ4;
+import static io.hetu.core.transport.execution.buffer.PageCompressionCodec.NONE;
 import static io.hetu.core.transport.execution.buffer.PagesSerdeUtil.readRawPage;
 import static io.hetu.core.transport.execution.buffer.PagesSerdeUtil.writeRawPage;
 import static java.lang.Math.toIntExact;
@@ -44,20 +48,55 @@ import static sun.misc.Unsafe.ARRAY_BYTE_BASE_OFFSET;
 public class PagesSerde
         implements BlockEncodingSerdeProvider, GenericPagesSerde
 {
-    private static final double MINIMUM_COMPRESSION_RATIO = 0.8;
+    static final double MINIMUM_COMPRESSION_RATIO = 0.8;
+    // buffers growing larger than this are not kept for the next pages when the buffers are pooled
+    private static final int MAX_POOLED_BUFFER_SIZE = 8 * 1024 * 1024;
 
     private final BlockEncodingSerde blockEncodingSerde;
     private final Optional<Compressor> compressor;
     private final Optional<Decompressor> decompressor;
     private final Optional<SpillCipher> spillCipher;
+    private final boolean pooledBuffers;
+    private final Optional<AdaptivePageCompressor> adaptiveCompressor;
+    private Decompressor lz4Decompressor;
+
+    private DynamicSliceOutput serializationBuffer;
+    private byte[] compressionBuffer;
+    private byte[] encryptionBuffer;
+    private byte[] decryptionBuffer;
 
     public PagesSerde(BlockEncodingSerde blockEncodingSerde, Optional<Compressor> compressor, Optional<Decompressor> decompressor, Optional<SpillCipher> spillCipher)
+    {
+        this(blockEncodingSerde, compressor, decompressor, spillCipher, false);
+    }
+
+    /**
+     * @param pooledBuffers reuse the intermediate serialization, compression and encryption buffers across pages,
+     * so that only the final serialized page is allocated for each page
+     */
+    public PagesSerde(BlockEncodingSerde blockEncodingSerde, Optional<Compressor> compressor, Optional<Decompressor> decompressor, Optional<SpillCipher> spillCipher, boolean pooledBuffers)
+    {
+        this(blockEncodingSerde, compressor, decompressor, spillCipher, pooledBuffers, Optional.empty());
+    }
+
+    /**
+     * @param adaptiveCompressor chooses the codec of each page instead of the compressor, the decompressor
+     * must then be the ZSTD one, LZ4 compressed pages are marked as such and decompressed with LZ4
+     */
+    public PagesSerde(BlockEncodingSerde blockEncodingSerde, Optional<Compressor> compressor, Optional<Decompressor> decompressor, Optional<SpillCipher> spillCipher, boolean pooledBuffers, Optional<AdaptivePageCompressor> adaptiveCompressor)
     {
         this.blockEncodingSerde = requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
-        checkArgument(compressor.isPresent() == decompressor.isPresent(), "compressor and decompressor must both be present or both be absent");
         this.compressor = requireNonNull(compressor, "compressor is null");
         this.decompressor = requireNonNull(decompressor, "decompressor is null");
         this.spillCipher = requireNonNull(spillCipher, "spillCipher is null");
+        this.pooledBuffers = pooledBuffers;
+        this.adaptiveCompressor = requireNonNull(adaptiveCompressor, "adaptiveCompressor is null");
+        if (adaptiveCompressor.isPresent()) {
+            checkArgument(!compressor.isPresent() && decompressor.isPresent(), "adaptive compression requires a decompressor and no compressor");
+        }
+        else {
+            checkArgument(compressor.isPresent() == decompressor.isPresent(), "compressor and decompressor must both be present or both be absent");
+        }
     }
 
     @Override
@@ -80,14 +119,14 @@ public class PagesSerde
 
     private SerializedPage serializeImpl(Page page)
     {
-        SliceOutput serializationBuffer = new DynamicSliceOutput(toIntExact(page.getSizeInBytes() + Integer.BYTES)); // block length is an int
+        SliceOutput serializationBuffer = getSerializationBuffer(toIntExact(page.getSizeInBytes() + Integer.BYTES)); // block length is an int
         writeRawPage(page, serializationBuffer, blockEncodingSerde);
         Slice slice = serializationBuffer.slice();
         int uncompressedSize = serializationBuffer.size();
         MarkerSet markers = MarkerSet.empty();
 
         if (compressor.isPresent()) {
-            byte[] compressed = new byte[compressor.get().maxCompressedLength(uncompressedSize)];
+            byte[] compressed = getCompressionBuffer(compressor.get().maxCompressedLength(uncompressedSize));
             int compressedSize = compressor.get().compress(
                     (byte[]) slice.getBase(),
                     (int) (slice.getAddress() - ARRAY_BYTE_BASE_OFFSET),
@@ -101,9 +140,19 @@ public class PagesSerde
                 markers.add(COMPRESSED);
             }
         }
+        else if (adaptiveCompressor.isPresent()) {
+            CompressedSlice compressed = adaptiveCompressor.get().compress(page, slice);
+            if (compressed.getCodec() != NONE) {
+                slice = compressed.getSlice();
+                markers.add(COMPRESSED);
+                if (compressed.getCodec() == LZ4) {
+                    markers.add(PageCodecMarker.LZ4);
+                }
+            }
+        }
 
         if (spillCipher.isPresent()) {
-            byte[] encrypted = new byte[spillCipher.get().encryptedMaxLength(slice.length())];
+            byte[] encrypted = getEncryptionBuffer(spillCipher.get().encryptedMaxLength(slice.length()));
             int encryptedSize = spillCipher.get().encrypt(
                     (byte[]) slice.getBase(),
                     (int) (slice.getAddress() - ARRAY_BYTE_BASE_OFFSET),
@@ -115,7 +164,12 @@ public class PagesSerde
             markers.add(ENCRYPTED);
         }
 
-        if (!slice.isCompact()) {
+        if (pooledBuffers || adaptiveCompressor.isPresent()) {
+            // the slice is backed by one of the pooled buffers, which are overwritten by the next page
+            slice = Slices.copyOf(slice);
+            releaseLargeBuffers();
+        }
+        else if (!slice.isCompact()) {
             slice = Slices.copyOf(slice);
         }
 
@@ -131,7 +185,10 @@ public class PagesSerde
         if (serializedPage.isEncrypted()) {
             checkState(spillCipher.isPresent(), "Page is encrypted, but spill cipher is missing");
 
-            byte[] decrypted = new byte[spillCipher.get().decryptedMaxLength(slice.length())];
+            // the decrypted bytes can only be pooled if they are decompressed to a new buffer afterwards,
+            // otherwise the blocks of the page are read directly from them
+            int decryptedMaxLength = spillCipher.get().decryptedMaxLength(slice.length());
+            byte[] decrypted = serializedPage.isCompressed() ? getDecryptionBuffer(decryptedMaxLength) : new byte[decryptedMaxLength];
             int decryptedSize = spillCipher.get().decrypt(
                     (byte[]) slice.getBase(),
                     (int) (slice.getAddress() - ARRAY_BYTE_BASE_OFFSET),
@@ -143,11 +200,21 @@ public class PagesSerde
         }
 
         if (serializedPage.isCompressed()) {
-            checkState(decompressor.isPresent(), "Page is compressed, but decompressor is missing");
+            Decompressor pageDecompressor;
+            if (PageCodecMarker.LZ4.isSet(serializedPage.getPageCodecMarkers())) {
+                if (lz4Decompressor == null) {
+                    lz4Decompressor = new Lz4Decompressor();
+                }
+                pageDecompressor = lz4Decompressor;
+            }
+            else {
+                checkState(decompressor.isPresent(), "Page is compressed, but decompressor is missing");
+                pageDecompressor = decompressor.get();
+            }
 
             int uncompressedSize = serializedPage.getUncompressedSizeInBytes();
             byte[] decompressed = new byte[uncompressedSize];
-            checkState(decompressor.get().decompress(
+            checkState(pageDecompressor.decompress(
                     (byte[]) slice.getBase(),
                     (int) (slice.getAddress() - ARRAY_BYTE_BASE_OFFSET),
                     slice.length(),
@@ -158,9 +225,79 @@ public class PagesSerde
             slice = Slices.wrappedBuffer(decompressed);
         }
 
+        if (pooledBuffers) {
+            releaseLargeBuffers();
+        }
+
         return readRawPage(serializedPage.getPositionCount(), serializedPage.getPageMetadata(), slice.getInput(), blockEncodingSerde);
     }
 
+    private SliceOutput getSerializationBuffer(int estimatedSize)
+    {
+        if (!pooledBuffers) {
+            return new DynamicSliceOutput(estimatedSize);
+        }
+        if (serializationBuffer == null) {
+            serializationBuffer = new DynamicSliceOutput(estimatedSize);
+        }
+        else {
+            serializationBuffer.reset();
+        }
+        return serializationBuffer;
+    }
+
+    private byte[] getCompressionBuffer(int size)
+    {
+        if (!pooledBuffers) {
+            return new byte[size];
+        }
+        compressionBuffer = ensureCapacity(compressionBuffer, size);
+        return compressionBuffer;
+    }
+
+    private byte[] getEncryptionBuffer(int size)
+    {
+        if (!pooledBuffers) {
+            return new byte[size];
+        }
+        encryptionBuffer = ensureCapacity(encryptionBuffer, size);
+        return encryptionBuffer;
+    }
+
+    private byte[] getDecryptionBuffer(int size)
+    {
+        if (!pooledBuffers) {
+            return new byte[size];
+        }
+        decryptionBuffer = ensureCapacity(decryptionBuffer, size);
+        return decryptionBuffer;
+    }
+
+    private static byte[] ensureCapacity(byte[] buffer, int size)
+    {
+        if (buffer == null || buffer.length < size) {
+            return new byte[size];
+        }
+        return buffer;
+    }
+
+    private void releaseLargeBuffers()
+    {
+        if (serializationBuffer != null && serializationBuffer.getRetainedSize() > MAX_POOLED_BUFFER_SIZE) {
+            serializationBuffer = null;
+        }
+        if (compressionBuffer != null && compressionBuffer.length > MAX_POOLED_BUFFER_SIZE) {
+            compressionBuffer = null;
+        }
+        if (encryptionBuffer != null && encryptionBuffer.length > MAX_POOLED_BUFFER_SIZE) {
+            encryptionBuffer = null;
+        }
+        if (decryptionBuffer != null && decryptionBuffer.length > MAX_POOLED_BUFFER_SIZE) {
+            decryptionBuffer = null;
+        }
+        adaptiveCompressor.ifPresent(AdaptivePageCompressor::releaseLargeBuffers);
+    }
+
     @Override
     public BlockEncodingSerde getBlockEncodingSerde()
     {
@@ -26,11 +26,29 @@ public class PagesSerdeFactory
 {
     private final BlockEncodingSerde blockEncodingSerde;
     private final boolean compressionEnabled;
+    private final boolean pooledBuffersEnabled;
+    private final boolean adaptiveCompressionEnabled;
 
     public PagesSerdeFactory(BlockEncodingSerde blockEncodingSerde, boolean compressionEnabled)
+    {
+        this(blockEncodingSerde, compressionEnabled, false);
+    }
+
+    public PagesSerdeFactory(BlockEncodingSerde blockEncodingSerde, boolean compressionEnabled, boolean pooledBuffersEnabled)
+    {
+        this(blockEncodingSerde, compressionEnabled, pooledBuffersEnabled, false);
+    }
+
+    /**
+     * @param adaptiveCompressionEnabled when compression is enabled, choose between LZ4, ZSTD and no compression
+     * for the pages of each serde instead of always using ZSTD
+     */
+    public PagesSerdeFactory(BlockEncodingSerde blockEncodingSerde, boolean compressionEnabled, boolean pooledBuffersEnabled, boolean adaptiveCompressionEnabled)
     {
         this.blockEncodingSerde = requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
         this.compressionEnabled = compressionEnabled;
+        this.pooledBuffersEnabled = pooledBuffersEnabled;
+        this.adaptiveCompressionEnabled = adaptiveCompressionEnabled;
     }
 
     public PagesSerde createPagesSerde()
@@ -53,10 +71,20 @@ public class PagesSerdeFactory
             return new SliceStreamPageSerde(blockEncodingSerde, Optional.empty(), Optional.empty(), spillCipher);
         }
 
+        if (compressionEnabled && adaptiveCompressionEnabled) {
+            return new PagesSerde(
+                    blockEncodingSerde,
+                    Optional.empty(),
+                    Optional.of(new ZstdDecompressor()),
+                    spillCipher,
+                    pooledBuffersEnabled,
+                    Optional.of(new AdaptivePageCompressor(PagesSerde.MINIMUM_COMPRESSION_RATIO)));
+        }
+
         if (compressionEnabled) {
-            return new PagesSerde(blockEncodingSerde, Optional.of(new ZstdCompressor()), Optional.of(new ZstdDecompressor()), spillCipher);
+            return new PagesSerde(blockEncodingSerde, Optional.of(new ZstdCompressor()), Optional.of(new ZstdDecompressor()), spillCipher, pooledBuffersEnabled);
         }
 
-        return new PagesSerde(blockEncodingSerde, Optional.empty(), Optional.empty(), spillCipher);
+        return new PagesSerde(blockEncodingSerde, Optional.empty(), Optional.empty(), spillCipher, pooledBuffersEnabled);
     }
 }
@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.transport.execution.buffer;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.ImmutableList;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PageBuilder;
+import io.prestosql.spi.block.BlockEncodingSerde;
+import io.prestosql.spi.block.TestingBlockEncodingSerde;
+import io.prestosql.spi.type.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+
+/**
+ * Compares the serialization of exchanged pages by {@link PagesSerde}, with and without pooled buffers,
+ * and by {@link KryoPageSerializer}. Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(BenchmarkPagesSerde.PAGE_COUNT)
+public class BenchmarkPagesSerde
+{
+    static final int PAGE_COUNT = 100;
+    private static final int POSITIONS_PER_PAGE = 1024;
+    private static final List<Type> TYPES = ImmutableList.of(BIGINT, DOUBLE, VARCHAR);
+
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        @Param({"true", "false"})
+        private boolean compressed = true;
+
+        private List<Page> pages;
+        private PagesSerde pagesSerde;
+        private PagesSerde pooledPagesSerde;
+        private KryoPageSerializer kryoSerde;
+        private List<SerializedPage> serializedPages;
+        private Output kryoOutput;
+        private byte[] kryoSerializedPages;
+        private int kryoSerializedLength;
+
+        @Setup
+        public void setup()
+        {
+            BlockEncodingSerde blockEncodingSerde = new TestingBlockEncodingSerde();
+            pagesSerde = new PagesSerdeFactory(blockEncodingSerde, compressed, false).createPagesSerde();
+            pooledPagesSerde = new PagesSerdeFactory(blockEncodingSerde, compressed, true).createPagesSerde();
+            kryoSerde = new KryoPageSerializer(blockEncodingSerde);
+
+            pages = createPages();
+            serializedPages = new ArrayList<>(PAGE_COUNT);
+            for (Page page : pages) {
+                serializedPages.add(pagesSerde.serialize(page));
+            }
+
+            kryoOutput = new Output(1024 * 1024, -1);
+            for (Page page : pages) {
+                kryoSerde.serialize(kryoOutput, page);
+            }
+            kryoSerializedPages = kryoOutput.toBytes();
+            kryoSerializedLength = kryoOutput.position();
+        }
+
+        private static List<Page> createPages()
+        {
+            Random random = new Random(42);
+            List<Page> pages = new ArrayList<>(PAGE_COUNT);
+            PageBuilder pageBuilder = new PageBuilder(TYPES);
+            for (int page = 0; page < PAGE_COUNT; page++) {
+                for (int position = 0; position < POSITIONS_PER_PAGE; position++) {
+                    pageBuilder.declarePosition();
+                    BIGINT.writeLong(pageBuilder.getBlockBuilder(0), random.nextInt(10_000));
+                    DOUBLE.writeDouble(pageBuilder.getBlockBuilder(1), random.nextDouble());
+                    VARCHAR.writeString(pageBuilder.getBlockBuilder(2), "value_" + random.nextInt(100));
+                }
+                pages.add(pageBuilder.build());
+                pageBuilder.reset();
+            }
+            return pages;
+        }
+    }
+
+    @Benchmark
+    public void serialize(BenchmarkData data, Blackhole blackhole)
+    {
+        for (Page page : data.pages) {
+            blackhole.consume(data.pagesSerde.serialize(page));
+        }
+    }
+
+    @Benchmark
+    public void serializePooled(BenchmarkData data, Blackhole blackhole)
+    {
+        for (Page page : data.pages) {
+            blackhole.consume(data.pooledPagesSerde.serialize(page));
+        }
+    }
+
+    @Benchmark
+    public void serializeKryo(BenchmarkData data, Blackhole blackhole)
+    {
+        Output output = data.kryoOutput;
+        output.reset();
+        for (Page page : data.pages) {
+            data.kryoSerde.serialize(output, page);
+        }
+        blackhole.consume(output.position());
+    }
+
+    @Benchmark
+    public void deserialize(BenchmarkData data, Blackhole blackhole)
+    {
+        for (SerializedPage page : data.serializedPages) {
+            blackhole.consume(data.pagesSerde.deserialize(page));
+        }
+    }
+
+    @Benchmark
+    public void deserializePooled(BenchmarkData data, Blackhole blackhole)
+    {
+        for (SerializedPage page : data.serializedPages) {
+            blackhole.consume(data.pooledPagesSerde.deserialize(page));
+        }
+    }
+
+    @Benchmark
+    public void deserializeKryo(BenchmarkData data, Blackhole blackhole)
+    {
+        Input input = new Input(data.kryoSerializedPages, 0, data.kryoSerializedLength);
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            blackhole.consume(data.kryoSerde.deserialize(input));
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        Options options = new OptionsBuilder()
+                .verbosity(VerboseMode.NORMAL)
+                .include(".*" + BenchmarkPagesSerde.class.getSimpleName() + ".*")
+                .build();
+
+        new Runner(options).run();
+    }
+}
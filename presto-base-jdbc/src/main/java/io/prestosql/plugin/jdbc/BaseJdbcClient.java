@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.log.Logger;
 import io.airlift.units.Duration;
+import io.prestosql.plugin.jdbc.optimization.JdbcQueryGeneratorResult.GeneratedSql;
 import io.prestosql.plugin.splitmanager.SplitStatLog;
 import io.prestosql.plugin.splitmanager.TableSplitConfig;
 import io.prestosql.spi.PrestoException;
@@ -353,6 +354,14 @@ public class BaseJdbcClient
             throws SQLException
     {
         if (table.getGeneratedSql().isPresent()) {
+            GeneratedSql generatedSql = table.getGeneratedSql().get();
+            String sql = generatedSql.getSql();
+            Optional<String> additionalPredicate = split.getAdditionalPredicate();
+            if (additionalPredicate.isPresent() && generatedSql.isSplittable()) {
+                // the split predicate selects rows of the table scanned by the pushed down query
+                sql = generatedSql.getSql(additionalPredicate.get());
+                additionalPredicate = Optional.empty();
+            }
             // Hetu: If the query is pushed down, use it as the table
             return new QueryBuilder(identifierQuote, true).buildSql(
                     this,
@@ -360,10 +369,10 @@ public class BaseJdbcClient
                     connection,
                     null,
                     null,
-                    table.getGeneratedSql().get().getSql(),
+                    sql,
                     columns,
                     table.getConstraint(),
-                    split.getAdditionalPredicate(),
+                    additionalPredicate,
                     tryApplyLimit(table.getLimit()));
         }
         return new QueryBuilder(identifierQuote).buildSql(
@@ -625,6 +634,21 @@ public class BaseJdbcClient
                 join(",", nCopies(handle.getColumnNames().size(), "?")));
     }
 
+    /**
+     * Builds a multi-row insert by appending the value lists of the additional rows to {@link #buildInsertSql(JdbcOutputTableHandle)},
+     * for the clients of databases that support {@code INSERT ... VALUES (...), (...)}.
+     */
+    protected String buildMultiRowValuesInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        checkArgument(rowCount > 0, "rowCount must be positive");
+        String values = format(", (%s)", join(",", nCopies(handle.getColumnNames().size(), "?")));
+        StringBuilder sql = new StringBuilder(buildInsertSql(handle));
+        for (int row = 1; row < rowCount; row++) {
+            sql.append(values);
+        }
+        return sql.toString();
+    }
+
     @Override
     public Connection getConnection(JdbcIdentity identity, JdbcOutputTableHandle handle)
             throws SQLException
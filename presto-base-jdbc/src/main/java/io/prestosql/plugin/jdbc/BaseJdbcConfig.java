@@ -16,6 +16,7 @@ package io.prestosql.plugin.jdbc;
 import io.airlift.configuration.Config;
 import io.airlift.configuration.ConfigDescription;
 import io.airlift.configuration.ConfigSecuritySensitive;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.airlift.units.MinDuration;
 import io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule;
@@ -23,6 +24,7 @@ import io.prestosql.spi.connector.CatalogSchemaName;
 import io.prestosql.spi.function.Mandatory;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -30,6 +32,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.sql.builder.functioncall.BaseFunctionUtil.parserExternalFunctionCatalogSchema;
 import static io.prestosql.sql.builder.functioncall.BaseFunctionUtil.parserPushDownSupportedRemoteCatalogSchema;
 import static io.prestosql.sql.builder.functioncall.FunctionCallConstants.REMOTE_FUNCTION_CATALOG_SCHEMA;
@@ -79,6 +82,11 @@ public class BaseJdbcConfig
     private Duration stepCalcRefreshInterval = new Duration(5, TimeUnit.MINUTES);
     private int stepCalcThreads = 4;
 
+    private boolean columnarPageSourceEnabled;
+    private DataSize pageSourceBufferSize = new DataSize(16, MEGABYTE);
+    private int pageSourceThreads = 16;
+    private int insertRowsPerStatement = 1;
+
     public Optional<CatalogSchemaName> getConnectorRegistryFunctionNamespace()
     {
         return parserExternalFunctionCatalogSchema(connectorRegistryFunctionNamespace);
@@ -538,4 +546,84 @@ public class BaseJdbcConfig
     {
         return stepCalcThreads;
     }
+
+    public boolean isColumnarPageSourceEnabled()
+    {
+        return columnarPageSourceEnabled;
+    }
+
+    /**
+     * Read result sets directly into pages in a background task, instead of through a record cursor.
+     *
+     * @param columnarPageSourceEnabled whether the columnar page source is used
+     * @return the BaseJdbcConfig
+     */
+    @Config("jdbc.columnar-page-source-enabled")
+    @ConfigDescription("Read result sets directly into pages in a background task, instead of through a record cursor")
+    public BaseJdbcConfig setColumnarPageSourceEnabled(boolean columnarPageSourceEnabled)
+    {
+        this.columnarPageSourceEnabled = columnarPageSourceEnabled;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getPageSourceBufferSize()
+    {
+        return pageSourceBufferSize;
+    }
+
+    /**
+     * Maximum size of the pages that the columnar page source reads ahead of the query.
+     *
+     * @param pageSourceBufferSize the buffer size of each split
+     * @return the BaseJdbcConfig
+     */
+    @Config("jdbc.page-source-buffer-size")
+    @ConfigDescription("Maximum size of the pages that the columnar page source reads ahead of the query, per split")
+    public BaseJdbcConfig setPageSourceBufferSize(DataSize pageSourceBufferSize)
+    {
+        this.pageSourceBufferSize = pageSourceBufferSize;
+        return this;
+    }
+
+    @Min(1)
+    public int getPageSourceThreads()
+    {
+        return pageSourceThreads;
+    }
+
+    /**
+     * Number of threads reading result sets for the columnar page source, shared by all the splits of the catalog.
+     *
+     * @param pageSourceThreads the number of threads
+     * @return the BaseJdbcConfig
+     */
+    @Config("jdbc.page-source-threads")
+    @ConfigDescription("Number of threads reading result sets for the columnar page source, shared by all the splits of the catalog")
+    public BaseJdbcConfig setPageSourceThreads(int pageSourceThreads)
+    {
+        this.pageSourceThreads = pageSourceThreads;
+        return this;
+    }
+
+    @Min(1)
+    @Max(1000)
+    public int getInsertRowsPerStatement()
+    {
+        return insertRowsPerStatement;
+    }
+
+    /**
+     * Number of rows written by each insert statement, for the connectors that support multi-row inserts.
+     *
+     * @param insertRowsPerStatement the rows per statement, 1 writes a statement per row
+     * @return the BaseJdbcConfig
+     */
+    @Config("jdbc.insert-rows-per-statement")
+    @ConfigDescription("Number of rows written by each insert statement, for the connectors that support multi-row inserts")
+    public BaseJdbcConfig setInsertRowsPerStatement(int insertRowsPerStatement)
+    {
+        this.insertRowsPerStatement = insertRowsPerStatement;
+        return this;
+    }
 }
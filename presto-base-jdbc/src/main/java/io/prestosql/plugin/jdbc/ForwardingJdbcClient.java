@@ -169,6 +169,12 @@ public abstract class ForwardingJdbcClient
         return getDelegate().buildInsertSql(handle);
     }
 
+    @Override
+    public Optional<String> buildMultiRowInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return getDelegate().buildMultiRowInsertSql(handle, rowCount);
+    }
+
     @Override
     public Connection getConnection(JdbcIdentity identity, JdbcOutputTableHandle handle)
             throws SQLException
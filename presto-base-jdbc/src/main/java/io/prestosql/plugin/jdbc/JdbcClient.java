@@ -113,6 +113,17 @@ public interface JdbcClient
 
     String buildInsertSql(JdbcOutputTableHandle handle);
 
+    /**
+     * Builds a statement that inserts the given number of rows at once, with the parameters of each row following
+     * the parameters of the previous row in the same order as in {@link #buildInsertSql(JdbcOutputTableHandle)}.
+     *
+     * @return the statement, or empty if the database does not support inserting that many rows in a statement
+     */
+    default Optional<String> buildMultiRowInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return Optional.empty();
+    }
+
     Connection getConnection(JdbcIdentity identity, JdbcOutputTableHandle handle)
             throws SQLException;
 
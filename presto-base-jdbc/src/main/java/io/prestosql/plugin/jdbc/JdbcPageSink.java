@@ -15,7 +15,9 @@ package io.prestosql.plugin.jdbc;
 
 import com.google.common.base.VerifyException;
 import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
 import io.airlift.slice.Slice;
+import io.airlift.units.Duration;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
@@ -29,28 +31,52 @@ import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.units.DataSize.succinctBytes;
 import static io.prestosql.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
 import static io.prestosql.plugin.jdbc.JdbcErrorCode.JDBC_NON_TRANSIENT_ERROR;
 import static java.lang.String.format;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class JdbcPageSink
         implements ConnectorPageSink
 {
+    private static final Logger log = Logger.get(JdbcPageSink.class);
+
+    private static final int MAX_BATCH_ROWS = 1000;
+    // lowest limit on the parameters of a statement among the supported databases, which is PostgreSQL's
+    private static final int MAX_PARAMETERS_PER_STATEMENT = 32767;
+
     private final Connection connection;
     private final PreparedStatement statement;
+    // inserts rowsPerStatement rows at once, the rows of a page that do not fill a statement use the single row statement
+    private final Optional<PreparedStatement> multiRowStatement;
+    private final int rowsPerStatement;
 
     private final List<Type> columnTypes;
     private final List<WriteFunction> columnWriters;
     private final List<WriteNullFunction> nullWriters;
     private int batchSize;
+    private int multiRowBatchSize;
+
+    private long rowsWritten;
+    private long completedBytes;
+    private long writeTimeNanos;
 
     public JdbcPageSink(ConnectorSession session, JdbcOutputTableHandle handle, JdbcClient jdbcClient)
     {
+        this(session, handle, jdbcClient, 1);
+    }
+
+    public JdbcPageSink(ConnectorSession session, JdbcOutputTableHandle handle, JdbcClient jdbcClient, int rowsPerStatement)
+    {
+        checkArgument(rowsPerStatement > 0, "rowsPerStatement must be positive");
         try {
             connection = jdbcClient.getConnection(JdbcIdentity.from(session), handle);
         }
@@ -58,9 +84,23 @@ public class JdbcPageSink
             throw new PrestoException(JDBC_ERROR, e);
         }
 
+        int columnCount = handle.getColumnNames().size();
+        int rows = Math.min(rowsPerStatement, MAX_PARAMETERS_PER_STATEMENT / Math.max(columnCount, 1));
+        Optional<String> multiRowInsertSql = Optional.empty();
+        while (rows > 1) {
+            multiRowInsertSql = jdbcClient.buildMultiRowInsertSql(handle, rows);
+            if (multiRowInsertSql.isPresent()) {
+                break;
+            }
+            // use fewer rows per statement if the database does not accept that many
+            rows /= 2;
+        }
+        this.rowsPerStatement = multiRowInsertSql.isPresent() ? rows : 1;
+
         try {
             connection.setAutoCommit(false);
             statement = connection.prepareStatement(jdbcClient.buildInsertSql(handle));
+            multiRowStatement = multiRowInsertSql.isPresent() ? Optional.of(connection.prepareStatement(multiRowInsertSql.get())) : Optional.empty();
         }
         catch (SQLException e) {
             closeWithSuppression(connection, e);
@@ -96,36 +136,89 @@ public class JdbcPageSink
     public CompletableFuture<?> appendPage(Page page)
     {
         try {
-            for (int position = 0; position < page.getPositionCount(); position++) {
+            int position = 0;
+            if (multiRowStatement.isPresent()) {
+                PreparedStatement multiRow = multiRowStatement.get();
+                int channelCount = page.getChannelCount();
+                for (; position + rowsPerStatement <= page.getPositionCount(); position += rowsPerStatement) {
+                    for (int row = 0; row < rowsPerStatement; row++) {
+                        for (int channel = 0; channel < channelCount; channel++) {
+                            appendColumn(multiRow, page, position + row, channel, row * channelCount + channel + 1);
+                        }
+                    }
+                    multiRow.addBatch();
+                    multiRowBatchSize++;
+                    flushIfFull();
+                }
+            }
+
+            for (; position < page.getPositionCount(); position++) {
                 for (int channel = 0; channel < page.getChannelCount(); channel++) {
-                    appendColumn(page, position, channel);
+                    appendColumn(statement, page, position, channel, channel + 1);
                 }
 
                 statement.addBatch();
                 batchSize++;
-
-                if (batchSize >= 1000) {
-                    statement.executeBatch();
-                    connection.commit();
-                    connection.setAutoCommit(false);
-                    batchSize = 0;
-                }
+                flushIfFull();
             }
         }
         catch (SQLException e) {
             throw new PrestoException(JDBC_ERROR, e);
         }
+        rowsWritten += page.getPositionCount();
+        completedBytes += page.getSizeInBytes();
         return NOT_BLOCKED;
     }
 
-    private void appendColumn(Page page, int position, int channel)
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes;
+    }
+
+    @Override
+    public long getRowsWritten()
+    {
+        return rowsWritten;
+    }
+
+    private int pendingRows()
+    {
+        return batchSize + multiRowBatchSize * rowsPerStatement;
+    }
+
+    private void flushIfFull()
+            throws SQLException
+    {
+        if (pendingRows() >= MAX_BATCH_ROWS) {
+            executeBatches();
+            connection.commit();
+            connection.setAutoCommit(false);
+        }
+    }
+
+    private void executeBatches()
+            throws SQLException
+    {
+        long start = System.nanoTime();
+        if (multiRowBatchSize > 0) {
+            multiRowStatement.get().executeBatch();
+            multiRowBatchSize = 0;
+        }
+        if (batchSize > 0) {
+            statement.executeBatch();
+            batchSize = 0;
+        }
+        writeTimeNanos += System.nanoTime() - start;
+    }
+
+    private void appendColumn(PreparedStatement preparedStatement, Page page, int position, int channel, int parameterIndex)
             throws SQLException
     {
         Block block = page.getBlock(channel);
-        int parameterIndex = channel + 1;
 
         if (block.isNull(position)) {
-            nullWriters.get(channel).setNull(statement, parameterIndex);
+            nullWriters.get(channel).setNull(preparedStatement, parameterIndex);
             return;
         }
 
@@ -133,19 +226,19 @@ public class JdbcPageSink
         Class<?> javaType = type.getJavaType();
         WriteFunction writeFunction = columnWriters.get(channel);
         if (javaType == boolean.class) {
-            ((BooleanWriteFunction) writeFunction).set(statement, parameterIndex, type.getBoolean(block, position));
+            ((BooleanWriteFunction) writeFunction).set(preparedStatement, parameterIndex, type.getBoolean(block, position));
         }
         else if (javaType == long.class) {
-            ((LongWriteFunction) writeFunction).set(statement, parameterIndex, type.getLong(block, position));
+            ((LongWriteFunction) writeFunction).set(preparedStatement, parameterIndex, type.getLong(block, position));
         }
         else if (javaType == double.class) {
-            ((DoubleWriteFunction) writeFunction).set(statement, parameterIndex, type.getDouble(block, position));
+            ((DoubleWriteFunction) writeFunction).set(preparedStatement, parameterIndex, type.getDouble(block, position));
         }
         else if (javaType == Slice.class) {
-            ((SliceWriteFunction) writeFunction).set(statement, parameterIndex, type.getSlice(block, position));
+            ((SliceWriteFunction) writeFunction).set(preparedStatement, parameterIndex, type.getSlice(block, position));
         }
         else if (javaType == Block.class) {
-            ((BlockWriteFunction) writeFunction).set(statement, parameterIndex, (Block) type.getObject(block, position));
+            ((BlockWriteFunction) writeFunction).set(preparedStatement, parameterIndex, (Block) type.getObject(block, position));
         }
         else {
             throw new VerifyException(format("Unexpected type %s with java type %s", type, javaType.getName()));
@@ -157,9 +250,10 @@ public class JdbcPageSink
     {
         // commit and close
         try (Connection conn = this.connection;
-                PreparedStatement inputPreparedStatement = this.statement) {
-            if (batchSize > 0) {
-                inputPreparedStatement.executeBatch();
+                PreparedStatement inputPreparedStatement = this.statement;
+                PreparedStatement multiRowPreparedStatement = this.multiRowStatement.orElse(null)) {
+            if (pendingRows() > 0) {
+                executeBatches();
                 conn.commit();
             }
         }
@@ -169,6 +263,11 @@ public class JdbcPageSink
         catch (SQLException e) {
             throw new PrestoException(JDBC_ERROR, e);
         }
+        if (log.isDebugEnabled()) {
+            long bytesPerSecond = writeTimeNanos == 0 ? 0 : (long) (completedBytes * 1_000_000_000.0 / writeTimeNanos);
+            log.debug("Wrote %s rows (%s) with %s rows per statement in %s (%s/s)", rowsWritten, succinctBytes(completedBytes), rowsPerStatement,
+                    new Duration(writeTimeNanos, NANOSECONDS).convertToMostSuccinctTimeUnit(), succinctBytes(bytesPerSecond));
+        }
         // the committer does not need any additional info
         return completedFuture(ImmutableList.of());
     }
@@ -179,7 +278,8 @@ public class JdbcPageSink
     {
         // rollback and close
         try (Connection conn = this.connection;
-                PreparedStatement stat = this.statement) {
+                PreparedStatement stat = this.statement;
+                PreparedStatement multiRowStat = this.multiRowStatement.orElse(null)) {
             // skip rollback if implicitly closed due to an error
             if (!conn.isClosed()) {
                 conn.rollback();
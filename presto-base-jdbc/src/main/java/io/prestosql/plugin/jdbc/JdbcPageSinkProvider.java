@@ -28,22 +28,24 @@ public class JdbcPageSinkProvider
         implements ConnectorPageSinkProvider
 {
     private final JdbcClient jdbcClient;
+    private final int insertRowsPerStatement;
 
     @Inject
-    public JdbcPageSinkProvider(@InternalBaseJdbc JdbcClient jdbcClient)
+    public JdbcPageSinkProvider(@InternalBaseJdbc JdbcClient jdbcClient, BaseJdbcConfig config)
     {
         this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+        this.insertRowsPerStatement = requireNonNull(config, "config is null").getInsertRowsPerStatement();
     }
 
     @Override
     public ConnectorPageSink createPageSink(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorOutputTableHandle tableHandle)
     {
-        return new JdbcPageSink(session, (JdbcOutputTableHandle) tableHandle, jdbcClient);
+        return new JdbcPageSink(session, (JdbcOutputTableHandle) tableHandle, jdbcClient, insertRowsPerStatement);
     }
 
     @Override
     public ConnectorPageSink createPageSink(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorInsertTableHandle tableHandle)
     {
-        return new JdbcPageSink(session, (JdbcOutputTableHandle) tableHandle, jdbcClient);
+        return new JdbcPageSink(session, (JdbcOutputTableHandle) tableHandle, jdbcClient, insertRowsPerStatement);
     }
 }
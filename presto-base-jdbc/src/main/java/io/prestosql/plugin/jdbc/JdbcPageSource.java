@@ -0,0 +1,447 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.base.VerifyException;
+import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import io.airlift.units.DataSize;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PageBuilder;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.connector.ConnectorSession;
+import io.prestosql.spi.type.Type;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.prestosql.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Page source that reads the rows of a {@link java.sql.ResultSet} directly into the block builders of a page,
+ * instead of going through {@link JdbcRecordCursor} and a {@link io.prestosql.spi.connector.RecordPageSource}.
+ * <p>
+ * The query is executed and the rows are read by a background task, which builds pages ahead of the driver into a
+ * buffer of bounded size, so that waiting on the remote database overlaps with the processing of the pages that
+ * have already been read. The read time reported by this page source is the time spent by the background task.
+ */
+public class JdbcPageSource
+        implements ConnectorPageSource
+{
+    private static final Logger log = Logger.get(JdbcPageSource.class);
+
+    // bounds the pages of queries without columns, e.g. count(*), which never fill up a page builder
+    private static final int MAX_ROWS_PER_PAGE = 8192;
+
+    private final JdbcClient jdbcClient;
+    private final ConnectorSession session;
+    private final JdbcSplit split;
+    private final JdbcTableHandle table;
+    private final List<JdbcColumnHandle> columnHandles;
+    private final Type[] types;
+    private final Executor executor;
+    private final long maxBufferedBytes;
+    private final AtomicLong completedBytes = new AtomicLong();
+    private final AtomicLong readTimeNanos = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // cancelled by close while the fetch task may still be waiting for the remote database
+    private volatile PreparedStatement statement;
+
+    // only accessed by the fetch task, of which at most one is running at any time
+    private Connection connection;
+    private ResultSet resultSet;
+    private BooleanReadFunction[] booleanReadFunctions;
+    private DoubleReadFunction[] doubleReadFunctions;
+    private LongReadFunction[] longReadFunctions;
+    private SliceReadFunction[] sliceReadFunctions;
+    private BlockReadFunction[] blockReadFunctions;
+    private PageBuilder pageBuilder;
+    private long rowCount;
+
+    @GuardedBy("this")
+    private final Queue<Page> pages = new ArrayDeque<>();
+    @GuardedBy("this")
+    private long bufferedBytes;
+    @GuardedBy("this")
+    private boolean fetching;
+    @GuardedBy("this")
+    private boolean exhausted;
+    @GuardedBy("this")
+    private boolean resourcesClosed;
+    @GuardedBy("this")
+    private CompletableFuture<?> blocked = NOT_BLOCKED;
+    private volatile boolean closed;
+
+    public JdbcPageSource(
+            JdbcClient jdbcClient,
+            ConnectorSession session,
+            JdbcSplit split,
+            JdbcTableHandle table,
+            List<JdbcColumnHandle> columnHandles,
+            Executor executor,
+            DataSize maxBufferedSize)
+    {
+        this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+        this.session = requireNonNull(session, "session is null");
+        this.split = requireNonNull(split, "split is null");
+        this.table = requireNonNull(table, "table is null");
+        this.columnHandles = ImmutableList.copyOf(requireNonNull(columnHandles, "columnHandles is null"));
+        this.types = this.columnHandles.stream()
+                .map(JdbcColumnHandle::getColumnType)
+                .toArray(Type[]::new);
+        this.executor = requireNonNull(executor, "executor is null");
+        this.maxBufferedBytes = requireNonNull(maxBufferedSize, "maxBufferedSize is null").toBytes();
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes.get();
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos.get();
+    }
+
+    @Override
+    public synchronized boolean isFinished()
+    {
+        return failure.get() == null && pages.isEmpty() && !fetching && (closed || exhausted);
+    }
+
+    @Override
+    public CompletableFuture<?> isBlocked()
+    {
+        scheduleFetch();
+        synchronized (this) {
+            if (failure.get() != null || !pages.isEmpty() || !fetching) {
+                return NOT_BLOCKED;
+            }
+            if (blocked.isDone()) {
+                blocked = new CompletableFuture<>();
+            }
+            return blocked;
+        }
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+
+        Page page;
+        synchronized (this) {
+            page = pages.poll();
+            if (page != null) {
+                bufferedBytes -= page.getRetainedSizeInBytes();
+            }
+        }
+        // keep the buffer filled while the page is processed
+        scheduleFetch();
+        return page;
+    }
+
+    @Override
+    public synchronized long getSystemMemoryUsage()
+    {
+        return bufferedBytes;
+    }
+
+    @Override
+    public void close()
+    {
+        boolean closeResources;
+        boolean cancel;
+        CompletableFuture<?> future;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pages.clear();
+            bufferedBytes = 0;
+            // a running fetch task releases the JDBC resources when it sees the page source is closed
+            closeResources = !fetching;
+            cancel = !exhausted && !resourcesClosed;
+            future = blocked;
+        }
+        future.complete(null);
+        if (cancel) {
+            cancelStatement();
+        }
+        if (closeResources) {
+            closeResources();
+        }
+    }
+
+    private void cancelStatement()
+    {
+        // stops the remote query, so that a fetch task waiting for rows returns and the remaining rows are not sent
+        PreparedStatement runningStatement = statement;
+        if (runningStatement == null) {
+            return;
+        }
+        try {
+            runningStatement.cancel();
+        }
+        catch (SQLException | RuntimeException e) {
+            // ignore exception from cancel, the statement may have been closed already
+            log.debug(e, "Failed to cancel statement");
+        }
+    }
+
+    private void scheduleFetch()
+    {
+        synchronized (this) {
+            if (fetching || closed || exhausted || failure.get() != null || bufferedBytes >= maxBufferedBytes) {
+                return;
+            }
+            fetching = true;
+        }
+        try {
+            executor.execute(this::fetch);
+        }
+        catch (RejectedExecutionException e) {
+            failure.compareAndSet(null, new PrestoException(JDBC_ERROR, e));
+            fetchDone();
+        }
+    }
+
+    private void fetch()
+    {
+        long start = System.nanoTime();
+        try {
+            if (resultSet == null) {
+                open();
+            }
+            while (!closed) {
+                if (!resultSet.next()) {
+                    if (!pageBuilder.isEmpty()) {
+                        addPage(pageBuilder.build());
+                    }
+                    synchronized (this) {
+                        exhausted = true;
+                    }
+                    break;
+                }
+                appendRow();
+                if (pageBuilder.isFull() || pageBuilder.getPositionCount() >= MAX_ROWS_PER_PAGE) {
+                    addPage(pageBuilder.build());
+                    pageBuilder.reset();
+                    synchronized (this) {
+                        if (bufferedBytes >= maxBufferedBytes) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        catch (SQLException | RuntimeException e) {
+            // failures caused by closing the page source are expected
+            if (!closed) {
+                failure.compareAndSet(null, new PrestoException(JDBC_ERROR, e));
+            }
+        }
+        finally {
+            readTimeNanos.addAndGet(System.nanoTime() - start);
+            fetchDone();
+        }
+    }
+
+    private void open()
+            throws SQLException
+    {
+        int columnCount = columnHandles.size();
+        booleanReadFunctions = new BooleanReadFunction[columnCount];
+        doubleReadFunctions = new DoubleReadFunction[columnCount];
+        longReadFunctions = new LongReadFunction[columnCount];
+        sliceReadFunctions = new SliceReadFunction[columnCount];
+        blockReadFunctions = new BlockReadFunction[columnCount];
+
+        connection = jdbcClient.getConnection(JdbcIdentity.from(session), split);
+        for (int i = 0; i < columnCount; i++) {
+            ColumnMapping columnMapping = jdbcClient.toPrestoType(session, connection, columnHandles.get(i).getJdbcTypeHandle())
+                    .orElseThrow(() -> new VerifyException("Unsupported column type"));
+            Class<?> javaType = columnMapping.getType().getJavaType();
+            ReadFunction readFunction = columnMapping.getReadFunction();
+
+            if (javaType == boolean.class) {
+                booleanReadFunctions[i] = (BooleanReadFunction) readFunction;
+            }
+            else if (javaType == double.class) {
+                doubleReadFunctions[i] = (DoubleReadFunction) readFunction;
+            }
+            else if (javaType == long.class) {
+                longReadFunctions[i] = (LongReadFunction) readFunction;
+            }
+            else if (javaType == Slice.class) {
+                sliceReadFunctions[i] = (SliceReadFunction) readFunction;
+            }
+            else if (javaType == Block.class) {
+                blockReadFunctions[i] = (BlockReadFunction) readFunction;
+            }
+            else {
+                throw new IllegalStateException(format("Unsupported java type %s", javaType));
+            }
+        }
+        pageBuilder = new PageBuilder(ImmutableList.copyOf(types));
+
+        PreparedStatement preparedStatement = jdbcClient.buildSql(session, connection, split, table, columnHandles);
+        statement = preparedStatement;
+        log.debug("Executing: %s", preparedStatement.toString());
+        resultSet = preparedStatement.executeQuery();
+    }
+
+    private void appendRow()
+            throws SQLException
+    {
+        pageBuilder.declarePosition();
+        for (int channel = 0; channel < types.length; channel++) {
+            BlockBuilder output = pageBuilder.getBlockBuilder(channel);
+            int index = channel + 1;
+
+            // the value is read with the typed read function of the column, and wasNull reports whether the getter of
+            // the result set it called found a null. Unlike checking with getObject first, this does not box every value.
+            // Read functions do not fail on null values, see ReadFunction.
+            if (longReadFunctions[channel] != null) {
+                long value = longReadFunctions[channel].readLong(resultSet, index);
+                if (!appendNullIfWasNull(output)) {
+                    types[channel].writeLong(output, value);
+                }
+            }
+            else if (sliceReadFunctions[channel] != null) {
+                Slice value = sliceReadFunctions[channel].readSlice(resultSet, index);
+                if (!appendNullIfWasNull(output)) {
+                    types[channel].writeSlice(output, value);
+                }
+            }
+            else if (doubleReadFunctions[channel] != null) {
+                double value = doubleReadFunctions[channel].readDouble(resultSet, index);
+                if (!appendNullIfWasNull(output)) {
+                    types[channel].writeDouble(output, value);
+                }
+            }
+            else if (booleanReadFunctions[channel] != null) {
+                boolean value = booleanReadFunctions[channel].readBoolean(resultSet, index);
+                if (!appendNullIfWasNull(output)) {
+                    types[channel].writeBoolean(output, value);
+                }
+            }
+            else {
+                Block value = blockReadFunctions[channel].readBlock(resultSet, index);
+                if (!appendNullIfWasNull(output)) {
+                    types[channel].writeObject(output, value);
+                }
+            }
+        }
+        rowCount++;
+    }
+
+    private boolean appendNullIfWasNull(BlockBuilder output)
+            throws SQLException
+    {
+        if (resultSet.wasNull()) {
+            output.appendNull();
+            return true;
+        }
+        return false;
+    }
+
+    private void addPage(Page page)
+    {
+        completedBytes.addAndGet(page.getSizeInBytes());
+
+        CompletableFuture<?> future;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            pages.add(page);
+            bufferedBytes += page.getRetainedSizeInBytes();
+            future = blocked;
+        }
+        future.complete(null);
+    }
+
+    private void fetchDone()
+    {
+        boolean closeResources;
+        CompletableFuture<?> future;
+        synchronized (this) {
+            fetching = false;
+            closeResources = closed || exhausted || failure.get() != null;
+            future = blocked;
+        }
+        if (closeResources) {
+            closeResources();
+        }
+        future.complete(null);
+    }
+
+    private void closeResources()
+    {
+        synchronized (this) {
+            if (resourcesClosed) {
+                return;
+            }
+            resourcesClosed = true;
+        }
+
+        try (PreparedStatement stat = statement;
+                ResultSet result = resultSet) {
+            log.debug("Read %d rows in %dms", rowCount, readTimeNanos.get() / 1_000_000);
+        }
+        catch (SQLException | RuntimeException e) {
+            // ignore exception from close
+            log.warn(e.toString());
+        }
+
+        try (Connection conn = connection) {
+            if (conn != null) {
+                jdbcClient.abortReadConnection(conn);
+            }
+        }
+        catch (SQLException | RuntimeException e) {
+            // ignore exception from close
+            log.warn(e.toString());
+        }
+    }
+}
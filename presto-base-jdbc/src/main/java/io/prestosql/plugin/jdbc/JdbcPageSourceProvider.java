@@ -24,11 +24,16 @@ import io.prestosql.spi.connector.ConnectorTransactionHandle;
 import io.prestosql.spi.connector.RecordPageSource;
 import io.prestosql.spi.connector.RecordSet;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 
 public class JdbcPageSourceProvider
         implements ConnectorPageSourceProvider
@@ -36,6 +41,7 @@ public class JdbcPageSourceProvider
     private JdbcRecordSetProvider recordSetProvider;
     private final JdbcClient jdbcClient;
     private final BaseJdbcConfig config;
+    private final ExecutorService pageFetchExecutor;
 
     @Inject
     public JdbcPageSourceProvider(@InternalBaseJdbc JdbcClient jdbcClient, BaseJdbcConfig config, JdbcRecordSetProvider recordSetProvider)
@@ -43,12 +49,21 @@ public class JdbcPageSourceProvider
         this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
         this.config = requireNonNull(config, "config is null");
         this.recordSetProvider = requireNonNull(recordSetProvider, "recordSetProvider is null");
+        // the splits waiting for a thread keep their buffered pages, and fetch again once one is free
+        this.pageFetchExecutor = newFixedThreadPool(config.getPageSourceThreads(), daemonThreadsNamed("jdbc-page-fetcher-%s"));
     }
 
     @Override
     public ConnectorPageSource createPageSource(ConnectorTransactionHandle transaction, ConnectorSession session, ConnectorSplit split, ConnectorTableHandle table, List<ColumnHandle> columns)
     {
         JdbcTableHandle jdbcTableHandle = (JdbcTableHandle) table;
+        if (config.isColumnarPageSourceEnabled() && !jdbcTableHandle.getDeleteOrUpdate()) {
+            List<JdbcColumnHandle> jdbcColumns = columns.stream()
+                    .map(JdbcColumnHandle.class::cast)
+                    .collect(toImmutableList());
+            return new JdbcPageSource(jdbcClient, session, (JdbcSplit) split, jdbcTableHandle, jdbcColumns, pageFetchExecutor, config.getPageSourceBufferSize());
+        }
+
         RecordSet recordSet = recordSetProvider.getRecordSet(transaction, session, split, table, columns);
         if (jdbcTableHandle.getDeleteOrUpdate()) {
             return new JdbcUpdatablePageSource(recordSet, session, table, jdbcClient, config, (JdbcSplit) split);
@@ -57,4 +72,10 @@ public class JdbcPageSourceProvider
             return new RecordPageSource(recordSet);
         }
     }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        pageFetchExecutor.shutdownNow();
+    }
 }
@@ -44,8 +44,8 @@ public class JdbcSplitManager
     public ConnectorSplitSource getSplits(ConnectorTransactionHandle transaction, ConnectorSession session, ConnectorTableHandle table, SplitSchedulingStrategy splitSchedulingStrategy)
     {
         JdbcTableHandle tableHandle = (JdbcTableHandle) table;
-        //table split eanble and no pushdown operator
-        if (tableSplitEnable && !tableHandle.getGeneratedSql().isPresent()) {
+        //table split eanble and no pushdown operator, or a pushed down query that only filters and projects the table
+        if (tableSplitEnable && (!tableHandle.getGeneratedSql().isPresent() || tableHandle.getGeneratedSql().get().isSplittable())) {
             return tableSplitManager.getSplits(JdbcIdentity.from(session), tableHandle);
         }
         return jdbcClient.getSplits(JdbcIdentity.from(session), tableHandle);
@@ -13,6 +13,13 @@
  */
 package io.prestosql.plugin.jdbc;
 
+/**
+ * Reads the value of a column of the current row of a {@link java.sql.ResultSet}.
+ * <p>
+ * Read functions are also called for null values, which the caller detects with {@link java.sql.ResultSet#wasNull()}
+ * right after the read, so they must not fail on a null value. Functions that convert an object read from the
+ * result set return any value when it is null, e.g. 0 or null.
+ */
 public interface ReadFunction<T>
 {
     Class<?> getJavaType();
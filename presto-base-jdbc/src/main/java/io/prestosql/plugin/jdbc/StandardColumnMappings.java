@@ -151,12 +151,18 @@ public final class StandardColumnMappings
         if (decimalType.isShort()) {
             return ColumnMapping.longMapping(
                     decimalType,
-                    (resultSet, columnIndex) -> encodeShortScaledValue(resultSet.getBigDecimal(columnIndex), scale),
+                    (resultSet, columnIndex) -> {
+                        BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                        return value == null ? 0 : encodeShortScaledValue(value, scale);
+                    },
                     shortDecimalWriteFunction(decimalType));
         }
         return ColumnMapping.sliceMapping(
                 decimalType,
-                (resultSet, columnIndex) -> encodeScaledValue(resultSet.getBigDecimal(columnIndex), scale),
+                (resultSet, columnIndex) -> {
+                    BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                    return value == null ? null : encodeScaledValue(value, scale);
+                },
                 longDecimalWriteFunction(decimalType));
     }
 
@@ -187,7 +193,10 @@ public final class StandardColumnMappings
         requireNonNull(charType, "charType is null");
         return ColumnMapping.sliceMapping(
                 charType,
-                (resultSet, columnIndex) -> utf8Slice(CharMatcher.is(' ').trimTrailingFrom(resultSet.getString(columnIndex))),
+                (resultSet, columnIndex) -> {
+                    String value = resultSet.getString(columnIndex);
+                    return value == null ? null : utf8Slice(CharMatcher.is(' ').trimTrailingFrom(value));
+                },
                 charWriteFunction());
     }
 
@@ -200,7 +209,13 @@ public final class StandardColumnMappings
 
     public static ColumnMapping varcharColumnMapping(VarcharType varcharType)
     {
-        return ColumnMapping.sliceMapping(varcharType, (resultSet, columnIndex) -> utf8Slice(resultSet.getString(columnIndex)), varcharWriteFunction());
+        return ColumnMapping.sliceMapping(
+                varcharType,
+                (resultSet, columnIndex) -> {
+                    String value = resultSet.getString(columnIndex);
+                    return value == null ? null : utf8Slice(value);
+                },
+                varcharWriteFunction());
     }
 
     public static SliceWriteFunction varcharWriteFunction()
@@ -212,7 +227,10 @@ public final class StandardColumnMappings
     {
         return ColumnMapping.sliceMapping(
                 VARBINARY,
-                (resultSet, columnIndex) -> wrappedBuffer(resultSet.getBytes(columnIndex)),
+                (resultSet, columnIndex) -> {
+                    byte[] value = resultSet.getBytes(columnIndex);
+                    return value == null ? null : wrappedBuffer(value);
+                },
                 varbinaryWriteFunction(),
                 DISABLE_PUSHDOWN);
     }
@@ -235,7 +253,11 @@ public final class StandardColumnMappings
                      * `return resultSet.getObject(columnIndex, LocalDate.class).toEpochDay()` avoids these problems but
                      * is currently known not to work with Redshift (old Postgres connector) and SQL Server.
                      */
-                    long localMillis = resultSet.getDate(columnIndex).getTime();
+                    Date date = resultSet.getDate(columnIndex);
+                    if (date == null) {
+                        return 0;
+                    }
+                    long localMillis = date.getTime();
                     // Convert it to a ~midnight in UTC.
                     long utcMillis = ISOChronology.getInstance().getZone().getMillisKeepLocal(DateTimeZone.UTC, localMillis);
                     // convert to days
@@ -264,6 +286,9 @@ public final class StandardColumnMappings
                      * The problem can be averted by using `resultSet.getObject(columnIndex, LocalTime.class)` -- but this is not universally supported by JDBC drivers.
                      */
                     Time time = resultSet.getTime(columnIndex);
+                    if (time == null) {
+                        return 0;
+                    }
                     return UTC_CHRONOLOGY.millisOfDay().get(time.getTime());
                 },
                 timeWriteFunction());
@@ -291,7 +316,7 @@ public final class StandardColumnMappings
                 TIMESTAMP,
                 (resultSet, columnIndex) -> {
                     Timestamp timestamp = resultSet.getTimestamp(columnIndex);
-                    return toPrestoTimestamp(timestamp.toLocalDateTime());
+                    return timestamp == null ? 0 : toPrestoTimestamp(timestamp.toLocalDateTime());
                 },
                 timestampWriteFunctionUsingSqlTimestamp());
     }
@@ -300,7 +325,10 @@ public final class StandardColumnMappings
     {
         return ColumnMapping.longMapping(
                 TIMESTAMP,
-                (resultSet, columnIndex) -> toPrestoTimestamp(resultSet.getObject(columnIndex, LocalDateTime.class)),
+                (resultSet, columnIndex) -> {
+                    LocalDateTime value = resultSet.getObject(columnIndex, LocalDateTime.class);
+                    return value == null ? 0 : toPrestoTimestamp(value);
+                },
                 timestampWriteFunction());
     }
 
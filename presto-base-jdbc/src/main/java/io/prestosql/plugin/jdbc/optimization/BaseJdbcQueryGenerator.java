@@ -52,6 +52,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.stream.IntStream;
 
@@ -146,7 +147,28 @@ public class BaseJdbcQueryGenerator
 
         boolean isPushDown = context.isHasPushDown();
 
-        return new GeneratedSql(sql, isPushDown);
+        return new GeneratedSql(sql, isPushDown, getSplitPredicatePosition(sql, context.getSplitTable()));
+    }
+
+    /**
+     * The predicate of a table split is appended to the innermost scan of the split table, which has no clauses
+     * of its own. The position is only returned if that scan can be found unambiguously in the sql.
+     */
+    private static OptionalInt getSplitPredicatePosition(String sql, Optional<String> splitTable)
+    {
+        if (!splitTable.isPresent()) {
+            return OptionalInt.empty();
+        }
+        String scan = " FROM " + splitTable.get();
+        int index = sql.indexOf(scan);
+        if (index < 0 || index != sql.lastIndexOf(scan)) {
+            return OptionalInt.empty();
+        }
+        int position = index + scan.length();
+        if (position < sql.length() && sql.charAt(position) != ')') {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(position);
     }
 
     protected class BaseJdbcPlanVisitor
@@ -192,6 +214,7 @@ public class BaseJdbcQueryGenerator
                     .setFilter(Optional.of(filter))
                     .setOutputColumns(node.getOutputSymbols())
                     .setHasPushDown(true)
+                    .setSplitTable(context.getSplitTable())
                     .build());
         }
 
@@ -308,6 +331,7 @@ public class BaseJdbcQueryGenerator
                     .setFrom(getDerivedTable(buildSql(context).getSql(), derivedTableIdentifier++))
                     .setSelections(newSelections)
                     .setOutputColumns(node.getOutputSymbols())
+                    .setSplitTable(context.getSplitTable())
                     .build());
         }
 
@@ -438,6 +462,10 @@ public class BaseJdbcQueryGenerator
                 contextBuilder.setLimit(jdbcTableHandle.getLimit());
                 contextBuilder.setHasPushDown(true);
             }
+            else {
+                // rows of the table can be read in parallel by table splits
+                contextBuilder.setSplitTable(Optional.of(table.toString()));
+            }
 
             return Optional.of(contextBuilder.build());
         }
@@ -542,6 +570,7 @@ public class BaseJdbcQueryGenerator
             JdbcQueryGeneratorContext context = sourceContext.get();
             return Optional.of(buildFrom(context)
                     .setHasPushDown(true)
+                    .setSplitTable(Optional.empty())
                     .setLimit(OptionalLong.of(node.getCount()))
                     .setOutputColumns(node.getOutputSymbols())
                     .build());
@@ -62,6 +62,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
@@ -218,9 +219,11 @@ public class JdbcPlanOptimizer
 
             JdbcQueryGeneratorContext.GroupIdNodeInfo groupIdNodeInfo = context.getGroupIdNodeInfo();
             String sql = generatedSql.getSql();
+            OptionalInt splitPredicatePosition = generatedSql.getSplitPredicatePosition();
             // replace grouping sets column
             if (groupIdNodeInfo.isGroupByComplexOperation()) {
                 sql = replaceGroupingSetColumns(sql);
+                splitPredicatePosition = OptionalInt.empty();
             }
 
             try {
@@ -286,7 +289,7 @@ public class JdbcPlanOptimizer
                             context.getRemoteTableName(),
                             TupleDomain.all(),
                             OptionalLong.empty(),
-                            Optional.of(new GeneratedSql(sql, true)),
+                            Optional.of(new GeneratedSql(sql, true, splitPredicatePosition)),
                             false),
                     context.getTransaction().get(),
                     Optional.empty());
@@ -50,6 +50,8 @@ public final class JdbcQueryGeneratorContext
     private final Optional<List<OrderBy>> orderBy;
     private final boolean hasPushDown;
     private final GroupIdNodeInfo groupIdNodeInfo;
+    // the scanned table, if the rows of the query are the filtered and projected rows of that single table
+    private final Optional<String> splitTable;
 
     private JdbcQueryGeneratorContext(
             Optional<CatalogName> catalogName,
@@ -65,7 +67,8 @@ public final class JdbcQueryGeneratorContext
             OptionalLong limit,
             Optional<List<OrderBy>> orderBy,
             GroupIdNodeInfo groupIdNodeInfo,
-            boolean hasPushDown)
+            boolean hasPushDown,
+            Optional<String> splitTable)
     {
         this.catalogName = catalogName;
         this.schemaTableName = schemaTableName;
@@ -81,6 +84,7 @@ public final class JdbcQueryGeneratorContext
         this.orderBy = orderBy;
         this.groupIdNodeInfo = groupIdNodeInfo;
         this.hasPushDown = hasPushDown;
+        this.splitTable = requireNonNull(splitTable, "splitTable is null");
     }
 
     public Optional<CatalogName> getCatalogName()
@@ -153,6 +157,11 @@ public final class JdbcQueryGeneratorContext
         return hasPushDown;
     }
 
+    public Optional<String> getSplitTable()
+    {
+        return splitTable;
+    }
+
     @Override
     public String toString()
     {
@@ -229,6 +238,7 @@ public final class JdbcQueryGeneratorContext
         private Optional<List<OrderBy>> orderBy = Optional.empty();
         private GroupIdNodeInfo groupIdNodeInfo = new GroupIdNodeInfo();
         private boolean hasPushDown;
+        private Optional<String> splitTable = Optional.empty();
 
         public Builder() {}
 
@@ -248,6 +258,7 @@ public final class JdbcQueryGeneratorContext
             this.orderBy = context.getOrderBy();
             this.hasPushDown = context.isHasPushDown();
             this.groupIdNodeInfo = context.getGroupIdNodeInfo();
+            this.splitTable = context.getSplitTable();
         }
 
         private Builder(
@@ -346,6 +357,12 @@ public final class JdbcQueryGeneratorContext
             return this;
         }
 
+        public Builder setSplitTable(Optional<String> splitTable)
+        {
+            this.splitTable = splitTable;
+            return this;
+        }
+
         public Builder setOutputColumns(List<Symbol> outputColumns)
         {
             LinkedHashMap<String, Selection> newSelections = new LinkedHashMap<>();
@@ -383,7 +400,8 @@ public final class JdbcQueryGeneratorContext
                     limit,
                     orderBy,
                     groupIdNodeInfo,
-                    hasPushDown);
+                    hasPushDown,
+                    splitTable);
         }
     }
 }
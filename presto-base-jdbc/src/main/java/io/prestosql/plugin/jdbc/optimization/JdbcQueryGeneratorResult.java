@@ -17,7 +17,11 @@ package io.prestosql.plugin.jdbc.optimization;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.OptionalInt;
+
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
 
 public class JdbcQueryGeneratorResult
 {
@@ -46,14 +50,23 @@ public class JdbcQueryGeneratorResult
     {
         private final String sql;
         private final boolean isPushDown;
+        // position in the sql at which the predicate of a table split can be applied to the scanned table
+        private final OptionalInt splitPredicatePosition;
+
+        public GeneratedSql(String sql, boolean isPushDown)
+        {
+            this(sql, isPushDown, OptionalInt.empty());
+        }
 
         @JsonCreator
         public GeneratedSql(
                 @JsonProperty("sql") String sql,
-                @JsonProperty("isPushDown") boolean isPushDown)
+                @JsonProperty("isPushDown") boolean isPushDown,
+                @JsonProperty("splitPredicatePosition") OptionalInt splitPredicatePosition)
         {
             this.sql = sql;
             this.isPushDown = isPushDown;
+            this.splitPredicatePosition = requireNonNull(splitPredicatePosition, "splitPredicatePosition is null");
         }
 
         @JsonProperty("sql")
@@ -68,12 +81,38 @@ public class JdbcQueryGeneratorResult
             return isPushDown;
         }
 
+        @JsonProperty("splitPredicatePosition")
+        public OptionalInt getSplitPredicatePosition()
+        {
+            return splitPredicatePosition;
+        }
+
+        /**
+         * Whether the rows of the sql can be read in parallel by table splits. This is the case when the sql only
+         * filters and projects the rows of a single table, so the split predicates can be applied to that table.
+         */
+        public boolean isSplittable()
+        {
+            return splitPredicatePosition.isPresent();
+        }
+
+        /**
+         * Returns the sql that only reads the rows of the scanned table that match the predicate of a table split.
+         */
+        public String getSql(String splitPredicate)
+        {
+            checkState(isSplittable(), "sql can not be split: %s", sql);
+            int position = splitPredicatePosition.getAsInt();
+            return sql.substring(0, position) + " WHERE " + splitPredicate + sql.substring(position);
+        }
+
         @Override
         public String toString()
         {
             return toStringHelper(this)
                     .add("sql", sql)
                     .add("isPushDown", isPushDown)
+                    .add("splitPredicatePosition", splitPredicatePosition)
                     .toString();
         }
     }
@@ -15,11 +15,13 @@ package io.prestosql.plugin.jdbc;
 
 import com.google.common.collect.ImmutableMap;
 import io.airlift.configuration.testing.ConfigAssertions;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import org.testng.annotations.Test;
 
 import java.util.Map;
 
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule.BASE_PUSHDOWN;
 import static io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule.DEFAULT;
 import static io.prestosql.sql.builder.functioncall.FunctionCallConstants.REMOTE_FUNCTION_CATALOG_SCHEMA;
@@ -65,7 +67,11 @@ public class TestBaseJdbcConfig
                 .setTableSplitEnable(false)
                 .setTableSplitFields(null)
                 .setTableSplitStepCalcRefreshInterval(new Duration(5, MINUTES))
-                .setTableSplitStepCalcCalcThreads(4));
+                .setTableSplitStepCalcCalcThreads(4)
+                .setColumnarPageSourceEnabled(false)
+                .setPageSourceBufferSize(new DataSize(16, MEGABYTE))
+                .setPageSourceThreads(16)
+                .setInsertRowsPerStatement(1));
     }
 
     @Test
@@ -105,6 +111,10 @@ public class TestBaseJdbcConfig
                 .put("jdbc.table-split-fields", "test_field")
                 .put("jdbc.table-split-stepCalc-refresh-interval", "20s")
                 .put("jdbc.table-split-stepCalc-threads", "2")
+                .put("jdbc.columnar-page-source-enabled", "true")
+                .put("jdbc.page-source-buffer-size", "64MB")
+                .put("jdbc.page-source-threads", "4")
+                .put("jdbc.insert-rows-per-statement", "100")
                 .build();
 
         BaseJdbcConfig expected = new BaseJdbcConfig()
@@ -140,7 +150,11 @@ public class TestBaseJdbcConfig
                 .setTableSplitEnable(true)
                 .setTableSplitFields("test_field")
                 .setTableSplitStepCalcRefreshInterval(new Duration(20, SECONDS))
-                .setTableSplitStepCalcCalcThreads(2);
+                .setTableSplitStepCalcCalcThreads(2)
+                .setColumnarPageSourceEnabled(true)
+                .setPageSourceBufferSize(new DataSize(64, MEGABYTE))
+                .setPageSourceThreads(4)
+                .setInsertRowsPerStatement(100);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.RowPagesBuilder;
+import io.prestosql.spi.Page;
+import org.h2.Driver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.prestosql.RowPagesBuilder.rowPagesBuilder;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static io.prestosql.testing.TestingConnectorSession.SESSION;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class TestJdbcPageSink
+{
+    private Connection connection;
+    private JdbcClient jdbcClient;
+    private JdbcOutputTableHandle handle;
+
+    @BeforeClass
+    public void setUp()
+            throws SQLException
+    {
+        String connectionUrl = "jdbc:h2:mem:test" + System.nanoTime() + ThreadLocalRandom.current().nextLong();
+        jdbcClient = new BaseJdbcClient(
+                new BaseJdbcConfig(),
+                "\"",
+                new DriverConnectionFactory(new Driver(), connectionUrl, Optional.empty(), Optional.empty(), new Properties()))
+        {
+            @Override
+            public Optional<String> buildMultiRowInsertSql(JdbcOutputTableHandle handle, int rowCount)
+            {
+                return Optional.of(buildMultiRowValuesInsertSql(handle, rowCount));
+            }
+        };
+        connection = DriverManager.getConnection(connectionUrl);
+        connection.createStatement().execute("CREATE SCHEMA example");
+        connection.createStatement().execute("CREATE TABLE example.target(value bigint, text varchar)");
+        handle = new JdbcOutputTableHandle(null, "EXAMPLE", "TARGET", ImmutableList.of("VALUE", "TEXT"), ImmutableList.of(BIGINT, VARCHAR), "TARGET");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws SQLException
+    {
+        connection.close();
+    }
+
+    @DataProvider
+    public Object[][] rowsPerStatement()
+    {
+        return new Object[][] {{1}, {7}, {100}};
+    }
+
+    @Test(dataProvider = "rowsPerStatement")
+    public void testInsert(int rowsPerStatement)
+            throws SQLException
+    {
+        connection.createStatement().execute("DELETE FROM example.target");
+
+        RowPagesBuilder pagesBuilder = rowPagesBuilder(BIGINT, VARCHAR);
+        long expectedSum = 0;
+        for (long value = 0; value < 2500; value++) {
+            if (value % 10 == 0) {
+                pagesBuilder.row(value, null);
+            }
+            else {
+                pagesBuilder.row(value, "text" + value);
+            }
+            expectedSum += value;
+            if (value % 99 == 98) {
+                pagesBuilder.pageBreak();
+            }
+        }
+
+        JdbcPageSink pageSink = new JdbcPageSink(SESSION, handle, jdbcClient, rowsPerStatement);
+        for (Page page : pagesBuilder.build()) {
+            getFutureValue(pageSink.appendPage(page));
+        }
+        getFutureValue(pageSink.finish());
+        assertEquals(pageSink.getRowsWritten(), 2500);
+        assertTrue(pageSink.getCompletedBytes() > 0);
+
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT count(*), count(text), sum(value) FROM example.target")) {
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getLong(1), 2500);
+            assertEquals(resultSet.getLong(2), 2250);
+            assertEquals(resultSet.getLong(3), expectedSum);
+        }
+    }
+
+    @Test
+    public void testMultiRowInsertSql()
+    {
+        assertEquals(((BaseJdbcClient) jdbcClient).buildMultiRowValuesInsertSql(handle, 3), "INSERT INTO \"EXAMPLE\".\"TARGET\" VALUES (?,?), (?,?), (?,?)");
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.connector.SchemaTableName;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.prestosql.plugin.jdbc.TestingJdbcTypeHandle.JDBC_BIGINT;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static io.prestosql.testing.TestingConnectorSession.SESSION;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(singleThreaded = true)
+public class TestJdbcPageSource
+{
+    private static final Map<String, Long> EXPECTED = ImmutableMap.<String, Long>builder()
+            .put("one", 1L)
+            .put("two", 2L)
+            .put("three", 3L)
+            .put("ten", 10L)
+            .put("eleven", 11L)
+            .put("twelve", 12L)
+            .build();
+
+    private TestingDatabase database;
+    private JdbcClient jdbcClient;
+    private JdbcTableHandle table;
+    private JdbcSplit split;
+    private Map<String, JdbcColumnHandle> columnHandles;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        database = new TestingDatabase();
+        jdbcClient = database.getJdbcClient();
+        table = database.getTableHandle(SESSION, new SchemaTableName("example", "numbers"));
+        split = database.getSplit(SESSION, table);
+        columnHandles = database.getColumnHandles(SESSION, table);
+        executor = newCachedThreadPool(daemonThreadsNamed("test-jdbc-page-source-%s"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        executor.shutdownNow();
+        database.close();
+    }
+
+    @Test
+    public void testReadPages()
+    {
+        List<JdbcColumnHandle> columns = ImmutableList.of(columnHandles.get("text"), columnHandles.get("text_short"), columnHandles.get("value"));
+        try (JdbcPageSource pageSource = new JdbcPageSource(jdbcClient, SESSION, split, table, columns, executor, new DataSize(16, MEGABYTE))) {
+            Map<String, Long> data = new LinkedHashMap<>();
+            for (Page page : readAll(pageSource)) {
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    String text = VARCHAR.getSlice(page.getBlock(0), position).toStringUtf8();
+                    assertEquals(VARCHAR.getSlice(page.getBlock(1), position).toStringUtf8(), text);
+                    data.put(text, BIGINT.getLong(page.getBlock(2), position));
+                }
+            }
+            assertEquals(data, EXPECTED);
+            assertTrue(pageSource.getCompletedBytes() > 0);
+            assertEquals(pageSource.getSystemMemoryUsage(), 0);
+        }
+    }
+
+    @Test
+    public void testNullValues()
+            throws Exception
+    {
+        // the read functions are called for null values too, and the nulls are detected with wasNull
+        database.getConnection().createStatement().execute("CREATE TABLE example.nullable(id bigint, text varchar, amount decimal(20, 2), day date, flag boolean, ratio double)");
+        database.getConnection().createStatement().execute("INSERT INTO example.nullable VALUES " +
+                "(1, 'a', 12.34, DATE '2020-01-02', true, 0.5)," +
+                "(2, NULL, NULL, NULL, NULL, NULL)");
+        JdbcTableHandle nullableTable = database.getTableHandle(SESSION, new SchemaTableName("example", "nullable"));
+        Map<String, JdbcColumnHandle> nullableColumns = database.getColumnHandles(SESSION, nullableTable);
+        List<JdbcColumnHandle> columns = ImmutableList.of(
+                nullableColumns.get("id"),
+                nullableColumns.get("text"),
+                nullableColumns.get("amount"),
+                nullableColumns.get("day"),
+                nullableColumns.get("flag"),
+                nullableColumns.get("ratio"));
+        JdbcSplit nullableSplit = database.getSplit(SESSION, nullableTable);
+        try (JdbcPageSource pageSource = new JdbcPageSource(jdbcClient, SESSION, nullableSplit, nullableTable, columns, executor, new DataSize(16, MEGABYTE))) {
+            int rows = 0;
+            for (Page page : readAll(pageSource)) {
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    boolean nullRow = BIGINT.getLong(page.getBlock(0), position) == 2;
+                    for (int channel = 1; channel < page.getChannelCount(); channel++) {
+                        assertEquals(page.getBlock(channel).isNull(position), nullRow);
+                    }
+                    if (!nullRow) {
+                        assertEquals(VARCHAR.getSlice(page.getBlock(1), position).toStringUtf8(), "a");
+                    }
+                    rows++;
+                }
+            }
+            assertEquals(rows, 2);
+        }
+    }
+
+    @Test
+    public void testSmallBuffer()
+    {
+        // a buffer smaller than a single page must not stop the page source from making progress
+        List<JdbcColumnHandle> columns = ImmutableList.of(columnHandles.get("value"), columnHandles.get("text"));
+        try (JdbcPageSource pageSource = new JdbcPageSource(jdbcClient, SESSION, split, table, columns, executor, new DataSize(1, BYTE))) {
+            long sum = 0;
+            int rows = 0;
+            for (Page page : readAll(pageSource)) {
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    sum += BIGINT.getLong(page.getBlock(0), position);
+                }
+                rows += page.getPositionCount();
+            }
+            assertEquals(rows, EXPECTED.size());
+            assertEquals(sum, EXPECTED.values().stream().mapToLong(Long::longValue).sum());
+        }
+    }
+
+    @Test
+    public void testNoColumns()
+    {
+        try (JdbcPageSource pageSource = new JdbcPageSource(jdbcClient, SESSION, split, table, ImmutableList.of(), executor, new DataSize(16, MEGABYTE))) {
+            int rows = 0;
+            for (Page page : readAll(pageSource)) {
+                assertEquals(page.getChannelCount(), 0);
+                rows += page.getPositionCount();
+            }
+            assertEquals(rows, EXPECTED.size());
+        }
+    }
+
+    @Test
+    public void testFailure()
+    {
+        List<JdbcColumnHandle> columns = ImmutableList.of(new JdbcColumnHandle("missing", JDBC_BIGINT, BIGINT, true));
+        try (JdbcPageSource pageSource = new JdbcPageSource(jdbcClient, SESSION, split, table, columns, executor, new DataSize(16, MEGABYTE))) {
+            readAll(pageSource);
+            fail("expected exception");
+        }
+        catch (PrestoException e) {
+            assertEquals(e.getErrorCode(), JdbcErrorCode.JDBC_ERROR.toErrorCode());
+        }
+    }
+
+    @Test
+    public void testIdempotentClose()
+    {
+        List<JdbcColumnHandle> columns = ImmutableList.of(columnHandles.get("value"));
+        JdbcPageSource pageSource = new JdbcPageSource(jdbcClient, SESSION, split, table, columns, executor, new DataSize(16, MEGABYTE));
+        getFutureValue(pageSource.isBlocked());
+        pageSource.close();
+        pageSource.close();
+    }
+
+    private static List<Page> readAll(ConnectorPageSource pageSource)
+    {
+        ImmutableList.Builder<Page> pages = ImmutableList.builder();
+        while (!pageSource.isFinished()) {
+            getFutureValue(pageSource.isBlocked());
+            Page page = pageSource.getNextPage();
+            if (page != null) {
+                pages.add(page);
+            }
+        }
+        return pages.build();
+    }
+}
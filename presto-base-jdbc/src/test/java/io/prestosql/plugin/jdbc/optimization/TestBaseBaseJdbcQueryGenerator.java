@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
+import io.prestosql.plugin.jdbc.optimization.JdbcQueryGeneratorResult.GeneratedSql;
 import io.prestosql.spi.block.SortOrder;
 import io.prestosql.spi.plan.Assignments;
 import io.prestosql.spi.plan.JoinNode;
@@ -39,6 +40,8 @@ import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.sql.analyzer.TypeSignatureProvider.fromTypes;
 import static io.prestosql.sql.relational.Expressions.call;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class TestBaseBaseJdbcQueryGenerator
         extends TestBaseJdbcPushDownBase
@@ -57,12 +60,17 @@ public class TestBaseBaseJdbcQueryGenerator
     private void testJQL(
             PlanNode planNode,
             String expectedJQL)
+    {
+        String generatedJQL = generateSql(planNode).getSql();
+        assertEquals(generatedJQL, expectedJQL);
+    }
+
+    private GeneratedSql generateSql(PlanNode planNode)
     {
         TesterParameter testerParameter = TesterParameter.getTesterParameter();
         JdbcPushDownParameter pushDownParameter = new JdbcPushDownParameter("'", false, FULL_PUSHDOWN, testerParameter.getFunctionResolution());
         JdbcQueryGeneratorResult jdbcQueryGeneratorResult = (new BaseJdbcQueryGenerator(pushDownParameter, new BaseJdbcRowExpressionConverter(testerParameter.getMetadata().getFunctionAndTypeManager(), testerParameter.getFunctionResolution(), testerParameter.getRowExpressionService(), testerParameter.getDeterminismEvaluator()), new BaseJdbcSqlStatementWriter(pushDownParameter))).generate(planNode, new TestTypeManager()).get();
-        String generatedJQL = jdbcQueryGeneratorResult.getGeneratedSql().getSql();
-        assertEquals(generatedJQL, expectedJQL);
+        return jdbcQueryGeneratorResult.getGeneratedSql();
     }
 
     private PlanNode buildPlan(Function<PlanBuilder, PlanNode> consumer)
@@ -154,6 +162,35 @@ public class TestBaseBaseJdbcQueryGenerator
                 "SELECT city, fare FROM (SELECT regionid, city, fare, amount FROM (SELECT regionid, city, fare, amount FROM 'table') hetu_table_1 WHERE (amount > 20)) hetu_table_2 LIMIT 30");
     }
 
+    @Test
+    public void testSplitPredicate()
+    {
+        GeneratedSql filtered = generateSql(buildPlan(planBuilder -> project(
+                planBuilder,
+                filter(
+                        planBuilder,
+                        tableScan(planBuilder, jdbcTable, regionId, city, fare, amount),
+                        getRowExpression("amount > 20", defaultSessionHolder)),
+                ImmutableList.of("city", "fare"))));
+        assertTrue(filtered.isSplittable());
+        assertEquals(filtered.getSql("regionid > 0 and regionid <= 10"),
+                "SELECT city, fare FROM (SELECT regionid, city, fare, amount FROM (SELECT regionid, city, fare, amount FROM 'table' WHERE regionid > 0 and regionid <= 10) hetu_table_1 WHERE (amount > 20)) hetu_table_2");
+
+        // rows of aggregations and limits depend on all rows of the table
+        GeneratedSql limited = generateSql(buildPlan(planBuilder -> limit(
+                planBuilder,
+                30L,
+                filter(
+                        planBuilder,
+                        tableScan(planBuilder, jdbcTable, regionId, city, fare, amount),
+                        getRowExpression("amount > 20", defaultSessionHolder)))));
+        assertFalse(limited.isSplittable());
+
+        PlanNode justScan = buildPlan(planBuilder -> tableScan(planBuilder, jdbcTable, regionId, city, fare, amount));
+        GeneratedSql aggregated = generateSql(buildPlan(planBuilder -> planBuilder.aggregation(aggBuilder -> aggBuilder.source(justScan).singleGroupingSet(symbol("regionid")))));
+        assertFalse(aggregated.isSplittable());
+    }
+
     @Test
     public void testCountStar()
     {
@@ -119,6 +119,9 @@ public class ClientOptions
     @Option(name = "--timeInMilliseconds", title = "timeInMilliseconds", description = "Enable elapsed time with milliseconds")
     public boolean timeInMilliseconds;
 
+    @Option(name = "--binary-results", title = "binary results", description = "Fetch query results in the binary columnar format instead of JSON rows, to save encoding and decoding CPU")
+    public boolean binaryResults;
+
     @Option(name = "--progress", title = "progress", description = "Show query progress in batch mode")
     public boolean progress;
 
@@ -200,7 +203,8 @@ public class ClientOptions
                 toExtraCredentials(extraCredentials),
                 null,
                 clientRequestTimeout,
-                timeInMilliseconds);
+                timeInMilliseconds,
+                binaryResults);
     }
 
     public static URI parseServer(String server)
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.Slices;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decodes the columnar binary result format that is sent in {@link QueryResults#getBinaryData()}
+ * when the client advertises {@link ClientCapabilities#BINARY_RESULTS}.
+ * <p>
+ * Layout (little endian):
+ * <pre>
+ * flags (byte), bit 0 set if the body is deflate-compressed
+ * uncompressed body size (int), only present when compressed
+ * body:
+ *   row count (int), column count (int)
+ *   for each column: a null flag (byte) per row, followed by the values of all rows,
+ *   fixed width for numeric types, and for variable width types the lengths (int) of all rows followed by the bytes
+ * </pre>
+ * The payload is a JSON property, so it is sent base64-encoded, which makes it larger on the wire than
+ * the binary body itself. It saves the per value JSON encoding and decoding, not transfer size.
+ * The decoder only depends on the client module, so it can be used by the JDBC driver and the CLI.
+ * Decoded values have the same Java types as rows decoded from JSON.
+ */
+public final class BinaryResultsDecoder
+{
+    public static final byte FLAG_COMPRESSED = 1;
+
+    private static final Set<String> SUPPORTED_TYPES = ImmutableSet.of(
+            ClientStandardTypes.BOOLEAN,
+            ClientStandardTypes.TINYINT,
+            ClientStandardTypes.SMALLINT,
+            ClientStandardTypes.INTEGER,
+            ClientStandardTypes.BIGINT,
+            ClientStandardTypes.REAL,
+            ClientStandardTypes.DOUBLE,
+            ClientStandardTypes.DATE,
+            ClientStandardTypes.VARCHAR,
+            ClientStandardTypes.VARBINARY);
+
+    private BinaryResultsDecoder() {}
+
+    /**
+     * Whether values of the given raw type can be sent in the binary format. Results with any other column type are sent as JSON.
+     */
+    public static boolean isSupportedType(String rawType)
+    {
+        return SUPPORTED_TYPES.contains(rawType);
+    }
+
+    public static Iterable<List<Object>> decode(List<Column> columns, byte[] binaryData)
+    {
+        requireNonNull(columns, "columns is null");
+        requireNonNull(binaryData, "binaryData is null");
+
+        SliceInput input = Slices.wrappedBuffer(binaryData).getInput();
+        byte flags = input.readByte();
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            input = Slices.wrappedBuffer(inflate(binaryData, (int) input.position(), input.readInt())).getInput();
+        }
+
+        int rowCount = input.readInt();
+        int columnCount = input.readInt();
+        checkArgument(columnCount == columns.size(), "Binary data has %s columns, expected %s", columnCount, columns.size());
+
+        Object[][] values = new Object[columnCount][];
+        for (int column = 0; column < columnCount; column++) {
+            values[column] = readColumn(input, columns.get(column).getTypeSignature().getRawType(), rowCount);
+        }
+
+        ImmutableList.Builder<List<Object>> rows = ImmutableList.builder();
+        for (int row = 0; row < rowCount; row++) {
+            List<Object> newRow = new ArrayList<>(columnCount);
+            for (int column = 0; column < columnCount; column++) {
+                newRow.add(values[column][row]);
+            }
+            rows.add(unmodifiableList(newRow)); // allow nulls in list
+        }
+        return rows.build();
+    }
+
+    private static Object[] readColumn(SliceInput input, String rawType, int rowCount)
+    {
+        boolean[] nulls = new boolean[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            nulls[row] = input.readByte() != 0;
+        }
+
+        Object[] values = new Object[rowCount];
+        switch (rawType) {
+            case ClientStandardTypes.BOOLEAN:
+                for (int row = 0; row < rowCount; row++) {
+                    byte value = input.readByte();
+                    values[row] = nulls[row] ? null : value != 0;
+                }
+                break;
+            case ClientStandardTypes.TINYINT:
+                for (int row = 0; row < rowCount; row++) {
+                    byte value = input.readByte();
+                    values[row] = nulls[row] ? null : value;
+                }
+                break;
+            case ClientStandardTypes.SMALLINT:
+                for (int row = 0; row < rowCount; row++) {
+                    short value = input.readShort();
+                    values[row] = nulls[row] ? null : value;
+                }
+                break;
+            case ClientStandardTypes.INTEGER:
+                for (int row = 0; row < rowCount; row++) {
+                    int value = input.readInt();
+                    values[row] = nulls[row] ? null : value;
+                }
+                break;
+            case ClientStandardTypes.DATE:
+                for (int row = 0; row < rowCount; row++) {
+                    int value = input.readInt();
+                    values[row] = nulls[row] ? null : LocalDate.ofEpochDay(value).toString();
+                }
+                break;
+            case ClientStandardTypes.REAL:
+                for (int row = 0; row < rowCount; row++) {
+                    int value = input.readInt();
+                    values[row] = nulls[row] ? null : Float.intBitsToFloat(value);
+                }
+                break;
+            case ClientStandardTypes.BIGINT:
+                for (int row = 0; row < rowCount; row++) {
+                    long value = input.readLong();
+                    values[row] = nulls[row] ? null : value;
+                }
+                break;
+            case ClientStandardTypes.DOUBLE:
+                for (int row = 0; row < rowCount; row++) {
+                    double value = input.readDouble();
+                    values[row] = nulls[row] ? null : value;
+                }
+                break;
+            case ClientStandardTypes.VARCHAR:
+            case ClientStandardTypes.VARBINARY:
+                int[] lengths = new int[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    lengths[row] = input.readInt();
+                }
+                boolean varchar = rawType.equals(ClientStandardTypes.VARCHAR);
+                for (int row = 0; row < rowCount; row++) {
+                    if (nulls[row]) {
+                        continue;
+                    }
+                    byte[] bytes = new byte[lengths[row]];
+                    input.readBytes(bytes);
+                    values[row] = varchar ? new String(bytes, UTF_8) : bytes;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type for binary results: " + rawType);
+        }
+        return values;
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int uncompressedSize)
+    {
+        Inflater inflater = new Inflater();
+        try {
+            int start = offset + Integer.BYTES;
+            inflater.setInput(data, start, data.length - start);
+            byte[] output = new byte[uncompressedSize];
+            int size = 0;
+            while (size < uncompressedSize && !inflater.finished()) {
+                int inflated = inflater.inflate(output, size, uncompressedSize - size);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                size += inflated;
+            }
+            checkArgument(size == uncompressedSize, "Corrupted binary results, expected %s bytes but got %s", uncompressedSize, size);
+            return output;
+        }
+        catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted binary results", e);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+}
@@ -15,5 +15,6 @@ package io.prestosql.client;
 
 public enum ClientCapabilities
 {
-    PATH;
+    PATH,
+    BINARY_RESULTS;
 }
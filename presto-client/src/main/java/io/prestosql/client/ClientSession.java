@@ -52,6 +52,7 @@ public class ClientSession
     private final String transactionId;
     private final Duration clientRequestTimeout;
     private final boolean timeInMilliseconds;
+    private final boolean binaryResults;
 
     public static Builder builder(ClientSession clientSession)
     {
@@ -108,6 +109,31 @@ public class ClientSession
             String transactionId,
             Duration clientRequestTimeout,
             boolean timeInMilliseconds)
+    {
+        this(server, user, source, traceToken, clientTags, clientInfo, catalog, schema, path, timeZone, locale, resourceEstimates, properties, preparedStatements, roles, extraCredentials, transactionId, clientRequestTimeout, timeInMilliseconds, false);
+    }
+
+    public ClientSession(
+            URI server,
+            String user,
+            String source,
+            Optional<String> traceToken,
+            Set<String> clientTags,
+            String clientInfo,
+            String catalog,
+            String schema,
+            String path,
+            ZoneId timeZone,
+            Locale locale,
+            Map<String, String> resourceEstimates,
+            Map<String, String> properties,
+            Map<String, String> preparedStatements,
+            Map<String, ClientSelectedRole> roles,
+            Map<String, String> extraCredentials,
+            String transactionId,
+            Duration clientRequestTimeout,
+            boolean timeInMilliseconds,
+            boolean binaryResults)
     {
         this.server = requireNonNull(server, "server is null");
         this.user = user;
@@ -128,6 +154,7 @@ public class ClientSession
         this.extraCredentials = ImmutableMap.copyOf(requireNonNull(extraCredentials, "extraCredentials is null"));
         this.clientRequestTimeout = clientRequestTimeout;
         this.timeInMilliseconds = timeInMilliseconds;
+        this.binaryResults = binaryResults;
 
         for (String clientTag : clientTags) {
             checkArgument(!clientTag.contains(","), "client tag cannot contain ','");
@@ -261,6 +288,14 @@ public class ClientSession
         return timeInMilliseconds;
     }
 
+    /**
+     * Whether the client requests query results in the binary columnar format instead of JSON
+     */
+    public boolean isBinaryResults()
+    {
+        return binaryResults;
+    }
+
     @Override
     public String toString()
     {
@@ -302,6 +337,7 @@ public class ClientSession
         private String transactionId;
         private Duration clientRequestTimeout;
         private boolean timeInMilliseconds;
+        private boolean binaryResults;
 
         private Builder(ClientSession clientSession)
         {
@@ -325,6 +361,7 @@ public class ClientSession
             transactionId = clientSession.getTransactionId();
             clientRequestTimeout = clientSession.getClientRequestTimeout();
             timeInMilliseconds = clientSession.isTimeInMilliseconds();
+            binaryResults = clientSession.isBinaryResults();
         }
 
         public Builder withCatalog(String catalog)
@@ -381,6 +418,12 @@ public class ClientSession
             return this;
         }
 
+        public Builder withBinaryResults(boolean binaryResults)
+        {
+            this.binaryResults = binaryResults;
+            return this;
+        }
+
         public ClientSession build()
         {
             return new ClientSession(
@@ -402,7 +445,8 @@ public class ClientSession
                     credentials,
                     transactionId,
                     clientRequestTimeout,
-                    timeInMilliseconds);
+                    timeInMilliseconds,
+                    binaryResults);
         }
     }
 }
@@ -44,6 +44,7 @@ public final class PrestoHeaders
     public static final String PRESTO_EXTRA_CREDENTIAL = "X-Presto-Extra-Credential";
 
     public static final String PRESTO_CURRENT_STATE = "X-Presto-Current-State";
+    public static final String PRESTO_CURRENT_DYNAMIC_FILTERS_VERSION = "X-Presto-Current-Dynamic-Filters-Version";
     public static final String PRESTO_MAX_WAIT = "X-Presto-Max-Wait";
     public static final String PRESTO_MAX_SIZE = "X-Presto-Max-Size";
     public static final String PRESTO_TASK_INSTANCE_ID = "X-Presto-Task-Instance-Id";
@@ -45,6 +45,7 @@ public class QueryResults
     private final List<Warning> warnings;
     private final String updateType;
     private final Long updateCount;
+    private final byte[] binaryData;
 
     @JsonCreator
     public QueryResults(
@@ -58,7 +59,8 @@ public class QueryResults
             @JsonProperty("error") QueryError error,
             @JsonProperty("warnings") List<Warning> warnings,
             @JsonProperty("updateType") String updateType,
-            @JsonProperty("updateCount") Long updateCount)
+            @JsonProperty("updateCount") Long updateCount,
+            @JsonProperty("binaryData") byte[] binaryData)
     {
         this(
                 id,
@@ -66,12 +68,14 @@ public class QueryResults
                 partialCancelUri,
                 nextUri,
                 columns,
-                fixData(columns, data),
+                // rows sent in the binary format are decoded eagerly, so clients only ever see decoded rows
+                binaryData != null ? BinaryResultsDecoder.decode(columns, binaryData) : fixData(columns, data),
                 stats,
                 error,
                 firstNonNull(warnings, ImmutableList.of()),
                 updateType,
-                updateCount);
+                updateCount,
+                null);
     }
 
     public QueryResults(
@@ -86,6 +90,23 @@ public class QueryResults
             List<Warning> warnings,
             String updateType,
             Long updateCount)
+    {
+        this(id, infoUri, partialCancelUri, nextUri, columns, data, stats, error, warnings, updateType, updateCount, null);
+    }
+
+    public QueryResults(
+            String id,
+            URI infoUri,
+            URI partialCancelUri,
+            URI nextUri,
+            List<Column> columns,
+            Iterable<List<Object>> data,
+            StatementStats stats,
+            QueryError error,
+            List<Warning> warnings,
+            String updateType,
+            Long updateCount,
+            byte[] binaryData)
     {
         this.id = requireNonNull(id, "id is null");
         this.infoUri = requireNonNull(infoUri, "infoUri is null");
@@ -94,6 +115,9 @@ public class QueryResults
         this.columns = (columns != null) ? ImmutableList.copyOf(columns) : null;
         this.data = (data != null) ? unmodifiableIterable(data) : null;
         checkArgument(data == null || columns != null, "data present without columns");
+        checkArgument(binaryData == null || columns != null, "binary data present without columns");
+        checkArgument(data == null || binaryData == null, "data and binary data are both present");
+        this.binaryData = binaryData;
         this.stats = requireNonNull(stats, "stats is null");
         this.error = error;
         this.warnings = ImmutableList.copyOf(requireNonNull(warnings, "warnings is null"));
@@ -185,6 +209,17 @@ public class QueryResults
         return updateCount;
     }
 
+    /**
+     * Result rows in the binary format of {@link BinaryResultsDecoder}, only set by the server
+     * for clients that advertise {@link ClientCapabilities#BINARY_RESULTS}.
+     */
+    @Nullable
+    @JsonProperty
+    public byte[] getBinaryData()
+    {
+        return binaryData;
+    }
+
     @Override
     public String toString()
     {
@@ -194,7 +229,7 @@ public class QueryResults
                 .add("partialCancelUri", partialCancelUri)
                 .add("nextUri", nextUri)
                 .add("columns", columns)
-                .add("hasData", data != null)
+                .add("hasData", data != null || binaryData != null)
                 .add("stats", stats)
                 .add("error", error)
                 .add("updateType", updateType)
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.client;
+
+import io.airlift.json.JsonCodec;
+import io.airlift.units.Duration;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.net.HttpHeaders.USER_AGENT;
+import static io.airlift.json.JsonCodec.jsonCodec;
+import static java.lang.String.format;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Fetches the rows of one additional result stream of a query. When the {@code result_streams} session property is
+ * greater than one, a client may open streams {@code 1} to {@code result_streams - 1} next to the main statement
+ * stream and read them concurrently. Every row of the query is returned by exactly one of the streams, in no
+ * particular order. The state and any failure of the query are only reported by the main statement stream.
+ */
+public class ResultStreamClient
+{
+    private static final JsonCodec<QueryResults> QUERY_RESULTS_CODEC = jsonCodec(QueryResults.class);
+    private static final String EXECUTING_PATH = "/v1/statement/executing/";
+    private static final String USER_AGENT_VALUE = ResultStreamClient.class.getSimpleName() +
+            "/" +
+            firstNonNull(ResultStreamClient.class.getPackage().getImplementationVersion(), "unknown");
+
+    private final OkHttpClient httpClient;
+    private final String user;
+    private final Duration requestTimeout;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private URI nextUri;
+    private Iterable<List<Object>> currentData;
+
+    public ResultStreamClient(OkHttpClient httpClient, String user, Duration requestTimeout, URI streamUri)
+    {
+        this.httpClient = requireNonNull(httpClient, "httpClient is null");
+        this.user = requireNonNull(user, "user is null");
+        this.requestTimeout = requireNonNull(requestTimeout, "requestTimeout is null");
+        this.nextUri = requireNonNull(streamUri, "streamUri is null");
+    }
+
+    /**
+     * Returns the uri of the first results of the given stream, derived from the next uri of the main statement
+     * stream, or empty if the query has not started executing yet.
+     */
+    public static Optional<URI> getStreamUri(URI statementNextUri, int streamId)
+    {
+        checkArgument(streamId > 0, "streamId must be positive");
+        if (statementNextUri == null || !statementNextUri.getPath().startsWith(EXECUTING_PATH)) {
+            return Optional.empty();
+        }
+        // next uri of the statement is /v1/statement/executing/{queryId}/{slug}/{token}
+        return Optional.of(statementNextUri.resolve(format("stream/%s/0", streamId)));
+    }
+
+    public boolean isFinished()
+    {
+        return nextUri == null || closed.get();
+    }
+
+    /**
+     * Rows of the last fetched batch, or null if the batch had none.
+     */
+    public Iterable<List<Object>> currentData()
+    {
+        return currentData;
+    }
+
+    /**
+     * Fetches the next batch of the stream. Returns false once the stream has ended.
+     */
+    public boolean advance()
+    {
+        currentData = null;
+        if (isFinished()) {
+            return false;
+        }
+
+        Request request = new Request.Builder()
+                .addHeader(PrestoHeaders.PRESTO_USER, user)
+                .addHeader(USER_AGENT, USER_AGENT_VALUE)
+                .url(HttpUrl.get(nextUri))
+                .build();
+
+        Exception cause = null;
+        long start = System.nanoTime();
+        long attempts = 0;
+
+        while (true) {
+            if (closed.get()) {
+                return false;
+            }
+
+            Duration sinceStart = Duration.nanosSince(start);
+            if (attempts > 0 && sinceStart.compareTo(requestTimeout) > 0) {
+                throw new RuntimeException(format("Error fetching result stream (attempts: %s, duration: %s)", attempts, sinceStart), cause);
+            }
+
+            if (attempts > 0) {
+                // back-off on retry
+                try {
+                    MILLISECONDS.sleep(attempts * 100);
+                }
+                catch (InterruptedException e) {
+                    close();
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Result stream thread was interrupted");
+                }
+            }
+            attempts++;
+
+            JsonResponse<QueryResults> response;
+            try {
+                response = JsonResponse.execute(QUERY_RESULTS_CODEC, httpClient, request);
+            }
+            catch (RuntimeException e) {
+                cause = e;
+                continue;
+            }
+
+            if ((response.getStatusCode() == HTTP_OK) && response.hasValue()) {
+                QueryResults results = response.getValue();
+                currentData = results.getData();
+                nextUri = results.getNextUri();
+                return true;
+            }
+
+            if (response.getStatusCode() != HTTP_UNAVAILABLE) {
+                throw new RuntimeException(format("Error fetching result stream at %s returned an invalid response: %s [Error: %s]", request.url(), response, response.getResponseBody()),
+                        response.getException());
+            }
+        }
+    }
+
+    public void close()
+    {
+        // the query itself is cancelled through the main statement stream
+        closed.set(true);
+    }
+}
@@ -111,7 +111,9 @@ class StatementClientV1
         this.query = query;
         this.requestTimeoutNanos = session.getClientRequestTimeout();
         this.user = session.getUser();
-        this.clientCapabilities = Joiner.on(",").join(ClientCapabilities.values());
+        this.clientCapabilities = session.isBinaryResults()
+                ? Joiner.on(",").join(ClientCapabilities.values())
+                : ClientCapabilities.PATH.toString();
         this.timeInMilliseconds = session.isTimeInMilliseconds();
 
         Request request = buildQueryRequest(session, query);
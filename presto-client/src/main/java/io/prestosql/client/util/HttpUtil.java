@@ -73,7 +73,8 @@ public class HttpUtil
     private static final String DYNAMIC_FILTER_URL = "/v1/dc/filter/";
     private static final String USER_AGENT_VALUE = "DataCenterClient/" +
             firstNonNull(HttpUtil.class.getPackage().getImplementationVersion(), "unknown");
-    private static final String CLIENT_CAPABILITIES = Joiner.on(",").join(ClientCapabilities.values());
+    // the data center client reads the rows of QueryResults only, so it does not ask for binary results
+    private static final String CLIENT_CAPABILITIES = ClientCapabilities.PATH.toString();
     private static final JsonCodec<DataCenterRequest> DATA_CENTER_REQUEST_CODEC = jsonCodec(DataCenterRequest.class);
     private static final JsonCodec<CrossRegionDynamicFilterRequest> CRDF_REQUEST_CODEC = jsonCodec(CrossRegionDynamicFilterRequest.class);
 
@@ -21,6 +21,7 @@ import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Streams;
 import com.google.common.io.CharStreams;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import io.airlift.log.Logger;
 import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
 import io.prestosql.plugin.hive.HiveBucketing.BucketingVersion;
@@ -94,6 +95,9 @@ import java.util.stream.Collectors;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.concurrent.MoreFutures.getDone;
+import static io.airlift.concurrent.MoreFutures.whenAnyComplete;
 import static io.prestosql.plugin.hive.HiveSessionProperties.isDynamicFilteringSplitFilteringEnabled;
 import static io.prestosql.plugin.hive.HiveSessionProperties.isForceLocalScheduling;
 import static io.prestosql.plugin.hive.HiveUtil.checkCondition;
@@ -131,11 +135,13 @@ public class BackgroundHiveSplitLoader
     private final NamenodeStats namenodeStats;
     private final DirectoryLister directoryLister;
     private final int loaderConcurrency;
+    private final int listingConcurrency;
     private final boolean recursiveDirWalkerEnabled;
     private final Executor executor;
     private final ConnectorSession session;
     private final ConcurrentLazyQueue<HivePartitionMetadata> partitions;
     private final Deque<Iterator<InternalHiveSplit>> fileIterators = new ConcurrentLinkedDeque<>();
+    private final Set<ListenableFuture<?>> pendingListings = ConcurrentHashMap.newKeySet();
     private final Optional<ValidWriteIdList> validWriteIds;
     private final Supplier<List<Set<DynamicFilter>>> dynamicFilterSupplier;
     private final Configuration configuration;
@@ -178,6 +184,7 @@ public class BackgroundHiveSplitLoader
             DirectoryLister directoryLister,
             Executor executor,
             int loaderConcurrency,
+            int listingConcurrency,
             boolean recursiveDirWalkerEnabled,
             Optional<ValidWriteIdList> validWriteIds,
             Supplier<List<Set<DynamicFilter>>> dynamicFilterSupplier,
@@ -189,6 +196,7 @@ public class BackgroundHiveSplitLoader
         this.compactEffectivePredicate = compactEffectivePredicate;
         this.tableBucketInfo = tableBucketInfo;
         this.loaderConcurrency = loaderConcurrency;
+        this.listingConcurrency = listingConcurrency;
         this.typeManager = typeManager;
         this.session = session;
         this.hdfsEnvironment = hdfsEnvironment;
@@ -336,6 +344,26 @@ public class BackgroundHiveSplitLoader
             return loadPartition(partition);
         }
 
+        if (!isListed(splits)) {
+            fileIterators.addLast(splits);
+            // rather than waiting for the listing, start listing the next partition while there is room for more listings
+            if (pendingListings.size() < listingConcurrency) {
+                HivePartitionMetadata partition = partitions.poll();
+                if (partition != null) {
+                    return loadPartition(partition);
+                }
+            }
+
+            // the pending listings are taken first, so a listing completing in the meantime is either
+            // seen by the check of the listed iterators or completes the returned future
+            List<ListenableFuture<?>> listings = ImmutableList.copyOf(pendingListings);
+            if (listings.isEmpty() || fileIterators.stream().anyMatch(BackgroundHiveSplitLoader::isListed)) {
+                // load the splits of a directory that is listed already
+                return COMPLETED_FUTURE;
+            }
+            return whenAnyComplete(listings);
+        }
+
         while (splits.hasNext() && !stopped) {
             ListenableFuture<?> future = hiveSplitSource.addToQueue(splits.next());
             if (!future.isDone()) {
@@ -666,11 +694,28 @@ public class BackgroundHiveSplitLoader
 
     private Iterator<InternalHiveSplit> createInternalHiveSplitIterator(Path path, FileSystem fileSystem, InternalHiveSplitFactory splitFactory, boolean splittable, Optional<DeleteDeltaLocations> deleteDeltaLocations, Optional<Long> startRowOffsetOfFile, PathFilter pathFilter)
     {
-        return Streams.stream(new HiveFileIterator(table, path, fileSystem, directoryLister, namenodeStats, recursiveDirWalkerEnabled ? RECURSE : IGNORED, pathFilter))
+        HiveFileIterator files = new HiveFileIterator(table, path, fileSystem, directoryLister, namenodeStats, recursiveDirWalkerEnabled ? RECURSE : IGNORED, pathFilter);
+        Iterator<InternalHiveSplit> splits = Streams.stream(files)
                 .map(status -> splitFactory.createInternalHiveSplit(status, splittable, deleteDeltaLocations, startRowOffsetOfFile))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .iterator();
+        if (listingConcurrency == 0) {
+            return splits;
+        }
+
+        // list the directory on the executor, so that the listings of several partitions are in flight at the same time.
+        // A listing that starts after the loader was stopped does not call the namenode.
+        ListenableFutureTask<Boolean> listing = ListenableFutureTask.create(() -> !stopped && hdfsEnvironment.doAs(hdfsContext.getIdentity().getUser(), () -> files.hasNext()));
+        pendingListings.add(listing);
+        listing.addListener(() -> pendingListings.remove(listing), directExecutor());
+        executor.execute(listing);
+        return new ListedSplitIterator(listing, splits);
+    }
+
+    private static boolean isListed(Iterator<InternalHiveSplit> splits)
+    {
+        return !(splits instanceof ListedSplitIterator) || ((ListedSplitIterator) splits).isListed();
     }
 
     private List<InternalHiveSplit> getBucketedSplits(Path path, FileSystem fileSystem, InternalHiveSplitFactory splitFactory, BucketSplitInfo bucketSplitInfo, Optional<BucketConversion> bucketConversion, Optional<DeleteDeltaLocations> deleteDeltaLocations, PathFilter pathFilter)
@@ -906,4 +951,40 @@ public class BackgroundHiveSplitLoader
             return bucketFilter.test(tableBucketNumber);
         }
     }
+
+    /**
+     * Splits of a directory that is listed in the background. The splits are only read once the
+     * listing is done, and a failed listing fails the split loader.
+     */
+    private static class ListedSplitIterator
+            implements Iterator<InternalHiveSplit>
+    {
+        private final ListenableFuture<?> listing;
+        private final Iterator<InternalHiveSplit> splits;
+
+        private ListedSplitIterator(ListenableFuture<?> listing, Iterator<InternalHiveSplit> splits)
+        {
+            this.listing = requireNonNull(listing, "listing is null");
+            this.splits = requireNonNull(splits, "splits is null");
+        }
+
+        public boolean isListed()
+        {
+            return listing.isDone();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            getDone(listing);
+            return splits.hasNext();
+        }
+
+        @Override
+        public InternalHiveSplit next()
+        {
+            getDone(listing);
+            return splits.next();
+        }
+    }
 }
@@ -72,6 +72,7 @@ public class HiveConfig
     private int maxPartitionBatchSize = 100;
     private int maxInitialSplits = 200;
     private int splitLoaderConcurrency = 4;
+    private int splitLoaderListingConcurrency;
     private Integer maxSplitsPerSecond;
     private DataSize maxInitialSplitSize;
     private int domainCompactionThreshold = 100;
@@ -155,6 +156,12 @@ public class HiveConfig
     private boolean orcRowDataCacheEnabled;
     private Duration orcRowDataCacheTtl = new Duration(4, HOURS);
     private DataSize orcRowDataCacheMaximumWeight = new DataSize(20, GIGABYTE);
+    private boolean orcRowDataCacheOffHeapEnabled;
+    private String orcRowDataCacheSpillPath;
+    private DataSize orcRowDataCacheSpillMaximumWeight = new DataSize(100, GIGABYTE);
+    private boolean orcDeleteDeltaCacheEnabled;
+    private Duration orcDeleteDeltaCacheTtl = new Duration(4, HOURS);
+    private DataSize orcDeleteDeltaCacheMaximumWeight = new DataSize(256, MEGABYTE);
 
     private String rcfileTimeZone = TimeZone.getDefault().getID();
     private boolean rcfileWriterValidate;
@@ -261,6 +268,20 @@ public class HiveConfig
         return this;
     }
 
+    @Min(0)
+    public int getSplitLoaderListingConcurrency()
+    {
+        return splitLoaderListingConcurrency;
+    }
+
+    @Config("hive.split-loader-listing-concurrency")
+    @ConfigDescription("Number of partition directories a split loader lists ahead in the background, 0 lists them while loading splits")
+    public HiveConfig setSplitLoaderListingConcurrency(int splitLoaderListingConcurrency)
+    {
+        this.splitLoaderListingConcurrency = splitLoaderListingConcurrency;
+        return this;
+    }
+
     @Min(1)
     @Nullable
     public Integer getMaxSplitsPerSecond()
@@ -1664,6 +1685,86 @@ public class HiveConfig
         return this;
     }
 
+    public boolean isOrcRowDataCacheOffHeapEnabled()
+    {
+        return orcRowDataCacheOffHeapEnabled;
+    }
+
+    @Config("hive.orc.row-data.block.cache.off-heap.enabled")
+    @ConfigDescription("Keep the Orc row data block cache serialized in direct memory instead of the Java heap")
+    public HiveConfig setOrcRowDataCacheOffHeapEnabled(boolean orcRowDataCacheOffHeapEnabled)
+    {
+        this.orcRowDataCacheOffHeapEnabled = orcRowDataCacheOffHeapEnabled;
+        return this;
+    }
+
+    @Nullable
+    public String getOrcRowDataCacheSpillPath()
+    {
+        return orcRowDataCacheSpillPath;
+    }
+
+    @Config("hive.orc.row-data.block.cache.spill.path")
+    @ConfigDescription("Local directory the off-heap Orc row data block cache spills cold entries to")
+    public HiveConfig setOrcRowDataCacheSpillPath(String orcRowDataCacheSpillPath)
+    {
+        this.orcRowDataCacheSpillPath = orcRowDataCacheSpillPath;
+        return this;
+    }
+
+    public DataSize getOrcRowDataCacheSpillMaximumWeight()
+    {
+        return orcRowDataCacheSpillMaximumWeight;
+    }
+
+    @Config("hive.orc.row-data.block.cache.spill.max.weight")
+    @ConfigDescription("Orc Row data block cache spill max weight.")
+    public HiveConfig setOrcRowDataCacheSpillMaximumWeight(DataSize orcRowDataCacheSpillMaximumWeight)
+    {
+        this.orcRowDataCacheSpillMaximumWeight = orcRowDataCacheSpillMaximumWeight;
+        return this;
+    }
+
+    public boolean isOrcDeleteDeltaCacheEnabled()
+    {
+        return orcDeleteDeltaCacheEnabled;
+    }
+
+    @Config("hive.orc.delete-delta.cache.enabled")
+    @ConfigDescription("Flag to enable caching the row ids of ACID delete delta files across splits and queries")
+    public HiveConfig setOrcDeleteDeltaCacheEnabled(boolean orcDeleteDeltaCacheEnabled)
+    {
+        this.orcDeleteDeltaCacheEnabled = orcDeleteDeltaCacheEnabled;
+        return this;
+    }
+
+    @MinDuration("0ms")
+    public Duration getOrcDeleteDeltaCacheTtl()
+    {
+        return orcDeleteDeltaCacheTtl;
+    }
+
+    @Config("hive.orc.delete-delta.cache.ttl")
+    @ConfigDescription("Orc delete delta cache TTL.")
+    public HiveConfig setOrcDeleteDeltaCacheTtl(Duration orcDeleteDeltaCacheTtl)
+    {
+        this.orcDeleteDeltaCacheTtl = orcDeleteDeltaCacheTtl;
+        return this;
+    }
+
+    public DataSize getOrcDeleteDeltaCacheMaximumWeight()
+    {
+        return orcDeleteDeltaCacheMaximumWeight;
+    }
+
+    @Config("hive.orc.delete-delta.cache.max.weight")
+    @ConfigDescription("Orc delete delta cache max weight.")
+    public HiveConfig setOrcDeleteDeltaCacheMaximumWeight(DataSize orcDeleteDeltaCacheMaximumWeight)
+    {
+        this.orcDeleteDeltaCacheMaximumWeight = orcDeleteDeltaCacheMaximumWeight;
+        return this;
+    }
+
     @Config("hive.transaction-heartbeat-interval")
     @ConfigDescription("Interval after which heartbeat is sent for open Hive transaction")
     public HiveConfig setHiveTransactionHeartbeatInterval(Duration interval)
@@ -29,6 +29,7 @@ import io.prestosql.orc.RowDataCacheStatsLister;
 import io.prestosql.orc.RowIndexCacheStatsLister;
 import io.prestosql.orc.StripeFooterCacheStatsLister;
 import io.prestosql.plugin.hive.metastore.SemiTransactionalHiveMetastore;
+import io.prestosql.plugin.hive.orc.OrcDeleteDeltaCache;
 import io.prestosql.plugin.hive.orc.OrcPageSourceFactory;
 import io.prestosql.plugin.hive.orc.OrcSelectivePageSourceFactory;
 import io.prestosql.plugin.hive.parquet.ParquetPageSourceFactory;
@@ -43,7 +44,9 @@ import io.prestosql.spi.connector.ConnectorSplitManager;
 
 import javax.inject.Singleton;
 
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -86,6 +89,9 @@ public class HiveModule
         binder.bind(CachingDirectoryLister.class).in(Scopes.SINGLETON);
         newExporter(binder).export(CachingDirectoryLister.class).withGeneratedName();
 
+        binder.bind(OrcDeleteDeltaCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(OrcDeleteDeltaCache.class).withGeneratedName();
+
         Multibinder<HiveRecordCursorProvider> recordCursorProviderBinder = newSetBinder(binder, HiveRecordCursorProvider.class);
         recordCursorProviderBinder.addBinding().to(S3SelectRecordCursorProvider.class).in(Scopes.SINGLETON);
         recordCursorProviderBinder.addBinding().to(GenericHiveRecordCursorProvider.class).in(Scopes.SINGLETON);
@@ -219,6 +225,9 @@ public class HiveModule
                 config.getOrcBloomFiltersCacheLimit(),
                 Duration.ofMillis(config.getOrcBloomFiltersCacheTtl().toMillis()),
                 config.getOrcRowDataCacheMaximumWeight(), Duration.ofMillis(config.getOrcRowDataCacheTtl().toMillis()),
+                config.isOrcRowDataCacheEnabled() && config.isOrcRowDataCacheOffHeapEnabled(),
+                Optional.ofNullable(config.getOrcRowDataCacheSpillPath()).map(Paths::get),
+                config.getOrcRowDataCacheSpillMaximumWeight(),
                 config.isOrcCacheStatsMetricCollectionEnabled());
     }
 }
@@ -16,6 +16,7 @@ package io.prestosql.plugin.hive;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Primitives;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
 import io.prestosql.plugin.hive.HiveBucketing.BucketingVersion;
@@ -36,6 +37,7 @@ import io.prestosql.spi.dynamicfilter.CombinedDynamicFilter;
 import io.prestosql.spi.dynamicfilter.DynamicFilter;
 import io.prestosql.spi.dynamicfilter.DynamicFilterSupplier;
 import io.prestosql.spi.dynamicfilter.FilteredDynamicFilter;
+import io.prestosql.spi.dynamicfilter.RangeDynamicFilter;
 import io.prestosql.spi.function.BuiltInFunctionHandle;
 import io.prestosql.spi.function.Signature;
 import io.prestosql.spi.heuristicindex.IndexMetadata;
@@ -215,15 +217,21 @@ public class HivePageSourceProvider
         SplitMetadata splitMetadata = new SplitMetadata(splitUri.getRawPath(), hiveSplit.getLastModifiedTime());
 
         TupleDomain<HiveColumnHandle> predicate = TupleDomain.all();
+        TupleDomain<HiveColumnHandle> rangePredicate = TupleDomain.all();
         if (dynamicFilterSupplier.isPresent() && dynamicFilters != null && !dynamicFilters.isEmpty()) {
             if (dynamicFilters.size() == 1) {
                 List<HiveColumnHandle> filteredHiveColumnHandles = hiveColumns.stream().filter(column -> dynamicFilters.get(0).containsKey(column)).collect(toList());
                 HiveColumnHandle hiveColumnHandle = filteredHiveColumnHandles.get(0);
                 Type type = hiveColumnHandle.getColumnMetadata(typeManager).getType();
-                predicate = getPredicate(dynamicFilters.get(0).get(hiveColumnHandle), type, hiveColumnHandle);
+                DynamicFilter dynamicFilter = dynamicFilters.get(0).get(hiveColumnHandle);
+                predicate = getPredicate(dynamicFilter, type, hiveColumnHandle);
                 if (predicate.isNone()) {
                     predicate = TupleDomain.all();
                 }
+                // Range filters are also pushed to the selective reader, where they become TupleDomainFilters
+                if (dynamicFilter instanceof RangeDynamicFilter && !hiveColumnHandle.isPartitionKey()) {
+                    rangePredicate = predicate;
+                }
             }
         }
 
@@ -239,7 +247,7 @@ public class HivePageSourceProvider
                     dynamicFilterSupplier, hiveSplit.getDeleteDeltaLocations(),
                     hiveSplit.getStartRowOffsetOfFile(),
                     indexOptional, hiveSplit.isCacheable(),
-                    hiveTable.getCompactEffectivePredicate(),
+                    hiveTable.getCompactEffectivePredicate().intersect(rangePredicate),
                     hiveTable.getPredicateColumns(),
                     hiveTable.getDisjunctCompactEffectivePredicate(),
                     hiveSplit.getBucketConversion(),
@@ -796,9 +804,34 @@ public class HivePageSourceProvider
             domain = modifyDomain(domain, ((FilteredDynamicFilter) dynamicFilter).getFilterExpression());
             return TupleDomain.withColumnDomains(ImmutableMap.of(hiveColumnHandle, domain));
         }
+        if (dynamicFilter instanceof RangeDynamicFilter) {
+            return getRangePredicate((RangeDynamicFilter) dynamicFilter, type, hiveColumnHandle);
+        }
         return TupleDomain.all();
     }
 
+    /**
+     * Convert the min/max ranges of a range dynamic filter to a domain, so that ORC stripes and
+     * row groups can be skipped by their statistics
+     */
+    private static TupleDomain<HiveColumnHandle> getRangePredicate(RangeDynamicFilter dynamicFilter, Type type, HiveColumnHandle hiveColumnHandle)
+    {
+        List<Object> bounds = dynamicFilter.getBounds();
+        if (bounds.isEmpty()) {
+            return TupleDomain.none();
+        }
+        // the range is only usable if it was collected with the same representation as the scanned column
+        if (!type.isOrderable() || !Primitives.wrap(type.getJavaType()).isInstance(bounds.get(0))) {
+            return TupleDomain.all();
+        }
+        List<Range> ranges = new ArrayList<>();
+        for (int i = 0; i < bounds.size(); i += 2) {
+            ranges.add(Range.range(type, bounds.get(i), true, bounds.get(i + 1), true));
+        }
+        Domain domain = Domain.create(ValueSet.ofRanges(ranges), false);
+        return TupleDomain.withColumnDomains(ImmutableMap.of(hiveColumnHandle, domain));
+    }
+
     public enum ColumnMappingKind
     {
         REGULAR,
@@ -13,18 +13,31 @@
  */
 package io.prestosql.plugin.hive;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import io.airlift.stats.CounterStat;
 import io.airlift.stats.TimeStat;
+import io.prestosql.spi.connector.SchemaTableName;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+
 public class NamenodeStats
 {
+    // the listing time is only kept for the most recently listed tables
+    private static final int MAX_TABLE_LIST_LOCATED_STATUS_TIMES = 100;
+
     private final CallStats listLocatedStatus = new CallStats();
     private final CallStats remoteIteratorNext = new CallStats();
+    private final LoadingCache<SchemaTableName, TimeStat> tableListLocatedStatusTimes = CacheBuilder.newBuilder()
+            .maximumSize(MAX_TABLE_LIST_LOCATED_STATUS_TIMES)
+            .build(CacheLoader.from(() -> new TimeStat(TimeUnit.MILLISECONDS)));
 
     @Managed
     @Nested
@@ -40,6 +53,21 @@ public class NamenodeStats
         return remoteIteratorNext;
     }
 
+    public TimeStat getListLocatedStatusTime(SchemaTableName table)
+    {
+        return tableListLocatedStatusTimes.getUnchecked(table);
+    }
+
+    /**
+     * Average time in milliseconds of listing a directory of each of the most recently listed tables
+     */
+    @Managed
+    public Map<String, Double> getListLocatedStatusTimeByTable()
+    {
+        return tableListLocatedStatusTimes.asMap().entrySet().stream()
+                .collect(toImmutableMap(entry -> entry.getKey().toString(), entry -> entry.getValue().getAllTime().getAvg()));
+    }
+
     public static class CallStats
     {
         private final TimeStat time = new TimeStat(TimeUnit.MILLISECONDS);
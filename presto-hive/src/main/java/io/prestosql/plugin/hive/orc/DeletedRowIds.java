@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.orc;
+
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import it.unimi.dsi.fastutil.Swapper;
+import it.unimi.dsi.fastutil.ints.AbstractIntComparator;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+
+/**
+ * Row ids deleted by one delete delta file. The row ids are grouped by the original transaction and the
+ * bucket of the rows and kept in sorted arrays, so that a row is looked up with a binary search.
+ */
+public final class DeletedRowIds
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(DeletedRowIds.class).instanceSize();
+
+    private static final int ORIGINAL_TRANSACTION_INDEX = 0;
+    private static final int BUCKET_ID_INDEX = 1;
+    private static final int ROW_ID_INDEX = 2;
+
+    // original transaction and bucket of each group, sorted
+    private final long[] originalTransactions;
+    private final int[] buckets;
+    // sorted row ids of each group
+    private final long[][] rowIds;
+    private final long retainedSizeInBytes;
+
+    private DeletedRowIds(long[] originalTransactions, int[] buckets, long[][] rowIds)
+    {
+        this.originalTransactions = originalTransactions;
+        this.buckets = buckets;
+        this.rowIds = rowIds;
+
+        long size = INSTANCE_SIZE + sizeOf(originalTransactions) + sizeOf(buckets) + sizeOf(rowIds);
+        for (long[] groupRowIds : rowIds) {
+            size += sizeOf(groupRowIds);
+        }
+        this.retainedSizeInBytes = size;
+    }
+
+    /**
+     * Reads all the rows of a delete delta page source, which has the original transaction, the bucket
+     * and the row id of the deleted rows as its columns.
+     */
+    public static DeletedRowIds create(ConnectorPageSource pageSource)
+    {
+        LongArrayList originalTransactions = new LongArrayList();
+        IntArrayList buckets = new IntArrayList();
+        LongArrayList rowIds = new LongArrayList();
+        while (!pageSource.isFinished()) {
+            Page page = pageSource.getNextPage();
+            if (page == null) {
+                continue;
+            }
+            Block originalTransactionBlock = page.getBlock(ORIGINAL_TRANSACTION_INDEX);
+            Block bucketBlock = page.getBlock(BUCKET_ID_INDEX);
+            Block rowIdBlock = page.getBlock(ROW_ID_INDEX);
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                long originalTransaction = BIGINT.getLong(originalTransactionBlock, position);
+                originalTransactions.add(originalTransaction);
+                buckets.add(normalizeBucket(originalTransaction, (int) INTEGER.getLong(bucketBlock, position)));
+                rowIds.add(BIGINT.getLong(rowIdBlock, position));
+            }
+        }
+        return create(originalTransactions.toLongArray(), buckets.toIntArray(), rowIds.toLongArray());
+    }
+
+    private static DeletedRowIds create(long[] originalTransactions, int[] buckets, long[] rowIds)
+    {
+        it.unimi.dsi.fastutil.Arrays.quickSort(0, rowIds.length, new AbstractIntComparator()
+        {
+            @Override
+            public int compare(int left, int right)
+            {
+                int result = Long.compare(originalTransactions[left], originalTransactions[right]);
+                if (result == 0) {
+                    result = Integer.compare(buckets[left], buckets[right]);
+                }
+                if (result == 0) {
+                    result = Long.compare(rowIds[left], rowIds[right]);
+                }
+                return result;
+            }
+        }, new Swapper()
+        {
+            @Override
+            public void swap(int left, int right)
+            {
+                swapValues(originalTransactions, left, right);
+                swapValues(buckets, left, right);
+                swapValues(rowIds, left, right);
+            }
+        });
+
+        LongArrayList groupOriginalTransactions = new LongArrayList();
+        IntArrayList groupBuckets = new IntArrayList();
+        List<long[]> groupRowIds = new ArrayList<>();
+        int groupStart = 0;
+        for (int position = 1; position <= rowIds.length; position++) {
+            if (position == rowIds.length
+                    || originalTransactions[position] != originalTransactions[groupStart]
+                    || buckets[position] != buckets[groupStart]) {
+                groupOriginalTransactions.add(originalTransactions[groupStart]);
+                groupBuckets.add(buckets[groupStart]);
+                groupRowIds.add(Arrays.copyOfRange(rowIds, groupStart, position));
+                groupStart = position;
+            }
+        }
+        return new DeletedRowIds(groupOriginalTransactions.toLongArray(), groupBuckets.toIntArray(), groupRowIds.toArray(new long[0][]));
+    }
+
+    public boolean contains(long originalTransaction, int bucket, long rowId)
+    {
+        int group = findGroup(originalTransaction, normalizeBucket(originalTransaction, bucket));
+        return group >= 0 && Arrays.binarySearch(rowIds[group], rowId) >= 0;
+    }
+
+    public boolean isEmpty()
+    {
+        return rowIds.length == 0;
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        return retainedSizeInBytes;
+    }
+
+    private int findGroup(long originalTransaction, int bucket)
+    {
+        int low = 0;
+        int high = originalTransactions.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int result = Long.compare(originalTransactions[middle], originalTransaction);
+            if (result == 0) {
+                result = Integer.compare(buckets[middle], bucket);
+            }
+            if (result < 0) {
+                low = middle + 1;
+            }
+            else if (result > 0) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static int normalizeBucket(long originalTransaction, int bucket)
+    {
+        // rows deleted from original files are matched on the row id only, see OrcAcidRowId.compareTo
+        return originalTransaction == 0 ? 0 : bucket;
+    }
+
+    private static void swapValues(long[] values, int left, int right)
+    {
+        long value = values[left];
+        values[left] = values[right];
+        values[right] = value;
+    }
+
+    private static void swapValues(int[] values, int left, int right)
+    {
+        int value = values[left];
+        values[left] = values[right];
+        values[right] = value;
+    }
+}
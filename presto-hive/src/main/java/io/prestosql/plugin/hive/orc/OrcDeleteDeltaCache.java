@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.orc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.prestosql.plugin.hive.HiveConfig;
+import org.apache.hadoop.fs.Path;
+import org.weakref.jmx.Managed;
+
+import javax.inject.Inject;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps the row ids of the delete delta files read on this worker, so that the splits of all the files
+ * of a bucket, and later queries, read each delete delta file only once. The files are identified by
+ * their path, length and modification time, so a rewritten file is never served from the cache.
+ */
+public class OrcDeleteDeltaCache
+{
+    private final boolean enabled;
+    private final long maximumWeight;
+    private final Cache<DeleteDeltaFile, DeletedRowIds> cache;
+
+    @Inject
+    public OrcDeleteDeltaCache(HiveConfig config)
+    {
+        this(config.isOrcDeleteDeltaCacheEnabled(), config.getOrcDeleteDeltaCacheTtl(), config.getOrcDeleteDeltaCacheMaximumWeight());
+    }
+
+    public OrcDeleteDeltaCache(boolean enabled, Duration ttl, DataSize maximumWeight)
+    {
+        this.enabled = enabled;
+        this.maximumWeight = maximumWeight.toBytes();
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((Weigher<DeleteDeltaFile, DeletedRowIds>) (file, rowIds) -> toIntExact(Math.min(rowIds.getRetainedSizeInBytes(), Integer.MAX_VALUE)))
+                .expireAfterAccess(ttl.toMillis(), MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Whether the row ids of a delete delta file of the given length are kept in the cache. The row ids
+     * take at least as much memory as the file, so larger files would only evict the other entries.
+     */
+    public boolean isCacheable(long fileLength)
+    {
+        return enabled && fileLength <= maximumWeight;
+    }
+
+    public DeletedRowIds get(Path path, long length, long modificationTime, Supplier<DeletedRowIds> loader)
+    {
+        if (!enabled) {
+            return loader.get();
+        }
+        try {
+            return cache.get(new DeleteDeltaFile(path.toString(), length, modificationTime), loader::get);
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.invalidateAll();
+    }
+
+    @Managed
+    public Double getHitRate()
+    {
+        return cache.stats().hitRate();
+    }
+
+    @Managed
+    public Double getMissRate()
+    {
+        return cache.stats().missRate();
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return cache.stats().hitCount();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return cache.stats().missCount();
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.size();
+    }
+
+    private static final class DeleteDeltaFile
+    {
+        private final String path;
+        private final long length;
+        private final long modificationTime;
+
+        private DeleteDeltaFile(String path, long length, long modificationTime)
+        {
+            this.path = requireNonNull(path, "path is null");
+            this.length = length;
+            this.modificationTime = modificationTime;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DeleteDeltaFile that = (DeleteDeltaFile) o;
+            return length == that.length
+                    && modificationTime == that.modificationTime
+                    && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, length, modificationTime);
+        }
+    }
+}
@@ -56,6 +56,7 @@ public class OrcDeletedRows
     private final String sourceFileName;
     private final DeleteDeltaLocations deleteDeltaLocations;
     private final OrcDeleteDeltaPageSourceFactory pageSourceFactory;
+    private final OrcDeleteDeltaCache deleteDeltaCache;
     private final String sessionUser;
     private final Configuration configuration;
     private final HdfsEnvironment hdfsEnvironment;
@@ -65,6 +66,9 @@ public class OrcDeletedRows
     private final Pattern originalCopyFilePattern = Pattern.compile("[0-9]+_[0-9]+" + "_copy_" + "[0-9]+");
     private final String bucketPrefix = "bucket_";
 
+    // row ids of the cached delete delta files
+    private List<DeletedRowIds> deletedRowIds;
+    // delete delta files that are not cached are merged and walked with a cursor
     private final List<ConnectorPageSource> pageSources = new ArrayList<>();
     private Iterator<Page> sortedRowsIterator;
     private Page currentPage;
@@ -75,6 +79,7 @@ public class OrcDeletedRows
             String sourceFileName,
             Optional<DeleteDeltaLocations> deleteDeltaLocations,
             OrcDeleteDeltaPageSourceFactory pageSourceFactory,
+            OrcDeleteDeltaCache deleteDeltaCache,
             String sessionUser,
             Configuration configuration,
             HdfsEnvironment hdfsEnvironment,
@@ -82,6 +87,7 @@ public class OrcDeletedRows
     {
         this.sourceFileName = sourceFileName;
         this.pageSourceFactory = pageSourceFactory;
+        this.deleteDeltaCache = deleteDeltaCache;
         this.sessionUser = sessionUser;
         this.configuration = configuration;
         this.hdfsEnvironment = hdfsEnvironment;
@@ -140,7 +146,7 @@ public class OrcDeletedRows
 
         private void loadValidPositions()
         {
-            if (deleteDeltaLocations == null) {
+            if (deleteDeltaLocations == null || !loadDeleteDeltas()) {
                 this.positionCount = sourcePage.getPositionCount();
                 this.sourcePage = null;
                 return;
@@ -171,36 +177,16 @@ public class OrcDeletedRows
 
     private boolean isDeleted(OrcAcidRowId sourcePageRowId)
     {
-        if (sortedRowsIterator == null) {
-            for (WriteIdInfo deleteDeltaInfo : deleteDeltaLocations.getDeleteDeltas()) {
-                Path path = createPath(deleteDeltaLocations.getPartitionLocation(), deleteDeltaInfo, sourceFileName);
-                try {
-                    FileSystem fileSystem = hdfsEnvironment.getFileSystem(sessionUser, path, configuration);
-                    FileStatus fileStatus = hdfsEnvironment.doAs(sessionUser, () -> fileSystem.getFileStatus(path));
-
-                    pageSources.add(pageSourceFactory.createPageSource(fileStatus.getPath(), fileStatus.getLen(), fileStatus.getModificationTime()));
-                }
-                catch (FileNotFoundException ignored) {
-                    // source file does not have a delta delete file in this location
-                    continue;
-                }
-                catch (PrestoException e) {
-                    throw e;
-                }
-                catch (OrcCorruptionException e) {
-                    throw new PrestoException(HiveErrorCode.HIVE_BAD_DATA, format("Failed to read ORC file: %s", path), e);
-                }
-                catch (RuntimeException | IOException e) {
-                    throw new PrestoException(HiveErrorCode.HIVE_CURSOR_ERROR, format("Failed to read ORC file: %s", path), e);
-                }
+        for (DeletedRowIds rowIds : deletedRowIds) {
+            if (rowIds.contains(sourcePageRowId.getOriginalTransaction(), sourcePageRowId.getBucket(), sourcePageRowId.getRowId())) {
+                return true;
             }
-            List<Type> columnTypes = ImmutableList.of(BigintType.BIGINT, IntegerType.INTEGER, BigintType.BIGINT);
-            //Last index for rowIdHandle
-            List<Integer> sortFields = ImmutableList.of(0, 1, 2);
-            List<SortOrder> sortOrders = ImmutableList.of(SortOrder.ASC_NULLS_FIRST, SortOrder.ASC_NULLS_FIRST, SortOrder.ASC_NULLS_FIRST);
-            sortedRowsIterator = HiveUtil.getMergeSortedPages(pageSources, columnTypes, sortFields,
-                    sortOrders);
         }
+        return sortedRowsIterator != null && isDeletedInSortedRows(sourcePageRowId);
+    }
+
+    private boolean isDeletedInSortedRows(OrcAcidRowId sourcePageRowId)
+    {
         do {
             if (currentPage == null || currentPageOffset >= currentPage.getPositionCount()) {
                 currentPage = null;
@@ -233,6 +219,73 @@ public class OrcDeletedRows
         return false;
     }
 
+    /**
+     * Opens the delete delta files of the source file, and returns whether any of them has deleted rows.
+     * The row ids of a file are taken from the cache, unless the cache is off or the file is larger
+     * than the cache can hold, in which case the file is merged with the other such files and read as
+     * the source rows are checked.
+     */
+    private boolean loadDeleteDeltas()
+    {
+        if (deletedRowIds == null) {
+            ImmutableList.Builder<DeletedRowIds> builder = ImmutableList.builder();
+            for (WriteIdInfo deleteDeltaInfo : deleteDeltaLocations.getDeleteDeltas()) {
+                Path path = createPath(deleteDeltaLocations.getPartitionLocation(), deleteDeltaInfo, sourceFileName);
+                try {
+                    FileSystem fileSystem = hdfsEnvironment.getFileSystem(sessionUser, path, configuration);
+                    FileStatus fileStatus = hdfsEnvironment.doAs(sessionUser, () -> fileSystem.getFileStatus(path));
+
+                    if (!deleteDeltaCache.isCacheable(fileStatus.getLen())) {
+                        pageSources.add(pageSourceFactory.createPageSource(fileStatus.getPath(), fileStatus.getLen(), fileStatus.getModificationTime()));
+                        continue;
+                    }
+                    DeletedRowIds rowIds = deleteDeltaCache.get(
+                            fileStatus.getPath(),
+                            fileStatus.getLen(),
+                            fileStatus.getModificationTime(),
+                            () -> readDeletedRowIds(fileStatus));
+                    if (!rowIds.isEmpty()) {
+                        builder.add(rowIds);
+                    }
+                }
+                catch (FileNotFoundException ignored) {
+                    // source file does not have a delta delete file in this location
+                    continue;
+                }
+                catch (PrestoException e) {
+                    throw e;
+                }
+                catch (OrcCorruptionException e) {
+                    throw new PrestoException(HiveErrorCode.HIVE_BAD_DATA, format("Failed to read ORC file: %s", path), e);
+                }
+                catch (RuntimeException | IOException e) {
+                    throw new PrestoException(HiveErrorCode.HIVE_CURSOR_ERROR, format("Failed to read ORC file: %s", path), e);
+                }
+            }
+            deletedRowIds = builder.build();
+            if (!pageSources.isEmpty()) {
+                List<Type> columnTypes = ImmutableList.of(BigintType.BIGINT, IntegerType.INTEGER, BigintType.BIGINT);
+                //Last index for rowIdHandle
+                List<Integer> sortFields = ImmutableList.of(0, 1, 2);
+                List<SortOrder> sortOrders = ImmutableList.of(SortOrder.ASC_NULLS_FIRST, SortOrder.ASC_NULLS_FIRST, SortOrder.ASC_NULLS_FIRST);
+                sortedRowsIterator = HiveUtil.getMergeSortedPages(pageSources, columnTypes, sortFields,
+                        sortOrders);
+            }
+        }
+        return !deletedRowIds.isEmpty() || sortedRowsIterator != null;
+    }
+
+    private DeletedRowIds readDeletedRowIds(FileStatus fileStatus)
+    {
+        OrcDeleteDeltaPageSource pageSource = pageSourceFactory.createPageSource(fileStatus.getPath(), fileStatus.getLen(), fileStatus.getModificationTime());
+        try {
+            return DeletedRowIds.create(pageSource);
+        }
+        finally {
+            pageSource.close();
+        }
+    }
+
     private int getBucketNumber(String fileName)
     {
         if (fileName.startsWith(bucketPrefix)) {
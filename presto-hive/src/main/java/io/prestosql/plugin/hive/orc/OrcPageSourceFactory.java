@@ -138,11 +138,17 @@ public class OrcPageSourceFactory
     private final HdfsEnvironment hdfsEnvironment;
     private final FileFormatDataSourceStats stats;
     private final OrcCacheStore orcCacheStore;
+    private final OrcDeleteDeltaCache orcDeleteDeltaCache;
     private final int domainCompactionThreshold;
     private final DateTimeZone legacyTimeZone;
 
-    @Inject
     public OrcPageSourceFactory(TypeManager typeManager, HiveConfig config, HdfsEnvironment hdfsEnvironment, FileFormatDataSourceStats stats, OrcCacheStore orcCacheStore)
+    {
+        this(typeManager, config, hdfsEnvironment, stats, orcCacheStore, new OrcDeleteDeltaCache(config));
+    }
+
+    @Inject
+    public OrcPageSourceFactory(TypeManager typeManager, HiveConfig config, HdfsEnvironment hdfsEnvironment, FileFormatDataSourceStats stats, OrcCacheStore orcCacheStore, OrcDeleteDeltaCache orcDeleteDeltaCache)
     {
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         requireNonNull(config, "config is null");
@@ -150,6 +156,7 @@ public class OrcPageSourceFactory
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.stats = requireNonNull(stats, "stats is null");
         this.orcCacheStore = orcCacheStore;
+        this.orcDeleteDeltaCache = requireNonNull(orcDeleteDeltaCache, "orcDeleteDeltaCache is null");
         this.domainCompactionThreshold = config.getDomainCompactionThreshold();
         this.legacyTimeZone = requireNonNull(config, "hiveConfig is null").getOrcLegacyDateTimeZone();
     }
@@ -216,6 +223,7 @@ public class OrcPageSourceFactory
                 splitMetadata,
                 orcCacheStore,
                 orcCacheProperties,
+                orcDeleteDeltaCache,
                 domainCompactionThreshold,
                 session.isPageMetadataEnabled(),
                 dataSourceLastModifiedTime));
@@ -250,6 +258,7 @@ public class OrcPageSourceFactory
             SplitMetadata splitMetadata,
             OrcCacheStore orcCacheStore,
             OrcCacheProperties orcCacheProperties,
+            OrcDeleteDeltaCache orcDeleteDeltaCache,
             int domainCompactionThreshold,
             boolean pageMetadataEnabled,
             long dataSourceLastModifiedTime)
@@ -416,6 +425,7 @@ public class OrcPageSourceFactory
                     new OrcDeleteDeltaPageSourceFactory(sessionUser,
                             configuration, hdfsEnvironment, maxMergeDistance, maxBufferSize, streamBufferSize,
                             maxReadBlockSize, tinyStripeThreshold, lazyReadSmallRanges, orcBloomFiltersEnabled, stats),
+                    orcDeleteDeltaCache,
                     sessionUser,
                     configuration,
                     hdfsEnvironment,
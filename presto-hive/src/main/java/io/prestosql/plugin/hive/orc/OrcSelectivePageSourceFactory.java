@@ -489,17 +489,6 @@ public class OrcSelectivePageSourceFactory
                     orDomains,
                     missingColumns);
 
-            OrcDeletedRows deletedRows = new OrcDeletedRows(
-                    path.getName(),
-                    deleteDeltaLocations,
-                    new OrcDeleteDeltaPageSourceFactory(sessionUser,
-                            configuration, hdfsEnvironment, maxMergeDistance, maxBufferSize, streamBufferSize,
-                            maxReadBlockSize, tinyStripeThreshold, lazyReadSmallRanges, orcBloomFiltersEnabled, stats),
-                    sessionUser,
-                    configuration,
-                    hdfsEnvironment,
-                    startRowOffsetOfFile);
-
             /* Todo(Nitin): Create a Separate OrcSelectivePageSource and Use MergingPageIterator
              *   to progressively scan and yeild pages. */
 
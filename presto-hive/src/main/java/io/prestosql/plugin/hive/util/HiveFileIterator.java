@@ -111,7 +111,8 @@ public class HiveFileIterator
 
     private Iterator<LocatedFileStatus> getLocatedFileStatusRemoteIterator(Path path, PathFilter pathFilter)
     {
-        try (TimeStat.BlockTimer ignored = namenodeStats.getListLocatedStatus().time()) {
+        try (TimeStat.BlockTimer ignored = namenodeStats.getListLocatedStatus().time();
+                TimeStat.BlockTimer ignoredTable = namenodeStats.getListLocatedStatusTime(table.getSchemaTableName()).time()) {
             return Iterators.filter(new FileStatusIterator(table, path, fileSystem, directoryLister, namenodeStats), input -> pathFilter.accept(input.getPath()));
         }
     }
@@ -57,6 +57,7 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -74,6 +75,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -287,6 +289,51 @@ public class TestBackgroundHiveSplitLoader
         assertEquals(cachingDirectoryLister.getMissCount(), 1);
     }
 
+    @Test(dataProvider = "listingConcurrencies", timeOut = 60_000)
+    public void testParallelDirectoryListing(int listingConcurrency)
+            throws Exception
+    {
+        BlockingDirectoryLister directoryLister = new BlockingDirectoryLister(0);
+        NamenodeStats namenodeStats = new NamenodeStats();
+        BackgroundHiveSplitLoader backgroundHiveSplitLoader = backgroundHiveSplitLoader(10, directoryLister, namenodeStats, listingConcurrency);
+        HiveSplitSource hiveSplitSource = hiveSplitSource(backgroundHiveSplitLoader);
+        backgroundHiveSplitLoader.start(hiveSplitSource);
+
+        // a single loader lists the partitions ahead in the background, or one at a time when the listing concurrency is 0
+        int expectedListings = Math.max(listingConcurrency, 1);
+        while (directoryLister.getListingsInFlight() < expectedListings) {
+            Thread.sleep(10);
+        }
+        directoryLister.release();
+
+        assertEquals(drain(hiveSplitSource).size(), 10 * TEST_FILES.size());
+        assertEquals(directoryLister.getMaxListingsInFlight(), expectedListings);
+        assertEquals(namenodeStats.getListLocatedStatus().getTime().getAllTime().getCount(), 10.0);
+        assertEquals(namenodeStats.getListLocatedStatusTimeByTable().keySet(), ImmutableSet.of(SIMPLE_TABLE.getSchemaTableName().toString()));
+    }
+
+    @Test(dataProvider = "listingConcurrencies", timeOut = 60_000)
+    public void testParallelDirectoryListingFailure(int listingConcurrency)
+    {
+        BlockingDirectoryLister directoryLister = new BlockingDirectoryLister(3);
+        directoryLister.release();
+        BackgroundHiveSplitLoader backgroundHiveSplitLoader = backgroundHiveSplitLoader(10, directoryLister, new NamenodeStats(), listingConcurrency);
+        HiveSplitSource hiveSplitSource = hiveSplitSource(backgroundHiveSplitLoader);
+        backgroundHiveSplitLoader.start(hiveSplitSource);
+
+        assertThatThrownBy(() -> drain(hiveSplitSource))
+                .isInstanceOf(PrestoException.class)
+                .hasMessageStartingWith("Failed to list directory");
+        assertThatThrownBy(hiveSplitSource::isFinished)
+                .hasMessageStartingWith("Failed to list directory");
+    }
+
+    @DataProvider
+    public Object[][] listingConcurrencies()
+    {
+        return new Object[][] {{0}, {4}};
+    }
+
     @Test
     public void testGetBucketNumber()
     {
@@ -349,6 +396,7 @@ public class TestBackgroundHiveSplitLoader
                 new CachingDirectoryLister(new HiveConfig()),
                 EXECUTOR,
                 threads,
+                2,
                 false,
                 Optional.empty(),
                 null,
@@ -656,6 +704,7 @@ public class TestBackgroundHiveSplitLoader
                 new CachingDirectoryLister(new HiveConfig()),
                 directExecutor(),
                 2,
+                2,
                 false,
                 Optional.empty(),
                 createTestDynamicFilterSupplier("partitionColumn", ImmutableList.of(0L, 2L, 3L)),
@@ -778,6 +827,7 @@ public class TestBackgroundHiveSplitLoader
                 new CachingDirectoryLister(new HiveConfig()),
                 EXECUTOR,
                 2,
+                2,
                 false,
                 validWriteIds,
                 null,
@@ -807,6 +857,35 @@ public class TestBackgroundHiveSplitLoader
                 directoryLister,
                 EXECUTOR,
                 2,
+                2,
+                false,
+                Optional.empty(),
+                null,
+                Optional.empty(),
+                Collections.emptyMap(), null);
+    }
+
+    private static BackgroundHiveSplitLoader backgroundHiveSplitLoader(int partitionCount, DirectoryLister directoryLister, NamenodeStats namenodeStats, int listingConcurrency)
+    {
+        List<HivePartitionMetadata> hivePartitionMetadatas = Collections.nCopies(
+                partitionCount,
+                new HivePartitionMetadata(
+                        new HivePartition(new SchemaTableName("testSchema", "table_name")),
+                        Optional.empty(),
+                        ImmutableMap.of()));
+
+        return new BackgroundHiveSplitLoader(
+                SIMPLE_TABLE,
+                hivePartitionMetadatas,
+                TupleDomain.none(),
+                Optional.empty(),
+                HiveTestUtils.SESSION,
+                new TestingHdfsEnvironment(TEST_FILES),
+                namenodeStats,
+                directoryLister,
+                EXECUTOR,
+                1,
+                listingConcurrency,
                 false,
                 Optional.empty(),
                 null,
@@ -830,6 +909,7 @@ public class TestBackgroundHiveSplitLoader
                 new CachingDirectoryLister(new HiveConfig()),
                 directExecutor(),
                 2,
+                2,
                 false,
                 Optional.empty(),
                 null,
@@ -989,6 +1069,61 @@ public class TestBackgroundHiveSplitLoader
                 new BlockLocation[] {});
     }
 
+    /**
+     * Holds the listings until it is released, and fails the listing with the given number, counted from 1.
+     */
+    private static class BlockingDirectoryLister
+            implements DirectoryLister
+    {
+        private final int failedListing;
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final AtomicInteger listings = new AtomicInteger();
+        private final AtomicInteger listingsInFlight = new AtomicInteger();
+        private final AtomicInteger maxListingsInFlight = new AtomicInteger();
+
+        public BlockingDirectoryLister(int failedListing)
+        {
+            this.failedListing = failedListing;
+        }
+
+        @Override
+        public RemoteIterator<LocatedFileStatus> list(FileSystem fs, Table table, Path path)
+                throws IOException
+        {
+            int listing = listings.incrementAndGet();
+            maxListingsInFlight.accumulateAndGet(listingsInFlight.incrementAndGet(), Math::max);
+            try {
+                released.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            finally {
+                listingsInFlight.decrementAndGet();
+            }
+            if (listing == failedListing) {
+                throw new IOException("listing failed");
+            }
+            return fs.listLocatedStatus(path);
+        }
+
+        public void release()
+        {
+            released.countDown();
+        }
+
+        public int getListingsInFlight()
+        {
+            return listingsInFlight.get();
+        }
+
+        public int getMaxListingsInFlight()
+        {
+            return maxListingsInFlight.get();
+        }
+    }
+
     public static class TestingHdfsEnvironment
             extends HdfsEnvironment
     {
@@ -58,6 +58,7 @@ public class TestHiveConfig
                 .setMaxInitialSplits(200)
                 .setMaxInitialSplitSize(new DataSize(32, Unit.MEGABYTE))
                 .setSplitLoaderConcurrency(4)
+                .setSplitLoaderListingConcurrency(0)
                 .setMaxSplitsPerSecond(null)
                 .setDomainCompactionThreshold(100)
                 .setWriterSortBufferSize(new DataSize(64, Unit.MEGABYTE))
@@ -102,6 +103,8 @@ public class TestHiveConfig
                 .setOrcRowIndexCacheEnabled(false).setOrcRowIndexCacheTtl(new Duration(4, TimeUnit.HOURS)).setOrcRowIndexCacheLimit(250_000)
                 .setOrcBloomFiltersCacheEnabled(false).setOrcBloomFiltersCacheTtl(new Duration(4, TimeUnit.HOURS)).setOrcBloomFiltersCacheLimit(250_000)
                 .setOrcRowDataCacheEnabled(false).setOrcRowDataCacheTtl(new Duration(4, TimeUnit.HOURS)).setOrcRowDataCacheMaximumWeight(new DataSize(20, GIGABYTE))
+                .setOrcRowDataCacheOffHeapEnabled(false).setOrcRowDataCacheSpillPath(null).setOrcRowDataCacheSpillMaximumWeight(new DataSize(100, GIGABYTE))
+                .setOrcDeleteDeltaCacheEnabled(false).setOrcDeleteDeltaCacheTtl(new Duration(4, TimeUnit.HOURS)).setOrcDeleteDeltaCacheMaximumWeight(new DataSize(256, MEGABYTE))
                 .setOrcLazyReadSmallRanges(true)
                 .setRcfileTimeZone(TimeZone.getDefault().getID())
                 .setRcfileWriterValidate(false)
@@ -188,6 +191,7 @@ public class TestHiveConfig
                 .put("hive.max-initial-splits", "10")
                 .put("hive.max-initial-split-size", "16MB")
                 .put("hive.split-loader-concurrency", "1")
+                .put("hive.split-loader-listing-concurrency", "2")
                 .put("hive.max-splits-per-second", "1")
                 .put("hive.domain-compaction-threshold", "42")
                 .put("hive.writer-sort-buffer-size", "13MB")
@@ -232,6 +236,12 @@ public class TestHiveConfig
                 .put("hive.orc.row-data.block.cache.enabled", "true")
                 .put("hive.orc.row-data.block.cache.ttl", "1h")
                 .put("hive.orc.row-data.block.cache.max.weight", "1MB")
+                .put("hive.orc.row-data.block.cache.off-heap.enabled", "true")
+                .put("hive.orc.row-data.block.cache.spill.path", "/tmp/orc-row-data")
+                .put("hive.orc.row-data.block.cache.spill.max.weight", "2MB")
+                .put("hive.orc.delete-delta.cache.enabled", "true")
+                .put("hive.orc.delete-delta.cache.ttl", "1h")
+                .put("hive.orc.delete-delta.cache.max.weight", "3MB")
                 .put("hive.orc.lazy-read-small-ranges", "false")
                 .put("hive.rcfile.time-zone", nonDefaultTimeZone().getID())
                 .put("hive.rcfile.writer.validate", "true")
@@ -303,6 +313,7 @@ public class TestHiveConfig
                 .setMaxInitialSplits(10)
                 .setMaxInitialSplitSize(new DataSize(16, Unit.MEGABYTE))
                 .setSplitLoaderConcurrency(1)
+                .setSplitLoaderListingConcurrency(2)
                 .setMaxSplitsPerSecond(1)
                 .setDomainCompactionThreshold(42)
                 .setWriterSortBufferSize(new DataSize(13, Unit.MEGABYTE))
@@ -347,6 +358,8 @@ public class TestHiveConfig
                 .setOrcRowIndexCacheEnabled(true).setOrcRowIndexCacheTtl(new Duration(1, TimeUnit.HOURS)).setOrcRowIndexCacheLimit(100)
                 .setOrcBloomFiltersCacheEnabled(true).setOrcBloomFiltersCacheTtl(new Duration(1, TimeUnit.HOURS)).setOrcBloomFiltersCacheLimit(100)
                 .setOrcRowDataCacheEnabled(true).setOrcRowDataCacheTtl(new Duration(1, TimeUnit.HOURS)).setOrcRowDataCacheMaximumWeight(new DataSize(1, MEGABYTE))
+                .setOrcRowDataCacheOffHeapEnabled(true).setOrcRowDataCacheSpillPath("/tmp/orc-row-data").setOrcRowDataCacheSpillMaximumWeight(new DataSize(2, MEGABYTE))
+                .setOrcDeleteDeltaCacheEnabled(true).setOrcDeleteDeltaCacheTtl(new Duration(1, TimeUnit.HOURS)).setOrcDeleteDeltaCacheMaximumWeight(new DataSize(3, MEGABYTE))
                 .setOrcLazyReadSmallRanges(false)
                 .setRcfileTimeZone(nonDefaultTimeZone().getID())
                 .setRcfileWriterValidate(true)
@@ -15,6 +15,7 @@ package io.prestosql.plugin.hive.orc;
 
 import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
 import io.prestosql.plugin.hive.DeleteDeltaLocations;
 import io.prestosql.plugin.hive.FileFormatDataSourceStats;
 import io.prestosql.plugin.hive.HiveTestUtils;
@@ -33,9 +34,11 @@ import org.testng.annotations.Test;
 import java.util.Optional;
 import java.util.Set;
 
+import static io.airlift.units.DataSize.Unit.BYTE;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static java.util.concurrent.TimeUnit.HOURS;
 import static org.testng.Assert.assertEquals;
 
 public class TestOrcDeletedRows
@@ -98,7 +101,61 @@ public class TestOrcDeletedRows
         deleteDeltaLocationsBuilder.addDeleteDelta(deleteDeltaPath, minWriteId, maxWriteId, statementId);
     }
 
+    @Test
+    public void testDeleteDeltaCache()
+    {
+        DeleteDeltaLocations.Builder deleteDeltaLocationsBuilder = DeleteDeltaLocations.builder(partitionDirectory);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 4L, 4L, 0);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 7L, 7L, 0);
+        Optional<DeleteDeltaLocations> deleteDeltaLocations = deleteDeltaLocationsBuilder.build();
+
+        OrcDeleteDeltaCache deleteDeltaCache = new OrcDeleteDeltaCache(true, new Duration(1, HOURS), new DataSize(1, MEGABYTE));
+        for (int split = 0; split < 2; split++) {
+            OrcDeletedRows deletedRows = createOrcDeletedRows(deleteDeltaLocations, deleteDeltaCache);
+            Page testPage = createTestPage(0, 10);
+            Block block = deletedRows.getMaskDeletedRowsFunction(testPage, Optional.empty()).apply(testPage.getBlock(0));
+            Set<Object> validRows = MaterializedResult.resultBuilder(HiveTestUtils.SESSION, BIGINT)
+                    .page(new Page(block))
+                    .build()
+                    .getOnlyColumnAsSet();
+            assertEquals(validRows, ImmutableSet.of(0L, 1L, 3L, 4L, 5L, 7L, 8L, 9L));
+        }
+
+        // the second split reads both delete delta files from the cache
+        assertEquals(deleteDeltaCache.getMissCount(), 2);
+        assertEquals(deleteDeltaCache.getHitCount(), 2);
+    }
+
+    @Test
+    public void testDeleteDeltaLargerThanCache()
+    {
+        DeleteDeltaLocations.Builder deleteDeltaLocationsBuilder = DeleteDeltaLocations.builder(partitionDirectory);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 4L, 4L, 0);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 7L, 7L, 0);
+        Optional<DeleteDeltaLocations> deleteDeltaLocations = deleteDeltaLocationsBuilder.build();
+
+        OrcDeleteDeltaCache deleteDeltaCache = new OrcDeleteDeltaCache(true, new Duration(1, HOURS), new DataSize(1, BYTE));
+        OrcDeletedRows deletedRows = createOrcDeletedRows(deleteDeltaLocations, deleteDeltaCache);
+        Page testPage = createTestPage(0, 10);
+        Block block = deletedRows.getMaskDeletedRowsFunction(testPage, Optional.empty()).apply(testPage.getBlock(0));
+        Set<Object> validRows = MaterializedResult.resultBuilder(HiveTestUtils.SESSION, BIGINT)
+                .page(new Page(block))
+                .build()
+                .getOnlyColumnAsSet();
+        assertEquals(validRows, ImmutableSet.of(0L, 1L, 3L, 4L, 5L, 7L, 8L, 9L));
+        deletedRows.close();
+
+        // the delete delta files do not fit in the cache, so they are merged instead
+        assertEquals(deleteDeltaCache.getMissCount(), 0);
+        assertEquals(deleteDeltaCache.getSize(), 0);
+    }
+
     private OrcDeletedRows createOrcDeletedRows(Optional<DeleteDeltaLocations> deleteDeltaLocations)
+    {
+        return createOrcDeletedRows(deleteDeltaLocations, new OrcDeleteDeltaCache(false, new Duration(1, HOURS), new DataSize(1, MEGABYTE)));
+    }
+
+    private OrcDeletedRows createOrcDeletedRows(Optional<DeleteDeltaLocations> deleteDeltaLocations, OrcDeleteDeltaCache deleteDeltaCache)
     {
         JobConf configuration = new JobConf(new Configuration(false));
         OrcDeleteDeltaPageSourceFactory pageSourceFactory = new OrcDeleteDeltaPageSourceFactory(
@@ -118,6 +175,7 @@ public class TestOrcDeletedRows
                 "bucket_00000",
                 deleteDeltaLocations,
                 pageSourceFactory,
+                deleteDeltaCache,
                 "test",
                 configuration,
                 HiveTestUtils.HDFS_ENVIRONMENT,
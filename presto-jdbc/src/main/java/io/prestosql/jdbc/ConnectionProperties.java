@@ -55,6 +55,8 @@ final class ConnectionProperties
     public static final ConnectionProperty<File> KERBEROS_CREDENTIAL_CACHE_PATH = new KerberosCredentialCachePath();
     public static final ConnectionProperty<String> ACCESS_TOKEN = new AccessToken();
     public static final ConnectionProperty<Map<String, String>> EXTRA_CREDENTIALS = new ExtraCredentials();
+    public static final ConnectionProperty<Boolean> BINARY_RESULTS = new BinaryResults();
+    public static final ConnectionProperty<Integer> RESULT_STREAMS = new ResultStreams();
 
     private static final Set<ConnectionProperty<?>> ALL_PROPERTIES = ImmutableSet.<ConnectionProperty<?>>builder()
             .add(USER)
@@ -76,6 +78,8 @@ final class ConnectionProperties
             .add(KERBEROS_CREDENTIAL_CACHE_PATH)
             .add(ACCESS_TOKEN)
             .add(EXTRA_CREDENTIALS)
+            .add(BINARY_RESULTS)
+            .add(RESULT_STREAMS)
             .build();
 
     private static final Map<String, ConnectionProperty<?>> KEY_LOOKUP = unmodifiableMap(ALL_PROPERTIES.stream()
@@ -168,6 +172,31 @@ final class ConnectionProperties
         }
     }
 
+    private static class BinaryResults
+            extends AbstractConnectionProperty<Boolean>
+    {
+        public BinaryResults()
+        {
+            super("BinaryResults", NOT_REQUIRED, ALLOWED, BOOLEAN_CONVERTER);
+        }
+    }
+
+    private static class ResultStreams
+            extends AbstractConnectionProperty<Integer>
+    {
+        public ResultStreams()
+        {
+            super("ResultStreams", NOT_REQUIRED, ALLOWED, ResultStreams::parseResultStreams);
+        }
+
+        private static Integer parseResultStreams(String value)
+        {
+            int resultStreams = Integer.parseInt(value);
+            checkArgument(resultStreams >= 1, "ResultStreams must be at least 1: %s", value);
+            return resultStreams;
+        }
+    }
+
     private static class SslKeyStorePath
             extends AbstractConnectionProperty<String>
     {
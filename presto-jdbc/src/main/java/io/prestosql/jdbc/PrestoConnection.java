@@ -21,6 +21,7 @@ import com.google.common.primitives.Ints;
 import io.airlift.units.Duration;
 import io.prestosql.client.ClientSelectedRole;
 import io.prestosql.client.ClientSession;
+import io.prestosql.client.ResultStreamClient;
 import io.prestosql.client.ServerInfo;
 import io.prestosql.client.StatementClient;
 
@@ -87,6 +88,8 @@ public class PrestoConnection
     private final String user;
     private final Map<String, String> extraCredentials;
     private final Optional<String> applicationNamePrefix;
+    private final boolean binaryResults;
+    private final int resultStreams;
     private final Map<String, String> clientInfo = new ConcurrentHashMap<>();
     private final Map<String, String> sessionProperties = new ConcurrentHashMap<>();
     private final Map<String, String> preparedStatements = new ConcurrentHashMap<>();
@@ -106,6 +109,8 @@ public class PrestoConnection
         this.user = uri.getUser();
         this.applicationNamePrefix = uri.getApplicationNamePrefix();
         this.extraCredentials = uri.getExtraCredentials();
+        this.binaryResults = uri.isBinaryResults();
+        this.resultStreams = uri.getResultStreams();
         this.queryExecutor = requireNonNull(queryExecutor, "queryExecutor is null");
 
         timeZoneId.set(ZoneId.systemDefault());
@@ -681,9 +686,7 @@ public class PrestoConnection
         Map<String, String> allProperties = new HashMap<>(sessionProperties);
         allProperties.putAll(sessionPropertiesOverride);
 
-        // zero means no timeout, so use a huge value that is effectively unlimited
-        int millis = networkTimeoutMillis.get();
-        Duration timeout = (millis > 0) ? new Duration(millis, MILLISECONDS) : new Duration(999, DAYS);
+        Duration timeout = getRequestTimeout();
 
         ClientSession session = new ClientSession(
                 httpUri,
@@ -703,11 +706,30 @@ public class PrestoConnection
                 ImmutableMap.copyOf(roles),
                 extraCredentials,
                 transactionId.get(),
-                timeout);
+                timeout,
+                false,
+                binaryResults);
 
         return queryExecutor.startQuery(session, sql);
     }
 
+    ResultStreamClient openResultStream(URI streamUri)
+    {
+        return queryExecutor.openResultStream(user, getRequestTimeout(), streamUri);
+    }
+
+    int getResultStreams()
+    {
+        return resultStreams;
+    }
+
+    private Duration getRequestTimeout()
+    {
+        // zero means no timeout, so use a huge value that is effectively unlimited
+        int millis = networkTimeoutMillis.get();
+        return (millis > 0) ? new Duration(millis, MILLISECONDS) : new Duration(999, DAYS);
+    }
+
     void updateSession(StatementClient client)
     {
         client.getSetSessionProperties().forEach(sessionProperties::put);
@@ -16,11 +16,13 @@ package io.prestosql.jdbc;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.prestosql.client.Column;
 import io.prestosql.client.IntervalDayTime;
 import io.prestosql.client.IntervalYearMonth;
 import io.prestosql.client.QueryError;
 import io.prestosql.client.QueryStatusInfo;
+import io.prestosql.client.ResultStreamClient;
 import io.prestosql.client.StatementClient;
 import io.prestosql.jdbc.ColumnInfo.Nullable;
 import org.joda.time.DateTimeZone;
@@ -35,6 +37,7 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.net.URL;
 import java.sql.Array;
 import java.sql.Blob;
@@ -58,9 +61,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.Iterables.getOnlyElement;
@@ -71,6 +80,8 @@ import static java.lang.String.format;
 import static java.math.BigDecimal.ROUND_HALF_UP;
 import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class PrestoResultSet
         implements ResultSet
@@ -107,8 +118,10 @@ public class PrestoResultSet
     private final AtomicBoolean wasNull = new AtomicBoolean();
     private final AtomicBoolean closed = new AtomicBoolean();
     private final WarningsManager warningsManager;
+    private final Optional<ParallelResultsPageIterator> parallelResults;
 
-    PrestoResultSet(StatementClient client, long maxRows, Consumer<QueryStats> progressCallback, WarningsManager warningsManager)
+    PrestoResultSet(StatementClient client, long maxRows, Consumer<QueryStats> progressCallback, WarningsManager warningsManager,
+            int resultStreams, Function<URI, ResultStreamClient> resultStreamOpener)
             throws SQLException
     {
         this.client = requireNonNull(client, "client is null");
@@ -123,7 +136,17 @@ public class PrestoResultSet
         this.resultSetMetaData = new PrestoResultSetMetaData(columnInfoList);
         this.warningsManager = requireNonNull(warningsManager, "warningsManager is null");
 
-        this.results = flatten(new ResultsPageIterator(client, progressCallback, warningsManager), maxRows);
+        Iterator<Iterable<List<Object>>> pages = new ResultsPageIterator(client, progressCallback, warningsManager);
+        List<ResultStreamClient> streams = openResultStreams(client, resultStreams, resultStreamOpener);
+        if (streams.isEmpty()) {
+            this.parallelResults = Optional.empty();
+        }
+        else {
+            ParallelResultsPageIterator parallelPages = new ParallelResultsPageIterator(pages, streams);
+            this.parallelResults = Optional.of(parallelPages);
+            pages = parallelPages;
+        }
+        this.results = flatten(pages, maxRows);
     }
 
     public String getQueryId()
@@ -162,6 +185,7 @@ public class PrestoResultSet
             throws SQLException
     {
         closed.set(true);
+        parallelResults.ifPresent(ParallelResultsPageIterator::close);
         client.close();
     }
 
@@ -1781,6 +1805,26 @@ public class PrestoResultSet
         throw resultsException(tmpResults);
     }
 
+    private static List<ResultStreamClient> openResultStreams(StatementClient client, int resultStreams, Function<URI, ResultStreamClient> resultStreamOpener)
+    {
+        // the additional streams share the output of the query with the statement, so they are only used for
+        // queries: the update count of other statements is read from the rows of the statement itself
+        if (resultStreams <= 1 || !client.isRunning() || client.currentStatusInfo().getUpdateType() != null) {
+            return ImmutableList.of();
+        }
+
+        URI nextUri = client.currentStatusInfo().getNextUri();
+        ImmutableList.Builder<ResultStreamClient> streams = ImmutableList.builder();
+        for (int streamId = 1; streamId < resultStreams; streamId++) {
+            Optional<URI> streamUri = ResultStreamClient.getStreamUri(nextUri, streamId);
+            if (!streamUri.isPresent()) {
+                return ImmutableList.of();
+            }
+            streams.add(resultStreamOpener.apply(streamUri.get()));
+        }
+        return streams.build();
+    }
+
     private static <T> Iterator<T> flatten(Iterator<Iterable<T>> iterator, long maxRows)
     {
         Iterator<T> rowsIterator = concat(transform(iterator, Iterable::iterator));
@@ -1863,6 +1907,102 @@ public class PrestoResultSet
         }
     }
 
+    /**
+     * Merges the pages of the statement with the pages of the additional result streams, which are fetched
+     * by background threads. Pages are returned in the order they arrive.
+     */
+    private static class ParallelResultsPageIterator
+            extends AbstractIterator<Iterable<List<Object>>>
+    {
+        private final Iterator<Iterable<List<Object>>> statementPages;
+        private final List<ResultStreamClient> streams;
+        private final ExecutorService executor;
+        private final BlockingQueue<Iterable<List<Object>>> streamPages;
+        private final AtomicInteger runningStreams;
+        private final AtomicReference<Throwable> streamFailure = new AtomicReference<>();
+
+        private ParallelResultsPageIterator(Iterator<Iterable<List<Object>>> statementPages, List<ResultStreamClient> streams)
+        {
+            this.statementPages = requireNonNull(statementPages, "statementPages is null");
+            this.streams = ImmutableList.copyOf(requireNonNull(streams, "streams is null"));
+            this.executor = newFixedThreadPool(streams.size(), new ThreadFactoryBuilder()
+                    .setNameFormat("presto-jdbc-result-stream-%s")
+                    .setDaemon(true)
+                    .build());
+            // bound the pages buffered by the streams, so that a slow reader holds back the server
+            this.streamPages = new LinkedBlockingQueue<>(streams.size() * 2);
+            this.runningStreams = new AtomicInteger(streams.size());
+            for (ResultStreamClient stream : this.streams) {
+                executor.execute(() -> fetch(stream));
+            }
+        }
+
+        private void fetch(ResultStreamClient stream)
+        {
+            try {
+                while (stream.advance()) {
+                    Iterable<List<Object>> data = stream.currentData();
+                    if (data != null) {
+                        streamPages.put(data);
+                    }
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            catch (RuntimeException e) {
+                streamFailure.compareAndSet(null, e);
+            }
+            finally {
+                runningStreams.decrementAndGet();
+            }
+        }
+
+        @Override
+        protected Iterable<List<Object>> computeNext()
+        {
+            while (true) {
+                Throwable failure = streamFailure.get();
+                if (failure != null) {
+                    close();
+                    throw new RuntimeException(new SQLException("Error fetching results from result stream", failure));
+                }
+
+                Iterable<List<Object>> data = streamPages.poll();
+                if (data != null) {
+                    return data;
+                }
+
+                // the statement reports the failure of the query, and it only ends once the streams took all pages
+                if (statementPages.hasNext()) {
+                    return statementPages.next();
+                }
+                if (runningStreams.get() == 0 && streamPages.isEmpty()) {
+                    executor.shutdown();
+                    return endOfData();
+                }
+
+                try {
+                    data = streamPages.poll(100, MILLISECONDS);
+                }
+                catch (InterruptedException e) {
+                    close();
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(new SQLException("ResultSet thread was interrupted", e));
+                }
+                if (data != null) {
+                    return data;
+                }
+            }
+        }
+
+        private void close()
+        {
+            streams.forEach(ResultStreamClient::close);
+            executor.shutdownNow();
+        }
+    }
+
     static SQLException resultsException(QueryStatusInfo results)
     {
         QueryError error = requireNonNull(results.getError());
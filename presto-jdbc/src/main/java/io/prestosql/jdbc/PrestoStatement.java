@@ -43,6 +43,7 @@ public class PrestoStatement
     private final AtomicLong maxRows = new AtomicLong();
     private final AtomicInteger queryTimeoutSeconds = new AtomicInteger();
     private final AtomicInteger fetchSize = new AtomicInteger();
+    private final AtomicInteger resultStreams;
     private final AtomicBoolean escapeProcessing = new AtomicBoolean(true);
     private final AtomicBoolean closeOnCompletion = new AtomicBoolean();
     private final AtomicReference<PrestoConnection> connection;
@@ -57,6 +58,7 @@ public class PrestoStatement
     PrestoStatement(PrestoConnection connection)
     {
         this.connection = new AtomicReference<>(requireNonNull(connection, "connection is null"));
+        this.resultStreams = new AtomicInteger(connection.getResultStreams());
     }
 
     public void setProgressMonitor(Consumer<QueryStats> progressMonitor)
@@ -69,6 +71,27 @@ public class PrestoStatement
         progressCallback.set(Optional.empty());
     }
 
+    /**
+     * Number of connections used to fetch the rows of a query in parallel. With more than one stream the rows
+     * of a result set are returned in no particular order, even if the query has an ORDER BY.
+     */
+    public void setResultStreams(int resultStreams)
+            throws SQLException
+    {
+        checkOpen();
+        if (resultStreams < 1) {
+            throw new SQLException("Result streams must be at least 1");
+        }
+        this.resultStreams.set(resultStreams);
+    }
+
+    public int getResultStreams()
+            throws SQLException
+    {
+        checkOpen();
+        return resultStreams.get();
+    }
+
     @Override
     public ResultSet executeQuery(String sql)
             throws SQLException
@@ -214,6 +237,9 @@ public class PrestoStatement
         if (queryTimeoutSeconds.get() > 0) {
             sessionProperties.put("query_max_run_time", queryTimeoutSeconds.get() + "s");
         }
+        if (resultStreams.get() > 1) {
+            sessionProperties.put("result_streams", String.valueOf(resultStreams.get()));
+        }
         return sessionProperties.build();
     }
 
@@ -246,7 +272,7 @@ public class PrestoStatement
             executingClient.set(client);
             WarningsManager warningsManager = new WarningsManager();
             currentWarningsManager.set(Optional.of(warningsManager));
-            resultSet = new PrestoResultSet(client, maxRows.get(), progressConsumer, warningsManager);
+            resultSet = new PrestoResultSet(client, maxRows.get(), progressConsumer, warningsManager, resultStreams.get(), connection()::openResultStream);
 
             // check if this is a query
             if (client.currentStatusInfo().getUpdateType() == null) {
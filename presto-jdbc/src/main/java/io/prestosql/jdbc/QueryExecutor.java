@@ -14,9 +14,11 @@
 package io.prestosql.jdbc;
 
 import io.airlift.json.JsonCodec;
+import io.airlift.units.Duration;
 import io.prestosql.client.ClientException;
 import io.prestosql.client.ClientSession;
 import io.prestosql.client.JsonResponse;
+import io.prestosql.client.ResultStreamClient;
 import io.prestosql.client.ServerInfo;
 import io.prestosql.client.StatementClient;
 import okhttp3.HttpUrl;
@@ -46,6 +48,11 @@ class QueryExecutor
         return newStatementClient(httpClient, session, query);
     }
 
+    public ResultStreamClient openResultStream(String user, Duration requestTimeout, URI streamUri)
+    {
+        return new ResultStreamClient(httpClient, user, requestTimeout, streamUri);
+    }
+
     public ServerInfo getServerInfo(URI server)
     {
         HttpUrl url = HttpUrl.get(server);
@@ -376,6 +376,39 @@ public class TestJdbcResultSet
         statement.getMaxRows();
     }
 
+    @Test
+    public void testResultStreams()
+            throws Exception
+    {
+        statement.unwrap(PrestoStatement.class).setResultStreams(4);
+        try (ResultSet rs = statement.executeQuery("SELECT x * 10 + y FROM UNNEST(sequence(0, 9999)) t(x) CROSS JOIN UNNEST(sequence(0, 9)) u(y)")) {
+            // rows arrive in no particular order, but every row is returned exactly once
+            boolean[] seen = new boolean[100_000];
+            long count = 0;
+            while (rs.next()) {
+                int value = rs.getInt(1);
+                assertFalse(seen[value], "duplicate row " + value);
+                seen[value] = true;
+                count++;
+            }
+            assertEquals(count, 100_000);
+        }
+
+        // results smaller than a batch are returned by whichever stream polls them first
+        try (ResultSet rs = statement.executeQuery("SELECT 123")) {
+            assertTrue(rs.next());
+            assertEquals(rs.getInt(1), 123);
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test(expectedExceptions = SQLException.class, expectedExceptionsMessageRegExp = "Result streams must be at least 1")
+    public void testInvalidResultStreams()
+            throws SQLException
+    {
+        statement.unwrap(PrestoStatement.class).setResultStreams(0);
+    }
+
     private Connection createConnection()
             throws SQLException
     {
@@ -114,6 +114,9 @@ public final class SystemSessionProperties
     public static final String ITERATIVE_OPTIMIZER_TIMEOUT = "iterative_optimizer_timeout";
     public static final String ENABLE_FORCED_EXCHANGE_BELOW_GROUP_ID = "enable_forced_exchange_below_group_id";
     public static final String EXCHANGE_COMPRESSION = "exchange_compression";
+    public static final String EXCHANGE_POOLED_BUFFERS = "exchange_pooled_buffers";
+    public static final String EXCHANGE_ADAPTIVE_COMPRESSION = "exchange_adaptive_compression";
+    public static final String RESULT_STREAMS = "result_streams";
     public static final String ENABLE_INTERMEDIATE_AGGREGATIONS = "enable_intermediate_aggregations";
     public static final String PUSH_AGGREGATION_THROUGH_JOIN = "push_aggregation_through_join";
     public static final String PUSH_PARTIAL_AGGREGATION_THROUGH_JOIN = "push_partial_aggregation_through_join";
@@ -150,9 +153,12 @@ public final class SystemSessionProperties
     public static final String DYNAMIC_FILTERING_DATA_TYPE = "dynamic_filtering_data_type";
     public static final String DYNAMIC_FILTERING_MAX_PER_DRIVER_SIZE = "dynamic_filtering_max_per_driver_size";
     public static final String DYNAMIC_FILTERING_BLOOM_FILTER_FPP = "dynamic_filtering_bloom_filter_fpp";
+    public static final String DYNAMIC_FILTERING_PUSH_ENABLED = "dynamic_filtering_push_enabled";
     public static final String ENABLE_EXECUTION_PLAN_CACHE = "enable_execution_plan_cache";
     public static final String ENABLE_CROSS_REGION_DYNAMIC_FILTER = "cross_region_dynamic_filter_enabled";
     public static final String ENABLE_HEURISTICINDEX_FILTER = "heuristicindex_filter_enabled";
+    public static final String HEURISTICINDEX_FILTER_BATCH_LOOKUP_ENABLED = "heuristicindex_filter_batch_lookup_enabled";
+    public static final String HEURISTICINDEX_FILTER_BATCH_LOOKUP_TIMEOUT = "heuristicindex_filter_batch_lookup_timeout";
     public static final String ENABLE_STAR_TREE_INDEX = "enable_star_tree_index";
     public static final String PUSH_TABLE_THROUGH_SUBQUERY = "push_table_through_subquery";
     public static final String OPTIMIZE_DYNAMIC_FILTER_GENERATION = "optimize_dynamic_filter_generation";
@@ -181,6 +187,8 @@ public final class SystemSessionProperties
     public static final String SKIP_ATTACHING_STATS_WITH_PLAN = "skip_attaching_stats_with_plan";
     public static final String SKIP_NON_APPLICABLE_RULES_ENABLED = "skip_non_applicable_rules_enabled";
     public static final String ELIMINATE_DUPLICATE_SPILL_FILES = "eliminate_duplicate_spill_files";
+    public static final String SNAPSHOT_INCREMENTAL_CAPTURE_ENABLED = "snapshot_incremental_capture_enabled";
+    public static final String SNAPSHOT_MAX_INCREMENTAL_CAPTURES = "snapshot_max_incremental_captures";
 
     private final List<PropertyMetadata<?>> sessionProperties;
 
@@ -560,6 +568,25 @@ public final class SystemSessionProperties
                         "Enable compression in exchanges",
                         featuresConfig.isExchangeCompressionEnabled(),
                         false),
+                booleanProperty(
+                        EXCHANGE_POOLED_BUFFERS,
+                        "Reuse the serialization buffers of exchanges across pages",
+                        featuresConfig.isExchangePooledBuffersEnabled(),
+                        false),
+                booleanProperty(
+                        EXCHANGE_ADAPTIVE_COMPRESSION,
+                        "Choose the compression codec of each exchange from the compressibility of its pages",
+                        featuresConfig.isExchangeAdaptiveCompressionEnabled(),
+                        false),
+                new PropertyMetadata<>(
+                        RESULT_STREAMS,
+                        "Number of result streams a client may open to fetch the output of a query in parallel",
+                        INTEGER,
+                        Integer.class,
+                        1,
+                        false,
+                        value -> validateIntegerValue(value, RESULT_STREAMS, 1, false),
+                        value -> value),
                 booleanProperty(
                         ENABLE_INTERMEDIATE_AGGREGATIONS,
                         "Enable the use of intermediate aggregations",
@@ -710,6 +737,11 @@ public final class SystemSessionProperties
                         "Expected FPP for BloomFilter which is used in dynamic filtering",
                         featuresConfig.getDynamicFilteringBloomFilterFpp(),
                         false),
+                booleanProperty(
+                        DYNAMIC_FILTERING_PUSH_ENABLED,
+                        "Exchange dynamic filters with the task status and updates instead of the state store",
+                        featuresConfig.isDynamicFilteringPushEnabled(),
+                        false),
                 booleanProperty(
                         OPTIMIZE_DYNAMIC_FILTER_GENERATION,
                         "Generate dynamic filters based on the selectivity",
@@ -725,6 +757,16 @@ public final class SystemSessionProperties
                         "Enable heuristic index filter",
                         hetuConfig.isFilterEnabled(),
                         false),
+                booleanProperty(
+                        HEURISTICINDEX_FILTER_BATCH_LOOKUP_ENABLED,
+                        "Load the missing heuristic indices of a split batch in parallel before filtering it",
+                        hetuConfig.isIndexBatchLookupEnabled(),
+                        false),
+                durationProperty(
+                        HEURISTICINDEX_FILTER_BATCH_LOOKUP_TIMEOUT,
+                        "Maximum time to wait for the heuristic indices of a split batch to be loaded",
+                        hetuConfig.getIndexBatchLookupTimeout(),
+                        false),
                 booleanProperty(
                         PUSH_TABLE_THROUGH_SUBQUERY,
                         "Allow pushing outer tables into subqueries if there is a join between the two",
@@ -866,6 +908,16 @@ public final class SystemSessionProperties
                         ELIMINATE_DUPLICATE_SPILL_FILES,
                         "Eliminates back up of spill files",
                         recoveryConfig.isEliminateDuplicateSpillFilesEnabled(),
+                        false),
+                booleanProperty(
+                        SNAPSHOT_INCREMENTAL_CAPTURE_ENABLED,
+                        "Capture only the changes since the previous snapshot for operators that support it",
+                        recoveryConfig.isSnapshotIncrementalCaptureEnabled(),
+                        false),
+                integerProperty(
+                        SNAPSHOT_MAX_INCREMENTAL_CAPTURES,
+                        "Number of incremental captures of an operator before its full state is captured again",
+                        recoveryConfig.getSnapshotMaxIncrementalCaptures(),
                         false));
     }
 
@@ -1188,6 +1240,21 @@ public final class SystemSessionProperties
         return session.getSystemProperty(EXCHANGE_COMPRESSION, Boolean.class);
     }
 
+    public static boolean isExchangePooledBuffersEnabled(Session session)
+    {
+        return session.getSystemProperty(EXCHANGE_POOLED_BUFFERS, Boolean.class);
+    }
+
+    public static boolean isExchangeAdaptiveCompressionEnabled(Session session)
+    {
+        return session.getSystemProperty(EXCHANGE_ADAPTIVE_COMPRESSION, Boolean.class);
+    }
+
+    public static int getResultStreams(Session session)
+    {
+        return session.getSystemProperty(RESULT_STREAMS, Integer.class);
+    }
+
     public static boolean isEnableIntermediateAggregations(Session session)
     {
         return session.getSystemProperty(ENABLE_INTERMEDIATE_AGGREGATIONS, Boolean.class);
@@ -1365,6 +1432,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(DYNAMIC_FILTERING_BLOOM_FILTER_FPP, Double.class);
     }
 
+    public static boolean isDynamicFilteringPushEnabled(Session session)
+    {
+        return session.getSystemProperty(DYNAMIC_FILTERING_PUSH_ENABLED, Boolean.class);
+    }
+
     public static boolean isOptimizeDynamicFilterGeneration(Session session)
     {
         return session.getSystemProperty(OPTIMIZE_DYNAMIC_FILTER_GENERATION, Boolean.class);
@@ -1380,6 +1452,16 @@ public final class SystemSessionProperties
         return session.getSystemProperty(ENABLE_HEURISTICINDEX_FILTER, Boolean.class);
     }
 
+    public static boolean isHeuristicIndexFilterBatchLookupEnabled(Session session)
+    {
+        return session.getSystemProperty(HEURISTICINDEX_FILTER_BATCH_LOOKUP_ENABLED, Boolean.class);
+    }
+
+    public static Duration getHeuristicIndexFilterBatchLookupTimeout(Session session)
+    {
+        return session.getSystemProperty(HEURISTICINDEX_FILTER_BATCH_LOOKUP_TIMEOUT, Duration.class);
+    }
+
     public static boolean shouldEnableTablePushdown(Session session)
     {
         return session.getSystemProperty(PUSH_TABLE_THROUGH_SUBQUERY, Boolean.class);
@@ -1505,4 +1587,14 @@ public final class SystemSessionProperties
     {
         return session.getSystemProperty(ELIMINATE_DUPLICATE_SPILL_FILES, Boolean.class);
     }
+
+    public static boolean isSnapshotIncrementalCaptureEnabled(Session session)
+    {
+        return session.getSystemProperty(SNAPSHOT_INCREMENTAL_CAPTURE_ENABLED, Boolean.class);
+    }
+
+    public static int getSnapshotMaxIncrementalCaptures(Session session)
+    {
+        return session.getSystemProperty(SNAPSHOT_MAX_INCREMENTAL_CAPTURES, Integer.class);
+    }
 }
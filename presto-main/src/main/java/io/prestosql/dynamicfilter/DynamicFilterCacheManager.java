@@ -32,7 +32,8 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Cache manager for merged Dynamic Filters, being used by all the tasks running on same worker
- * Currently the merged Dynamic Filters are added by {@link io.prestosql.dynamicfilter.DynamicFilterListener}
+ * The merged Dynamic Filters are added by {@link io.prestosql.dynamicfilter.DynamicFilterListener} from the state store,
+ * or pushed by the coordinator with the task updates, see {@link #cacheDynamicFilters(String, Map)}
  */
 public class DynamicFilterCacheManager
 {
@@ -102,6 +103,24 @@ public class DynamicFilterCacheManager
         cacheGlobalDynamicFilters.put(filterId, dynamicFilter);
     }
 
+    /**
+     * Cache merged dynamic filters pushed by the coordinator, serialized with {@link DynamicFilterSerde}.
+     * The same filters are sent to every task of the query, only the first copy is deserialized.
+     *
+     * @param queryId Id of the query the filters belong to
+     * @param dynamicFilters serialized merged filters, keyed by filter id
+     */
+    public void cacheDynamicFilters(String queryId, Map<String, byte[]> dynamicFilters)
+    {
+        for (Map.Entry<String, byte[]> entry : dynamicFilters.entrySet()) {
+            String cacheKey = createCacheKey(entry.getKey(), queryId);
+            if (cacheGlobalDynamicFilters.getIfPresent(cacheKey) == null) {
+                DynamicFilterListener.transformDynamicFilter(entry.getKey(), DynamicFilterSerde.deserialize(entry.getValue()))
+                        .ifPresent(filter -> cacheGlobalDynamicFilters.put(cacheKey, filter));
+            }
+        }
+    }
+
     public Map<String, byte[]> getBloomFitler(String cacheKey)
     {
         return cacheBloomFilters.getIfPresent(cacheKey);
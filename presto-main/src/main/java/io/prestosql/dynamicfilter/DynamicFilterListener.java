@@ -20,6 +20,7 @@ import io.prestosql.spi.dynamicfilter.DynamicFilterFactory;
 import io.prestosql.spi.statestore.listener.EntryAddedListener;
 import io.prestosql.spi.statestore.listener.EntryEvent;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -42,23 +43,30 @@ public class DynamicFilterListener
         this.dynamicFilterCacheManager = requireNonNull(cache, "cache is null");
     }
 
-    private Optional<DynamicFilter> transformDynamicFilter(String cacheKey, Object newDynamicFilter)
+    /**
+     * Create the global dynamic filter for a merged value, either read from the state store
+     * or pushed by the coordinator
+     */
+    static Optional<DynamicFilter> transformDynamicFilter(String filterId, Object newDynamicFilter)
     {
-        String filterId = cacheKey.split("-")[0];
         // Global dynamic filters
         if (newDynamicFilter == null) {
-            LOG.warn("DynamicFilter added to StateStore is null.");
+            LOG.warn("Merged DynamicFilter %s is null.", filterId);
             return Optional.empty();
         }
 
         DynamicFilter dynamicFilter = null;
         if (newDynamicFilter instanceof Set) {
             dynamicFilter = DynamicFilterFactory.create(filterId, null, (Set<?>) newDynamicFilter, GLOBAL);
-            LOG.debug("Got new HashSet DynamicFilter from state store: " + filterId + ", size: " + dynamicFilter.getSize());
+            LOG.debug("Got new HashSet DynamicFilter: " + filterId + ", size: " + dynamicFilter.getSize());
         }
         else if (newDynamicFilter instanceof byte[]) {
             dynamicFilter = DynamicFilterFactory.create(filterId, null, (byte[]) newDynamicFilter, GLOBAL);
-            LOG.debug("Got new BloomFilter DynamicFilter from state store: " + filterId + ", size: " + dynamicFilter.getSize());
+            LOG.debug("Got new BloomFilter DynamicFilter: " + filterId + ", size: " + dynamicFilter.getSize());
+        }
+        else if (newDynamicFilter instanceof List) {
+            dynamicFilter = DynamicFilterFactory.create(filterId, null, (List<?>) newDynamicFilter, GLOBAL);
+            LOG.debug("Got new Range DynamicFilter: " + filterId + ", ranges: " + dynamicFilter.getSize());
         }
 
         return dynamicFilter == null ? Optional.empty() : Optional.of(dynamicFilter);
@@ -69,7 +77,7 @@ public class DynamicFilterListener
     {
         String key = event.getKey();
         String cacheKey = key.substring(FILTERPREFIX.length());
-        transformDynamicFilter(cacheKey, event.getValue())
+        transformDynamicFilter(cacheKey.split("-")[0], event.getValue())
                 .ifPresent(filter -> dynamicFilterCacheManager.cacheDynamicFilter(cacheKey, filter));
     }
 }
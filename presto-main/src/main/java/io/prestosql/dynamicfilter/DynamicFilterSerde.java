@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.dynamicfilter;
+
+import io.airlift.slice.BasicSliceInput;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
+import it.unimi.dsi.fastutil.doubles.DoubleIterator;
+import it.unimi.dsi.fastutil.doubles.DoubleOpenHashSet;
+import it.unimi.dsi.fastutil.doubles.DoubleSet;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Binary encoding of the dynamic filter values exchanged between the coordinator and the workers
+ * when dynamic filters are pushed over the task HTTP channel instead of going through the state store.
+ * <p>
+ * Supported values are the ones produced by the dynamic filter source operators and merged by
+ * {@link DynamicFilterService}: sets of values (hash set filters), byte arrays (bloom filters),
+ * lists of range bounds (range filters), and the Long, Double, Boolean, Slice and String elements they contain.
+ * Primitive long and double sets are encoded without per element tags.
+ */
+public final class DynamicFilterSerde
+{
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte SLICE = 4;
+    private static final byte STRING = 5;
+    private static final byte BYTES = 6;
+    private static final byte LIST = 7;
+    private static final byte SET = 8;
+    private static final byte LONG_SET = 9;
+    private static final byte DOUBLE_SET = 10;
+
+    private DynamicFilterSerde() {}
+
+    public static byte[] serialize(Object value)
+    {
+        DynamicSliceOutput output = new DynamicSliceOutput(64);
+        writeValue(output, value);
+        return output.slice().getBytes();
+    }
+
+    public static Object deserialize(byte[] bytes)
+    {
+        return readValue(new BasicSliceInput(Slices.wrappedBuffer(bytes)));
+    }
+
+    private static void writeValue(SliceOutput output, Object value)
+    {
+        if (value == null) {
+            output.writeByte(NULL);
+        }
+        else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        }
+        else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        }
+        else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        }
+        else if (value instanceof Slice) {
+            output.writeByte(SLICE);
+            writeBytes(output, (Slice) value);
+        }
+        else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeBytes(output, Slices.utf8Slice((String) value));
+        }
+        else if (value instanceof byte[]) {
+            output.writeByte(BYTES);
+            writeBytes(output, Slices.wrappedBuffer((byte[]) value));
+        }
+        else if (value instanceof LongSet) {
+            LongSet values = (LongSet) value;
+            output.writeByte(LONG_SET);
+            output.writeInt(values.size());
+            LongIterator iterator = values.iterator();
+            while (iterator.hasNext()) {
+                output.writeLong(iterator.nextLong());
+            }
+        }
+        else if (value instanceof DoubleSet) {
+            DoubleSet values = (DoubleSet) value;
+            output.writeByte(DOUBLE_SET);
+            output.writeInt(values.size());
+            DoubleIterator iterator = values.iterator();
+            while (iterator.hasNext()) {
+                output.writeDouble(iterator.nextDouble());
+            }
+        }
+        else if (value instanceof Set) {
+            output.writeByte(SET);
+            writeElements(output, (Set<?>) value);
+        }
+        else if (value instanceof List) {
+            output.writeByte(LIST);
+            writeElements(output, (List<?>) value);
+        }
+        else {
+            throw new IllegalArgumentException("Unsupported dynamic filter value: " + value.getClass().getName());
+        }
+    }
+
+    private static void writeElements(SliceOutput output, Collection<?> values)
+    {
+        output.writeInt(values.size());
+        for (Object element : values) {
+            writeValue(output, element);
+        }
+    }
+
+    private static void writeBytes(SliceOutput output, Slice slice)
+    {
+        output.writeInt(slice.length());
+        output.writeBytes(slice);
+    }
+
+    private static Object readValue(BasicSliceInput input)
+    {
+        byte tag = input.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return input.readBoolean();
+            case LONG:
+                return input.readLong();
+            case DOUBLE:
+                return input.readDouble();
+            case SLICE:
+                return input.readSlice(input.readInt());
+            case STRING:
+                return input.readSlice(input.readInt()).toString(UTF_8);
+            case BYTES: {
+                byte[] bytes = new byte[input.readInt()];
+                input.readBytes(bytes);
+                return bytes;
+            }
+            case LONG_SET: {
+                int size = input.readInt();
+                LongOpenHashSet values = new LongOpenHashSet(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(input.readLong());
+                }
+                return values;
+            }
+            case DOUBLE_SET: {
+                int size = input.readInt();
+                DoubleOpenHashSet values = new DoubleOpenHashSet(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(input.readDouble());
+                }
+                return values;
+            }
+            case SET: {
+                int size = input.readInt();
+                Set<Object> values = new HashSet<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(readValue(input));
+                }
+                return values;
+            }
+            case LIST: {
+                int size = input.readInt();
+                List<Object> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(readValue(input));
+                }
+                return values;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown dynamic filter value tag: " + tag);
+        }
+    }
+}
@@ -14,11 +14,13 @@
  */
 package io.prestosql.dynamicfilter;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import io.airlift.log.Logger;
 import io.prestosql.Session;
+import io.prestosql.execution.RemoteTask;
 import io.prestosql.execution.StageStateMachine;
 import io.prestosql.execution.TaskId;
 import io.prestosql.metadata.InternalNode;
@@ -29,6 +31,7 @@ import io.prestosql.spi.dynamicfilter.BloomFilterDynamicFilter;
 import io.prestosql.spi.dynamicfilter.DynamicFilter;
 import io.prestosql.spi.dynamicfilter.DynamicFilter.DataType;
 import io.prestosql.spi.dynamicfilter.DynamicFilterFactory;
+import io.prestosql.spi.dynamicfilter.RangeDynamicFilter;
 import io.prestosql.spi.plan.FilterNode;
 import io.prestosql.spi.plan.JoinNode;
 import io.prestosql.spi.plan.PlanNode;
@@ -55,7 +58,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -76,6 +78,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static io.airlift.concurrent.Threads.threadsNamed;
 import static io.prestosql.SystemSessionProperties.getDynamicFilteringDataType;
+import static io.prestosql.SystemSessionProperties.isDynamicFilteringPushEnabled;
 import static io.prestosql.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static io.prestosql.spi.dynamicfilter.DynamicFilter.DataType.BLOOM_FILTER;
 import static io.prestosql.spi.dynamicfilter.DynamicFilter.DataType.HASHSET;
@@ -99,9 +102,17 @@ public class DynamicFilterService
 
     private final Map<String, Map<String, DynamicFilterRegistryInfo>> dynamicFilters = new ConcurrentHashMap<>();
     private final Map<String, CopyOnWriteArraySet<TaskId>> dynamicFiltersToTask = new ConcurrentHashMap<>();
-    private static final Map<String, Map<String, DynamicFilter>> cachedDynamicFilters = new HashMap<>();
+    private static final Map<String, Map<String, DynamicFilter>> cachedDynamicFilters = new ConcurrentHashMap<>();
     private final List<String> finishedQuery = Collections.synchronizedList(new ArrayList<>());
 
+    // When dynamic filters are pushed over the task HTTP channel instead of the state store:
+    // the remote tasks of each query, to which the merged global filters are sent
+    private final Map<String, Set<RemoteTask>> queryTasks = new ConcurrentHashMap<>();
+    // the merged global filters of each query, serialized, for the tasks scheduled after the merge
+    private final Map<String, Map<String, byte[]>> pushedDynamicFilters = new ConcurrentHashMap<>();
+    // the partial filters reported by the tasks, for each filter of each query
+    private final Map<String, Map<TaskId, PartialDynamicFilter>> partialDynamicFilters = new ConcurrentHashMap<>();
+
     private final StateStoreProvider stateStoreProvider;
 
     /**
@@ -127,8 +138,8 @@ public class DynamicFilterService
             try {
                 if (this.stateStoreProvider.getStateStore() != null) {
                     mergeDynamicFilters();
-                    removeFinishedQuery();
                 }
+                removeFinishedQuery();
             }
             catch (Exception e) {
                 log.error("Error merging Dynamic Filters: " + e.getMessage());
@@ -153,22 +164,16 @@ public class DynamicFilterService
         final StateStore stateStore = stateStoreProvider.getStateStore();
         for (Map.Entry<String, Map<String, DynamicFilterRegistryInfo>> queryToDynamicFiltersEntry : dynamicFilters.entrySet()) {
             final String queryId = queryToDynamicFiltersEntry.getKey();
-            if (!cachedDynamicFilters.containsKey(queryId)) {
-                cachedDynamicFilters.put(queryId, new ConcurrentHashMap<>());
-            }
-            Map<String, DynamicFilter> cachedDynamicFiltersForQuery = cachedDynamicFilters.get(queryId);
+            Map<String, DynamicFilter> cachedDynamicFiltersForQuery = cachedDynamicFilters.computeIfAbsent(queryId, key -> new ConcurrentHashMap<>());
             StateMap mergedDynamicFilters = (StateMap) stateStore.getOrCreateStateCollection(DynamicFilterUtils.MERGED_DYNAMIC_FILTERS, MAP);
 
             for (Map.Entry<String, DynamicFilterRegistryInfo> columnToDynamicFilterEntry : queryToDynamicFiltersEntry.getValue().entrySet()) {
-                if (columnToDynamicFilterEntry.getValue().isMerged()) {
+                if (columnToDynamicFilterEntry.getValue().isMerged() || columnToDynamicFilterEntry.getValue().isPush()) {
                     continue;
                 }
 
                 final String filterId = columnToDynamicFilterEntry.getKey();
-                final Type filterType = columnToDynamicFilterEntry.getValue().getType();
-                final DataType filterDataType = columnToDynamicFilterEntry.getValue().getDataType();
-                final Optional<Predicate<List>> dfFilter = columnToDynamicFilterEntry.getValue().getFilter();
-                final Symbol column = columnToDynamicFilterEntry.getValue().getSymbol();
+                final DynamicFilterRegistryInfo registryInfo = columnToDynamicFilterEntry.getValue();
                 final String filterKey = createKey(DynamicFilterUtils.FILTERPREFIX, filterId, queryId);
 
                 if (!hasMergeCondition(filterId, queryId)) {
@@ -177,38 +182,17 @@ public class DynamicFilterService
 
                 Collection<Object> results = ((StateSet) stateStore.getStateCollection(createKey(DynamicFilterUtils.PARTIALPREFIX, filterId, queryId))).getAll();
                 try {
-                    DynamicFilter mergedFilter;
-                    if (filterDataType == BLOOM_FILTER) {
-                        BloomFilter mergedBloomFilter = mergeBloomFilters(results);
-                        if (mergedBloomFilter.expectedFpp() > DynamicFilterUtils.BLOOM_FILTER_EXPECTED_FPP) {
-                            throw new PrestoException(GENERIC_INTERNAL_ERROR, "FPP too high: " + mergedBloomFilter.approximateElementCount());
-                        }
-                        mergedFilter = new BloomFilterDynamicFilter(filterKey, null, mergedBloomFilter, filterType);
-
-                        if (filterType == GLOBAL) {
-                            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-                                mergedBloomFilter.writeTo(out);
-                                byte[] filter = out.toByteArray();
-                                mergedDynamicFilters.put(filterKey, filter);
-                            }
-                        }
-                    }
-                    else if (filterDataType == HASHSET) {
-                        Set mergedSet = mergeHashSets(results);
-                        mergedFilter = DynamicFilterFactory.create(filterKey, null, mergedSet, filterType, dfFilter, Optional.empty());
-
-                        if (filterType == GLOBAL) {
-                            mergedDynamicFilters.put(filterKey, mergedSet);
-                        }
-                    }
-                    else {
-                        throw new PrestoException(GENERIC_INTERNAL_ERROR, "Unsupported filter data type: " + filterDataType);
+                    boolean incomplete = hasIncompleteTasks(filterId, queryId);
+                    MergedDynamicFilter merged = merge(filterKey, registryInfo, incomplete, results,
+                            incomplete ? getPartialRanges(stateStore, filterId, queryId) : ImmutableList.of());
+                    if (registryInfo.getType() == GLOBAL) {
+                        mergedDynamicFilters.put(filterKey, merged.getValue());
                     }
 
                     log.debug("Merged successfully dynamic filter id: "
-                            + filterId + "-" + queryId + " type: " + filterDataType
-                            + ", column: " + column + ", item count: " + mergedFilter.getSize());
-                    cachedDynamicFiltersForQuery.put(filterId, mergedFilter);
+                            + filterId + "-" + queryId + " type: " + registryInfo.getDataType()
+                            + ", column: " + registryInfo.getSymbol() + ", item count: " + merged.getFilter().getSize());
+                    cachedDynamicFiltersForQuery.put(filterId, merged.getFilter());
                 }
                 catch (IOException | PrestoException e) {
                     log.warn("Could not merge dynamic filter: " + e.getLocalizedMessage());
@@ -225,7 +209,7 @@ public class DynamicFilterService
     {
         List<String> handledQuery = new ArrayList<>();
         StateStore stateStore = stateStoreProvider.getStateStore();
-        StateMap mergedStateCollection = (StateMap) stateStore.getOrCreateStateCollection(DynamicFilterUtils.MERGED_DYNAMIC_FILTERS, MAP);
+        StateMap mergedStateCollection = stateStore == null ? null : (StateMap) stateStore.getOrCreateStateCollection(DynamicFilterUtils.MERGED_DYNAMIC_FILTERS, MAP);
         // Clear registered dynamic filter tasks
         synchronized (finishedQuery) {
             for (String queryId : finishedQuery) {
@@ -234,17 +218,21 @@ public class DynamicFilterService
                     for (Entry<String, DynamicFilterRegistryInfo> entry : filters.entrySet()) {
                         String filterId = entry.getKey();
                         clearPartialResults(filterId, queryId);
-                        if (entry.getValue().isMerged()) {
+                        if (mergedStateCollection != null && entry.getValue().isMerged()) {
                             String filterKey = createKey(DynamicFilterUtils.FILTERPREFIX, filterId, queryId);
                             mergedStateCollection.remove(filterKey);
                         }
                     }
                 }
-                List<String> collectionKeys = stateStore.getStateCollections().keySet().stream().filter(key -> key.contains(queryId)).collect(Collectors.toList());
-                for (String key : collectionKeys) {
-                    clearStatesInStateStore(stateStore, key);
+                if (stateStore != null) {
+                    List<String> collectionKeys = stateStore.getStateCollections().keySet().stream().filter(key -> key.contains(queryId)).collect(Collectors.toList());
+                    for (String key : collectionKeys) {
+                        clearStatesInStateStore(stateStore, key);
+                    }
                 }
                 dynamicFilters.remove(queryId);
+                queryTasks.remove(queryId);
+                pushedDynamicFilters.remove(queryId);
 
                 cachedDynamicFilters.remove(queryId);
                 handledQuery.add(queryId);
@@ -253,6 +241,59 @@ public class DynamicFilterService
         }
     }
 
+    /**
+     * Merge the partial results of a dynamic filter reported by all the build tasks
+     *
+     * @param filterKey key of the merged filter
+     * @param registryInfo the registered dynamic filter
+     * @param incomplete whether some tasks discarded their values, the filter then falls back to the ranges
+     * @param partialValues the partial values: sets or serialized bloom filters
+     * @param partialRanges the partial ranges, only used if the filter is incomplete
+     * @return the merged filter, and its value to share with the workers
+     */
+    private static MergedDynamicFilter merge(String filterKey, DynamicFilterRegistryInfo registryInfo, boolean incomplete,
+            Collection<Object> partialValues, Collection<Object> partialRanges)
+            throws IOException
+    {
+        final Type filterType = registryInfo.getType();
+        final DataType filterDataType = registryInfo.getDataType();
+        final Optional<Predicate<List>> dfFilter = registryInfo.getFilter();
+
+        if (incomplete) {
+            // some build tasks had too many values, fall back to the min/max ranges of all tasks
+            if (dfFilter.isPresent()) {
+                throw new PrestoException(GENERIC_INTERNAL_ERROR, "Range dynamic filter is not supported for non-equi join filter: " + filterKey);
+            }
+            List<Object> mergedRanges = mergeRanges(partialRanges);
+            return new MergedDynamicFilter(DynamicFilterFactory.create(filterKey, null, mergedRanges, filterType), mergedRanges);
+        }
+        if (filterDataType == BLOOM_FILTER) {
+            BloomFilter mergedBloomFilter = mergeBloomFilters(partialValues);
+            if (mergedBloomFilter.expectedFpp() > DynamicFilterUtils.BLOOM_FILTER_EXPECTED_FPP) {
+                throw new PrestoException(GENERIC_INTERNAL_ERROR, "FPP too high: " + mergedBloomFilter.approximateElementCount());
+            }
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                mergedBloomFilter.writeTo(out);
+                return new MergedDynamicFilter(new BloomFilterDynamicFilter(filterKey, null, mergedBloomFilter, filterType), out.toByteArray());
+            }
+        }
+        if (filterDataType == HASHSET) {
+            Set mergedSet = mergeHashSets(partialValues);
+            return new MergedDynamicFilter(DynamicFilterFactory.create(filterKey, null, mergedSet, filterType, dfFilter, Optional.empty()), mergedSet);
+        }
+        throw new PrestoException(GENERIC_INTERNAL_ERROR, "Unsupported filter data type: " + filterDataType);
+    }
+
+    private static Collection<Object> getPartialRanges(StateStore stateStore, String filterId, String queryId)
+            throws IOException
+    {
+        StateCollection partialRanges = stateStore.getStateCollection(createKey(DynamicFilterUtils.RANGEPREFIX, filterId, queryId));
+        if (partialRanges == null) {
+            throw new IOException("Partial range DynamicFilter is missing.");
+        }
+        return ((StateSet) partialRanges).getAll();
+    }
+
     private static BloomFilter mergeBloomFilters(Collection<Object> partialBloomFilters)
             throws IOException
     {
@@ -282,6 +323,25 @@ public class DynamicFilterService
         return merged;
     }
 
+    private static List<Object> mergeRanges(Collection<Object> partialRanges)
+            throws IOException
+    {
+        List<List<?>> ranges = new ArrayList<>();
+        for (Object o : partialRanges) {
+            if (!(o instanceof List)) {
+                throw new IOException("Partial range DynamicFilter is invalid.");
+            }
+            ranges.add((List<?>) o);
+        }
+        return RangeDynamicFilter.mergeRanges(ranges, RangeDynamicFilter.DEFAULT_MAX_RANGES);
+    }
+
+    private boolean hasIncompleteTasks(String filterKey, String queryId)
+    {
+        StateCollection incompleteTasks = stateStoreProvider.getStateStore().getStateCollection(createKey(DynamicFilterUtils.INCOMPLETEPREFIX, filterKey, queryId));
+        return incompleteTasks != null && incompleteTasks.size() > 0;
+    }
+
     private boolean hasMergeCondition(String filterKey, String queryId)
     {
         int finishedDynamicFilterNumber = 0;
@@ -295,6 +355,86 @@ public class DynamicFilterService
         return finishedDynamicFilterNumber > 0 && finishedDynamicFilterNumber == dynamicFiltersToTask.get(filterKey + "-" + queryId).size();
     }
 
+    /**
+     * Exchange the dynamic filters with a remote task over the task HTTP channel: the partial filters
+     * it reports with its status are merged, and the merged global filters are sent to it
+     *
+     * @param task the remote task, registered before it is started
+     */
+    public void registerRemoteTask(RemoteTask task)
+    {
+        TaskId taskId = task.getTaskId();
+        String queryId = taskId.getQueryId().getId();
+        task.addPartialDynamicFiltersListener(filters -> addPartialDynamicFilters(taskId, filters));
+        synchronized (this) {
+            queryTasks.computeIfAbsent(queryId, key -> new CopyOnWriteArraySet<>()).add(task);
+            Map<String, byte[]> mergedFilters = pushedDynamicFilters.get(queryId);
+            if (mergedFilters != null) {
+                task.addDynamicFilters(mergedFilters);
+            }
+        }
+    }
+
+    private void addPartialDynamicFilters(TaskId taskId, Map<String, PartialDynamicFilter> filters)
+    {
+        String queryId = taskId.getQueryId().getId();
+        for (Map.Entry<String, PartialDynamicFilter> entry : filters.entrySet()) {
+            partialDynamicFilters.computeIfAbsent(entry.getKey() + "-" + queryId, key -> new ConcurrentHashMap<>())
+                    .put(taskId, entry.getValue());
+            mergePushedDynamicFilter(entry.getKey(), queryId);
+        }
+    }
+
+    /**
+     * Merge a pushed dynamic filter as soon as all of its build tasks have reported their partial filter
+     */
+    private synchronized void mergePushedDynamicFilter(String filterId, String queryId)
+    {
+        Map<String, DynamicFilterRegistryInfo> filters = dynamicFilters.get(queryId);
+        DynamicFilterRegistryInfo registryInfo = filters == null ? null : filters.get(filterId);
+        if (registryInfo == null || !registryInfo.isPush() || registryInfo.isMerged()) {
+            return;
+        }
+        Set<TaskId> tasks = dynamicFiltersToTask.get(filterId + "-" + queryId);
+        Map<TaskId, PartialDynamicFilter> partials = partialDynamicFilters.get(filterId + "-" + queryId);
+        if (tasks == null || tasks.isEmpty() || partials == null || !partials.keySet().containsAll(tasks)) {
+            return;
+        }
+
+        try {
+            boolean incomplete = partials.values().stream().anyMatch(PartialDynamicFilter::isIncomplete);
+            List<Object> partialValues = new ArrayList<>();
+            List<Object> partialRanges = new ArrayList<>();
+            for (PartialDynamicFilter partial : partials.values()) {
+                if (!incomplete) {
+                    partialValues.add(partial.deserializeValues());
+                }
+                partial.deserializeRanges().ifPresent(partialRanges::add);
+            }
+            MergedDynamicFilter merged = merge(createKey(DynamicFilterUtils.FILTERPREFIX, filterId, queryId), registryInfo, incomplete, partialValues, partialRanges);
+            if (registryInfo.getType() == GLOBAL) {
+                Map<String, byte[]> mergedFilter = ImmutableMap.of(filterId, DynamicFilterSerde.serialize(merged.getValue()));
+                pushedDynamicFilters.computeIfAbsent(queryId, key -> new ConcurrentHashMap<>()).putAll(mergedFilter);
+                for (RemoteTask task : queryTasks.getOrDefault(queryId, ImmutableSet.of())) {
+                    task.addDynamicFilters(mergedFilter);
+                }
+            }
+
+            log.debug("Merged successfully pushed dynamic filter id: "
+                    + filterId + "-" + queryId + " type: " + registryInfo.getDataType()
+                    + ", column: " + registryInfo.getSymbol() + ", item count: " + merged.getFilter().getSize());
+            cachedDynamicFilters.computeIfAbsent(queryId, key -> new ConcurrentHashMap<>()).put(filterId, merged.getFilter());
+        }
+        catch (IOException | RuntimeException e) {
+            log.warn("Could not merge dynamic filter: " + e.getLocalizedMessage());
+        }
+        finally {
+            // for each dynamic filter we only try to merge it once
+            registryInfo.setMerged();
+            partialDynamicFilters.remove(filterId + "-" + queryId);
+        }
+    }
+
     /**
      * Registering tasks for global dynamic filters
      *
@@ -305,7 +445,7 @@ public class DynamicFilterService
      */
     public void registerTasks(PlanNode node, Set<TaskId> taskIds, Set<InternalNode> workers, StageStateMachine stateMachine)
     {
-        if (taskIds.isEmpty() || stateStoreProvider.getStateStore() == null) {
+        if (taskIds.isEmpty() || (stateStoreProvider.getStateStore() == null && !isDynamicFilteringPushEnabled(stateMachine.getSession()))) {
             return;
         }
         if (node instanceof JoinNode) {
@@ -326,13 +466,16 @@ public class DynamicFilterService
     private void registerTasksHelper(PlanNode node, Symbol buildSymbol, Map<String, Symbol> dynamicFiltersMap, Set<TaskId> taskIds, Set<InternalNode> workers, StageStateMachine stateMachine)
     {
         final StateStore stateStore = stateStoreProvider.getStateStore();
+        final boolean push = isDynamicFilteringPushEnabled(stateMachine.getSession());
         String queryId = stateMachine.getSession().getQueryId().toString();
         for (Map.Entry<String, Symbol> entry : dynamicFiltersMap.entrySet()) {
             Symbol buildSymbolToCheck = buildSymbol != null ? buildSymbol : node.getOutputSymbols().contains(entry.getValue()) ? entry.getValue() : null;
             if (buildSymbolToCheck != null && entry.getValue().getName().equals(buildSymbol.getName())) {
                 String filterId = entry.getKey();
-                stateStore.createStateCollection(createKey(DynamicFilterUtils.TASKSPREFIX, filterId, queryId), SET);
-                stateStore.createStateCollection(createKey(DynamicFilterUtils.PARTIALPREFIX, filterId, queryId), SET);
+                if (!push) {
+                    stateStore.createStateCollection(createKey(DynamicFilterUtils.TASKSPREFIX, filterId, queryId), SET);
+                    stateStore.createStateCollection(createKey(DynamicFilterUtils.PARTIALPREFIX, filterId, queryId), SET);
+                }
                 dynamicFilters.putIfAbsent(queryId, new ConcurrentHashMap<>());
                 Map<String, DynamicFilterRegistryInfo> filters = dynamicFilters.get(queryId);
                 if (node instanceof JoinNode) {
@@ -347,6 +490,10 @@ public class DynamicFilterService
                 log.debug("registerTasks source " + filterId + " filters:" + filters + ", workers: "
                         + workers.stream().map(x -> x.getNodeIdentifier()).collect(Collectors.joining(",")) +
                         ", taskIds: " + taskIds.stream().map(TaskId::toString).collect(Collectors.joining(",")));
+                if (push) {
+                    // the partial filters may have been reported before the tasks were registered
+                    mergePushedDynamicFilter(filterId, queryId);
+                }
             }
         }
     }
@@ -375,8 +522,11 @@ public class DynamicFilterService
         if (stateStore != null) {
             clearStatesInStateStore(stateStore, createKey(DynamicFilterUtils.PARTIALPREFIX, filterId, queryId));
             clearStatesInStateStore(stateStore, createKey(DynamicFilterUtils.TASKSPREFIX, filterId, queryId));
+            clearStatesInStateStore(stateStore, createKey(DynamicFilterUtils.RANGEPREFIX, filterId, queryId));
+            clearStatesInStateStore(stateStore, createKey(DynamicFilterUtils.INCOMPLETEPREFIX, filterId, queryId));
         }
         dynamicFiltersToTask.remove(filterId + "-" + queryId);
+        partialDynamicFilters.remove(filterId + "-" + queryId);
     }
 
     private static void clearStatesInStateStore(StateStore stateStore, String stateCollectionName)
@@ -512,6 +662,7 @@ public class DynamicFilterService
         private final Symbol symbol;
         private final Type type;
         private final DataType dataType;
+        private final boolean push;
         private boolean isMerged;
         private Optional<Predicate<List>> filter;
 
@@ -520,6 +671,7 @@ public class DynamicFilterService
             this.symbol = symbol;
             this.type = type;
             this.dataType = getDynamicFilterDataType(type, getDynamicFilteringDataType(session));
+            this.push = isDynamicFilteringPushEnabled(session);
             this.isMerged = false;
             this.filter = filter;
         }
@@ -539,6 +691,11 @@ public class DynamicFilterService
             return dataType;
         }
 
+        public boolean isPush()
+        {
+            return push;
+        }
+
         public boolean isMerged()
         {
             return isMerged;
@@ -554,4 +711,26 @@ public class DynamicFilterService
             return filter;
         }
     }
+
+    private static class MergedDynamicFilter
+    {
+        private final DynamicFilter filter;
+        private final Object value;
+
+        MergedDynamicFilter(DynamicFilter filter, Object value)
+        {
+            this.filter = filter;
+            this.value = value;
+        }
+
+        DynamicFilter getFilter()
+        {
+            return filter;
+        }
+
+        Object getValue()
+        {
+            return value;
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.dynamicfilter;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The partial result of a dynamic filter produced by one task, reported to the coordinator with the task status
+ * when dynamic filters are pushed over the task HTTP channel.
+ * <p>
+ * It is the equivalent of the entries a task writes to the state store otherwise: the values (a set, or a
+ * serialized bloom filter), the min/max ranges of the values, and whether the values were discarded because
+ * they were too large, in which case only the ranges are usable.
+ */
+public class PartialDynamicFilter
+{
+    private final byte[] values;
+    private final byte[] ranges;
+    private final boolean incomplete;
+
+    @JsonCreator
+    public PartialDynamicFilter(
+            @JsonProperty("values") byte[] values,
+            @JsonProperty("ranges") byte[] ranges,
+            @JsonProperty("incomplete") boolean incomplete)
+    {
+        this.values = requireNonNull(values, "values is null");
+        this.ranges = requireNonNull(ranges, "ranges is null");
+        this.incomplete = incomplete;
+    }
+
+    /**
+     * @param values set of values or serialized bloom filter, ignored if the filter is incomplete
+     * @param ranges bounds of the ranges of the values, null if the type does not support ranges
+     * @param incomplete whether the values were discarded
+     */
+    public static PartialDynamicFilter create(Object values, List<Object> ranges, boolean incomplete)
+    {
+        if (!incomplete) {
+            requireNonNull(values, "values is null");
+        }
+        return new PartialDynamicFilter(
+                DynamicFilterSerde.serialize(incomplete ? null : values),
+                DynamicFilterSerde.serialize(ranges),
+                incomplete);
+    }
+
+    @JsonProperty
+    public byte[] getValues()
+    {
+        return values;
+    }
+
+    @JsonProperty
+    public byte[] getRanges()
+    {
+        return ranges;
+    }
+
+    @JsonProperty
+    public boolean isIncomplete()
+    {
+        return incomplete;
+    }
+
+    /**
+     * @return a {@link Set} of values or the bytes of a bloom filter, null if the filter is incomplete
+     */
+    public Object deserializeValues()
+    {
+        return DynamicFilterSerde.deserialize(values);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<List<Object>> deserializeRanges()
+    {
+        return Optional.ofNullable((List<Object>) DynamicFilterSerde.deserialize(ranges));
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("valuesSize", values.length)
+                .add("rangesSize", ranges.length)
+                .add("incomplete", incomplete)
+                .toString();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.dynamicfilter;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.prestosql.execution.FutureStateChange;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Partial dynamic filters produced by a task, waiting to be collected by the coordinator.
+ * <p>
+ * Every batch of partial filters gets a new version. The coordinator sends the latest version it has received
+ * with each task status request, the task status then carries the partial filters with a newer version,
+ * and the filters up to the acknowledged version are released.
+ */
+@ThreadSafe
+public class TaskDynamicFilters
+{
+    public static final long INITIAL_VERSION = 0;
+
+    @GuardedBy("this")
+    private long version = INITIAL_VERSION;
+    @GuardedBy("this")
+    private final Map<String, VersionedPartialDynamicFilter> partialDynamicFilters = new HashMap<>();
+    private final FutureStateChange<?> versionChange = new FutureStateChange<>();
+
+    public void addPartialDynamicFilters(Map<String, PartialDynamicFilter> newPartialDynamicFilters)
+    {
+        requireNonNull(newPartialDynamicFilters, "newPartialDynamicFilters is null");
+        if (newPartialDynamicFilters.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            version++;
+            for (Map.Entry<String, PartialDynamicFilter> entry : newPartialDynamicFilters.entrySet()) {
+                partialDynamicFilters.put(entry.getKey(), new VersionedPartialDynamicFilter(version, entry.getValue()));
+            }
+        }
+        versionChange.complete(null);
+    }
+
+    public synchronized long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Release the partial filters already received by the coordinator and get the remaining ones
+     *
+     * @param callersVersion the latest version received by the coordinator
+     * @return partial filters with a version newer than callersVersion
+     */
+    public synchronized Map<String, PartialDynamicFilter> acknowledgeAndGetNewPartialDynamicFilters(long callersVersion)
+    {
+        partialDynamicFilters.values().removeIf(filter -> filter.getVersion() <= callersVersion);
+        ImmutableMap.Builder<String, PartialDynamicFilter> result = ImmutableMap.builder();
+        partialDynamicFilters.forEach((filterId, filter) -> result.put(filterId, filter.getPartialDynamicFilter()));
+        return result.build();
+    }
+
+    /**
+     * @return a future completed once there are partial filters newer than callersVersion
+     */
+    public synchronized ListenableFuture<?> getVersionChange(long callersVersion)
+    {
+        if (version > callersVersion) {
+            return immediateFuture(null);
+        }
+        return versionChange.createNewListener();
+    }
+
+    private static class VersionedPartialDynamicFilter
+    {
+        private final long version;
+        private final PartialDynamicFilter partialDynamicFilter;
+
+        VersionedPartialDynamicFilter(long version, PartialDynamicFilter partialDynamicFilter)
+        {
+            this.version = version;
+            this.partialDynamicFilter = requireNonNull(partialDynamicFilter, "partialDynamicFilter is null");
+        }
+
+        long getVersion()
+        {
+            return version;
+        }
+
+        PartialDynamicFilter getPartialDynamicFilter()
+        {
+            return partialDynamicFilter;
+        }
+    }
+}
@@ -66,6 +66,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static io.prestosql.execution.QueryState.FAILED;
+import static io.prestosql.execution.QueryState.FINISHED;
 import static io.prestosql.execution.QueryState.QUEUED;
 import static io.prestosql.server.protocol.Query.globalUniqueNodes;
 import static io.prestosql.sql.planner.planprinter.PlanPrinter.textDistributedPlan;
@@ -188,10 +189,13 @@ public class QueryMonitor
         logQueryTimeline(queryInfo);
     }
 
-    public void indexCreationStateChangeEvent(QueryState state, QueryInfo queryInfo)
+    public void indexCreationStateChangeEvent(QueryState state, String indexName)
     {
         if (state == FAILED) {
-            heuristicIndexerManager.cleanUpIndexRecord(queryInfo);
+            heuristicIndexerManager.cleanUpIndexRecord(indexName);
+        }
+        else if (state == FINISHED) {
+            heuristicIndexerManager.preloadCreatedIndex(indexName);
         }
     }
 
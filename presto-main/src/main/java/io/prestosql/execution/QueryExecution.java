@@ -30,6 +30,7 @@ import io.prestosql.spi.type.Type;
 import io.prestosql.sql.planner.Plan;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -61,6 +62,14 @@ public interface QueryExecution
         return null;
     }
 
+    /**
+     * @return name of the index created by this query, if it is a CREATE INDEX query
+     */
+    default Optional<String> getCreatedIndexName()
+    {
+        return Optional.empty();
+    }
+
     DataSize getUserMemoryReservation();
 
     DataSize getTotalMemoryReservation();
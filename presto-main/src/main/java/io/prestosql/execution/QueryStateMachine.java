@@ -76,6 +76,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Throwables.throwIfInstanceOf;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.units.DataSize.succinctBytes;
+import static io.airlift.units.Duration.succinctNanos;
 import static io.prestosql.execution.BasicStageStats.EMPTY_STAGE_STATS;
 import static io.prestosql.execution.QueryState.DISPATCHING;
 import static io.prestosql.execution.QueryState.FAILED;
@@ -499,6 +500,10 @@ public class QueryStateMachine
 
         long physicalWrittenDataSize = 0;
 
+        long indexCacheHits = 0;
+        long indexCacheMisses = 0;
+        double indexLookupTime = 0;
+
         ImmutableList.Builder<StageGcStatistics> stageGcStatistics = ImmutableList.builder();
 
         boolean fullyBlocked = rootStage.isPresent();
@@ -547,6 +552,10 @@ public class QueryStateMachine
 
             physicalWrittenDataSize += stageStats.getPhysicalWrittenDataSize().toBytes();
 
+            indexCacheHits += stageStats.getIndexCacheHits();
+            indexCacheMisses += stageStats.getIndexCacheMisses();
+            indexLookupTime += stageStats.getIndexLookupDistribution().getTotal();
+
             stageGcStatistics.add(stageStats.getGcInfo());
 
             completeInfo = completeInfo && stageInfo.isCompleteInfo();
@@ -621,6 +630,10 @@ public class QueryStateMachine
 
                 succinctBytes(physicalWrittenDataSize),
 
+                indexCacheHits,
+                indexCacheMisses,
+                succinctNanos((long) indexLookupTime),
+
                 stageGcStatistics.build(),
 
                 operatorStatsSummary.build());
@@ -1218,6 +1231,9 @@ public class QueryStateMachine
                 queryStats.getOutputDataSize(),
                 queryStats.getOutputPositions(),
                 queryStats.getPhysicalWrittenDataSize(),
+                queryStats.getIndexCacheHits(),
+                queryStats.getIndexCacheMisses(),
+                queryStats.getIndexLookupTime(),
                 queryStats.getStageGcStatistics(),
                 ImmutableList.of()); // Remove the operator summaries as OperatorInfo (especially ExchangeClientStatus) can hold onto a large amount of memory
     }
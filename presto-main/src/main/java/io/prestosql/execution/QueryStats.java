@@ -102,6 +102,10 @@ public class QueryStats
 
     private final DataSize physicalWrittenDataSize;
 
+    private final long indexCacheHits;
+    private final long indexCacheMisses;
+    private final Duration indexLookupTime;
+
     private final List<StageGcStatistics> stageGcStatistics;
 
     private final List<OperatorStats> operatorSummaries;
@@ -170,6 +174,10 @@ public class QueryStats
 
             @JsonProperty("physicalWrittenDataSize") DataSize physicalWrittenDataSize,
 
+            @JsonProperty("indexCacheHits") long indexCacheHits,
+            @JsonProperty("indexCacheMisses") long indexCacheMisses,
+            @JsonProperty("indexLookupTime") Duration indexLookupTime,
+
             @JsonProperty("stageGcStatistics") List<StageGcStatistics> stageGcStatistics,
 
             @JsonProperty("operatorSummaries") List<OperatorStats> operatorSummaries)
@@ -248,6 +256,12 @@ public class QueryStats
 
         this.physicalWrittenDataSize = requireNonNull(physicalWrittenDataSize, "physicalWrittenDataSize is null");
 
+        checkArgument(indexCacheHits >= 0, "indexCacheHits is negative");
+        this.indexCacheHits = indexCacheHits;
+        checkArgument(indexCacheMisses >= 0, "indexCacheMisses is negative");
+        this.indexCacheMisses = indexCacheMisses;
+        this.indexLookupTime = requireNonNull(indexLookupTime, "indexLookupTime is null");
+
         this.stageGcStatistics = ImmutableList.copyOf(requireNonNull(stageGcStatistics, "stageGcStatistics is null"));
 
         this.operatorSummaries = ImmutableList.copyOf(requireNonNull(operatorSummaries, "operatorSummaries is null"));
@@ -573,6 +587,34 @@ public class QueryStats
                         .sum());
     }
 
+    @JsonProperty
+    public long getIndexCacheHits()
+    {
+        return indexCacheHits;
+    }
+
+    @JsonProperty
+    public long getIndexCacheMisses()
+    {
+        return indexCacheMisses;
+    }
+
+    @JsonProperty
+    public double getIndexCacheHitRate()
+    {
+        long lookups = indexCacheHits + indexCacheMisses;
+        return lookups == 0 ? 0 : (double) indexCacheHits / lookups;
+    }
+
+    /**
+     * Time spent by the coordinator looking up the heuristic indices to filter the splits
+     */
+    @JsonProperty
+    public Duration getIndexLookupTime()
+    {
+        return indexLookupTime;
+    }
+
     @JsonProperty
     public List<StageGcStatistics> getStageGcStatistics()
     {
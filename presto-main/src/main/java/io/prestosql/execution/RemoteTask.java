@@ -15,11 +15,15 @@ package io.prestosql.execution;
 
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.ListenableFuture;
+import io.prestosql.dynamicfilter.PartialDynamicFilter;
 import io.prestosql.execution.StateMachine.StateChangeListener;
 import io.prestosql.execution.buffer.OutputBuffers;
 import io.prestosql.metadata.Split;
 import io.prestosql.spi.plan.PlanNodeId;
 
+import java.util.Map;
+import java.util.function.Consumer;
+
 public interface RemoteTask
 {
     TaskId getTaskId();
@@ -57,6 +61,17 @@ public interface RemoteTask
      */
     void addFinalTaskInfoListener(StateChangeListener<TaskInfo> stateChangeListener);
 
+    /**
+     * Send merged dynamic filters to the task, serialized with {@link io.prestosql.dynamicfilter.DynamicFilterSerde}
+     */
+    void addDynamicFilters(Map<String, byte[]> dynamicFilters);
+
+    /**
+     * Add a listener for the partial dynamic filters reported by the task with its status.
+     * Listener is called from the task status fetcher thread, it should not block.
+     */
+    void addPartialDynamicFiltersListener(Consumer<Map<String, PartialDynamicFilter>> listener);
+
     ListenableFuture<?> whenSplitQueueHasSpace(int threshold);
 
     void cancel();
@@ -15,6 +15,7 @@ package io.prestosql.execution;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.concurrent.SetThreadName;
@@ -54,7 +55,10 @@ import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.PrestoWarning;
 import io.prestosql.spi.QueryId;
 import io.prestosql.spi.connector.CatalogName;
+import io.prestosql.spi.connector.CreateIndexMetadata;
 import io.prestosql.spi.connector.StandardWarningCode;
+import io.prestosql.spi.heuristicindex.IndexClient;
+import io.prestosql.spi.heuristicindex.IndexRecord;
 import io.prestosql.spi.metadata.TableHandle;
 import io.prestosql.spi.plan.PlanNode;
 import io.prestosql.spi.plan.PlanNodeIdAllocator;
@@ -89,6 +93,8 @@ import io.prestosql.sql.planner.optimizations.PlanOptimizer;
 import io.prestosql.sql.planner.plan.OutputNode;
 import io.prestosql.sql.planner.plan.TableFinishNode;
 import io.prestosql.sql.planner.plan.TableWriterNode;
+import io.prestosql.sql.planner.plan.UpdateIndexNode;
+import io.prestosql.sql.tree.CreateIndex;
 import io.prestosql.sql.tree.CreateTableAsSelect;
 import io.prestosql.sql.tree.Explain;
 import io.prestosql.sql.tree.Insert;
@@ -101,6 +107,7 @@ import org.joda.time.DateTime;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -117,6 +124,7 @@ import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static io.airlift.units.DataSize.Unit.BYTE;
 import static io.airlift.units.DataSize.succinctBytes;
 import static io.prestosql.SystemSessionProperties.isCrossRegionDynamicFilterEnabled;
@@ -128,6 +136,7 @@ import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
 import static io.prestosql.sql.planner.DistributedExecutionPlanner.Mode.NORMAL;
 import static io.prestosql.sql.planner.DistributedExecutionPlanner.Mode.RESUME;
 import static io.prestosql.sql.planner.DistributedExecutionPlanner.Mode.SNAPSHOT;
+import static io.prestosql.sql.planner.optimizations.PlanNodeSearcher.searchFrom;
 import static io.prestosql.statestore.StateStoreConstants.CROSS_REGION_DYNAMIC_FILTERS;
 import static io.prestosql.statestore.StateStoreConstants.QUERY_COLUMN_NAME_TO_SYMBOL_MAPPING;
 import static java.util.Objects.requireNonNull;
@@ -309,6 +318,15 @@ public class SqlQueryExecution
         return snapshotManager;
     }
 
+    @Override
+    public Optional<String> getCreatedIndexName()
+    {
+        if (analysis.getStatement() instanceof CreateIndex) {
+            return Optional.of(((CreateIndex) analysis.getStatement()).getIndexName().toString());
+        }
+        return Optional.empty();
+    }
+
     @Override
     public DataSize getUserMemoryReservation()
     {
@@ -786,16 +804,48 @@ public class SqlQueryExecution
         return connectors.build();
     }
 
+    /**
+     * Returns the last modified times of the files covered by the stripe level index updated by the query, so that
+     * only the files added or modified since the index was built are read. Partition and table level indexes are
+     * rebuilt from all the files of a partition or table, so for them all the files are read.
+     */
+    private Map<String, Long> getIndexedFileModifiedTimes(SubPlan root)
+    {
+        Optional<UpdateIndexNode> updateIndexNode = searchFrom(root.getFragment().getRoot())
+                .where(UpdateIndexNode.class::isInstance)
+                .findFirst();
+        if (!updateIndexNode.isPresent()) {
+            return ImmutableMap.of();
+        }
+
+        String indexName = updateIndexNode.get().getUpdateIndexMetadata().getIndexName();
+        try {
+            IndexClient indexClient = heuristicIndexerManager.getIndexClient();
+            IndexRecord indexRecord = indexClient.lookUpIndexRecord(indexName);
+            if (indexRecord == null || indexRecord.getLevel() != CreateIndexMetadata.Level.STRIPE) {
+                return ImmutableMap.of();
+            }
+            return indexClient.getLastModifiedTimes(indexName).entrySet().stream()
+                    .collect(toImmutableMap(Map.Entry::getKey, entry -> Long.parseLong(entry.getValue())));
+        }
+        catch (IOException | RuntimeException e) {
+            // fall back to reading all the files, the files that were not modified are skipped by the index writers
+            log.warn(e, "Failed to read the last modified times of the files indexed by %s", indexName);
+            return ImmutableMap.of();
+        }
+    }
+
     private void planDistribution(PlanRoot plan)
     {
         // time distribution planning
         stateMachine.beginDistributedPlanning();
 
         // plan the execution on the active nodes
-        DistributedExecutionPlanner distributedPlanner = new DistributedExecutionPlanner(splitManager, metadata);
+        DistributedExecutionPlanner distributedPlanner;
         StageExecutionPlan outputStageExecutionPlan;
         Session session = stateMachine.getSession();
         if (SystemSessionProperties.isRecoveryEnabled(session)) {
+            distributedPlanner = new DistributedExecutionPlanner(splitManager, metadata);
             // Recovery: need to plan different when recovery is enabled.
             // See the "plan" method for difference between the different modes.
             MarkerAnnouncer announcer = splitManager.getMarkerAnnouncer(session);
@@ -803,6 +853,7 @@ public class SqlQueryExecution
             outputStageExecutionPlan = distributedPlanner.plan(plan.getRoot(), session, SNAPSHOT, null, announcer.currentSnapshotId());
         }
         else {
+            distributedPlanner = new DistributedExecutionPlanner(splitManager, metadata, getIndexedFileModifiedTimes(plan.getRoot()));
             outputStageExecutionPlan = distributedPlanner.plan(plan.getRoot(), session, NORMAL, null, 0);
         }
         stateMachine.endDistributedPlanning();
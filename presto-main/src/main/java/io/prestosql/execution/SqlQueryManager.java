@@ -53,10 +53,10 @@ import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -265,11 +265,12 @@ public class SqlQueryManager
         }
 
         // CreateIndex operations could not register cleanup operations like connectors
-        // Therefore a listener is added here to clean up index records on failure
-        if (isIndexCreationQuery(queryExecution.getQueryInfo())) {
+        // Therefore a listener is added here to clean up index records on failure, and to load the new index into cache on success
+        Optional<String> createdIndexName = queryExecution.getCreatedIndexName();
+        if (createdIndexName.isPresent()) {
             queryExecution.addStateChangeListener(state -> {
                 try {
-                    queryMonitor.indexCreationStateChangeEvent(state, queryExecution.getQueryInfo());
+                    queryMonitor.indexCreationStateChangeEvent(state, createdIndexName.get());
                 }
                 finally {
                     // execution MUST be added to the expiration queue or there will be a leak
@@ -516,11 +517,6 @@ public class SqlQueryManager
         return queryTracker.getQuery(queryId).getQuerySnapshotManager();
     }
 
-    private boolean isIndexCreationQuery(QueryInfo queryInfo)
-    {
-        return queryInfo.getQuery().toUpperCase(Locale.ROOT).startsWith("CREATE INDEX");
-    }
-
     private static boolean isQueryExpired(SharedQueryState state)
     {
         BasicQueryInfo info = state.getBasicQueryInfo();
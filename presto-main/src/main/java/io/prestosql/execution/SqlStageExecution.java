@@ -30,6 +30,7 @@ import io.prestosql.execution.StateMachine.StateChangeListener;
 import io.prestosql.execution.buffer.OutputBuffers;
 import io.prestosql.execution.scheduler.SplitSchedulerStats;
 import io.prestosql.failuredetector.FailureDetector;
+import io.prestosql.heuristicindex.IndexLookupStats;
 import io.prestosql.metadata.InternalNode;
 import io.prestosql.metadata.Split;
 import io.prestosql.operator.HttpPageBufferClient;
@@ -77,6 +78,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static io.airlift.http.client.HttpUriBuilder.uriBuilderFrom;
+import static io.prestosql.SystemSessionProperties.isDynamicFilteringPushEnabled;
 import static io.prestosql.SystemSessionProperties.isEnableDynamicFiltering;
 import static io.prestosql.SystemSessionProperties.isReuseTableScanEnabled;
 import static io.prestosql.failuredetector.FailureDetector.State.GONE;
@@ -576,6 +578,11 @@ public final class SqlStageExecution
         task.addStateChangeListener(new StageTaskListener());
         task.addFinalTaskInfoListener(this::updateFinalTaskInfo);
 
+        if (isEnableDynamicFiltering(stateMachine.getSession()) && isDynamicFilteringPushEnabled(stateMachine.getSession())) {
+            // exchange partial and merged dynamic filters with the task, before it can report any partial filter
+            dynamicFilterService.registerRemoteTask(task);
+        }
+
         if (!stateMachine.getState().isDone()) {
             task.start();
         }
@@ -597,6 +604,11 @@ public final class SqlStageExecution
         stateMachine.recordGetSplitTime(start);
     }
 
+    public void recordIndexLookup(long start, IndexLookupStats lookupStats)
+    {
+        stateMachine.recordIndexLookup(start, lookupStats.getHits(), lookupStats.getMisses());
+    }
+
     private static Split newConnectSplit(TaskId taskId, RemoteTask sourceTask)
     {
         return createRemoteSplitFor(taskId, sourceTask.getInstanceId(), sourceTask.getTaskStatus().getSelf());
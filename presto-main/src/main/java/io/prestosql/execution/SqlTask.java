@@ -26,6 +26,8 @@ import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.prestosql.Session;
 import io.prestosql.SystemSessionProperties;
+import io.prestosql.dynamicfilter.PartialDynamicFilter;
+import io.prestosql.dynamicfilter.TaskDynamicFilters;
 import io.prestosql.execution.StateMachine.StateChangeListener;
 import io.prestosql.execution.buffer.BufferResult;
 import io.prestosql.execution.buffer.LazyOutputBuffer;
@@ -55,6 +57,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -66,6 +69,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.concurrent.MoreFutures.whenAnyComplete;
 import static io.airlift.units.DataSize.Unit.BYTE;
 import static io.airlift.units.DataSize.succinctBytes;
 import static io.prestosql.connector.DataCenterUtility.loadDCCatalogForUpdateTask;
@@ -246,12 +250,37 @@ public class SqlTask
         }
     }
 
+    /**
+     * Get the task status along with the partial dynamic filters not yet received by the caller
+     *
+     * @param callersDynamicFiltersVersion the latest partial dynamic filters version received by the caller
+     */
+    public TaskStatus getTaskStatus(long callersDynamicFiltersVersion)
+    {
+        try (SetThreadName ignored = new SetThreadName("Task-%s", taskId)) {
+            return createTaskStatus(taskHolderReference.get(), OptionalLong.of(callersDynamicFiltersVersion));
+        }
+    }
+
     private TaskStatus createTaskStatus(TaskHolder taskHolder)
+    {
+        return createTaskStatus(taskHolder, OptionalLong.empty());
+    }
+
+    private TaskStatus createTaskStatus(TaskHolder taskHolder, OptionalLong callersDynamicFiltersVersion)
     {
         // Always return a new TaskInfo with a larger version number;
         // otherwise a client will not accept the update
         long versionNumber = nextTaskInfoVersion.getAndIncrement();
 
+        // Read the version before the filters, so that the reported version never covers filters the caller has not received
+        TaskDynamicFilters partialDynamicFilters = taskStateMachine.getPartialDynamicFilters();
+        long dynamicFiltersVersion = partialDynamicFilters.getVersion();
+        Map<String, PartialDynamicFilter> dynamicFilters = ImmutableMap.of();
+        if (callersDynamicFiltersVersion.isPresent()) {
+            dynamicFilters = partialDynamicFilters.acknowledgeAndGetNewPartialDynamicFilters(callersDynamicFiltersVersion.getAsLong());
+        }
+
         TaskState state = taskStateMachine.getState();
         List<ExecutionFailureInfo> failures = ImmutableList.of();
         if (state == FAILED) {
@@ -331,7 +360,9 @@ public class SqlTask
                 fullGcCount,
                 fullGcTime,
                 snapshotCaptureResult,
-                snapshotRestoreResult);
+                snapshotRestoreResult,
+                dynamicFiltersVersion,
+                dynamicFilters);
     }
 
     private TaskStats getTaskStats(TaskHolder taskHolder)
@@ -390,6 +421,28 @@ public class SqlTask
         return Futures.transform(futureTaskState, input -> getTaskStatus(), directExecutor());
     }
 
+    /**
+     * Wait for the task state to change or for new partial dynamic filters to be produced
+     */
+    public ListenableFuture<TaskStatus> getTaskStatus(TaskState callersCurrentState, long callersDynamicFiltersVersion)
+    {
+        requireNonNull(callersCurrentState, "callersCurrentState is null");
+
+        if (callersCurrentState.isDone()) {
+            return immediateFuture(getTaskStatus(callersDynamicFiltersVersion));
+        }
+
+        ListenableFuture<TaskState> futureTaskState = taskStateMachine.getStateChange(callersCurrentState);
+        ListenableFuture<?> futureDynamicFilters = taskStateMachine.getPartialDynamicFilters().getVersionChange(callersDynamicFiltersVersion);
+        ListenableFuture<?> futureStatusChange = whenAnyComplete(ImmutableList.of(futureTaskState, futureDynamicFilters));
+        // release the listener which did not fire
+        futureStatusChange.addListener(() -> {
+            futureTaskState.cancel(true);
+            futureDynamicFilters.cancel(true);
+        }, directExecutor());
+        return Futures.transform(futureStatusChange, input -> getTaskStatus(callersDynamicFiltersVersion), directExecutor());
+    }
+
     public ListenableFuture<TaskInfo> getTaskInfo(TaskState callersCurrentState)
     {
         requireNonNull(callersCurrentState, "callersCurrentState is null");
@@ -542,6 +595,14 @@ public class SqlTask
         return outputBuffer.get(bufferId, startingSequenceId, maxSize);
     }
 
+    public ListenableFuture<BufferResult> peekTaskResults(OutputBufferId bufferId, long startingSequenceId, DataSize maxSize)
+    {
+        requireNonNull(bufferId, "bufferId is null");
+        checkArgument(maxSize.toBytes() > 0, "maxSize must be at least 1 byte");
+
+        return outputBuffer.peek(bufferId, startingSequenceId, maxSize);
+    }
+
     public void acknowledgeTaskResults(OutputBufferId bufferId, long sequenceId)
     {
         requireNonNull(bufferId, "bufferId is null");
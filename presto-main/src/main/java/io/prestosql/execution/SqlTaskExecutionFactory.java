@@ -46,7 +46,9 @@ import java.util.concurrent.Executor;
 import static com.google.common.base.Throwables.throwIfUnchecked;
 import static io.prestosql.SystemSessionProperties.getExtensionExecutionPlannerClassPath;
 import static io.prestosql.SystemSessionProperties.getExtensionExecutionPlannerJarPath;
+import static io.prestosql.SystemSessionProperties.isExchangeAdaptiveCompressionEnabled;
 import static io.prestosql.SystemSessionProperties.isExchangeCompressionEnabled;
+import static io.prestosql.SystemSessionProperties.isExchangePooledBuffersEnabled;
 import static io.prestosql.SystemSessionProperties.isExtensionExecutionPlannerEnabled;
 import static io.prestosql.execution.SqlTaskExecution.createSqlTaskExecution;
 import static io.prestosql.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
@@ -96,7 +98,7 @@ public class SqlTaskExecutionFactory
                 cpuTimerEnabled,
                 totalPartitions,
                 consumer,
-                new PagesSerdeFactory(metadata.getFunctionAndTypeManager().getBlockEncodingSerde(), isExchangeCompressionEnabled(session)));
+                new PagesSerdeFactory(metadata.getFunctionAndTypeManager().getBlockEncodingSerde(), isExchangeCompressionEnabled(session), isExchangePooledBuffersEnabled(session), isExchangeAdaptiveCompressionEnabled(session)));
 
         LocalExecutionPlan localExecutionPlan = null;
         try (SetThreadName ignored = new SetThreadName("Task-%s", taskStateMachine.getTaskId())) {
@@ -429,6 +429,35 @@ public class SqlTaskManager
         return sqlTask.getTaskStatus(currentState);
     }
 
+    @Override
+    public TaskStatus getTaskStatus(TaskId taskId, long currentDynamicFiltersVersion, String expectedTaskInstanceId)
+    {
+        requireNonNull(taskId, "taskId is null");
+
+        SqlTask sqlTask = getTaskOrCreate(expectedTaskInstanceId, taskId);
+        if (sqlTask == null) {
+            return null;
+        }
+
+        sqlTask.recordHeartbeat();
+        return sqlTask.getTaskStatus(currentDynamicFiltersVersion);
+    }
+
+    @Override
+    public ListenableFuture<TaskStatus> getTaskStatus(TaskId taskId, TaskState currentState, long currentDynamicFiltersVersion, String expectedTaskInstanceId)
+    {
+        requireNonNull(taskId, "taskId is null");
+        requireNonNull(currentState, "currentState is null");
+
+        SqlTask sqlTask = getTaskOrCreate(expectedTaskInstanceId, taskId);
+        if (sqlTask == null) {
+            return null;
+        }
+
+        sqlTask.recordHeartbeat();
+        return sqlTask.getTaskStatus(currentState, currentDynamicFiltersVersion);
+    }
+
     @Override
     public TaskInfo updateTask(Session session, TaskId taskId, Optional<PlanFragment> fragment, List<TaskSource> sources, OutputBuffers outputBuffers, OptionalInt totalPartitions, Optional<PlanNodeId> consumer, String expectedTaskInstanceId)
     {
@@ -467,6 +496,22 @@ public class SqlTaskManager
         return sqlTask.getTaskResults(bufferId, startingSequenceId, maxSize);
     }
 
+    @Override
+    public ListenableFuture<BufferResult> peekTaskResults(TaskId taskId, OutputBufferId bufferId, long startingSequenceId, DataSize maxSize, String expectedTaskInstanceId)
+    {
+        requireNonNull(taskId, "taskId is null");
+        requireNonNull(bufferId, "bufferId is null");
+        checkArgument(startingSequenceId >= 0, "startingSequenceId is negative");
+        requireNonNull(maxSize, "maxSize is null");
+
+        SqlTask sqlTask = getTaskOrCreate(expectedTaskInstanceId, taskId);
+        if (sqlTask == null) {
+            return null;
+        }
+
+        return sqlTask.peekTaskResults(bufferId, startingSequenceId, maxSize);
+    }
+
     @Override
     public void acknowledgeTaskResults(TaskId taskId, OutputBufferId bufferId, long sequenceId, String expectedTaskInstanceId)
     {
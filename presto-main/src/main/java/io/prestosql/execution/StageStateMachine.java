@@ -93,6 +93,9 @@ public class StageStateMachine
 
     private final AtomicReference<DateTime> schedulingComplete = new AtomicReference<>();
     private final Distribution getSplitDistribution = new Distribution();
+    private final AtomicLong indexCacheHits = new AtomicLong();
+    private final AtomicLong indexCacheMisses = new AtomicLong();
+    private final Distribution indexLookupDistribution = new Distribution();
 
     private final AtomicLong peakUserMemory = new AtomicLong();
     private final AtomicLong peakRevocableMemory = new AtomicLong();
@@ -544,6 +547,10 @@ public class StageStateMachine
                 schedulingComplete.get(),
                 getSplitDistribution.snapshot(),
 
+                indexCacheHits.get(),
+                indexCacheMisses.get(),
+                indexLookupDistribution.snapshot(),
+
                 totalTasks,
                 runningTasks,
                 completedTasks,
@@ -618,6 +625,13 @@ public class StageStateMachine
         scheduledStats.getGetSplitTime().add(elapsedNanos, NANOSECONDS);
     }
 
+    public void recordIndexLookup(long startNanos, long hits, long misses)
+    {
+        indexLookupDistribution.add(System.nanoTime() - startNanos);
+        indexCacheHits.addAndGet(hits);
+        indexCacheMisses.addAndGet(misses);
+    }
+
     @Override
     public String toString()
     {
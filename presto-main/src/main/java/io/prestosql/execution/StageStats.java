@@ -43,6 +43,10 @@ public class StageStats
 
     private final DistributionSnapshot getSplitDistribution;
 
+    private final long indexCacheHits;
+    private final long indexCacheMisses;
+    private final DistributionSnapshot indexLookupDistribution;
+
     private final int totalTasks;
     private final int runningTasks;
     private final int completedTasks;
@@ -94,6 +98,10 @@ public class StageStats
 
             @JsonProperty("getSplitDistribution") DistributionSnapshot getSplitDistribution,
 
+            @JsonProperty("indexCacheHits") long indexCacheHits,
+            @JsonProperty("indexCacheMisses") long indexCacheMisses,
+            @JsonProperty("indexLookupDistribution") DistributionSnapshot indexLookupDistribution,
+
             @JsonProperty("totalTasks") int totalTasks,
             @JsonProperty("runningTasks") int runningTasks,
             @JsonProperty("completedTasks") int completedTasks,
@@ -142,6 +150,12 @@ public class StageStats
         this.schedulingComplete = schedulingComplete;
         this.getSplitDistribution = requireNonNull(getSplitDistribution, "getSplitDistribution is null");
 
+        checkArgument(indexCacheHits >= 0, "indexCacheHits is negative");
+        this.indexCacheHits = indexCacheHits;
+        checkArgument(indexCacheMisses >= 0, "indexCacheMisses is negative");
+        this.indexCacheMisses = indexCacheMisses;
+        this.indexLookupDistribution = requireNonNull(indexLookupDistribution, "indexLookupDistribution is null");
+
         checkArgument(totalTasks >= 0, "totalTasks is negative");
         this.totalTasks = totalTasks;
         checkArgument(runningTasks >= 0, "runningTasks is negative");
@@ -213,6 +227,24 @@ public class StageStats
         return getSplitDistribution;
     }
 
+    @JsonProperty
+    public long getIndexCacheHits()
+    {
+        return indexCacheHits;
+    }
+
+    @JsonProperty
+    public long getIndexCacheMisses()
+    {
+        return indexCacheMisses;
+    }
+
+    @JsonProperty
+    public DistributionSnapshot getIndexLookupDistribution()
+    {
+        return indexLookupDistribution;
+    }
+
     @JsonProperty
     public int getTotalTasks()
     {
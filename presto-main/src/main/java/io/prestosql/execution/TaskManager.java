@@ -78,6 +78,20 @@ public interface TaskManager
      */
     ListenableFuture<TaskStatus> getTaskStatus(TaskId taskId, TaskState currentState, String expectedTaskInstanceId);
 
+    /**
+     * Gets the status for the specified task, along with the partial dynamic filters
+     * the task produced after {@code currentDynamicFiltersVersion}.
+     */
+    TaskStatus getTaskStatus(TaskId taskId, long currentDynamicFiltersVersion, String expectedTaskInstanceId);
+
+    /**
+     * Gets future status for the task after the state changes from
+     * {@code current state}, or after the task produces partial dynamic filters
+     * newer than {@code currentDynamicFiltersVersion}. The status carries these
+     * partial dynamic filters.
+     */
+    ListenableFuture<TaskStatus> getTaskStatus(TaskId taskId, TaskState currentState, long currentDynamicFiltersVersion, String expectedTaskInstanceId);
+
     void updateMemoryPoolAssignments(MemoryPoolAssignmentsRequest assignments);
 
     /**
@@ -110,6 +124,12 @@ public interface TaskManager
      */
     ListenableFuture<BufferResult> getTaskResults(TaskId taskId, OutputBufferId bufferId, long startingSequenceId, DataSize maxSize, String expectedTaskInstanceId);
 
+    /**
+     * Gets results from a task like {@link #getTaskResults}, without
+     * acknowledging any results before the starting sequence id.
+     */
+    ListenableFuture<BufferResult> peekTaskResults(TaskId taskId, OutputBufferId bufferId, long startingSequenceId, DataSize maxSize, String expectedTaskInstanceId);
+
     /**
      * Acknowledges previously received results.
      */
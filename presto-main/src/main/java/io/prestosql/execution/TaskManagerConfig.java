@@ -49,6 +49,8 @@ public class TaskManagerConfig
     private DataSize maxIndexMemoryUsage = new DataSize(64, Unit.MEGABYTE);
     private boolean shareIndexLoading;
     private int maxWorkerThreads = Runtime.getRuntime().availableProcessors() * 2;
+    private int runnerGroups = 1;
+    private boolean workStealingEnabled = true;
     private Integer minDrivers;
     private Integer initialSplitsPerNode;
     private int minDriversPerTask = 3;
@@ -222,6 +224,33 @@ public class TaskManagerConfig
         return this;
     }
 
+    @Min(1)
+    public int getRunnerGroups()
+    {
+        return runnerGroups;
+    }
+
+    @Config("task.runner-groups")
+    @ConfigDescription("Number of groups the runner threads are split into, each with its own split queue")
+    public TaskManagerConfig setRunnerGroups(int runnerGroups)
+    {
+        this.runnerGroups = runnerGroups;
+        return this;
+    }
+
+    public boolean isWorkStealingEnabled()
+    {
+        return workStealingEnabled;
+    }
+
+    @Config("task.work-stealing-enabled")
+    @ConfigDescription("Allow idle runner threads to run splits queued in other runner groups")
+    public TaskManagerConfig setWorkStealingEnabled(boolean workStealingEnabled)
+    {
+        this.workStealingEnabled = workStealingEnabled;
+        return this;
+    }
+
     @Min(1)
     public int getInitialSplitsPerNode()
     {
@@ -15,6 +15,7 @@ package io.prestosql.execution;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.log.Logger;
+import io.prestosql.dynamicfilter.TaskDynamicFilters;
 import io.prestosql.execution.StateMachine.StateChangeListener;
 import org.joda.time.DateTime;
 
@@ -41,6 +42,8 @@ public class TaskStateMachine
     private final TaskId taskId;
     private final StateMachine<TaskState> taskState;
     private final LinkedBlockingQueue<Throwable> failureCauses = new LinkedBlockingQueue<>();
+    // partial dynamic filters outlive the task execution, until they are collected by the coordinator
+    private final TaskDynamicFilters partialDynamicFilters = new TaskDynamicFilters();
 
     public TaskStateMachine(TaskId taskId, Executor executor)
     {
@@ -84,6 +87,11 @@ public class TaskStateMachine
         return future;
     }
 
+    public TaskDynamicFilters getPartialDynamicFilters()
+    {
+        return partialDynamicFilters;
+    }
+
     public LinkedBlockingQueue<Throwable> getFailureCauses()
     {
         return failureCauses;
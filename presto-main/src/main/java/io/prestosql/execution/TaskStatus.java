@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
+import io.prestosql.dynamicfilter.PartialDynamicFilter;
 import io.prestosql.snapshot.RestoreResult;
 import io.prestosql.snapshot.SnapshotInfo;
 
@@ -83,6 +84,11 @@ public class TaskStatus
     private final Map<Long, SnapshotInfo> snapshotCaptureResult;
     private final Optional<RestoreResult> snapshotRestoreResult;
 
+    // Version of the latest partial dynamic filters produced by the task, and the partial dynamic filters
+    // the caller of the task status has not received yet. Only used when dynamic filters are pushed by the coordinator.
+    private final long dynamicFiltersVersion;
+    private final Map<String, PartialDynamicFilter> dynamicFilters;
+
     @JsonCreator
     public TaskStatus(
             @JsonProperty("taskId") TaskId taskId,
@@ -103,7 +109,9 @@ public class TaskStatus
             @JsonProperty("fullGcCount") long fullGcCount,
             @JsonProperty("fullGcTime") Duration fullGcTime,
             @JsonProperty("snapshotCaptureResult") Map<Long, SnapshotInfo> snapshotCaptureResult,
-            @JsonProperty("snapshotRestoreResult") Optional<RestoreResult> snapshotRestoreResult)
+            @JsonProperty("snapshotRestoreResult") Optional<RestoreResult> snapshotRestoreResult,
+            @JsonProperty("dynamicFiltersVersion") long dynamicFiltersVersion,
+            @JsonProperty("dynamicFilters") Map<String, PartialDynamicFilter> dynamicFilters)
     {
         this.taskId = requireNonNull(taskId, "taskId is null");
         this.confirmationInstanceId = requireNonNull(confirmationInstanceId, "confirmationInstanceId is null");
@@ -136,6 +144,9 @@ public class TaskStatus
 
         this.snapshotCaptureResult = snapshotCaptureResult;
         this.snapshotRestoreResult = snapshotRestoreResult;
+
+        this.dynamicFiltersVersion = dynamicFiltersVersion;
+        this.dynamicFilters = ImmutableMap.copyOf(requireNonNull(dynamicFilters, "dynamicFilters is null"));
     }
 
     @JsonProperty
@@ -252,6 +263,18 @@ public class TaskStatus
         return snapshotRestoreResult;
     }
 
+    @JsonProperty
+    public long getDynamicFiltersVersion()
+    {
+        return dynamicFiltersVersion;
+    }
+
+    @JsonProperty
+    public Map<String, PartialDynamicFilter> getDynamicFilters()
+    {
+        return dynamicFilters;
+    }
+
     @Override
     public String toString()
     {
@@ -287,7 +310,9 @@ public class TaskStatus
                 0,
                 new Duration(0, MILLISECONDS),
                 ImmutableMap.of(),
-                Optional.empty());
+                Optional.empty(),
+                0,
+                ImmutableMap.of());
     }
 
     public static TaskStatus failWith(TaskStatus taskStatus, TaskState state, List<ExecutionFailureInfo> exceptions)
@@ -311,6 +336,8 @@ public class TaskStatus
                 taskStatus.getFullGcCount(),
                 taskStatus.getFullGcTime(),
                 taskStatus.snapshotCaptureResult,
-                taskStatus.snapshotRestoreResult);
+                taskStatus.snapshotRestoreResult,
+                taskStatus.getDynamicFiltersVersion(),
+                ImmutableMap.of());
     }
 }
@@ -171,8 +171,24 @@ class ClientBuffer
         // acknowledge pages first, out side of locks to not trigger callbacks while holding the lock
         acknowledgePages(sequenceId);
 
+        return readPages(sequenceId, maxSize, pagesSupplier);
+    }
+
+    /**
+     * Reads pages starting at the specified sequence id, which may be ahead of the
+     * acknowledged position, without acknowledging any page. The pages before the
+     * sequence id stay in the buffer until the client acknowledges them.
+     */
+    public ListenableFuture<BufferResult> peekPages(long sequenceId, DataSize maxSize, Optional<PagesSupplier> pagesSupplier)
+    {
+        checkArgument(sequenceId >= 0, "Invalid sequence id");
+        return readPages(sequenceId, maxSize, pagesSupplier);
+    }
+
+    private ListenableFuture<BufferResult> readPages(long sequenceId, DataSize maxSize, Optional<PagesSupplier> pagesSupplier)
+    {
         // attempt to load some data before processing the read
-        pagesSupplier.ifPresent(supplier -> loadPagesIfNecessary(supplier, maxSize));
+        pagesSupplier.ifPresent(supplier -> loadPagesIfNecessary(supplier, sequenceId, maxSize));
 
         PendingRead oldPendingRead = null;
         try {
@@ -183,7 +199,7 @@ class ClientBuffer
 
                 // Return results immediately if we have data, there will be no more data, or this is
                 // an out of order request
-                if (!pages.isEmpty() || noMorePages || sequenceId != currentSequenceId.get()) {
+                if (hasPagesAt(sequenceId) || noMorePages || sequenceId < currentSequenceId.get()) {
                     return immediateFuture(processRead(sequenceId, maxSize));
                 }
 
@@ -229,15 +245,17 @@ class ClientBuffer
         // Get the max size from the current pending read, which may not be the
         // same pending read instance by the time pages are loaded but this is
         // safe since the size is rechecked before returning pages.
+        long sequenceId;
         DataSize maxSize;
         synchronized (this) {
             if (pendingRead == null) {
                 return;
             }
+            sequenceId = pendingRead.getSequenceId();
             maxSize = pendingRead.getMaxSize();
         }
 
-        boolean dataAddedOrNoMorePages = loadPagesIfNecessary(pagesSupplier, maxSize);
+        boolean dataAddedOrNoMorePages = loadPagesIfNecessary(pagesSupplier, sequenceId, maxSize);
 
         if (dataAddedOrNoMorePages) {
             PendingRead inputPendingRead;
@@ -251,9 +269,9 @@ class ClientBuffer
     }
 
     /**
-     * If there no data, attempt to load some from the pages supplier.
+     * If there no data at the sequence id, attempt to load some from the pages supplier.
      */
-    private boolean loadPagesIfNecessary(PagesSupplier pagesSupplier, DataSize maxSize)
+    private boolean loadPagesIfNecessary(PagesSupplier pagesSupplier, long sequenceId, DataSize maxSize)
     {
         checkState(!Thread.holdsLock(this), "Can not load pages while holding a lock on this");
 
@@ -264,7 +282,7 @@ class ClientBuffer
                 return false;
             }
 
-            if (!pages.isEmpty()) {
+            if (hasPagesAt(Math.max(sequenceId, currentSequenceId.get()))) {
                 return false;
             }
 
@@ -340,19 +358,27 @@ class ClientBuffer
             return emptyResults(currentSequenceId.get(), true);
         }
 
-        // if request is for pages after the current position, there is a bug somewhere
+        // a read ahead of the acknowledged position reached the end of the buffer,
+        // the pages before it are only dropped once the client acknowledges them
+        int offset = toIntExact(sequenceId - currentSequenceId.get());
+        if (offset >= pages.size() && noMorePages) {
+            return emptyResults(sequenceId, true);
+        }
+
+        // if request is for pages after the buffered pages, there is a bug somewhere
         // a read call is always proceeded by acknowledge pages, which
         // will advance the sequence id to at least the request position, unless
         // the buffer is destroyed, and in that case the buffer will be empty with
-        // no more pages set, which is checked above
-        verify(sequenceId == currentSequenceId.get(), "Invalid sequence id");
+        // no more pages set, which is checked above. A read ahead never skips
+        // pages that have not been returned yet.
+        verify(offset <= pages.size(), "Invalid sequence id");
 
         // read the new pages
         long maxBytes = maxSize.toBytes();
         List<SerializedPage> result = new ArrayList<>();
         long bytes = 0;
 
-        for (SerializedPageReference page : pages) {
+        for (SerializedPageReference page : pages.subList(offset, pages.size())) {
             bytes += page.getRetainedSizeInBytes();
             // break (and don't add) if this page would exceed the limit
             if (!result.isEmpty() && bytes > maxBytes) {
@@ -363,6 +389,12 @@ class ClientBuffer
         return new BufferResult(sequenceId, sequenceId + result.size(), false, result);
     }
 
+    @GuardedBy("this")
+    private boolean hasPagesAt(long sequenceId)
+    {
+        return sequenceId - currentSequenceId.get() < pages.size();
+    }
+
     /**
      * Drops pages up to the specified sequence id
      */
@@ -204,6 +204,23 @@ public class LazyOutputBuffer
         return outputBuffer.get(bufferId, token, maxSize);
     }
 
+    @Override
+    public ListenableFuture<BufferResult> peek(OutputBufferId bufferId, long token, DataSize maxSize)
+    {
+        OutputBuffer outputBuffer;
+        synchronized (this) {
+            if (delegate == null) {
+                if (state.get() == FINISHED) {
+                    return immediateFuture(emptyResults(0, true));
+                }
+                // nothing can have been read from the buffer yet, so there is nothing to read ahead of
+                return immediateFuture(emptyResults(token, false));
+            }
+            outputBuffer = delegate;
+        }
+        return outputBuffer.peek(bufferId, token, maxSize);
+    }
+
     @Override
     public void acknowledge(OutputBufferId bufferId, long token)
     {
@@ -89,6 +89,13 @@ public interface OutputBuffer
      */
     ListenableFuture<BufferResult> get(OutputBufferId bufferId, long token, DataSize maxSize);
 
+    /**
+     * Gets pages from the output buffer starting at the token, like {@link #get}, but without
+     * acknowledging any page. This lets a client read ahead of the pages it has received
+     * so far, the pages stay buffered until a later get or acknowledge covers them.
+     */
+    ListenableFuture<BufferResult> peek(OutputBufferId bufferId, long token, DataSize maxSize);
+
     /**
      * Acknowledges the previously received pages from the output buffer.
      */
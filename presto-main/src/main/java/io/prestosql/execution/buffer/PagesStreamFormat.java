@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.execution.buffer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
+import io.hetu.core.transport.execution.buffer.SerializedPage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.SIZE_OF_BYTE;
+import static io.airlift.slice.SizeOf.SIZE_OF_INT;
+import static io.hetu.core.transport.execution.buffer.PagesSerdeUtil.readSerializedPage;
+import static io.hetu.core.transport.execution.buffer.PagesSerdeUtil.writeSerializedPages;
+import static java.lang.Math.toIntExact;
+
+/**
+ * Body format of a streamed results response. The body is a sequence of frames, each holding the
+ * page count and the byte size of the serialized pages followed by the pages, and ends with a negative
+ * page count followed by a flag telling if the buffer is complete. The pages of consecutive frames have
+ * consecutive tokens, starting at the token of the request. The byte size lets the client take a frame
+ * off the connection as soon as it arrived, without reading ahead into the next one.
+ */
+public final class PagesStreamFormat
+{
+    private static final int END_OF_STREAM = -1;
+    // position count, codec markers, uncompressed size, size and metadata length of a serialized page
+    private static final int PAGE_HEADER_SIZE = 17;
+
+    private PagesStreamFormat()
+    {
+    }
+
+    public static void writeFrame(SliceOutput output, List<SerializedPage> pages)
+    {
+        checkArgument(!pages.isEmpty(), "pages is empty");
+        DynamicSliceOutput frame = new DynamicSliceOutput(toIntExact(pages.stream().mapToLong(SerializedPage::getSizeInBytes).sum() + pages.size() * PAGE_HEADER_SIZE));
+        writeSerializedPages(frame, pages);
+        output.writeInt(pages.size());
+        output.writeInt(frame.size());
+        output.writeBytes(frame.slice());
+    }
+
+    public static void writeEnd(SliceOutput output, boolean bufferComplete)
+    {
+        output.writeInt(END_OF_STREAM);
+        output.writeBoolean(bufferComplete);
+    }
+
+    /**
+     * Reads the next frame, or returns empty when the end of the stream is reached. In that case
+     * {@link #readBufferComplete} must be called to read the rest of the end marker.
+     */
+    public static Optional<List<SerializedPage>> readFrame(InputStream input)
+            throws IOException
+    {
+        int pageCount = readBytes(input, SIZE_OF_INT).getInt(0);
+        if (pageCount == END_OF_STREAM) {
+            return Optional.empty();
+        }
+        checkArgument(pageCount > 0, "Invalid page count in stream: %s", pageCount);
+
+        int frameSize = readBytes(input, SIZE_OF_INT).getInt(0);
+        SliceInput frame = readBytes(input, frameSize).getInput();
+        ImmutableList.Builder<SerializedPage> pages = ImmutableList.builderWithExpectedSize(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pages.add(readSerializedPage(frame));
+        }
+        return Optional.of(pages.build());
+    }
+
+    public static boolean readBufferComplete(InputStream input)
+            throws IOException
+    {
+        return readBytes(input, SIZE_OF_BYTE).getByte(0) != 0;
+    }
+
+    private static Slice readBytes(InputStream input, int length)
+            throws IOException
+    {
+        // reads exactly the requested bytes, a buffered input would wait for more data than the frame holds
+        byte[] bytes = new byte[length];
+        ByteStreams.readFully(input, bytes);
+        return Slices.wrappedBuffer(bytes);
+    }
+}
@@ -28,6 +28,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -51,6 +53,9 @@ public class MultilevelSplitQueue
     private final AtomicLong[] levelMinPriority;
     private final List<CounterStat> selectedLevelCounters;
 
+    // number of splits in all levels, kept outside of the lock so that callers polling the size do not contend with offers and takes
+    private final AtomicInteger waitingSplitCount = new AtomicInteger();
+
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition notEmpty = lock.newCondition();
 
@@ -115,6 +120,7 @@ public class MultilevelSplitQueue
             }
 
             levelWaitingSplits.get(level).offer(split);
+            waitingSplitCount.incrementAndGet();
             notEmpty.signal();
         }
         finally {
@@ -138,10 +144,41 @@ public class MultilevelSplitQueue
                     continue;
                 }
 
-                int selectedLevel = result.getPriority().getLevel();
-                levelMinPriority[selectedLevel].set(result.getPriority().getLevelPriority());
-                selectedLevelCounters.get(selectedLevel).update(1);
+                recordSelected(result);
+                return result;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
 
+    /**
+     * Same as {@link #take()}, but waits at most the given time for a split to become available.
+     *
+     * @return the next split, or null if the queue stayed empty
+     */
+    public PrioritizedSplitRunner poll(long timeout, TimeUnit unit)
+            throws InterruptedException
+    {
+        long remainingNanos = unit.toNanos(timeout);
+        while (true) {
+            lock.lockInterruptibly();
+            try {
+                PrioritizedSplitRunner result;
+                while ((result = pollSplit()) == null) {
+                    if (remainingNanos <= 0) {
+                        return null;
+                    }
+                    remainingNanos = notEmpty.awaitNanos(remainingNanos);
+                }
+
+                if (result.updateLevelPriority()) {
+                    offer(result);
+                    continue;
+                }
+
+                recordSelected(result);
                 return result;
             }
             finally {
@@ -150,6 +187,14 @@ public class MultilevelSplitQueue
         }
     }
 
+    @GuardedBy("lock")
+    private void recordSelected(PrioritizedSplitRunner split)
+    {
+        int selectedLevel = split.getPriority().getLevel();
+        levelMinPriority[selectedLevel].set(split.getPriority().getLevelPriority());
+        selectedLevelCounters.get(selectedLevel).update(1);
+    }
+
     /**
      * Presto attempts to give each level a target amount of scheduled time, which is configurable
      * using levelTimeMultiplier.
@@ -183,6 +228,7 @@ public class MultilevelSplitQueue
 
         PrioritizedSplitRunner result = levelWaitingSplits.get(selectedLevel).poll();
         checkState(result != null, "pollSplit cannot return null");
+        waitingSplitCount.decrementAndGet();
 
         return result;
     }
@@ -250,7 +296,9 @@ public class MultilevelSplitQueue
         lock.lock();
         try {
             for (PriorityQueue<PrioritizedSplitRunner> level : levelWaitingSplits) {
-                level.remove(split);
+                if (level.remove(split)) {
+                    waitingSplitCount.decrementAndGet();
+                }
             }
         }
         finally {
@@ -263,7 +311,9 @@ public class MultilevelSplitQueue
         lock.lock();
         try {
             for (PriorityQueue<PrioritizedSplitRunner> level : levelWaitingSplits) {
+                int sizeBefore = level.size();
                 level.removeAll(splits);
+                waitingSplitCount.addAndGet(level.size() - sizeBefore);
             }
         }
         finally {
@@ -279,17 +329,12 @@ public class MultilevelSplitQueue
 
     public int size()
     {
-        lock.lock();
-        try {
-            int total = 0;
-            for (PriorityQueue<PrioritizedSplitRunner> level : levelWaitingSplits) {
-                total += level.size();
-            }
-            return total;
-        }
-        finally {
-            lock.unlock();
-        }
+        return waitingSplitCount.get();
+    }
+
+    double getLevelTimeMultiplier()
+    {
+        return levelTimeMultiplier;
     }
 
     public static int computeLevel(long threadUsageNanos)
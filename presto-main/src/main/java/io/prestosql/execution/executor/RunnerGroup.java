@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.execution.executor;
+
+import io.airlift.stats.CounterStat;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A set of runner threads of the {@link TaskExecutor} sharing one split queue. Every task is assigned
+ * to a single group, and its splits are always queued in the queue of that group.
+ */
+@ThreadSafe
+public class RunnerGroup
+{
+    private final int groupId;
+    private final int runnerThreads;
+    private final MultilevelSplitQueue splitQueue;
+
+    private final AtomicInteger tasks = new AtomicInteger();
+    private final AtomicInteger runningSplits = new AtomicInteger();
+
+    private final CounterStat processedQuanta = new CounterStat();
+    private final CounterStat stolenSplits = new CounterStat();
+
+    public RunnerGroup(int groupId, int runnerThreads, MultilevelSplitQueue splitQueue)
+    {
+        checkArgument(groupId >= 0, "groupId is negative");
+        checkArgument(runnerThreads > 0, "runnerThreads must be at least 1");
+        this.groupId = groupId;
+        this.runnerThreads = runnerThreads;
+        this.splitQueue = requireNonNull(splitQueue, "splitQueue is null");
+    }
+
+    public int getGroupId()
+    {
+        return groupId;
+    }
+
+    public MultilevelSplitQueue getSplitQueue()
+    {
+        return splitQueue;
+    }
+
+    void taskAdded()
+    {
+        tasks.incrementAndGet();
+    }
+
+    void taskRemoved()
+    {
+        tasks.decrementAndGet();
+    }
+
+    void quantaStarted()
+    {
+        runningSplits.incrementAndGet();
+        processedQuanta.update(1);
+    }
+
+    void quantaFinished()
+    {
+        runningSplits.decrementAndGet();
+    }
+
+    void splitStolen()
+    {
+        stolenSplits.update(1);
+    }
+
+    @Managed
+    public int getRunnerThreads()
+    {
+        return runnerThreads;
+    }
+
+    @Managed
+    public int getTasks()
+    {
+        return tasks.get();
+    }
+
+    @Managed
+    public int getWaitingSplits()
+    {
+        return splitQueue.size();
+    }
+
+    @Managed
+    public int getRunningSplits()
+    {
+        return runningSplits.get();
+    }
+
+    @Managed(description = "Fraction of the runner threads of the group that are running a split")
+    public double getUtilization()
+    {
+        return runningSplits.get() / (double) runnerThreads;
+    }
+
+    @Managed(description = "Quanta run by the runner threads of the group")
+    @Nested
+    public CounterStat getProcessedQuanta()
+    {
+        return processedQuanta;
+    }
+
+    @Managed(description = "Splits the runner threads of the group took from the queues of other groups")
+    @Nested
+    public CounterStat getStolenSplits()
+    {
+        return stolenSplits;
+    }
+
+    @Managed
+    @Nested
+    public MultilevelSplitQueue getSplitQueueStats()
+    {
+        return splitQueue;
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("groupId", groupId)
+                .add("runnerThreads", runnerThreads)
+                .add("tasks", tasks.get())
+                .add("waitingSplits", splitQueue.size())
+                .add("runningSplits", runningSplits.get())
+                .toString();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.execution.executor;
+
+import com.google.common.collect.ImmutableMap;
+import org.weakref.jmx.JmxException;
+import org.weakref.jmx.MBeanExport;
+import org.weakref.jmx.MBeanExporter;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.concurrent.GuardedBy;
+import javax.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exports the statistics of every runner group of the {@link TaskExecutor}, named after the task executor with
+ * the id of the group, so that the load of the groups (for example one per NUMA node) can be compared.
+ */
+public final class RunnerGroupExporter
+{
+    @GuardedBy("this")
+    private final List<MBeanExport> mbeanExports = new ArrayList<>();
+
+    @Inject
+    public RunnerGroupExporter(TaskExecutor taskExecutor, MBeanExporter exporter)
+    {
+        requireNonNull(taskExecutor, "taskExecutor is null");
+        requireNonNull(exporter, "exporter is null");
+        for (RunnerGroup runnerGroup : taskExecutor.getRunnerGroups()) {
+            try {
+                mbeanExports.add(exporter.exportWithGeneratedName(runnerGroup, TaskExecutor.class, ImmutableMap.of("runnerGroup", String.valueOf(runnerGroup.getGroupId()))));
+            }
+            catch (JmxException e) {
+                // ignored
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void destroy()
+    {
+        for (MBeanExport mbeanExport : mbeanExports) {
+            try {
+                mbeanExport.unexport();
+            }
+            catch (JmxException e) {
+                // ignored
+            }
+        }
+        mbeanExports.clear();
+    }
+}
@@ -16,6 +16,7 @@ package io.prestosql.execution.executor;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Ticker;
 import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.concurrent.SetThreadName;
 import io.airlift.concurrent.ThreadPoolExecutorMBean;
@@ -40,7 +41,6 @@ import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -83,6 +83,9 @@ public class TaskExecutor
     // print out split call stack if it has been running for a certain amount of time
     private static final Duration LONG_SPLIT_WARNING_THRESHOLD = new Duration(600, TimeUnit.SECONDS);
 
+    // how long an idle runner thread waits for splits of its own group before looking at other groups again
+    private static final long WORK_STEALING_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
     private static final AtomicLong NEXT_RUNNER_ID = new AtomicLong();
 
     private final ExecutorService executor;
@@ -107,28 +110,33 @@ public class TaskExecutor
 
     /**
      * All splits registered with the task executor.
+     * <p>
+     * The split sets are concurrent so that registering and finishing a split does not need the
+     * task executor lock. Changes that must be consistent with the state of a task (for example
+     * starting a split of a task that is being removed) are made while holding the lock of its
+     * {@link TaskHandle} instead. The task executor lock may be acquired before a task handle
+     * lock, but never while holding one.
      */
-    @GuardedBy("this")
-    private final Set<PrioritizedSplitRunner> allSplits = new HashSet<>();
+    private final Set<PrioritizedSplitRunner> allSplits = newConcurrentHashSet();
 
     /**
      * Intermediate splits (i.e. splits that should not be queued).
      */
-    @GuardedBy("this")
-    private final Set<PrioritizedSplitRunner> intermediateSplits = new HashSet<>();
+    private final Set<PrioritizedSplitRunner> intermediateSplits = newConcurrentHashSet();
 
     /**
-     * Splits waiting for a runner thread.
+     * Runner threads and the splits waiting for them. A single group, using the configured
+     * split queue, unless the runner threads are split into several groups.
      */
-    private final MultilevelSplitQueue waitingSplits;
+    private final List<RunnerGroup> runnerGroups;
+    private final boolean workStealingEnabled;
 
     /**
      * Splits running on a thread.
      */
     private final Set<PrioritizedSplitRunner> runningSplits = newConcurrentHashSet();
 
-    @GuardedBy("this")
-    private final Set<PrioritizedSplitRunner> suspendedSplits = new HashSet<>();
+    private final Set<PrioritizedSplitRunner> suspendedSplits = newConcurrentHashSet();
 
     /**
      * Splits blocked by the driver.
@@ -169,6 +177,8 @@ public class TaskExecutor
                 config.getMinDrivers(),
                 config.getMinDriversPerTask(),
                 config.getMaxDriversPerTask(),
+                config.getRunnerGroups(),
+                config.isWorkStealingEnabled(),
                 embedVersion,
                 splitQueue,
                 Ticker.systemTicker());
@@ -186,6 +196,12 @@ public class TaskExecutor
         this(runnerThreads, minDrivers, guaranteedNumberOfDriversPerTask, maximumNumberOfDriversPerTask, new EmbedVersion(new ServerConfig()), splitQueue, ticker);
     }
 
+    @VisibleForTesting
+    public TaskExecutor(int runnerThreads, int minDrivers, int guaranteedNumberOfDriversPerTask, int maximumNumberOfDriversPerTask, int runnerGroups, boolean workStealingEnabled, Ticker ticker)
+    {
+        this(runnerThreads, minDrivers, guaranteedNumberOfDriversPerTask, maximumNumberOfDriversPerTask, runnerGroups, workStealingEnabled, new EmbedVersion(new ServerConfig()), new MultilevelSplitQueue(2), ticker);
+    }
+
     @VisibleForTesting
     public TaskExecutor(
             int runnerThreads,
@@ -195,8 +211,24 @@ public class TaskExecutor
             EmbedVersion embedVersion,
             MultilevelSplitQueue splitQueue,
             Ticker ticker)
+    {
+        this(runnerThreads, minDrivers, guaranteedNumberOfDriversPerTask, maximumNumberOfDriversPerTask, 1, true, embedVersion, splitQueue, ticker);
+    }
+
+    private TaskExecutor(
+            int runnerThreads,
+            int minDrivers,
+            int guaranteedNumberOfDriversPerTask,
+            int maximumNumberOfDriversPerTask,
+            int runnerGroups,
+            boolean workStealingEnabled,
+            EmbedVersion embedVersion,
+            MultilevelSplitQueue splitQueue,
+            Ticker ticker)
     {
         checkArgument(runnerThreads > 0, "runnerThreads must be at least 1");
+        checkArgument(runnerGroups > 0, "runnerGroups must be at least 1");
+        checkArgument(runnerGroups <= runnerThreads, "runnerGroups cannot be greater than runnerThreads");
         checkArgument(guaranteedNumberOfDriversPerTask > 0, "guaranteedNumberOfDriversPerTask must be at least 1");
         checkArgument(maximumNumberOfDriversPerTask > 0, "maximumNumberOfDriversPerTask must be at least 1");
         checkArgument(guaranteedNumberOfDriversPerTask <= maximumNumberOfDriversPerTask, "guaranteedNumberOfDriversPerTask cannot be greater than maximumNumberOfDriversPerTask");
@@ -212,7 +244,16 @@ public class TaskExecutor
         this.minimumNumberOfDrivers = minDrivers;
         this.guaranteedNumberOfDriversPerTask = guaranteedNumberOfDriversPerTask;
         this.maximumNumberOfDriversPerTask = maximumNumberOfDriversPerTask;
-        this.waitingSplits = requireNonNull(splitQueue, "splitQueue is null");
+        requireNonNull(splitQueue, "splitQueue is null");
+        ImmutableList.Builder<RunnerGroup> groups = ImmutableList.builder();
+        for (int groupId = 0; groupId < runnerGroups; groupId++) {
+            // spread the runner threads as evenly as possible, the first group keeps the configured split queue
+            int groupRunnerThreads = runnerThreads / runnerGroups + (groupId < runnerThreads % runnerGroups ? 1 : 0);
+            MultilevelSplitQueue groupSplitQueue = groupId == 0 ? splitQueue : new MultilevelSplitQueue(splitQueue.getLevelTimeMultiplier());
+            groups.add(new RunnerGroup(groupId, groupRunnerThreads, groupSplitQueue));
+        }
+        this.runnerGroups = groups.build();
+        this.workStealingEnabled = workStealingEnabled;
         this.tasks = new LinkedList<>();
         this.suspendedTasks = new LinkedList<>();
     }
@@ -221,8 +262,10 @@ public class TaskExecutor
     public synchronized void start()
     {
         checkState(!closed, "TaskExecutor is closed");
-        for (int i = 0; i < runnerThreads; i++) {
-            addRunnerThread();
+        for (RunnerGroup runnerGroup : runnerGroups) {
+            for (int i = 0; i < runnerGroup.getRunnerThreads(); i++) {
+                addRunnerThread(runnerGroup);
+            }
         }
     }
 
@@ -235,22 +278,22 @@ public class TaskExecutor
     }
 
     @Override
-    public synchronized String toString()
+    public String toString()
     {
         return toStringHelper(this)
                 .add("runnerThreads", runnerThreads)
                 .add("allSplits", allSplits.size())
                 .add("intermediateSplits", intermediateSplits.size())
-                .add("waitingSplits", waitingSplits.size())
+                .add("waitingSplits", getWaitingSplits())
                 .add("runningSplits", runningSplits.size())
                 .add("blockedSplits", blockedSplits.size())
                 .toString();
     }
 
-    private synchronized void addRunnerThread()
+    private synchronized void addRunnerThread(RunnerGroup runnerGroup)
     {
         try {
-            executor.execute(embedVersion.embedVersion(new TaskRunner()));
+            executor.execute(embedVersion.embedVersion(new TaskRunner(runnerGroup)));
         }
         catch (RejectedExecutionException ignored) {
         }
@@ -270,12 +313,31 @@ public class TaskExecutor
 
         log.debug("Task scheduled " + taskId);
 
-        TaskHandle taskHandle = new TaskHandle(taskId, waitingSplits, utilizationSupplier, initialSplitConcurrency, splitConcurrencyAdjustFrequency, maxDriversPerTask);
+        // keep all splits of the task in the group running the fewest tasks
+        RunnerGroup runnerGroup = runnerGroups.get(0);
+        for (RunnerGroup group : runnerGroups) {
+            if (group.getTasks() < runnerGroup.getTasks()) {
+                runnerGroup = group;
+            }
+        }
+        runnerGroup.taskAdded();
+
+        TaskHandle taskHandle = new TaskHandle(taskId, runnerGroup.getSplitQueue(), utilizationSupplier, initialSplitConcurrency, splitConcurrencyAdjustFrequency, maxDriversPerTask);
 
         tasks.add(taskHandle);
         return taskHandle;
     }
 
+    private RunnerGroup getRunnerGroup(TaskHandle taskHandle)
+    {
+        for (RunnerGroup runnerGroup : runnerGroups) {
+            if (runnerGroup.getSplitQueue() == taskHandle.getSplitQueue()) {
+                return runnerGroup;
+            }
+        }
+        throw new IllegalArgumentException("Task does not belong to this task executor: " + taskHandle.getTaskId());
+    }
+
     public synchronized void resumeTask(TaskId taskId)
     {
         TaskHandle taskHandle = getTaskHandle(suspendedTasks, taskId);
@@ -323,7 +385,7 @@ public class TaskExecutor
             allSplits.removeAll(splits);
             intermediateSplits.removeAll(splits);
             blockedSplits.keySet().removeAll(splits);
-            waitingSplits.removeAll(splits);
+            taskHandle.getSplitQueue().removeAll(splits);
         }
     }
 
@@ -358,8 +420,9 @@ public class TaskExecutor
             allSplits.removeAll(splits);
             intermediateSplits.removeAll(splits);
             blockedSplits.keySet().removeAll(splits);
-            waitingSplits.removeAll(splits);
+            taskHandle.getSplitQueue().removeAll(splits);
         }
+        getRunnerGroup(taskHandle).taskRemoved();
 
         // call destroy outside of synchronized block as it is expensive and doesn't need a lock on the task executor
         for (PrioritizedSplitRunner split : splits) {
@@ -376,18 +439,24 @@ public class TaskExecutor
     public List<ListenableFuture<?>> enqueueSplits(TaskHandle taskHandle, boolean intermediate, List<? extends SplitRunner> taskSplits)
     {
         List<PrioritizedSplitRunner> splitsToDestroy = new ArrayList<>();
+        List<PrioritizedSplitRunner> prioritizedSplitRunners = new ArrayList<>(taskSplits.size());
         List<ListenableFuture<?>> finishedFutures = new ArrayList<>(taskSplits.size());
-        synchronized (this) {
-            for (SplitRunner taskSplit : taskSplits) {
-                PrioritizedSplitRunner prioritizedSplitRunner = new PrioritizedSplitRunner(
-                        taskHandle,
-                        taskSplit,
-                        ticker,
-                        globalCpuTimeMicros,
-                        globalScheduledTimeMicros,
-                        blockedQuantaWallTime,
-                        unblockedQuantaWallTime);
+        for (SplitRunner taskSplit : taskSplits) {
+            PrioritizedSplitRunner prioritizedSplitRunner = new PrioritizedSplitRunner(
+                    taskHandle,
+                    taskSplit,
+                    ticker,
+                    globalCpuTimeMicros,
+                    globalScheduledTimeMicros,
+                    blockedQuantaWallTime,
+                    unblockedQuantaWallTime);
+            prioritizedSplitRunners.add(prioritizedSplitRunner);
+            finishedFutures.add(prioritizedSplitRunner.getFinishedFuture());
+        }
 
+        // only the task is locked, so that tasks enqueueing splits concurrently do not contend with each other
+        synchronized (taskHandle) {
+            for (PrioritizedSplitRunner prioritizedSplitRunner : prioritizedSplitRunners) {
                 if (taskHandle.isDestroyed()) {
                     // If the handle is destroyed, we destroy the task splits to complete the future
                     splitsToDestroy.add(prioritizedSplitRunner);
@@ -403,13 +472,14 @@ public class TaskExecutor
                     taskHandle.enqueueSplit(prioritizedSplitRunner);
                     // if task is under the limit for guaranteed splits, start one
                     scheduleTaskIfNecessary(taskHandle);
-                    // if globally we have more resources, start more
-                    addNewEntrants();
                 }
-
-                finishedFutures.add(prioritizedSplitRunner.getFinishedFuture());
             }
         }
+
+        if (!intermediate) {
+            // if globally we have more resources, start more
+            addNewEntrants();
+        }
         for (PrioritizedSplitRunner split : splitsToDestroy) {
             split.destroy();
         }
@@ -419,52 +489,53 @@ public class TaskExecutor
     private void splitFinished(PrioritizedSplitRunner split)
     {
         completedSplitsPerLevel.incrementAndGet(split.getPriority().getLevel());
-        synchronized (this) {
-            allSplits.remove(split);
+        allSplits.remove(split);
 
-            long wallNanos = System.nanoTime() - split.getCreatedNanos();
-            splitWallTime.add(Duration.succinctNanos(wallNanos));
+        long wallNanos = System.nanoTime() - split.getCreatedNanos();
+        splitWallTime.add(Duration.succinctNanos(wallNanos));
 
-            if (intermediateSplits.remove(split)) {
-                intermediateSplitWallTime.add(wallNanos);
-                intermediateSplitScheduledTime.add(split.getScheduledNanos());
-                intermediateSplitWaitTime.add(split.getWaitNanos());
-                intermediateSplitCpuTime.add(split.getCpuTimeNanos());
-            }
-            else {
-                leafSplitWallTime.add(wallNanos);
-                leafSplitScheduledTime.add(split.getScheduledNanos());
-                leafSplitWaitTime.add(split.getWaitNanos());
-                leafSplitCpuTime.add(split.getCpuTimeNanos());
-            }
+        if (intermediateSplits.remove(split)) {
+            intermediateSplitWallTime.add(wallNanos);
+            intermediateSplitScheduledTime.add(split.getScheduledNanos());
+            intermediateSplitWaitTime.add(split.getWaitNanos());
+            intermediateSplitCpuTime.add(split.getCpuTimeNanos());
+        }
+        else {
+            leafSplitWallTime.add(wallNanos);
+            leafSplitScheduledTime.add(split.getScheduledNanos());
+            leafSplitWaitTime.add(split.getWaitNanos());
+            leafSplitCpuTime.add(split.getCpuTimeNanos());
+        }
 
-            TaskHandle taskHandle = split.getTaskHandle();
-            taskHandle.splitComplete(split);
+        TaskHandle taskHandle = split.getTaskHandle();
+        taskHandle.splitComplete(split);
 
-            scheduleTaskIfNecessary(taskHandle);
+        scheduleTaskIfNecessary(taskHandle);
 
-            addNewEntrants();
-        }
-        // call destroy outside of synchronized block as it is expensive and doesn't need a lock on the task executor
+        addNewEntrants();
+
+        // call destroy last as it is expensive
         split.destroy();
     }
 
-    private synchronized void scheduleTaskIfNecessary(TaskHandle taskHandle)
+    private void scheduleTaskIfNecessary(TaskHandle taskHandle)
     {
         // if task has less than the minimum guaranteed splits running,
         // immediately schedule a new split for this task.  This assures
         // that a task gets its fair amount of consideration (you have to
         // have splits to be considered for running on a thread).
-        if (taskHandle.getRunningLeafSplits() < min(guaranteedNumberOfDriversPerTask, taskHandle.getMaxDriversPerTask().orElse(Integer.MAX_VALUE))) {
-            PrioritizedSplitRunner split = taskHandle.pollNextSplit();
-            if (split != null) {
-                startSplit(split);
-                splitQueuedTime.add(Duration.nanosSince(split.getCreatedNanos()));
+        synchronized (taskHandle) {
+            if (taskHandle.getRunningLeafSplits() < min(guaranteedNumberOfDriversPerTask, taskHandle.getMaxDriversPerTask().orElse(Integer.MAX_VALUE))) {
+                PrioritizedSplitRunner split = taskHandle.pollNextSplit();
+                if (split != null) {
+                    startSplit(split);
+                    splitQueuedTime.add(Duration.nanosSince(split.getCreatedNanos()));
+                }
             }
         }
     }
 
-    private synchronized void addNewEntrants()
+    private void addNewEntrants()
     {
         // Ignore intermediate splits when checking minimumNumberOfDrivers.
         // Otherwise with (for example) minimumNumberOfDrivers = 100, 200 intermediate splits
@@ -472,28 +543,43 @@ public class TaskExecutor
         // simultaneously running splits may vary. If leaf splits start first, there will
         // be 300 running splits. If intermediate splits start first, there will be only
         // 200 running splits.
-        int running = allSplits.size() - intermediateSplits.size();
-        for (int i = 0; i < minimumNumberOfDrivers - running; i++) {
-            PrioritizedSplitRunner split = pollNextSplitWorker();
-            if (split == null) {
-                break;
-            }
+        // A busy executor is detected without the lock: callers finish or enqueue their split
+        // before calling this method, so a slot that frees up is always seen by a caller
+        // that runs after the split it could be used for was enqueued.
+        if (getRunningLeafSplitCount() >= minimumNumberOfDrivers) {
+            return;
+        }
+
+        synchronized (this) {
+            int running = getRunningLeafSplitCount();
+            for (int i = 0; i < minimumNumberOfDrivers - running; i++) {
+                PrioritizedSplitRunner split = pollNextSplitWorker();
+                if (split == null) {
+                    break;
+                }
 
-            splitQueuedTime.add(Duration.nanosSince(split.getCreatedNanos()));
-            startSplit(split);
+                splitQueuedTime.add(Duration.nanosSince(split.getCreatedNanos()));
+                startSplit(split);
+            }
         }
     }
 
-    private synchronized void startIntermediateSplit(PrioritizedSplitRunner split)
+    private int getRunningLeafSplitCount()
     {
-        startSplit(split);
+        return allSplits.size() - intermediateSplits.size();
+    }
+
+    private void startIntermediateSplit(PrioritizedSplitRunner split)
+    {
+        // register the split as intermediate before it can be picked up (and finished) by a runner
         intermediateSplits.add(split);
+        startSplit(split);
     }
 
-    private synchronized void startSplit(PrioritizedSplitRunner split)
+    private void startSplit(PrioritizedSplitRunner split)
     {
         allSplits.add(split);
-        waitingSplits.offer(split);
+        split.getTaskHandle().getSplitQueue().offer(split);
     }
 
     private synchronized PrioritizedSplitRunner pollNextSplitWorker()
@@ -525,6 +611,12 @@ public class TaskExecutor
             implements Runnable
     {
         private final long runnerId = NEXT_RUNNER_ID.getAndIncrement();
+        private final RunnerGroup runnerGroup;
+
+        public TaskRunner(RunnerGroup runnerGroup)
+        {
+            this.runnerGroup = requireNonNull(runnerGroup, "runnerGroup is null");
+        }
 
         @Override
         public void run()
@@ -534,7 +626,7 @@ public class TaskExecutor
                     // select next worker
                     final PrioritizedSplitRunner split;
                     try {
-                        split = waitingSplits.take();
+                        split = takeSplit();
                     }
                     catch (InterruptedException e) {
                         Thread.currentThread().interrupt();
@@ -546,6 +638,7 @@ public class TaskExecutor
                         RunningSplitInfo splitInfo = new RunningSplitInfo(ticker.read(), threadId, Thread.currentThread());
                         runningSplitInfos.add(splitInfo);
                         runningSplits.add(split);
+                        runnerGroup.quantaStarted();
 
                         ListenableFuture<?> blocked;
                         try {
@@ -554,6 +647,7 @@ public class TaskExecutor
                         finally {
                             runningSplitInfos.remove(splitInfo);
                             runningSplits.remove(split);
+                            runnerGroup.quantaFinished();
                         }
 
                         if (split.isFinished()) {
@@ -562,7 +656,7 @@ public class TaskExecutor
                         }
                         else {
                             if (blocked.isDone()) {
-                                waitingSplits.offer(split);
+                                split.getTaskHandle().getSplitQueue().offer(split);
                             }
                             else {
                                 blockedSplits.put(split, blocked);
@@ -571,7 +665,7 @@ public class TaskExecutor
                                     // reset the level priority to prevent previously-blocked splits from starving existing splits
                                     split.resetLevelPriority();
                                     if (!split.getTaskHandle().isSuspended()) {
-                                        waitingSplits.offer(split);
+                                        split.getTaskHandle().getSplitQueue().offer(split);
                                     }
                                 }, executor);
                             }
@@ -595,10 +689,53 @@ public class TaskExecutor
             finally {
                 // unless we have been closed, we need to replace this thread
                 if (!closed) {
-                    addRunnerThread();
+                    addRunnerThread(runnerGroup);
                 }
             }
         }
+
+        private PrioritizedSplitRunner takeSplit()
+                throws InterruptedException
+        {
+            MultilevelSplitQueue localSplits = runnerGroup.getSplitQueue();
+            if (!workStealingEnabled || runnerGroups.size() == 1) {
+                return localSplits.take();
+            }
+
+            while (true) {
+                PrioritizedSplitRunner split = localSplits.poll(0, NANOSECONDS);
+                if (split == null) {
+                    split = stealSplit();
+                }
+                if (split == null) {
+                    split = localSplits.poll(WORK_STEALING_INTERVAL_NANOS, NANOSECONDS);
+                }
+                if (split != null) {
+                    return split;
+                }
+            }
+        }
+
+        private PrioritizedSplitRunner stealSplit()
+                throws InterruptedException
+        {
+            // take from the group with the most waiting splits, the split goes back to the queue of its own group when it yields
+            RunnerGroup victim = null;
+            for (RunnerGroup group : runnerGroups) {
+                if (group != runnerGroup && group.getWaitingSplits() > 0 && (victim == null || group.getWaitingSplits() > victim.getWaitingSplits())) {
+                    victim = group;
+                }
+            }
+            if (victim == null) {
+                return null;
+            }
+
+            PrioritizedSplitRunner split = victim.getSplitQueue().poll(0, NANOSECONDS);
+            if (split != null) {
+                runnerGroup.splitStolen();
+            }
+            return split;
+        }
     }
 
     //
@@ -624,13 +761,13 @@ public class TaskExecutor
     }
 
     @Managed
-    public synchronized int getTotalSplits()
+    public int getTotalSplits()
     {
         return allSplits.size();
     }
 
     @Managed
-    public synchronized int getIntermediateSplits()
+    public int getIntermediateSplits()
     {
         return intermediateSplits.size();
     }
@@ -638,7 +775,22 @@ public class TaskExecutor
     @Managed
     public int getWaitingSplits()
     {
-        return waitingSplits.size();
+        int waitingSplits = 0;
+        for (RunnerGroup runnerGroup : runnerGroups) {
+            waitingSplits += runnerGroup.getWaitingSplits();
+        }
+        return waitingSplits;
+    }
+
+    @Managed
+    public int getRunnerGroupCount()
+    {
+        return runnerGroups.size();
+    }
+
+    public List<RunnerGroup> getRunnerGroups()
+    {
+        return runnerGroups;
     }
 
     @Managed
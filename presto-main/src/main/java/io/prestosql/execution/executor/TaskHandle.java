@@ -122,6 +122,14 @@ public class TaskHandle
         return maxDriversPerTask;
     }
 
+    /**
+     * The queue the splits of this task wait in for a runner thread.
+     */
+    MultilevelSplitQueue getSplitQueue()
+    {
+        return splitQueue;
+    }
+
     public synchronized List<PrioritizedSplitRunner> suspend()
     {
         checkState(!destroyed, "Cannot suspend task as already destroyed");
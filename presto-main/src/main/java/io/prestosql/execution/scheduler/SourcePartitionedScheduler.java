@@ -29,6 +29,7 @@ import io.prestosql.execution.RemoteTask;
 import io.prestosql.execution.SqlStageExecution;
 import io.prestosql.execution.scheduler.FixedSourcePartitionedScheduler.BucketedSplitPlacementPolicy;
 import io.prestosql.heuristicindex.HeuristicIndexerManager;
+import io.prestosql.heuristicindex.IndexLookupStats;
 import io.prestosql.heuristicindex.SplitFiltering;
 import io.prestosql.metadata.InternalNode;
 import io.prestosql.metadata.Split;
@@ -58,9 +59,12 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.util.concurrent.Futures.nonCancellationPropagating;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.addSuccessCallback;
 import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.airlift.concurrent.MoreFutures.whenAnyComplete;
+import static io.prestosql.SystemSessionProperties.getHeuristicIndexFilterBatchLookupTimeout;
+import static io.prestosql.SystemSessionProperties.isHeuristicIndexFilterBatchLookupEnabled;
 import static io.prestosql.SystemSessionProperties.isHeuristicIndexFilterEnabled;
 import static io.prestosql.execution.scheduler.ScheduleResult.BlockedReason.MIXED_SPLIT_QUEUES_FULL_AND_WAITING_FOR_SOURCE;
 import static io.prestosql.execution.scheduler.ScheduleResult.BlockedReason.NO_ACTIVE_DRIVER_GROUP;
@@ -254,6 +258,7 @@ public class SourcePartitionedScheduler
         boolean anyBlockedOnNextSplitBatch = false;
         boolean anyNotBlocked = false;
         boolean applyFilter = isHeuristicIndexFilterEnabled(session) && SplitFiltering.isSplitFilterApplicable(stage);
+        boolean batchLookup = applyFilter && isHeuristicIndexFilterBatchLookupEnabled(session);
         boolean initialMarker = false;
 
         for (Entry<Lifespan, ScheduleGroup> entry : scheduleGroups.entrySet()) {
@@ -271,6 +276,11 @@ public class SourcePartitionedScheduler
 
                     long start = System.nanoTime();
                     addSuccessCallback(scheduleGroup.nextSplitBatchFuture, () -> stage.recordGetSplitTime(start));
+
+                    if (batchLookup) {
+                        // look up the indices of the whole batch ahead of scheduling, the batch is filtered once they are loaded
+                        scheduleGroup.nextSplitBatchFuture = Futures.transformAsync(scheduleGroup.nextSplitBatchFuture, this::filterSplitBatch, directExecutor());
+                    }
                 }
 
                 if (scheduleGroup.nextSplitBatchFuture.isDone()) {
@@ -288,8 +298,14 @@ public class SourcePartitionedScheduler
                         }
                     }
 
-                    List<Split> filteredSplit = applyFilter ? SplitFiltering.getFilteredSplit(pair.getFirst(),
-                            SplitFiltering.getFullyQualifiedName(stage), pair.getSecond(), nextSplits, heuristicIndexerManager) : nextSplits.getSplits();
+                    List<Split> filteredSplit = nextSplits.getSplits();
+                    if (applyFilter && !batchLookup) {
+                        IndexLookupStats lookupStats = new IndexLookupStats();
+                        long start = System.nanoTime();
+                        filteredSplit = SplitFiltering.getFilteredSplit(pair.getFirst(),
+                                SplitFiltering.getFullyQualifiedName(stage), pair.getSecond(), nextSplits, heuristicIndexerManager, lookupStats);
+                        stage.recordIndexLookup(start, lookupStats);
+                    }
 
                     //In case of ORC small size files/splits are grouped
                     List<Split> groupedSmallFilesList = splitSource.groupSmallSplits(filteredSplit, lifespan, maxSplitGroup);
@@ -584,6 +600,25 @@ public class SourcePartitionedScheduler
         return newTasks;
     }
 
+    private ListenableFuture<SplitBatch> filterSplitBatch(SplitBatch nextSplits)
+    {
+        List<Split> batchSplits = nextSplits.getSplits();
+        // Don't apply filter to MarkerSplit
+        if (batchSplits.isEmpty() || (batchSplits.size() == 1 && batchSplits.get(0).getConnectorSplit() instanceof MarkerSplit)) {
+            return Futures.immediateFuture(nextSplits);
+        }
+
+        Pair<Optional<RowExpression>, Map<Symbol, ColumnHandle>> pair = SplitFiltering.getExpression(stage);
+        IndexLookupStats lookupStats = new IndexLookupStats();
+        long start = System.nanoTime();
+        ListenableFuture<List<Split>> filteredSplits = SplitFiltering.getFilteredSplitAsync(pair.getFirst(), SplitFiltering.getFullyQualifiedName(stage), pair.getSecond(),
+                nextSplits, heuristicIndexerManager, getHeuristicIndexFilterBatchLookupTimeout(session), lookupStats);
+        return Futures.transform(filteredSplits, splits -> {
+            stage.recordIndexLookup(start, lookupStats);
+            return new SplitBatch(splits, nextSplits.isLastBatch());
+        }, directExecutor());
+    }
+
     private static class ScheduleGroup
     {
         public final ConnectorPartitionHandle partitionHandle;
@@ -17,7 +17,6 @@ package io.prestosql.heuristicindex;
 import com.google.inject.Inject;
 import io.airlift.log.Logger;
 import io.hetu.core.common.util.SecurePathWhiteList;
-import io.prestosql.execution.QueryInfo;
 import io.prestosql.filesystem.FileSystemClientManager;
 import io.prestosql.metastore.HetuMetaStoreManager;
 import io.prestosql.spi.HetuConstant;
@@ -195,19 +194,30 @@ public class HeuristicIndexerManager
         }
     }
 
-    public void cleanUpIndexRecord(QueryInfo queryInfo)
+    public void cleanUpIndexRecord(String indexName)
     {
         try {
-            String query = queryInfo.getQuery();
-            LOG.debug("Clean up index record after this query failed: %s", query);
-            String indexName = query.split(" ")[2];
+            LOG.debug("Clean up record of index %s after its creation failed", indexName);
             IndexRecord record = indexClient.lookUpIndexRecord(indexName);
             if (record != null && record.isInProgressRecord()) {
                 indexClient.deleteIndex(indexName, Collections.emptyList());
             }
         }
         catch (Exception e) {
-            LOG.debug("Failed to clean index record for : %s", queryInfo.getQuery());
+            LOG.debug("Failed to clean index record for : %s", indexName);
+        }
+    }
+
+    public void preloadCreatedIndex(String indexName)
+    {
+        try {
+            IndexRecord record = indexClient.lookUpIndexRecord(indexName);
+            if (record != null && !record.isInProgressRecord()) {
+                getIndexCache().loadCreatedIndexToCache(record);
+            }
+        }
+        catch (Exception e) {
+            LOG.debug("Failed to load created index into cache for : %s", indexName);
         }
     }
 }
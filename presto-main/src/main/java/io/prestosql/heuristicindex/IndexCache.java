@@ -19,6 +19,10 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.airlift.log.Logger;
 import io.airlift.units.Duration;
@@ -40,17 +44,23 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static com.google.common.util.concurrent.Futures.nonCancellationPropagating;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.prestosql.spi.HetuConstant.KILOBYTE;
 import static io.prestosql.spi.heuristicindex.IndexCacheKey.LAST_MODIFIED_TIME_PLACE_HOLDER;
 
@@ -61,10 +71,13 @@ public class IndexCache
     protected static final List<String> INDEX_TYPES = ImmutableList.of("BLOOM", "MINMAX");
 
     private static ScheduledExecutorService executor;
+    private static ListeningScheduledExecutorService listeningExecutor;
 
     private Long loadDelay; // in millisecond
     private LoadingCache<IndexCacheKey, List<IndexMetadata>> cache;
     private List<IndexRecord> indexRecords;
+    // index name -> last modified time of the indices already loaded when they were created
+    private final Map<String, Long> preloadedIndices = new ConcurrentHashMap<>();
 
     public IndexCache(CacheLoader loader, IndexClient indexClient)
     {
@@ -85,6 +98,7 @@ public class IndexCache
             int numThreads = Math.min(Runtime.getRuntime().availableProcessors(), PropertyService.getLongProperty(HetuConstant.FILTER_CACHE_LOADING_THREADS).intValue());
             if (executor == null) {
                 executor = Executors.newScheduledThreadPool(numThreads, threadFactory);
+                listeningExecutor = MoreExecutors.listeningDecorator(executor);
             }
             CacheBuilder<IndexCacheKey, List<IndexMetadata>> cacheBuilder = CacheBuilder.newBuilder()
                     .removalListener(e -> {
@@ -181,6 +195,10 @@ public class IndexCache
                     if (oldIndexMap.get(newIndexRecord.name) != newIndexRecord.lastModifiedTime) {
                         // update operation
                         updated = true;
+                        if (preloadedIndices.remove(newIndexRecord.name, newIndexRecord.lastModifiedTime)) {
+                            // already reloaded when the index was updated
+                            continue;
+                        }
                         evictFromCache(newIndexRecord);
                         if (newIndexRecord.isAutoloadEnabled()) {
                             LOG.debug("Index %s was updated: reloading to cache...", newIndexRecord.name);
@@ -192,6 +210,10 @@ public class IndexCache
                 else {
                     // create operation
                     created = true;
+                    if (preloadedIndices.remove(newIndexRecord.name, newIndexRecord.lastModifiedTime)) {
+                        // already loaded when the index was created
+                        continue;
+                    }
                     if (newIndexRecord.isAutoloadEnabled()) {
                         LOG.debug("New index %s was created: loading to cache...", newIndexRecord.name);
                         Duration timeElapsed = loadIndexToCache(newIndexRecord);
@@ -215,6 +237,22 @@ public class IndexCache
         return (dropped || created || updated);
     }
 
+    /**
+     * Loads the index record of a newly created index into cache in the background if autoload is enabled,
+     * instead of waiting for the next refresh of the index records.
+     */
+    public void loadCreatedIndexToCache(IndexRecord record)
+    {
+        if (cache == null || !record.isAutoloadEnabled()) {
+            return;
+        }
+        // the next refresh must not load the index again
+        preloadedIndices.put(record.name, record.lastModifiedTime);
+        evictFromCache(record);
+        submitIndexLoading(record);
+        LOG.debug("Index %s was created: loading to cache...", record.name);
+    }
+
     /**
      * Loads the provided index record into cache.
      * This method blocks until the loading is complete.
@@ -222,6 +260,20 @@ public class IndexCache
     public Duration loadIndexToCache(IndexRecord record)
     {
         long before = System.currentTimeMillis();
+        Future<?> future = submitIndexLoading(record);
+        // block until loading is complete
+        try {
+            future.get();
+        }
+        catch (InterruptedException | ExecutionException e) {
+            LOG.debug("Failed to load into cache: " + record.name, e);
+        }
+        long msElapsed = System.currentTimeMillis() - before;
+        return new Duration(msElapsed, TimeUnit.MILLISECONDS);
+    }
+
+    private Future<?> submitIndexLoading(IndexRecord record)
+    {
         String table = record.qualifiedTable;
         String column = String.join(",", record.columns);
         String type = record.indexType;
@@ -230,7 +282,7 @@ public class IndexCache
         String filterKeyPath = table + "/" + column + "/" + type;
         IndexCacheKey filterKey = new IndexCacheKey(filterKeyPath, LAST_MODIFIED_TIME_PLACE_HOLDER, record, level);
         filterKey.setNoCloseFlag(true);
-        Future<?> future = executor.submit(() -> {
+        return executor.submit(() -> {
             List<IndexMetadata> allLoaded;
             try {
                 // Load index for the whole table with dummy last modified time first
@@ -279,15 +331,6 @@ public class IndexCache
                 LOG.debug("Failed to load into cache: " + filterKey, e);
             }
         });
-        // block until loading is complete
-        try {
-            future.get();
-        }
-        catch (InterruptedException | ExecutionException e) {
-            LOG.debug("Failed to load into cache: " + filterKey, e);
-        }
-        long msElapsed = System.currentTimeMillis() - before;
-        return new Duration(msElapsed, TimeUnit.MILLISECONDS);
     }
 
     public List<IndexMetadata> getIndices(String table, String column, Split split)
@@ -296,6 +339,11 @@ public class IndexCache
     }
 
     public List<IndexMetadata> getIndices(String table, String column, Split split, Map<String, IndexRecord> indexRecordKeyToRecordMap)
+    {
+        return getIndices(table, column, split, indexRecordKeyToRecordMap, new IndexLookupStats());
+    }
+
+    public List<IndexMetadata> getIndices(String table, String column, Split split, Map<String, IndexRecord> indexRecordKeyToRecordMap, IndexLookupStats lookupStats)
     {
         if (cache == null) {
             return Collections.emptyList();
@@ -319,22 +367,11 @@ public class IndexCache
             indexOfThisType = cache.getIfPresent(filterKey);
 
             if (indexOfThisType == null) {
-                executor.schedule(() -> {
-                    try {
-                        cache.get(filterKey);
-                        LOG.debug("Loaded index for %s.", filterKey);
-                    }
-                    catch (ExecutionException e) {
-                        if (e.getCause() instanceof IndexNotCreatedException) {
-                            // Do nothing. Index not registered.
-                        }
-                        else if (LOG.isDebugEnabled()) {
-                            LOG.debug(e, "Unable to load index for %s. ", filterKey);
-                        }
-                    }
-                }, loadDelay, TimeUnit.MILLISECONDS);
+                lookupStats.recordMiss();
+                executor.schedule(() -> loadIndex(filterKey), loadDelay, TimeUnit.MILLISECONDS);
             }
             else {
+                lookupStats.recordHit();
                 // if key was present in cache, we still need to check if the index is validate based on the lastModifiedTime
                 // the index is only valid if the lastModifiedTime of the split matches the index's lastModifiedTime
                 for (IndexMetadata index : indexOfThisType) {
@@ -351,7 +388,58 @@ public class IndexCache
         return indices;
     }
 
+    /**
+     * Loads the split level indices of the splits that are missing from the cache, in parallel and without waiting
+     * for the loading delay, so that they can be used to filter the splits they are loaded for.
+     * The indices that are still loading when the timeout elapses keep loading in the background.
+     *
+     * @return a future completed once the indices are loaded or failed to load, or the timeout elapsed
+     */
+    public ListenableFuture<?> preloadIndices(String table, Set<String> columns, List<Split> splits, Map<String, IndexRecord> indexRecordKeyToRecordMap, Duration timeout)
+    {
+        if (cache == null) {
+            return immediateFuture(null);
+        }
+
+        Set<IndexCacheKey> keys = new HashSet<>();
+        List<ListenableFuture<?>> loads = new ArrayList<>();
+        for (Split split : splits) {
+            URI splitUri = URI.create(URIUtil.encodePath(split.getConnectorSplit().getFilePath()));
+            long lastModifiedTime = split.getConnectorSplit().getLastModifiedTime();
+            for (String column : columns) {
+                for (String indexType : INDEX_TYPES) {
+                    String indexRecordKey = table + "/" + column + "/" + indexType;
+                    IndexRecord record = indexRecordKeyToRecordMap.get(indexRecordKey);
+                    if (record == null) {
+                        // no index of this type on the column
+                        continue;
+                    }
+                    IndexCacheKey filterKey = new IndexCacheKey(indexRecordKey + splitUri.getRawPath(), lastModifiedTime, record);
+                    if (keys.add(filterKey) && cache.getIfPresent(filterKey) == null) {
+                        loads.add(listeningExecutor.submit(() -> loadIndex(filterKey)));
+                    }
+                }
+            }
+        }
+        if (loads.isEmpty()) {
+            return immediateFuture(null);
+        }
+
+        // the loads must not be cancelled by the timeout, the indices are still useful for the next splits
+        ListenableFuture<?> allLoaded = nonCancellationPropagating(Futures.whenAllComplete(loads).call(() -> null, directExecutor()));
+        return Futures.catching(
+                Futures.withTimeout(allLoaded, timeout.toMillis(), TimeUnit.MILLISECONDS, listeningExecutor),
+                TimeoutException.class,
+                e -> null,
+                directExecutor());
+    }
+
     public List<IndexMetadata> getIndices(String table, String column, String indexType, Set<String> partitions, long lastModifiedTime, Map<String, IndexRecord> indexRecordKeyToRecordMap)
+    {
+        return getIndices(table, column, indexType, partitions, lastModifiedTime, indexRecordKeyToRecordMap, new IndexLookupStats());
+    }
+
+    public List<IndexMetadata> getIndices(String table, String column, String indexType, Set<String> partitions, long lastModifiedTime, Map<String, IndexRecord> indexRecordKeyToRecordMap, IndexLookupStats lookupStats)
     {
         if (cache == null) {
             return Collections.emptyList();
@@ -363,7 +451,7 @@ public class IndexCache
                 String filterKeyPath = table + "/" + column + "/" + indexType + "/" + partition;
                 IndexRecord record = indexRecordKeyToRecordMap.get(filterKeyPath);
                 IndexCacheKey filterKey = new IndexCacheKey(filterKeyPath, lastModifiedTime, record, CreateIndexMetadata.Level.PARTITION);
-                List<IndexMetadata> result = loadIndex(filterKey);
+                List<IndexMetadata> result = getIndex(filterKey, lookupStats);
                 if (result != null) {
                     indices.addAll(result);
                 }
@@ -378,7 +466,7 @@ public class IndexCache
         String filterKeyPath = table + "/" + column + "/" + indexType;
         IndexRecord record = indexRecordKeyToRecordMap.get(filterKeyPath);
         IndexCacheKey filterKey = new IndexCacheKey(filterKeyPath, lastModifiedTime, record, CreateIndexMetadata.Level.TABLE);
-        List<IndexMetadata> result = loadIndex(filterKey);
+        List<IndexMetadata> result = getIndex(filterKey, lookupStats);
         if (result != null) {
             indices.addAll(result);
         }
@@ -386,7 +474,7 @@ public class IndexCache
         return indices;
     }
 
-    private List<IndexMetadata> loadIndex(IndexCacheKey cacheKey)
+    private List<IndexMetadata> getIndex(IndexCacheKey cacheKey, IndexLookupStats lookupStats)
     {
         //it is possible to return multiple SplitIndexMetadata due to the range mismatch, especially in the case
         //where the split has a wider range than the original splits used for index creation
@@ -397,24 +485,31 @@ public class IndexCache
         partitionIndexList = cache.getIfPresent(cacheKey);
 
         if (partitionIndexList == null) {
-            executor.schedule(() -> {
-                try {
-                    cache.get(cacheKey);
-                    LOG.debug("Loaded index for %s.", cacheKey);
-                }
-                catch (ExecutionException e) {
-                    if (e.getCause() instanceof IndexNotCreatedException) {
-                        // Do nothing. Index not registered.
-                    }
-                    else if (LOG.isDebugEnabled()) {
-                        LOG.debug(e, "Unable to load index for %s. ", cacheKey);
-                    }
-                }
-            }, loadDelay, TimeUnit.MILLISECONDS);
+            lookupStats.recordMiss();
+            executor.schedule(() -> loadIndex(cacheKey), loadDelay, TimeUnit.MILLISECONDS);
+        }
+        else {
+            lookupStats.recordHit();
         }
         return partitionIndexList;
     }
 
+    private void loadIndex(IndexCacheKey cacheKey)
+    {
+        try {
+            cache.get(cacheKey);
+            LOG.debug("Loaded index for %s.", cacheKey);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IndexNotCreatedException) {
+                // Do nothing. Index not registered.
+            }
+            else if (LOG.isDebugEnabled()) {
+                LOG.debug(e, "Unable to load index for %s. ", cacheKey);
+            }
+        }
+    }
+
     @VisibleForTesting
     protected long getCacheSize()
     {
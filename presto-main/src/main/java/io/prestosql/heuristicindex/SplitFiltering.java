@@ -17,6 +17,8 @@ package io.prestosql.heuristicindex;
 import com.google.common.cache.CacheLoader;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.log.Logger;
 import io.airlift.units.Duration;
 import io.prestosql.execution.SqlStageExecution;
@@ -69,6 +71,8 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.prestosql.spi.function.OperatorType.IS_DISTINCT_FROM;
 import static io.prestosql.spi.heuristicindex.SerializationUtils.deserializeStripeSymbol;
 
@@ -138,14 +142,43 @@ public class SplitFiltering
 
     public static List<Split> getFilteredSplit(Optional<RowExpression> expression, Optional<String> tableName, Map<Symbol, ColumnHandle> assignments,
             SplitSource.SplitBatch nextSplits, HeuristicIndexerManager heuristicIndexerManager)
+    {
+        return getFilteredSplit(expression, tableName, assignments, nextSplits, heuristicIndexerManager, new IndexLookupStats());
+    }
+
+    public static List<Split> getFilteredSplit(Optional<RowExpression> expression, Optional<String> tableName, Map<Symbol, ColumnHandle> assignments,
+            SplitSource.SplitBatch nextSplits, HeuristicIndexerManager heuristicIndexerManager, IndexLookupStats lookupStats)
     {
         if (!expression.isPresent() || !tableName.isPresent()) {
             return nextSplits.getSplits();
         }
 
-        List<Split> allSplits = nextSplits.getSplits();
-        String fullQualifiedTableName = tableName.get();
-        long initialSplitsSize = allSplits.size();
+        List<IndexRecord> indexRecords;
+        try {
+            indexRecords = heuristicIndexerManager.getIndexClient().getAllIndexRecords();
+        }
+        catch (IOException e) {
+            LOG.debug("Filtering can't be done because not able to read index records", e);
+            return nextSplits.getSplits();
+        }
+        Set<String> referencedColumns = new HashSet<>();
+        getAllColumns(expression.get(), referencedColumns, assignments);
+        return filterSplits(expression.get(), nextSplits.getSplits(), tableName.get(), referencedColumns, indexRecords, heuristicIndexerManager, lookupStats);
+    }
+
+    /**
+     * Filter a batch of splits like {@link #getFilteredSplit}, but the split indices missing from the cache are first
+     * loaded in parallel for the whole batch (see {@link IndexCache#preloadIndices}), so that they are used to filter
+     * this batch instead of being loaded in the background for the next queries.
+     *
+     * @param timeout maximum time to wait for the indices to be loaded, the splits without loaded indices are kept
+     */
+    public static ListenableFuture<List<Split>> getFilteredSplitAsync(Optional<RowExpression> expression, Optional<String> tableName, Map<Symbol, ColumnHandle> assignments,
+            SplitSource.SplitBatch nextSplits, HeuristicIndexerManager heuristicIndexerManager, Duration timeout, IndexLookupStats lookupStats)
+    {
+        if (!expression.isPresent() || !tableName.isPresent()) {
+            return immediateFuture(nextSplits.getSplits());
+        }
 
         List<IndexRecord> indexRecords;
         try {
@@ -153,10 +186,34 @@ public class SplitFiltering
         }
         catch (IOException e) {
             LOG.debug("Filtering can't be done because not able to read index records", e);
-            return allSplits;
+            return immediateFuture(nextSplits.getSplits());
         }
         Set<String> referencedColumns = new HashSet<>();
         getAllColumns(expression.get(), referencedColumns, assignments);
+
+        Map<String, IndexRecord> splitIndexRecords = new HashMap<>();
+        for (IndexRecord indexRecord : indexRecords) {
+            if (indexRecord.qualifiedTable.equalsIgnoreCase(tableName.get()) && IndexCache.INDEX_TYPES.contains(indexRecord.indexType)) {
+                for (String column : indexRecord.columns) {
+                    if (referencedColumns.contains(column)) {
+                        splitIndexRecords.put(indexRecord.qualifiedTable + "/" + column + "/" + indexRecord.indexType, indexRecord);
+                    }
+                }
+            }
+        }
+
+        ListenableFuture<?> preloaded = getCache(heuristicIndexerManager.getIndexClient())
+                .preloadIndices(tableName.get(), referencedColumns, nextSplits.getSplits(), splitIndexRecords, timeout);
+        return Futures.transform(
+                preloaded,
+                ignored -> filterSplits(expression.get(), nextSplits.getSplits(), tableName.get(), referencedColumns, indexRecords, heuristicIndexerManager, lookupStats),
+                directExecutor());
+    }
+
+    private static List<Split> filterSplits(RowExpression expression, List<Split> allSplits, String fullQualifiedTableName, Set<String> referencedColumns,
+            List<IndexRecord> indexRecords, HeuristicIndexerManager heuristicIndexerManager, IndexLookupStats lookupStats)
+    {
+        long initialSplitsSize = allSplits.size();
         Map<String, IndexRecord> forwardIndexRecords = new HashMap<>();
         Map<String, IndexRecord> invertedIndexRecords = new HashMap<>();
         for (IndexRecord indexRecord : indexRecords) {
@@ -180,15 +237,15 @@ public class SplitFiltering
             return allSplits;
         }
         else if (!forwardIndexRecords.isEmpty() && invertedIndexRecords.isEmpty()) {
-            splitsToReturn = filterUsingInvertedIndex(expression.get(), allSplits, fullQualifiedTableName, referencedColumns, forwardIndexRecords, heuristicIndexerManager);
+            splitsToReturn = filterUsingInvertedIndex(expression, allSplits, fullQualifiedTableName, referencedColumns, forwardIndexRecords, heuristicIndexerManager, lookupStats);
         }
         else if (!invertedIndexRecords.isEmpty() && forwardIndexRecords.isEmpty()) {
-            splitsToReturn = filterUsingForwardIndex(expression.get(), allSplits, fullQualifiedTableName, referencedColumns, invertedIndexRecords, heuristicIndexerManager);
+            splitsToReturn = filterUsingForwardIndex(expression, allSplits, fullQualifiedTableName, referencedColumns, invertedIndexRecords, heuristicIndexerManager, lookupStats);
         }
         else {
             // filter using both indexes and return the smallest set of splits.
-            List<Split> splitsToReturn1 = filterUsingInvertedIndex(expression.get(), allSplits, fullQualifiedTableName, referencedColumns, forwardIndexRecords, heuristicIndexerManager);
-            List<Split> splitsToReturn2 = filterUsingForwardIndex(expression.get(), allSplits, fullQualifiedTableName, referencedColumns, invertedIndexRecords, heuristicIndexerManager);
+            List<Split> splitsToReturn1 = filterUsingInvertedIndex(expression, allSplits, fullQualifiedTableName, referencedColumns, forwardIndexRecords, heuristicIndexerManager, lookupStats);
+            List<Split> splitsToReturn2 = filterUsingForwardIndex(expression, allSplits, fullQualifiedTableName, referencedColumns, invertedIndexRecords, heuristicIndexerManager, lookupStats);
             splitsToReturn = splitsToReturn1.size() < splitsToReturn2.size() ? splitsToReturn1 : splitsToReturn2;
         }
 
@@ -200,14 +257,14 @@ public class SplitFiltering
         return splitsToReturn;
     }
 
-    private static List<Split> filterUsingForwardIndex(RowExpression expression, List<Split> inputSplits, String fullQualifiedTableName, Set<String> referencedColumns, Map<String, IndexRecord> indexRecordKeyToRecordMap, HeuristicIndexerManager indexerManager)
+    private static List<Split> filterUsingForwardIndex(RowExpression expression, List<Split> inputSplits, String fullQualifiedTableName, Set<String> referencedColumns, Map<String, IndexRecord> indexRecordKeyToRecordMap, HeuristicIndexerManager indexerManager, IndexLookupStats lookupStats)
     {
         return inputSplits.parallelStream()
                 .filter(split -> {
                     Map<String, List<IndexMetadata>> allIndices = new HashMap<>();
 
                     for (String col : referencedColumns) {
-                        List<IndexMetadata> splitIndices = getCache(indexerManager.getIndexClient()).getIndices(fullQualifiedTableName, col, split, indexRecordKeyToRecordMap);
+                        List<IndexMetadata> splitIndices = getCache(indexerManager.getIndexClient()).getIndices(fullQualifiedTableName, col, split, indexRecordKeyToRecordMap, lookupStats);
 
                         if (splitIndices == null || splitIndices.size() == 0) {
                             // no index found, keep split
@@ -245,7 +302,7 @@ public class SplitFiltering
                 .collect(Collectors.toList());
     }
 
-    private static List<Split> filterUsingInvertedIndex(RowExpression expression, List<Split> inputSplits, String fullQualifiedTableName, Set<String> referencedColumns, Map<String, IndexRecord> indexRecordKeyToRecordMap, HeuristicIndexerManager indexerManager)
+    private static List<Split> filterUsingInvertedIndex(RowExpression expression, List<Split> inputSplits, String fullQualifiedTableName, Set<String> referencedColumns, Map<String, IndexRecord> indexRecordKeyToRecordMap, HeuristicIndexerManager indexerManager, IndexLookupStats lookupStats)
     {
         try {
             Map<String, Long> inputMaxLastUpdated = new HashMap<>();
@@ -279,7 +336,7 @@ public class SplitFiltering
 
                 for (String indexType : INVERTED_INDEX) {
                     indexMetadataList.addAll(getCache(indexerManager.getIndexClient()).getIndices(fullQualifiedTableName, column, indexType,
-                            partitionSplitMap.keySet(), Collections.max(inputMaxLastUpdated.values()), indexRecordKeyToRecordMap));
+                            partitionSplitMap.keySet(), Collections.max(inputMaxLastUpdated.values()), indexRecordKeyToRecordMap, lookupStats));
                 }
 
                 // If any of the split contains data which is modified after the index was created, return without filtering
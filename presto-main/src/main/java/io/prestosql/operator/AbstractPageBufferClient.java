@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import io.hetu.core.transport.execution.buffer.SerializedPage;
+import org.joda.time.DateTime;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * State and statistics shared by the page buffer clients. The state fields are guarded by the
+ * lock on the client, and the received pages are handed to the callback through {@link #addPages}.
+ */
+@ThreadSafe
+abstract class AbstractPageBufferClient
+        implements PageBufferClient
+{
+    protected final URI location;
+    protected final ClientCallback clientCallback;
+
+    @GuardedBy("this")
+    protected boolean closed;
+    @GuardedBy("this")
+    protected DateTime lastUpdate = DateTime.now();
+    @GuardedBy("this")
+    protected boolean scheduled;
+    @GuardedBy("this")
+    protected boolean completed;
+
+    private final AtomicLong rowsReceived = new AtomicLong();
+    private final AtomicInteger pagesReceived = new AtomicInteger();
+
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicInteger pagesRejected = new AtomicInteger();
+
+    protected final AtomicInteger requestsScheduled = new AtomicInteger();
+    protected final AtomicInteger requestsCompleted = new AtomicInteger();
+    protected final AtomicInteger requestsFailed = new AtomicInteger();
+
+    protected AbstractPageBufferClient(URI location, ClientCallback clientCallback)
+    {
+        this.location = requireNonNull(location, "location is null");
+        this.clientCallback = requireNonNull(clientCallback, "clientCallback is null");
+    }
+
+    /**
+     * State of the request in flight, or "not scheduled" when there is none.
+     */
+    @GuardedBy("this")
+    protected abstract String getRequestState();
+
+    @Override
+    public synchronized PageBufferClientStatus getStatus()
+    {
+        String state;
+        if (closed) {
+            state = "closed";
+        }
+        else if (isRunning()) {
+            state = "running";
+        }
+        else if (scheduled) {
+            state = "scheduled";
+        }
+        else if (completed) {
+            state = "completed";
+        }
+        else {
+            state = "queued";
+        }
+
+        long rejectedRows = rowsRejected.get();
+        int rejectedPages = pagesRejected.get();
+
+        return new PageBufferClientStatus(
+                location,
+                state,
+                lastUpdate,
+                rowsReceived.get(),
+                pagesReceived.get(),
+                rejectedRows == 0 ? OptionalLong.empty() : OptionalLong.of(rejectedRows),
+                rejectedPages == 0 ? OptionalInt.empty() : OptionalInt.of(rejectedPages),
+                requestsScheduled.get(),
+                requestsCompleted.get(),
+                requestsFailed.get(),
+                getRequestState());
+    }
+
+    protected void addPages(List<SerializedPage> pages)
+    {
+        if (clientCallback.addPages(this, pages)) {
+            pagesReceived.addAndGet(pages.size());
+            rowsReceived.addAndGet(pages.stream().mapToLong(SerializedPage::getPositionCount).sum());
+        }
+        else {
+            pagesRejected.addAndGet(pages.size());
+            rowsRejected.addAndGet(pages.stream().mapToLong(SerializedPage::getPositionCount).sum());
+        }
+    }
+
+    protected static void checkNotHoldsLock(Object lock)
+    {
+        checkState(!Thread.holdsLock(lock), "Cannot execute this method while holding a lock");
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AbstractPageBufferClient that = (AbstractPageBufferClient) o;
+        return location.equals(that.location);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return location.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        String state;
+        synchronized (this) {
+            if (closed) {
+                state = "CLOSED";
+            }
+            else if (isRunning()) {
+                state = "RUNNING";
+            }
+            else {
+                state = "QUEUED";
+            }
+        }
+        return toStringHelper(this)
+                .add("location", location)
+                .addValue(state)
+                .toString();
+    }
+}
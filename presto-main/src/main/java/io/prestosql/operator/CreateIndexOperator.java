@@ -14,39 +14,38 @@
  */
 package io.prestosql.operator;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.airlift.log.Logger;
-import io.airlift.slice.Slice;
+import io.airlift.units.Duration;
 import io.prestosql.heuristicindex.HeuristicIndexerManager;
+import io.prestosql.operator.OperationTimer.OperationTiming;
 import io.prestosql.spi.HetuConstant;
 import io.prestosql.spi.Page;
-import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.CreateIndexMetadata;
 import io.prestosql.spi.heuristicindex.IndexClient;
 import io.prestosql.spi.heuristicindex.IndexWriter;
-import io.prestosql.spi.heuristicindex.Pair;
 import io.prestosql.spi.plan.PlanNodeId;
 import io.prestosql.spi.snapshot.MarkerPage;
 import io.prestosql.spi.snapshot.RestorableConfig;
-import io.prestosql.spi.type.Type;
-import io.prestosql.spi.type.TypeUtils;
+import io.prestosql.util.Mergeable;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkState;
-import static io.prestosql.spi.heuristicindex.TypeUtils.getActualValue;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 //TODO-cp-I38S9O: Operator currently not supported for Snapshot
 @RestorableConfig(unsupported = true)
@@ -59,6 +58,8 @@ public class CreateIndexOperator
     private final OperatorContext operatorContext;
     private final CreateIndexMetadata createIndexMetadata;
     private final HeuristicIndexerManager heuristicIndexerManager;
+    private final AtomicLong indexedRows = new AtomicLong();
+    private final OperationTiming indexTiming = new OperationTiming();
     private static final Logger LOG = Logger.get(CreateIndexOperator.class);
 
     public CreateIndexOperator(
@@ -75,6 +76,7 @@ public class CreateIndexOperator
         this.levelWriter = requireNonNull(levelWriter, "levelWriter is null");
         this.persistBy = requireNonNull(persistBy, "persisted is null");
         this.finished = requireNonNull(finished, "finished is null");
+        this.operatorContext.setInfoSupplier(this::getInfo);
     }
 
     private State state = State.NEEDS_INPUT;
@@ -116,6 +118,7 @@ public class CreateIndexOperator
         }
 
         // persist index to disk if this operator is responsible for persisting a writer
+        OperationTimer timer = new OperationTimer(true);
         try {
             Iterator<Map.Entry<String, IndexWriter>> iterator = levelWriter.entrySet().iterator();
             while (iterator.hasNext()) {
@@ -131,6 +134,9 @@ public class CreateIndexOperator
         catch (IOException e) {
             throw new UncheckedIOException("Persisting index failed: " + e.getMessage(), e);
         }
+        finally {
+            timer.end(indexTiming);
+        }
 
         synchronized (levelWriter) {
             // All writers have finished persisting
@@ -203,31 +209,20 @@ public class CreateIndexOperator
             createIndexMetadata.decideIndexLevel(tableIsPartitioned);
         }
 
-        Map<String, List<Object>> values = new HashMap<>();
-
-        for (int blockId = 0; blockId < page.getChannelCount(); blockId++) {
-            Block block = page.getBlock(blockId);
-            Pair<String, Type> entry = createIndexMetadata.getIndexColumns().get(blockId);
-            String indexColumn = entry.getFirst();
-            Type type = entry.getSecond();
-
-            for (int position = 0; position < block.getPositionCount(); ++position) {
-                Object value = getNativeValue(type, block, position);
-                value = getActualValue(type, value);
-                values.computeIfAbsent(indexColumn, k -> new ArrayList<>()).add(value);
-            }
-        }
+        // the blocks are handed to the writer as they are, the indexes read the values with the accessors of the column types
+        Page values = page.getLoadedPage();
 
         Properties connectorMetadata = new Properties();
         connectorMetadata.put(HetuConstant.DATASOURCE_CATALOG, createIndexMetadata.getTableName().split("\\.")[0]);
         connectorMetadata.putAll(page.getPageMetadata());
+        OperationTimer timer = new OperationTimer(true);
         try {
             switch (createIndexMetadata.getCreateLevel()) {
                 case STRIPE: {
                     String filePath = page.getPageMetadata().getProperty(HetuConstant.DATASOURCE_FILE_PATH);
                     levelWriter.computeIfAbsent(filePath, k -> heuristicIndexerManager.getIndexWriter(createIndexMetadata, connectorMetadata));
                     persistBy.putIfAbsent(levelWriter.get(filePath), this);
-                    levelWriter.get(filePath).addData(values, connectorMetadata);
+                    levelWriter.get(filePath).addData(values, createIndexMetadata.getIndexColumns(), connectorMetadata);
                     break;
                 }
                 case PARTITION: {
@@ -247,13 +242,13 @@ public class CreateIndexOperator
                     }
                     levelWriter.putIfAbsent(partition, heuristicIndexerManager.getIndexWriter(createIndexMetadata, connectorMetadata));
                     persistBy.putIfAbsent(levelWriter.get(partition), this);
-                    levelWriter.get(partition).addData(values, connectorMetadata);
+                    levelWriter.get(partition).addData(values, createIndexMetadata.getIndexColumns(), connectorMetadata);
                     break;
                 }
                 case TABLE: {
                     levelWriter.putIfAbsent(createIndexMetadata.getTableName(), heuristicIndexerManager.getIndexWriter(createIndexMetadata, connectorMetadata));
                     persistBy.putIfAbsent(levelWriter.get(createIndexMetadata.getTableName()), this);
-                    levelWriter.get(createIndexMetadata.getTableName()).addData(values, connectorMetadata);
+                    levelWriter.get(createIndexMetadata.getTableName()).addData(values, createIndexMetadata.getIndexColumns(), connectorMetadata);
                     break;
                 }
                 default:
@@ -263,6 +258,10 @@ public class CreateIndexOperator
         catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        finally {
+            timer.end(indexTiming);
+        }
+        indexedRows.addAndGet(page.getPositionCount());
     }
 
     @Override
@@ -343,16 +342,77 @@ public class CreateIndexOperator
         }
     }
 
-    static Object getNativeValue(Type type, Block block, int position)
+    CreateIndexInfo getInfo()
     {
-        Object obj = TypeUtils.readNativeValue(type, block, position);
-        Class<?> javaType = type.getJavaType();
+        return new CreateIndexInfo(
+                indexedRows.get(),
+                new Duration(indexTiming.getWallNanos(), NANOSECONDS).convertToMostSuccinctTimeUnit(),
+                new Duration(indexTiming.getCpuNanos(), NANOSECONDS).convertToMostSuccinctTimeUnit());
+    }
 
-        if (obj != null && javaType == Slice.class) {
-            obj = ((Slice) obj).toStringUtf8();
+    public static class CreateIndexInfo
+            implements Mergeable<CreateIndexInfo>, OperatorInfo
+    {
+        private final long indexedRows;
+        private final Duration indexWallTime;
+        private final Duration indexCpuTime;
+
+        @JsonCreator
+        public CreateIndexInfo(
+                @JsonProperty("indexedRows") long indexedRows,
+                @JsonProperty("indexWallTime") Duration indexWallTime,
+                @JsonProperty("indexCpuTime") Duration indexCpuTime)
+        {
+            this.indexedRows = indexedRows;
+            this.indexWallTime = requireNonNull(indexWallTime, "indexWallTime is null");
+            this.indexCpuTime = requireNonNull(indexCpuTime, "indexCpuTime is null");
+        }
+
+        @JsonProperty
+        public long getIndexedRows()
+        {
+            return indexedRows;
+        }
+
+        /**
+         * Time spent adding the rows to the index writers and persisting the indexes
+         */
+        @JsonProperty
+        public Duration getIndexWallTime()
+        {
+            return indexWallTime;
         }
 
-        return obj;
+        @JsonProperty
+        public Duration getIndexCpuTime()
+        {
+            return indexCpuTime;
+        }
+
+        @Override
+        public CreateIndexInfo mergeWith(CreateIndexInfo other)
+        {
+            return new CreateIndexInfo(
+                    indexedRows + other.indexedRows,
+                    new Duration(indexWallTime.getValue(NANOSECONDS) + other.indexWallTime.getValue(NANOSECONDS), NANOSECONDS).convertToMostSuccinctTimeUnit(),
+                    new Duration(indexCpuTime.getValue(NANOSECONDS) + other.indexCpuTime.getValue(NANOSECONDS), NANOSECONDS).convertToMostSuccinctTimeUnit());
+        }
+
+        @Override
+        public boolean isFinal()
+        {
+            return true;
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .add("indexedRows", indexedRows)
+                    .add("indexWallTime", indexWallTime)
+                    .add("indexCpuTime", indexCpuTime)
+                    .toString();
+        }
     }
 
     /**
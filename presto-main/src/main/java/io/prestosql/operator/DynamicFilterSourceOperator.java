@@ -15,6 +15,7 @@ package io.prestosql.operator;
 
 import io.airlift.log.Logger;
 import io.airlift.units.DataSize;
+import io.prestosql.memory.context.LocalMemoryContext;
 import io.prestosql.snapshot.RecoveryUtils;
 import io.prestosql.snapshot.SingleInputSnapshotState;
 import io.prestosql.spi.Page;
@@ -23,12 +24,10 @@ import io.prestosql.spi.plan.PlanNodeId;
 import io.prestosql.spi.snapshot.BlockEncodingSerdeProvider;
 import io.prestosql.spi.snapshot.RestorableConfig;
 import io.prestosql.spi.type.Type;
-import io.prestosql.spi.type.TypeUtils;
 
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -44,21 +43,27 @@ import static java.util.stream.Collectors.toSet;
  * This operator acts as a simple "pass-through" pipe, while saving its input pages.
  * The collected pages' value are used for creating a run-time filtering constraint (for probe-side table scan in an inner join).
  * We support only small build-side pages (which should be the case when using "broadcast" join).
+ * For larger build sides the collected values are dropped, and only the min/max range of each column
+ * is reported (through the range consumer), which is still used for range based filtering of the probe side.
  */
-@RestorableConfig(uncapturedFields = {"dynamicPredicateConsumer", "channels", "finished", "current", "snapshotState"})
+@RestorableConfig(uncapturedFields = {"dynamicPredicateConsumer", "dynamicRangeConsumer", "channels", "finished", "current", "snapshotState", "memoryContext"})
 public class DynamicFilterSourceOperator
         implements Operator
 {
     public static final Logger log = Logger.get(DynamicFilterSourceOperator.class);
     private final OperatorContext context;
     private final Consumer<Map<Channel, Set>> dynamicPredicateConsumer;
+    private final Consumer<Map<Channel, List<Object>>> dynamicRangeConsumer;
     private final int maxFilterPositionsCount;
     private final long maxFilterSizeInBytes;
     private final List<Channel> channels;
     private boolean finished;
     private Page current;
+    private final LocalMemoryContext memoryContext;
 
-    private Map<Channel, Set> values;
+    private Map<Channel, DynamicFilterValueCollector> values;
+    // the predicate became too large, only ranges are collected
+    private boolean valuesDiscarded;
 
     private final SingleInputSnapshotState snapshotState;
 
@@ -72,18 +77,32 @@ public class DynamicFilterSourceOperator
             PlanNodeId planNodeId,
             int maxFilterPositionsCount,
             DataSize maxFilterSize)
+    {
+        this(context, dynamicPredicateConsumer, ranges -> {}, channels, planNodeId, maxFilterPositionsCount, maxFilterSize);
+    }
+
+    /**
+     * Constructor for the Dynamic Filter Source Operator, also reporting the min/max range of each channel
+     * to dynamicRangeConsumer before the values are reported to dynamicPredicateConsumer
+     */
+    public DynamicFilterSourceOperator(OperatorContext context,
+            Consumer<Map<Channel, Set>> dynamicPredicateConsumer,
+            Consumer<Map<Channel, List<Object>>> dynamicRangeConsumer,
+            List<Channel> channels,
+            PlanNodeId planNodeId,
+            int maxFilterPositionsCount,
+            DataSize maxFilterSize)
     {
         this.context = requireNonNull(context, "context is null");
         this.maxFilterPositionsCount = maxFilterPositionsCount;
         this.maxFilterSizeInBytes = maxFilterSize.toBytes();
 
         this.dynamicPredicateConsumer = requireNonNull(dynamicPredicateConsumer, "dynamicPredicateConsumer is null");
+        this.dynamicRangeConsumer = requireNonNull(dynamicRangeConsumer, "dynamicRangeConsumer is null");
         this.channels = requireNonNull(channels, "channels is null");
 
-        this.values = new HashMap<>();
-        for (Channel channel : channels) {
-            values.put(channel, new HashSet<>());
-        }
+        this.memoryContext = context.localUserMemoryContext();
+        this.values = createCollectors(channels);
         this.snapshotState = context.isSnapshotEnabled() ? SingleInputSnapshotState.forOperator(this, context) : null;
     }
 
@@ -112,28 +131,24 @@ public class DynamicFilterSourceOperator
 
         current = page;
         if (values == null) {
-            return;  // the predicate became too large.
+            return;
         }
 
-        // TODO: we should account for the memory used for collecting build-side values using MemoryContext
         long filterSizeInBytes = 0;
         int filterPositionsCount = 0;
         // Collect only the columns which are relevant for the JOIN.
         for (Channel channel : channels) {
             Block block = page.getBlock(channel.index);
+            DynamicFilterValueCollector collector = values.get(channel);
+            // values are read straight from the block into primitive sets, nulls are ignored.
+            // once the predicate became too large only the range is updated
+            collector.add(block);
 
-            //saving the cloned block, to be processed in the "finish()" to avoid blocking down stream operators
-            for (int i = 0; i < block.getPositionCount(); i++) {
-                Object value = TypeUtils.readNativeValue(channel.type, block, i);
-                if (value != null) { //ignoring null values
-                    values.get(channel).add(value);
-                }
-            }
-
-            filterSizeInBytes += block.getRetainedSizeInBytes();
-            filterPositionsCount += values.get(channel).size();
+            filterSizeInBytes += collector.getRetainedSizeInBytes();
+            filterPositionsCount += collector.size();
         }
-        if (filterPositionsCount > maxFilterPositionsCount || filterSizeInBytes > maxFilterSizeInBytes) {
+        memoryContext.setBytes(filterSizeInBytes);
+        if (!valuesDiscarded && (filterPositionsCount > maxFilterPositionsCount || filterSizeInBytes > maxFilterSizeInBytes)) {
             // The whole filter (summed over all columns) contains too much values or exceeds maxFilterSizeInBytes.
             log.debug("Partial DynamicFilter is too large, value count: " + filterPositionsCount + ", size: " + filterSizeInBytes / (1024 * 1024));
             handleTooLargePredicate();
@@ -142,8 +157,29 @@ public class DynamicFilterSourceOperator
 
     private void handleTooLargePredicate()
     {
-        values = null;
-        dynamicPredicateConsumer.accept(null);
+        valuesDiscarded = true;
+        values.values().forEach(DynamicFilterValueCollector::discardValues);
+        updateMemoryUsage();
+    }
+
+    private static Map<Channel, DynamicFilterValueCollector> createCollectors(List<Channel> channels)
+    {
+        Map<Channel, DynamicFilterValueCollector> collectors = new HashMap<>();
+        for (Channel channel : channels) {
+            collectors.put(channel, DynamicFilterValueCollector.create(channel.type));
+        }
+        return collectors;
+    }
+
+    private void updateMemoryUsage()
+    {
+        long filterSizeInBytes = 0;
+        if (values != null) {
+            for (DynamicFilterValueCollector collector : values.values()) {
+                filterSizeInBytes += collector.getRetainedSizeInBytes();
+            }
+        }
+        memoryContext.setBytes(filterSizeInBytes);
     }
 
     @Override
@@ -176,12 +212,24 @@ public class DynamicFilterSourceOperator
         }
         finished = true;
 
-        // Dynamic Filter became too large
         if (values == null) {
             return;
         }
 
-        dynamicPredicateConsumer.accept(values);
+        // Ranges are always reported, so that a range filter can be built even if the values became too large
+        Map<Channel, List<Object>> ranges = new HashMap<>();
+        values.forEach((channel, collector) -> collector.getRange().ifPresent(range -> ranges.put(channel, range)));
+        dynamicRangeConsumer.accept(ranges);
+
+        // Dynamic Filter became too large
+        if (valuesDiscarded) {
+            dynamicPredicateConsumer.accept(null);
+            return;
+        }
+
+        Map<Channel, Set> result = new HashMap<>();
+        values.forEach((channel, collector) -> result.put(channel, collector.getValues()));
+        dynamicPredicateConsumer.accept(result);
     }
 
     @Override
@@ -234,6 +282,8 @@ public class DynamicFilterSourceOperator
     @Override
     public void close()
     {
+        values = null;
+        memoryContext.setBytes(0);
         if (snapshotState != null) {
             snapshotState.close();
         }
@@ -244,10 +294,21 @@ public class DynamicFilterSourceOperator
     {
         DynamicFilterSourceOperatorState myState = new DynamicFilterSourceOperatorState();
         myState.context = context.capture(serdeProvider);
-        if (values != null) {
+        myState.ranges = channels
+                .stream()
+                .map(channel -> values.get(channel)
+                        .getRange()
+                        .map(range -> range
+                                .stream()
+                                .map(value -> RecoveryUtils.captureHelper(value, serdeProvider))
+                                .toArray())
+                        .orElse(null))
+                .toArray(Object[][]::new);
+        if (!valuesDiscarded) {
             myState.values = channels
                     .stream()
                     .map(channel -> values.get(channel)
+                            .getValues()
                             .stream()
                             .map(value -> RecoveryUtils.captureHelper(value, serdeProvider))
                             .toArray())
@@ -261,16 +322,12 @@ public class DynamicFilterSourceOperator
     {
         DynamicFilterSourceOperatorState myState = (DynamicFilterSourceOperatorState) state;
         this.context.restore(myState.context, serdeProvider);
-        if (myState.values == null) {
-            this.values = null;
+        this.values = createCollectors(channels);
+        this.valuesDiscarded = myState.values == null;
+        if (valuesDiscarded) {
+            values.values().forEach(DynamicFilterValueCollector::discardValues);
         }
         else {
-            if (this.values == null) {
-                this.values = new HashMap<>();
-                for (Channel channel : channels) {
-                    this.values.put(channel, new HashSet<>());
-                }
-            }
             checkState(myState.values.length == channels.size());
             for (int i = 0; i < channels.size(); i++) {
                 Type valueType = channels.get(i).type;
@@ -278,10 +335,19 @@ public class DynamicFilterSourceOperator
                         .stream(myState.values[i])
                         .map(value -> RecoveryUtils.restoreHelper(value, valueType.getJavaType(), serdeProvider))
                         .collect(Collectors.toSet());
-                values.get(channels.get(i)).clear();
                 values.get(channels.get(i)).addAll(set);
             }
         }
+        checkState(myState.ranges.length == channels.size());
+        for (int i = 0; i < channels.size(); i++) {
+            if (myState.ranges[i] != null) {
+                Type valueType = channels.get(i).type;
+                Object min = RecoveryUtils.restoreHelper(myState.ranges[i][0], valueType.getJavaType(), serdeProvider);
+                Object max = RecoveryUtils.restoreHelper(myState.ranges[i][1], valueType.getJavaType(), serdeProvider);
+                values.get(channels.get(i)).addRange(min, max);
+            }
+        }
+        updateMemoryUsage();
     }
 
     private static class DynamicFilterSourceOperatorState
@@ -289,6 +355,7 @@ public class DynamicFilterSourceOperator
     {
         private Object context;
         private Object[][] values;
+        private Object[][] ranges;
     }
 
     public static class DynamicFilterSourceOperatorFactory
@@ -297,6 +364,7 @@ public class DynamicFilterSourceOperator
         private final int operatorId;
         private final PlanNodeId planNodeId;
         private final Consumer<Map<Channel, Set>> dynamicPredicateConsumer;
+        private final Consumer<Map<Channel, List<Object>>> dynamicRangeConsumer;
         private final List<Channel> channels;
         private final int maxFilterPositionsCount;
         private final DataSize maxFilterSize;
@@ -312,10 +380,26 @@ public class DynamicFilterSourceOperator
                 List<Channel> channels,
                 int maxFilterPositionsCount,
                 DataSize maxFilterSize)
+        {
+            this(operatorId, planNodeId, dynamicPredicateConsumer, ranges -> {}, channels, maxFilterPositionsCount, maxFilterSize);
+        }
+
+        /**
+         * Constructor for the Dynamic Filter Source Operator Factory, with a consumer for the min/max ranges
+         */
+        public DynamicFilterSourceOperatorFactory(
+                int operatorId,
+                PlanNodeId planNodeId,
+                Consumer<Map<Channel, Set>> dynamicPredicateConsumer,
+                Consumer<Map<Channel, List<Object>>> dynamicRangeConsumer,
+                List<Channel> channels,
+                int maxFilterPositionsCount,
+                DataSize maxFilterSize)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
             this.dynamicPredicateConsumer = requireNonNull(dynamicPredicateConsumer, "dynamicPredicateConsumer is null");
+            this.dynamicRangeConsumer = requireNonNull(dynamicRangeConsumer, "dynamicRangeConsumer is null");
             this.channels = requireNonNull(channels, "channels is null");
             verify(channels.stream().map(channel -> channel.filterId).collect(toSet()).size() == channels.size(),
                     "duplicate dynamic filters are not allowed");
@@ -338,6 +422,7 @@ public class DynamicFilterSourceOperator
             return new DynamicFilterSourceOperator(
                     driverContext.addOperatorContext(operatorId, planNodeId, DynamicFilterSourceOperator.class.getSimpleName()),
                     dynamicPredicateConsumer,
+                    dynamicRangeConsumer,
                     channels,
                     planNodeId,
                     maxFilterPositionsCount,
@@ -0,0 +1,532 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.type.BigintType;
+import io.prestosql.spi.type.DateType;
+import io.prestosql.spi.type.DecimalType;
+import io.prestosql.spi.type.DoubleType;
+import io.prestosql.spi.type.IntegerType;
+import io.prestosql.spi.type.SmallintType;
+import io.prestosql.spi.type.TimestampType;
+import io.prestosql.spi.type.TinyintType;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeUtils;
+import io.prestosql.spi.type.VarcharType;
+import it.unimi.dsi.fastutil.doubles.DoubleOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Lists.newArrayList;
+import static it.unimi.dsi.fastutil.Hash.DEFAULT_LOAD_FACTOR;
+import static it.unimi.dsi.fastutil.HashCommon.arraySize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects the distinct non-null values of one build-side channel for a dynamic filter.
+ * Values are read from the {@link Block} with the primitive accessor matching the type's
+ * java type and kept in open-addressing primitive sets, so that no value is boxed per row.
+ * The collected sets implement {@link Set} and can be handed to the dynamic filter consumers as is.
+ * <p>
+ * For types whose native representation is ordered the same way as the SQL type, the collector also
+ * tracks the min/max of the values. The range keeps being tracked after the values are discarded
+ * (see {@link #discardValues()}), so that a range dynamic filter can be built for large build sides.
+ */
+public abstract class DynamicFilterValueCollector
+{
+    protected final Type type;
+    protected final boolean rangeSupported;
+    protected boolean collectValues = true;
+    protected boolean hasRange;
+
+    protected DynamicFilterValueCollector(Type type)
+    {
+        this.type = requireNonNull(type, "type is null");
+        this.rangeSupported = isRangeSupported(type);
+    }
+
+    /**
+     * Whether the native values of the type sort in the same order as the SQL values
+     */
+    public static boolean isRangeSupported(Type type)
+    {
+        if (type instanceof DecimalType) {
+            return ((DecimalType) type).isShort();
+        }
+        return type instanceof BigintType
+                || type instanceof IntegerType
+                || type instanceof SmallintType
+                || type instanceof TinyintType
+                || type instanceof DateType
+                || type instanceof TimestampType
+                || type instanceof DoubleType
+                || type instanceof VarcharType;
+    }
+
+    public static DynamicFilterValueCollector create(Type type)
+    {
+        Class<?> javaType = type.getJavaType();
+        if (javaType == long.class) {
+            return new LongValueCollector(type);
+        }
+        if (javaType == double.class) {
+            return new DoubleValueCollector(type);
+        }
+        if (javaType == Slice.class) {
+            return new SliceValueCollector(type);
+        }
+        return new ObjectValueCollector(type);
+    }
+
+    /**
+     * Add all non-null positions of the block to the collected values
+     */
+    public abstract void add(Block block);
+
+    /**
+     * Add already materialized values (e.g. when restoring a snapshot)
+     */
+    public abstract void addAll(Collection<?> values);
+
+    public abstract int size();
+
+    public abstract long getRetainedSizeInBytes();
+
+    /**
+     * Get the collected values, backed by the collector
+     */
+    public abstract Set<?> getValues();
+
+    public abstract void clear();
+
+    /**
+     * Get the min/max of the collected values as bounds list [min, max],
+     * empty if the type does not support ranges or no value has been collected
+     */
+    public Optional<List<Object>> getRange()
+    {
+        if (!rangeSupported || !hasRange) {
+            return Optional.empty();
+        }
+        return Optional.of(newArrayList(getRangeMin(), getRangeMax()));
+    }
+
+    /**
+     * Merge a range restored from a snapshot into the tracked range
+     */
+    public void addRange(Object min, Object max)
+    {
+        if (rangeSupported) {
+            updateRange(min);
+            updateRange(max);
+        }
+    }
+
+    /**
+     * Stop collecting distinct values and release them, only the range is tracked from now on
+     */
+    public void discardValues()
+    {
+        clear();
+        collectValues = false;
+    }
+
+    public boolean isCollectingValues()
+    {
+        return collectValues;
+    }
+
+    /**
+     * Only called when {@link #rangeSupported} is set
+     */
+    protected abstract Object getRangeMin();
+
+    protected abstract Object getRangeMax();
+
+    protected abstract void updateRange(Object value);
+
+    private static long estimateHashTableSize(int size, int entrySize)
+    {
+        return (long) arraySize(Math.max(size, 1), DEFAULT_LOAD_FACTOR) * entrySize;
+    }
+
+    private static class LongValueCollector
+            extends DynamicFilterValueCollector
+    {
+        private static final int INSTANCE_SIZE = ClassLayout.parseClass(LongOpenHashSet.class).instanceSize();
+
+        private final LongOpenHashSet values = new LongOpenHashSet();
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        LongValueCollector(Type type)
+        {
+            super(type);
+        }
+
+        @Override
+        public void add(Block block)
+        {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                if (!block.isNull(position)) {
+                    add(type.getLong(block, position));
+                }
+            }
+        }
+
+        @Override
+        public void addAll(Collection<?> newValues)
+        {
+            for (Object value : newValues) {
+                add(((Long) value).longValue());
+            }
+        }
+
+        private void add(long value)
+        {
+            if (collectValues) {
+                values.add(value);
+            }
+            if (rangeSupported) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                hasRange = true;
+            }
+        }
+
+        @Override
+        protected Object getRangeMin()
+        {
+            return min;
+        }
+
+        @Override
+        protected Object getRangeMax()
+        {
+            return max;
+        }
+
+        @Override
+        protected void updateRange(Object value)
+        {
+            min = Math.min(min, (Long) value);
+            max = Math.max(max, (Long) value);
+            hasRange = true;
+        }
+
+        @Override
+        public int size()
+        {
+            return values.size();
+        }
+
+        @Override
+        public long getRetainedSizeInBytes()
+        {
+            return INSTANCE_SIZE + estimateHashTableSize(values.size(), Long.BYTES + Byte.BYTES);
+        }
+
+        @Override
+        public Set<?> getValues()
+        {
+            return values;
+        }
+
+        @Override
+        public void clear()
+        {
+            values.clear();
+        }
+    }
+
+    private static class DoubleValueCollector
+            extends DynamicFilterValueCollector
+    {
+        private static final int INSTANCE_SIZE = ClassLayout.parseClass(DoubleOpenHashSet.class).instanceSize();
+
+        private final DoubleOpenHashSet values = new DoubleOpenHashSet();
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        DoubleValueCollector(Type type)
+        {
+            super(type);
+        }
+
+        @Override
+        public void add(Block block)
+        {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                if (!block.isNull(position)) {
+                    add(type.getDouble(block, position));
+                }
+            }
+        }
+
+        @Override
+        public void addAll(Collection<?> newValues)
+        {
+            for (Object value : newValues) {
+                add(((Double) value).doubleValue());
+            }
+        }
+
+        private void add(double value)
+        {
+            if (collectValues) {
+                values.add(value);
+            }
+            if (rangeSupported && !Double.isNaN(value)) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                hasRange = true;
+            }
+        }
+
+        @Override
+        protected Object getRangeMin()
+        {
+            return min;
+        }
+
+        @Override
+        protected Object getRangeMax()
+        {
+            return max;
+        }
+
+        @Override
+        protected void updateRange(Object value)
+        {
+            min = Math.min(min, (Double) value);
+            max = Math.max(max, (Double) value);
+            hasRange = true;
+        }
+
+        @Override
+        public int size()
+        {
+            return values.size();
+        }
+
+        @Override
+        public long getRetainedSizeInBytes()
+        {
+            return INSTANCE_SIZE + estimateHashTableSize(values.size(), Double.BYTES + Byte.BYTES);
+        }
+
+        @Override
+        public Set<?> getValues()
+        {
+            return values;
+        }
+
+        @Override
+        public void clear()
+        {
+            values.clear();
+        }
+    }
+
+    private static class SliceValueCollector
+            extends DynamicFilterValueCollector
+    {
+        private static final int INSTANCE_SIZE = ClassLayout.parseClass(ObjectOpenHashSet.class).instanceSize();
+        private static final int SLICE_INSTANCE_SIZE = ClassLayout.parseClass(Slice.class).instanceSize();
+
+        private final ObjectOpenHashSet<Slice> values = new ObjectOpenHashSet<>();
+        private long valuesSizeInBytes;
+        private Slice min;
+        private Slice max;
+
+        SliceValueCollector(Type type)
+        {
+            super(type);
+        }
+
+        @Override
+        public void add(Block block)
+        {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                if (!block.isNull(position)) {
+                    addSlice(type.getSlice(block, position));
+                }
+            }
+        }
+
+        @Override
+        public void addAll(Collection<?> newValues)
+        {
+            for (Object value : newValues) {
+                addSlice((Slice) value);
+            }
+        }
+
+        private void addSlice(Slice slice)
+        {
+            // the slice is a view over the page, only copy it out when it is a new value
+            // so that the collector does not retain the whole input page
+            if (collectValues && !values.contains(slice)) {
+                values.add(Slices.copyOf(slice));
+                valuesSizeInBytes += SLICE_INSTANCE_SIZE + slice.length();
+            }
+            if (rangeSupported) {
+                updateRange(slice);
+            }
+        }
+
+        @Override
+        protected Object getRangeMin()
+        {
+            return min;
+        }
+
+        @Override
+        protected Object getRangeMax()
+        {
+            return max;
+        }
+
+        @Override
+        protected void updateRange(Object value)
+        {
+            Slice slice = (Slice) value;
+            if (min == null || slice.compareTo(min) < 0) {
+                min = Slices.copyOf(slice);
+            }
+            if (max == null || slice.compareTo(max) > 0) {
+                max = Slices.copyOf(slice);
+            }
+            hasRange = true;
+        }
+
+        @Override
+        public int size()
+        {
+            return values.size();
+        }
+
+        @Override
+        public long getRetainedSizeInBytes()
+        {
+            long rangeSizeInBytes = (min == null ? 0 : min.getRetainedSize()) + (max == null ? 0 : max.getRetainedSize());
+            return INSTANCE_SIZE + estimateHashTableSize(values.size(), Long.BYTES) + valuesSizeInBytes + rangeSizeInBytes;
+        }
+
+        @Override
+        public Set<?> getValues()
+        {
+            return values;
+        }
+
+        @Override
+        public void clear()
+        {
+            values.clear();
+            valuesSizeInBytes = 0;
+        }
+    }
+
+    private static class ObjectValueCollector
+            extends DynamicFilterValueCollector
+    {
+        private static final int INSTANCE_SIZE = ClassLayout.parseClass(HashSet.class).instanceSize();
+        private static final int ENTRY_SIZE = 32;
+
+        private final Set<Object> values = new HashSet<>();
+
+        ObjectValueCollector(Type type)
+        {
+            super(type);
+            // the values of these types are not comparable in their native form, only the distinct values are collected
+            checkArgument(!rangeSupported, "Range of %s values can not be tracked as objects", type);
+        }
+
+        @Override
+        public void add(Block block)
+        {
+            if (!collectValues) {
+                return;
+            }
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                Object value = TypeUtils.readNativeValue(type, block, position);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        }
+
+        @Override
+        public void addAll(Collection<?> newValues)
+        {
+            if (collectValues) {
+                values.addAll(newValues);
+            }
+        }
+
+        @Override
+        public int size()
+        {
+            return values.size();
+        }
+
+        @Override
+        public long getRetainedSizeInBytes()
+        {
+            // rough estimate: one hash table reference plus a map entry per value
+            return INSTANCE_SIZE + estimateHashTableSize(values.size(), Long.BYTES) + (long) ENTRY_SIZE * values.size();
+        }
+
+        @Override
+        public Set<?> getValues()
+        {
+            return values;
+        }
+
+        @Override
+        public void clear()
+        {
+            values.clear();
+        }
+
+        @Override
+        protected Object getRangeMin()
+        {
+            throw new UnsupportedOperationException("Range is not tracked for type " + type);
+        }
+
+        @Override
+        protected Object getRangeMax()
+        {
+            throw new UnsupportedOperationException("Range is not tracked for type " + type);
+        }
+
+        @Override
+        protected void updateRange(Object value)
+        {
+            throw new UnsupportedOperationException("Range is not tracked for type " + type);
+        }
+    }
+}
@@ -22,12 +22,13 @@ import com.google.common.util.concurrent.SettableFuture;
 import io.airlift.http.client.HttpClient;
 import io.airlift.log.Logger;
 import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
 import io.hetu.core.transport.execution.buffer.PageCodecMarker;
 import io.hetu.core.transport.execution.buffer.PagesSerde;
 import io.hetu.core.transport.execution.buffer.SerializedPage;
 import io.prestosql.failuredetector.FailureDetectorManager;
 import io.prestosql.memory.context.LocalMemoryContext;
-import io.prestosql.operator.HttpPageBufferClient.ClientCallback;
+import io.prestosql.operator.PageBufferClient.ClientCallback;
 import io.prestosql.operator.WorkProcessor.ProcessState;
 import io.prestosql.snapshot.MultiInputSnapshotState;
 import io.prestosql.snapshot.QueryRecoveryManager;
@@ -74,6 +75,8 @@ public class ExchangeClient
     private final DataSize maxResponseSize;
     private final int concurrentRequestMultiplier;
     private final boolean acknowledgePages;
+    private final Optional<Duration> streamDuration;
+    private final Optional<LocalTaskResultsSource> localTaskResults;
     private final HttpClient httpClient;
     private final ScheduledExecutorService scheduler;
     private final FailureDetectorManager failureDetectorManager;
@@ -81,7 +84,7 @@ public class ExchangeClient
     @GuardedBy("this")
     private boolean noMoreLocations;
 
-    private final ConcurrentMap<String, HttpPageBufferClient> allClients = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PageBufferClient> allClients = new ConcurrentHashMap<>();
 
     private boolean recoveryEnabled;
     private QueryRecoveryManager queryRecoveryManager;
@@ -99,9 +102,9 @@ public class ExchangeClient
     private final List<Optional<String>> pendingOrigins = new ArrayList<>();
 
     @GuardedBy("this")
-    private final Deque<HttpPageBufferClient> queuedClients = new LinkedList<>();
+    private final Deque<PageBufferClient> queuedClients = new LinkedList<>();
 
-    private final Set<HttpPageBufferClient> completedClients = newConcurrentHashSet();
+    private final Set<PageBufferClient> completedClients = newConcurrentHashSet();
     private final LinkedBlockingDeque<SerializedPage> pageBuffer = new LinkedBlockingDeque<>();
     // Snapshot: pararrel array to pageBuffer, about which targets need to receive this page. "null" indicates any one target.
     // originBuffer is similar to targetBuffer, but detailing where the page is coming from rather than where it is headed
@@ -139,11 +142,38 @@ public class ExchangeClient
                            LocalMemoryContext systemMemoryContext,
                            Executor pageBufferClientCallbackExecutor,
                           FailureDetectorManager failureDetectorManager)
+    {
+        this(bufferCapacity,
+                maxResponseSize,
+                concurrentRequestMultiplier,
+                acknowledgePages,
+                Optional.empty(),
+                Optional.empty(),
+                httpClient,
+                scheduler,
+                systemMemoryContext,
+                pageBufferClientCallbackExecutor,
+                failureDetectorManager);
+    }
+
+    public ExchangeClient(DataSize bufferCapacity,
+                           DataSize maxResponseSize,
+                           int concurrentRequestMultiplier,
+                           boolean acknowledgePages,
+                           Optional<Duration> streamDuration,
+                           Optional<LocalTaskResultsSource> localTaskResults,
+                           HttpClient httpClient,
+                           ScheduledExecutorService scheduler,
+                           LocalMemoryContext systemMemoryContext,
+                           Executor pageBufferClientCallbackExecutor,
+                           FailureDetectorManager failureDetectorManager)
     {
         this.bufferCapacity = bufferCapacity.toBytes();
         this.maxResponseSize = maxResponseSize;
         this.concurrentRequestMultiplier = concurrentRequestMultiplier;
         this.acknowledgePages = acknowledgePages;
+        this.streamDuration = requireNonNull(streamDuration, "streamDuration is null");
+        this.localTaskResults = requireNonNull(localTaskResults, "localTaskResults is null");
         this.httpClient = httpClient;
         this.scheduler = scheduler;
         this.systemMemoryContext = systemMemoryContext;
@@ -176,7 +206,7 @@ public class ExchangeClient
         // It does not guarantee a consistent view between different exchange clients.
         // Guaranteeing a consistent view introduces significant lock contention.
         ImmutableList.Builder<PageBufferClientStatus> pageBufferClientStatusBuilder = ImmutableList.builder();
-        for (HttpPageBufferClient client : allClients.values()) {
+        for (PageBufferClient client : allClients.values()) {
             pageBufferClientStatusBuilder.add(client.getStatus());
         }
         List<PageBufferClientStatus> pageBufferClientStatus = pageBufferClientStatusBuilder.build();
@@ -243,17 +273,31 @@ public class ExchangeClient
 
         checkState(!noMoreLocations, "No more locations already set");
 
-        HttpPageBufferClient client = new HttpPageBufferClient(
-                httpClient,
-                maxResponseSize,
-                acknowledgePages,
-                location,
-                new ExchangeClientCallback(uri),
-                scheduler,
-                pageBufferClientCallbackExecutor,
-                recoveryEnabled,
-                failureDetectorManager,
-                queryRecoveryManager);
+        PageBufferClient client;
+        // Recovery relies on the failure handling of the http client, so only read local tasks in-process without it
+        if (!recoveryEnabled && localTaskResults.isPresent() && localTaskResults.get().isLocal(location.getUri())) {
+            client = localTaskResults.get().createClient(
+                    maxResponseSize,
+                    acknowledgePages,
+                    location,
+                    new ExchangeClientCallback(uri),
+                    scheduler,
+                    pageBufferClientCallbackExecutor);
+        }
+        else {
+            client = new HttpPageBufferClient(
+                    httpClient,
+                    maxResponseSize,
+                    acknowledgePages,
+                    streamDuration,
+                    location,
+                    new ExchangeClientCallback(uri),
+                    scheduler,
+                    pageBufferClientCallbackExecutor,
+                    recoveryEnabled,
+                    failureDetectorManager,
+                    queryRecoveryManager);
+        }
         allClients.put(uri, client);
         queuedClients.add(client);
 
@@ -463,7 +507,7 @@ public class ExchangeClient
 
     private void cleanup()
     {
-        for (HttpPageBufferClient client : allClients.values()) {
+        for (PageBufferClient client : allClients.values()) {
             closeQuietly(client);
         }
         pageBuffer.clear();
@@ -506,7 +550,7 @@ public class ExchangeClient
         clientCount -= pendingClients;
 
         for (int i = 0; i < clientCount; i++) {
-            HttpPageBufferClient client = queuedClients.poll();
+            PageBufferClient client = queuedClients.poll();
             if (client == null) {
                 // no more clients available
                 return;
@@ -606,7 +650,7 @@ public class ExchangeClient
         }
     }
 
-    private synchronized void requestComplete(HttpPageBufferClient client)
+    private synchronized void requestComplete(PageBufferClient client)
     {
         if (!queuedClients.contains(client)) {
             // Snapshot: Client may have been removed as a result of rescheduling, then don't queue it.
@@ -618,7 +662,7 @@ public class ExchangeClient
         scheduleRequestIfNecessary();
     }
 
-    private synchronized void clientFinished(HttpPageBufferClient client)
+    private synchronized void clientFinished(PageBufferClient client)
     {
         requireNonNull(client, "client is null");
         // Snapshot: Client may have been removed as a result of rescheduling, then don't add it.
@@ -664,7 +708,7 @@ public class ExchangeClient
         }
 
         @Override
-        public boolean addPages(HttpPageBufferClient client, List<SerializedPage> pages)
+        public boolean addPages(PageBufferClient client, List<SerializedPage> pages)
         {
             requireNonNull(client, "client is null");
             requireNonNull(pages, "pages is null");
@@ -672,20 +716,20 @@ public class ExchangeClient
         }
 
         @Override
-        public void requestComplete(HttpPageBufferClient client)
+        public void requestComplete(PageBufferClient client)
         {
             requireNonNull(client, "client is null");
             ExchangeClient.this.requestComplete(client);
         }
 
         @Override
-        public void clientFinished(HttpPageBufferClient client)
+        public void clientFinished(PageBufferClient client)
         {
             ExchangeClient.this.clientFinished(client);
         }
 
         @Override
-        public void clientFailed(HttpPageBufferClient client, Throwable cause)
+        public void clientFailed(PageBufferClient client, Throwable cause)
         {
             requireNonNull(client, "client is null");
             requireNonNull(cause, "cause is null");
@@ -693,7 +737,7 @@ public class ExchangeClient
         }
     }
 
-    private static void closeQuietly(HttpPageBufferClient client)
+    private static void closeQuietly(PageBufferClient client)
     {
         try {
             client.close();
@@ -14,14 +14,19 @@
 package io.prestosql.operator;
 
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
 import io.airlift.http.client.HttpClientConfig;
 import io.airlift.units.DataSize;
 import io.airlift.units.DataSize.Unit;
+import io.airlift.units.Duration;
 import io.airlift.units.MinDataSize;
+import io.airlift.units.MinDuration;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import java.util.concurrent.TimeUnit;
+
 public class ExchangeClientConfig
 {
     public static final boolean DETECT_TIMEOUT_FAILURES = true;
@@ -31,6 +36,9 @@ public class ExchangeClientConfig
     private int clientThreads = 25;
     private int pageBufferClientMaxCallbackThreads = 25;
     private boolean acknowledgePages = true;
+    private boolean streamingEnabled;
+    private Duration maxStreamDuration = new Duration(1, TimeUnit.SECONDS);
+    private boolean inProcessEnabled;
 
     @NotNull
     public DataSize getMaxBufferSize()
@@ -109,4 +117,45 @@ public class ExchangeClientConfig
         this.acknowledgePages = acknowledgePages;
         return this;
     }
+
+    public boolean isStreamingEnabled()
+    {
+        return streamingEnabled;
+    }
+
+    @Config("exchange.streaming-enabled")
+    @ConfigDescription("Keep each exchange request open and let the upstream task push pages into it until max-response-size is reached")
+    public ExchangeClientConfig setStreamingEnabled(boolean streamingEnabled)
+    {
+        this.streamingEnabled = streamingEnabled;
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("1ms")
+    public Duration getMaxStreamDuration()
+    {
+        return maxStreamDuration;
+    }
+
+    @Config("exchange.max-stream-duration")
+    @ConfigDescription("Maximum time an upstream task keeps pushing pages into a streamed exchange request")
+    public ExchangeClientConfig setMaxStreamDuration(Duration maxStreamDuration)
+    {
+        this.maxStreamDuration = maxStreamDuration;
+        return this;
+    }
+
+    public boolean isInProcessEnabled()
+    {
+        return inProcessEnabled;
+    }
+
+    @Config("exchange.in-process-enabled")
+    @ConfigDescription("Read the output of upstream tasks running on the same node directly from their output buffers instead of over HTTP")
+    public ExchangeClientConfig setInProcessEnabled(boolean inProcessEnabled)
+    {
+        this.inProcessEnabled = inProcessEnabled;
+        return this;
+    }
 }
@@ -16,14 +16,19 @@ package io.prestosql.operator;
 import io.airlift.concurrent.ThreadPoolExecutorMBean;
 import io.airlift.http.client.HttpClient;
 import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.prestosql.execution.TaskManager;
 import io.prestosql.failuredetector.FailureDetectorManager;
 import io.prestosql.memory.context.LocalMemoryContext;
+import io.prestosql.metadata.InternalNodeManager;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Provider;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -42,6 +47,8 @@ public class ExchangeClientFactory
     private final HttpClient httpClient;
     private final DataSize maxResponseSize;
     private final boolean acknowledgePages;
+    private final Optional<Duration> streamDuration;
+    private final Optional<LocalTaskResultsSource> localTaskResults;
     private final ScheduledExecutorService scheduler;
     private final ThreadPoolExecutorMBean executorMBean;
     private final ExecutorService pageBufferClientCallbackExecutor;
@@ -52,13 +59,41 @@ public class ExchangeClientFactory
             ExchangeClientConfig config,
             @ForExchange HttpClient httpClient,
             @ForExchange ScheduledExecutorService scheduler,
+            FailureDetectorManager failureDetectorManager,
+            Provider<TaskManager> taskManager,
+            InternalNodeManager nodeManager)
+    {
+        this(
+                config,
+                httpClient,
+                scheduler,
+                failureDetectorManager,
+                config.isInProcessEnabled() ? Optional.of(new LocalTaskResultsSource(taskManager::get, () -> nodeManager.getCurrentNode().getInternalUri())) : Optional.empty());
+    }
+
+    public ExchangeClientFactory(
+            ExchangeClientConfig config,
+            HttpClient httpClient,
+            ScheduledExecutorService scheduler,
             FailureDetectorManager failureDetectorManager)
+    {
+        this(config, httpClient, scheduler, failureDetectorManager, Optional.empty());
+    }
+
+    private ExchangeClientFactory(
+            ExchangeClientConfig config,
+            HttpClient httpClient,
+            ScheduledExecutorService scheduler,
+            FailureDetectorManager failureDetectorManager,
+            Optional<LocalTaskResultsSource> localTaskResults)
     {
         this(
                 config.getMaxBufferSize(),
                 config.getMaxResponseSize(),
                 config.getConcurrentRequestMultiplier(),
                 config.isAcknowledgePages(),
+                config.isStreamingEnabled() ? Optional.of(config.getMaxStreamDuration()) : Optional.empty(),
+                localTaskResults,
                 config.getPageBufferClientMaxCallbackThreads(),
                 httpClient,
                 scheduler,
@@ -74,10 +109,37 @@ public class ExchangeClientFactory
             HttpClient httpClient,
             ScheduledExecutorService scheduler,
             FailureDetectorManager failureDetectorManager)
+    {
+        this(
+                maxBufferedBytes,
+                maxResponseSize,
+                concurrentRequestMultiplier,
+                acknowledgePages,
+                Optional.empty(),
+                Optional.empty(),
+                pageBufferClientMaxCallbackThreads,
+                httpClient,
+                scheduler,
+                failureDetectorManager);
+    }
+
+    public ExchangeClientFactory(
+            DataSize maxBufferedBytes,
+            DataSize maxResponseSize,
+            int concurrentRequestMultiplier,
+            boolean acknowledgePages,
+            Optional<Duration> streamDuration,
+            Optional<LocalTaskResultsSource> localTaskResults,
+            int pageBufferClientMaxCallbackThreads,
+            HttpClient httpClient,
+            ScheduledExecutorService scheduler,
+            FailureDetectorManager failureDetectorManager)
     {
         this.maxBufferedBytes = requireNonNull(maxBufferedBytes, "maxBufferedBytes is null");
         this.concurrentRequestMultiplier = concurrentRequestMultiplier;
         this.acknowledgePages = acknowledgePages;
+        this.streamDuration = requireNonNull(streamDuration, "streamDuration is null");
+        this.localTaskResults = requireNonNull(localTaskResults, "localTaskResults is null");
         this.httpClient = requireNonNull(httpClient, "httpClient is null");
         this.failureDetectorManager = failureDetectorManager;
 
@@ -118,6 +180,8 @@ public class ExchangeClientFactory
                 maxResponseSize,
                 concurrentRequestMultiplier,
                 acknowledgePages,
+                streamDuration,
+                localTaskResults,
                 httpClient,
                 scheduler,
                 systemMemoryContext,
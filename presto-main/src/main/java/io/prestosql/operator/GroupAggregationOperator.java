@@ -22,6 +22,7 @@ import io.prestosql.operator.aggregation.Accumulator;
 import io.prestosql.operator.aggregation.AccumulatorFactory;
 import io.prestosql.operator.aggregation.builder.AggregationBuilder;
 import io.prestosql.operator.scalar.CombineHashFunction;
+import io.prestosql.snapshot.IncrementalRestorable;
 import io.prestosql.snapshot.SingleInputSnapshotState;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PageBuilder;
@@ -48,7 +49,7 @@ import static java.util.Objects.requireNonNull;
         "accumulatorFactories", "hashChannel", "groupIdChannel", "maxPartialMemory", "memoryLimitForMerge",
         "memoryLimitForMergeWithMemory", "spillerFactory", "joinCompiler", "types", "outputPages", "unfinishedWork", "hashCollisionsCounter"})
 public class GroupAggregationOperator
-        implements Operator
+        implements Operator, IncrementalRestorable
 {
     protected static final double MERGE_WITH_MEMORY_RATIO = 0.9;
 
@@ -420,12 +421,48 @@ public class GroupAggregationOperator
 
     @Override
     public Object capture(BlockEncodingSerdeProvider serdeProvider)
+    {
+        return captureState(aggregationBuilder == null ? null : aggregationBuilder.capture(serdeProvider), serdeProvider);
+    }
+
+    @Override
+    public boolean canCaptureDelta()
+    {
+        // A new aggregation builder, e.g. after a partial flush, has no checkpoint
+        return aggregationBuilder instanceof IncrementalRestorable && ((IncrementalRestorable) aggregationBuilder).canCaptureDelta();
+    }
+
+    @Override
+    public Object captureDelta(BlockEncodingSerdeProvider serdeProvider)
+    {
+        return captureState(((IncrementalRestorable) aggregationBuilder).captureDelta(serdeProvider), serdeProvider);
+    }
+
+    @Override
+    public void restoreDelta(Object delta, BlockEncodingSerdeProvider serdeProvider)
+    {
+        GroupAggregationOperatorState myState = (GroupAggregationOperatorState) delta;
+        operatorContext.restore(myState.operatorContext, serdeProvider);
+        ((IncrementalRestorable) aggregationBuilder).restoreDelta(myState.aggregationBuilder, serdeProvider);
+        this.memoryContext.setBytes(myState.memoryContext);
+        inputProcessed = myState.inputProcessed;
+        finishing = myState.finishing;
+        finished = myState.finished;
+    }
+
+    @Override
+    public void checkpoint()
+    {
+        if (aggregationBuilder instanceof IncrementalRestorable) {
+            ((IncrementalRestorable) aggregationBuilder).checkpoint();
+        }
+    }
+
+    private GroupAggregationOperatorState captureState(Object aggregationBuilderState, BlockEncodingSerdeProvider serdeProvider)
     {
         GroupAggregationOperatorState myState = new GroupAggregationOperatorState();
         myState.operatorContext = operatorContext.capture(serdeProvider);
-        if (aggregationBuilder != null) {
-            myState.aggregationBuilder = aggregationBuilder.capture(serdeProvider);
-        }
+        myState.aggregationBuilder = aggregationBuilderState;
         myState.memoryContext = memoryContext.getBytes();
         myState.inputProcessed = inputProcessed;
         myState.finishing = finishing;
@@ -21,6 +21,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.prestosql.execution.Lifespan;
 import io.prestosql.memory.context.LocalMemoryContext;
+import io.prestosql.snapshot.IncrementalRestorable;
 import io.prestosql.snapshot.SingleInputSnapshotState;
 import io.prestosql.snapshot.Spillable;
 import io.prestosql.spi.Page;
@@ -83,7 +84,7 @@ import static java.util.Objects.requireNonNull;
         "lookupSourceNotNeeded", "spilledLookupSourceHandle", "spillInProgress", "unspillInProgress", "lookupSourceSupplier", "lookupSourceChecksum",
         "finishMemoryRevoke", "snapshotState", "lastMarker", "finishInProgress", "spillerFactory"})
 public class HashBuilderOperator
-        implements SinkOperator, Spillable
+        implements SinkOperator, Spillable, IncrementalRestorable
 {
     public static class HashBuilderOperatorFactory
             implements OperatorFactory
@@ -1061,12 +1062,71 @@ public class HashBuilderOperator
         }
     }
 
+    @Override
+    public boolean canCaptureDelta()
+    {
+        // Once spilled, the index is emptied and the state is in the spilled files
+        return state == State.CONSUMING_INPUT && !spiller.isPresent() && !genericSpiller.isPresent() && index.canCaptureDelta();
+    }
+
+    @Override
+    public Object captureDelta(BlockEncodingSerdeProvider serdeProvider)
+    {
+        HashBuilderOperatorDeltaState myState = new HashBuilderOperatorDeltaState();
+        myState.operatorContext = operatorContext.capture(serdeProvider);
+        myState.localUserMemoryContext = localUserMemoryContext.getBytes();
+        myState.localRevocableMemoryContext = localRevocableMemoryContext.getBytes();
+        myState.index = index.captureDelta(serdeProvider);
+        myState.hashCollisionsCounter = hashCollisionsCounter.capture(serdeProvider);
+        myState.alreadyFinished = alreadyFinished;
+        if (spillBloom != null) {
+            myState.spillBloom = spillBloom.capture();
+        }
+        myState.state = state.toString();
+        return myState;
+    }
+
+    @Override
+    public void restoreDelta(Object delta, BlockEncodingSerdeProvider serdeProvider)
+    {
+        HashBuilderOperatorDeltaState myState = (HashBuilderOperatorDeltaState) delta;
+        this.operatorContext.restore(myState.operatorContext, serdeProvider);
+        this.localUserMemoryContext.setBytes(myState.localUserMemoryContext);
+        this.localRevocableMemoryContext.setBytes(myState.localRevocableMemoryContext);
+        this.index.restoreDelta(myState.index, serdeProvider);
+        this.hashCollisionsCounter.restore(myState.hashCollisionsCounter, serdeProvider);
+        this.alreadyFinished = myState.alreadyFinished;
+        if (myState.spillBloom != null) {
+            this.spillBloom.restore(myState.spillBloom);
+        }
+        this.state = State.valueOf(myState.state);
+    }
+
+    @Override
+    public void checkpoint()
+    {
+        index.checkpoint();
+    }
+
     @Override
     public boolean supportsConsolidatedWrites()
     {
         return false;
     }
 
+    private static class HashBuilderOperatorDeltaState
+            implements Serializable
+    {
+        private Object operatorContext;
+        private long localUserMemoryContext;
+        private long localRevocableMemoryContext;
+        private Object index;
+        private Object hashCollisionsCounter;
+        private String state;
+        private boolean alreadyFinished;
+        private Object spillBloom;
+    }
+
     private static class HashBuilderOperatorState
             implements Serializable
     {
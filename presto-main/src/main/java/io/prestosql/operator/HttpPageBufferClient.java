@@ -31,6 +31,7 @@ import io.airlift.log.Logger;
 import io.airlift.slice.InputStreamSliceInput;
 import io.airlift.slice.SliceInput;
 import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
 import io.hetu.core.transport.execution.buffer.SerializedPage;
 import io.prestosql.failuredetector.FailureDetectorManager;
 import io.prestosql.snapshot.QueryRecoveryManager;
@@ -44,21 +45,17 @@ import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.BufferedReader;
-import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.util.List;
-import java.util.OptionalInt;
-import java.util.OptionalLong;
+import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
-import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
 import static io.airlift.http.client.HttpStatus.familyForStatusCode;
 import static io.airlift.http.client.Request.Builder.prepareDelete;
@@ -67,12 +64,16 @@ import static io.airlift.http.client.ResponseHandlerUtils.propagate;
 import static io.airlift.http.client.StatusResponseHandler.StatusResponse;
 import static io.airlift.http.client.StatusResponseHandler.createStatusResponseHandler;
 import static io.hetu.core.transport.execution.buffer.PagesSerdeUtil.readSerializedPages;
+import static io.prestosql.PrestoMediaTypes.PRESTO_PAGES_STREAM_TYPE;
 import static io.prestosql.PrestoMediaTypes.PRESTO_PAGES_TYPE;
 import static io.prestosql.client.PrestoHeaders.PRESTO_BUFFER_COMPLETE;
 import static io.prestosql.client.PrestoHeaders.PRESTO_MAX_SIZE;
+import static io.prestosql.client.PrestoHeaders.PRESTO_MAX_WAIT;
 import static io.prestosql.client.PrestoHeaders.PRESTO_PAGE_NEXT_TOKEN;
 import static io.prestosql.client.PrestoHeaders.PRESTO_PAGE_TOKEN;
 import static io.prestosql.client.PrestoHeaders.PRESTO_TASK_INSTANCE_ID;
+import static io.prestosql.execution.buffer.PagesStreamFormat.readBufferComplete;
+import static io.prestosql.execution.buffer.PagesStreamFormat.readFrame;
 import static io.prestosql.operator.HttpPageBufferClient.PagesResponse.createEmptyPagesResponse;
 import static io.prestosql.operator.HttpPageBufferClient.PagesResponse.createPagesResponse;
 import static io.prestosql.spi.HostAddress.fromUri;
@@ -86,63 +87,28 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 
 @ThreadSafe
 public final class HttpPageBufferClient
-        implements Closeable
+        extends AbstractPageBufferClient
 {
     private static final Logger log = Logger.get(HttpPageBufferClient.class);
     public static final String PAGE_TRANSPORT_ERROR_PREFIX = "Page transport error with response status code";
 
-    /**
-     * For each request, the addPage method will be called zero or more times,
-     * followed by either requestComplete or clientFinished (if buffer complete).  If the client is
-     * closed, requestComplete or bufferFinished may never be called.
-     * <p/>
-     * <b>NOTE:</b> Implementations of this interface are not allowed to perform
-     * blocking operations.
-     */
-    public interface ClientCallback
-    {
-        boolean addPages(HttpPageBufferClient client, List<SerializedPage> pages);
-
-        void requestComplete(HttpPageBufferClient client);
-
-        void clientFinished(HttpPageBufferClient client);
-
-        void clientFailed(HttpPageBufferClient client, Throwable cause);
-    }
-
     private final HttpClient httpClient;
     private final DataSize maxResponseSize;
     private final boolean acknowledgePages;
-    private final URI location;
-    private final ClientCallback clientCallback;
+    private final Optional<Duration> streamDuration;
     private final ScheduledExecutorService scheduler;
     private final IBackoff backoff;
 
-    @GuardedBy("this")
-    private boolean closed;
     @GuardedBy("this")
     private HttpResponseFuture<?> future;
     @GuardedBy("this")
-    private DateTime lastUpdate = DateTime.now();
-    @GuardedBy("this")
     private long token;
+    // pages were streamed since the last acknowledge, they are all acknowledged once the stream ends
     @GuardedBy("this")
-    private boolean scheduled;
-    @GuardedBy("this")
-    private boolean completed;
+    private boolean streamedPagesUnacknowledged;
     @GuardedBy("this")
     private final String taskInstanceId;
 
-    private final AtomicLong rowsReceived = new AtomicLong();
-    private final AtomicInteger pagesReceived = new AtomicInteger();
-
-    private final AtomicLong rowsRejected = new AtomicLong();
-    private final AtomicInteger pagesRejected = new AtomicInteger();
-
-    private final AtomicInteger requestsScheduled = new AtomicInteger();
-    private final AtomicInteger requestsCompleted = new AtomicInteger();
-    private final AtomicInteger requestsFailed = new AtomicInteger();
-
     private final Executor pageBufferClientCallbackExecutor;
 
     private final boolean isRecoveryEnabled;
@@ -161,12 +127,37 @@ public final class HttpPageBufferClient
             FailureDetectorManager failureDetectorManager,
             QueryRecoveryManager queryRecoveryManager)
     {
+        this(httpClient,
+                maxResponseSize,
+                acknowledgePages,
+                Optional.empty(),
+                location,
+                clientCallback,
+                scheduler,
+                pageBufferClientCallbackExecutor,
+                isRecoveryEnabled,
+                failureDetectorManager,
+                queryRecoveryManager);
+    }
+
+    HttpPageBufferClient(
+            HttpClient httpClient,
+            DataSize maxResponseSize,
+            boolean acknowledgePages,
+            Optional<Duration> streamDuration,
+            TaskLocation location,
+            ClientCallback clientCallback,
+            ScheduledExecutorService scheduler,
+            Executor pageBufferClientCallbackExecutor,
+            boolean isRecoveryEnabled,
+            FailureDetectorManager failureDetectorManager,
+            QueryRecoveryManager queryRecoveryManager)
+    {
+        super(requireNonNull(location, "TaskLocation is null").getUri(), clientCallback);
         this.httpClient = requireNonNull(httpClient, "httpClient is null");
         this.maxResponseSize = requireNonNull(maxResponseSize, "maxResponseSize is null");
         this.acknowledgePages = acknowledgePages;
-        requireNonNull(location, "TaskLocation is null");
-        this.location = requireNonNull(location.getUri(), "location is null");
-        this.clientCallback = requireNonNull(clientCallback, "clientCallback is null");
+        this.streamDuration = requireNonNull(streamDuration, "streamDuration is null");
         this.scheduler = requireNonNull(scheduler, "scheduler is null");
         this.taskInstanceId = requireNonNull(location.getInstanceId(), "taskInstanceId is null");
         this.pageBufferClientCallbackExecutor = requireNonNull(pageBufferClientCallbackExecutor, "pageBufferClientCallbackExecutor is null");
@@ -191,12 +182,11 @@ public final class HttpPageBufferClient
             FailureDetectorManager failureDetectorManager,
             QueryRecoveryManager queryRecoveryManager)
     {
+        super(requireNonNull(location, "TaskLocation is null").getUri(), clientCallback);
         this.httpClient = requireNonNull(httpClient, "httpClient is null");
         this.maxResponseSize = requireNonNull(maxResponseSize, "maxResponseSize is null");
         this.acknowledgePages = acknowledgePages;
-        requireNonNull(location, "TaskLocation is null");
-        this.location = requireNonNull(location.getUri(), "location is null");
-        this.clientCallback = requireNonNull(clientCallback, "clientCallback is null");
+        this.streamDuration = Optional.empty();
         this.scheduler = requireNonNull(scheduler, "scheduler is null");
         this.taskInstanceId = requireNonNull(location.getInstanceId(), "taskInstanceId is null");
         this.pageBufferClientCallbackExecutor = requireNonNull(pageBufferClientCallbackExecutor, "pageBufferClientCallbackExecutor is null");
@@ -207,46 +197,13 @@ public final class HttpPageBufferClient
         this.queryRecoveryManager = queryRecoveryManager;
     }
 
-    public synchronized PageBufferClientStatus getStatus()
+    @Override
+    protected synchronized String getRequestState()
     {
-        String state;
-        if (closed) {
-            state = "closed";
-        }
-        else if (future != null) {
-            state = "running";
-        }
-        else if (scheduled) {
-            state = "scheduled";
-        }
-        else if (completed) {
-            state = "completed";
-        }
-        else {
-            state = "queued";
-        }
-        String httpRequestState = "not scheduled";
-        if (future != null) {
-            httpRequestState = future.getState();
-        }
-
-        long rejectedRows = rowsRejected.get();
-        int rejectedPages = pagesRejected.get();
-
-        return new PageBufferClientStatus(
-                location,
-                state,
-                lastUpdate,
-                rowsReceived.get(),
-                pagesReceived.get(),
-                rejectedRows == 0 ? OptionalLong.empty() : OptionalLong.of(rejectedRows),
-                rejectedPages == 0 ? OptionalInt.empty() : OptionalInt.of(rejectedPages),
-                requestsScheduled.get(),
-                requestsCompleted.get(),
-                requestsFailed.get(),
-                httpRequestState);
+        return future != null ? future.getState() : "not scheduled";
     }
 
+    @Override
     public synchronized boolean isRunning()
     {
         return future != null;
@@ -279,6 +236,7 @@ public final class HttpPageBufferClient
         }
     }
 
+    @Override
     public synchronized void scheduleRequest()
     {
         if (closed || (future != null) || scheduled) {
@@ -333,12 +291,21 @@ public final class HttpPageBufferClient
 
     private synchronized void sendGetResults()
     {
-        URI uri = HttpUriBuilder.uriBuilderFrom(location).appendPath(String.valueOf(token)).build();
-        HttpResponseFuture<PagesResponse> resultFuture = httpClient.executeAsync(
-                addInstanceIdHeader(prepareGet())
-                        .setHeader(PRESTO_MAX_SIZE, maxResponseSize.toString())
-                        .setUri(uri).build(),
-                new PageResponseHandler(queryRecoveryManager));
+        HttpUriBuilder uriBuilder = HttpUriBuilder.uriBuilderFrom(location).appendPath(String.valueOf(token));
+        Request.Builder requestBuilder = addInstanceIdHeader(prepareGet())
+                .setHeader(PRESTO_MAX_SIZE, maxResponseSize.toString());
+        PageResponseHandler responseHandler;
+        if (streamDuration.isPresent()) {
+            // the server keeps pushing pages in the response until it sent max size or the stream duration expired
+            uriBuilder.appendPath("stream");
+            requestBuilder.setHeader(PRESTO_MAX_WAIT, streamDuration.get().toString());
+            responseHandler = new PageResponseHandler(queryRecoveryManager, Optional.of(this::pagesStreamed));
+        }
+        else {
+            responseHandler = new PageResponseHandler(queryRecoveryManager, Optional.empty());
+        }
+        URI uri = uriBuilder.build();
+        HttpResponseFuture<PagesResponse> resultFuture = httpClient.executeAsync(requestBuilder.setUri(uri).build(), responseHandler);
 
         future = resultFuture;
         Futures.addCallback(resultFuture, new FutureCallback<PagesResponse>()
@@ -357,7 +324,8 @@ public final class HttpPageBufferClient
                         if (result.getToken() == token) {
                             pages = result.getPages();
                             token = result.getNextToken();
-                            shouldAcknowledge = pages.size() > 0;
+                            shouldAcknowledge = pages.size() > 0 || streamedPagesUnacknowledged;
+                            streamedPagesUnacknowledged = false;
                         }
                         else {
                             pages = ImmutableList.of();
@@ -365,28 +333,7 @@ public final class HttpPageBufferClient
                     }
 
                     if (shouldAcknowledge && acknowledgePages) {
-                        // Acknowledge token without handling the response.
-                        // The next request will also make sure the token is acknowledged.
-                        // This is to fast release the pages on the buffer side.
-                        URI uri = HttpUriBuilder.uriBuilderFrom(location).appendPath(String.valueOf(result.getNextToken())).appendPath("acknowledge").build();
-                        httpClient.executeAsync(addInstanceIdHeader(prepareGet()).setUri(uri).build(), new ResponseHandler<Void, RuntimeException>()
-                        {
-                            @Override
-                            public Void handleException(Request request, Exception exception)
-                            {
-                                log.debug(exception, "Acknowledge request failed: %s", uri);
-                                return null;
-                            }
-
-                            @Override
-                            public Void handle(Request request, Response response)
-                            {
-                                if (familyForStatusCode(response.getStatusCode()) != HttpStatus.Family.SUCCESSFUL) {
-                                    log.debug("Unexpected acknowledge response code: %s", response.getStatusCode());
-                                }
-                                return null;
-                            }
-                        });
+                        sendAcknowledge(result.getNextToken());
                     }
                 }
                 catch (PrestoException e) {
@@ -399,14 +346,7 @@ public final class HttpPageBufferClient
                 // clientCallback can keep stats of requests and responses. For example, it may
                 // keep track of how often a client returns empty response and adjust request
                 // frequency or buffer size.
-                if (clientCallback.addPages(HttpPageBufferClient.this, pages)) {
-                    pagesReceived.addAndGet(pages.size());
-                    rowsReceived.addAndGet(pages.stream().mapToLong(SerializedPage::getPositionCount).sum());
-                }
-                else {
-                    pagesRejected.addAndGet(pages.size());
-                    rowsRejected.addAndGet(pages.stream().mapToLong(SerializedPage::getPositionCount).sum());
-                }
+                addPages(pages);
 
                 synchronized (HttpPageBufferClient.this) {
                     // client is complete, acknowledge it by sending it a delete in the next request
@@ -451,6 +391,51 @@ public final class HttpPageBufferClient
         }, pageBufferClientCallbackExecutor);
     }
 
+    private void pagesStreamed(long pagesToken, List<SerializedPage> pages)
+    {
+        checkNotHoldsLock(this);
+
+        synchronized (this) {
+            // the pages of a stream are only accepted in order, a stream that fell behind the token is stale
+            if (closed || pagesToken != token) {
+                return;
+            }
+            token = pagesToken + pages.size();
+            lastUpdate = DateTime.now();
+            // a single acknowledge is sent for all the frames when the response completes, and the pages of an
+            // interrupted stream are acknowledged by the token of the next request
+            streamedPagesUnacknowledged = true;
+        }
+
+        addPages(pages);
+    }
+
+    private void sendAcknowledge(long nextToken)
+    {
+        // Acknowledge token without handling the response.
+        // The next request will also make sure the token is acknowledged.
+        // This is to fast release the pages on the buffer side.
+        URI uri = HttpUriBuilder.uriBuilderFrom(location).appendPath(String.valueOf(nextToken)).appendPath("acknowledge").build();
+        httpClient.executeAsync(addInstanceIdHeader(prepareGet()).setUri(uri).build(), new ResponseHandler<Void, RuntimeException>()
+        {
+            @Override
+            public Void handleException(Request request, Exception exception)
+            {
+                log.debug(exception, "Acknowledge request failed: %s", uri);
+                return null;
+            }
+
+            @Override
+            public Void handle(Request request, Response response)
+            {
+                if (familyForStatusCode(response.getStatusCode()) != HttpStatus.Family.SUCCESSFUL) {
+                    log.debug("Unexpected acknowledge response code: %s", response.getStatusCode());
+                }
+                return null;
+            }
+        });
+    }
+
     private synchronized void sendDelete()
     {
         if (isRecoveryEnabled && taskInstanceId == null) {
@@ -499,11 +484,6 @@ public final class HttpPageBufferClient
         }, pageBufferClientCallbackExecutor);
     }
 
-    private static void checkNotHoldsLock(Object lock)
-    {
-        checkState(!Thread.holdsLock(lock), "Cannot execute this method while holding a lock");
-    }
-
     private void handleFailure(Throwable t, HttpResponseFuture<?> expectedFuture, boolean failed)
     {
         // Can not delegate to other callback while holding a lock on this
@@ -531,52 +511,6 @@ public final class HttpPageBufferClient
         handleFailure(t, expectedFuture, true);
     }
 
-    @Override
-    public boolean equals(Object o)
-    {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-
-        HttpPageBufferClient that = (HttpPageBufferClient) o;
-
-        if (!location.equals(that.location)) {
-            return false;
-        }
-
-        return true;
-    }
-
-    @Override
-    public int hashCode()
-    {
-        return location.hashCode();
-    }
-
-    @Override
-    public String toString()
-    {
-        String state;
-        synchronized (this) {
-            if (closed) {
-                state = "CLOSED";
-            }
-            else if (future != null) {
-                state = "RUNNING";
-            }
-            else {
-                state = "QUEUED";
-            }
-        }
-        return toStringHelper(this)
-                .add("location", location)
-                .addValue(state)
-                .toString();
-    }
-
     private static Throwable rewriteException(Throwable t)
     {
         if (t instanceof ResponseTooLargeException) {
@@ -585,14 +519,24 @@ public final class HttpPageBufferClient
         return t;
     }
 
+    /**
+     * Receives the pages of a streamed response as they arrive, before the response completes.
+     */
+    interface PagesStreamListener
+    {
+        void pagesStreamed(long token, List<SerializedPage> pages);
+    }
+
     public static class PageResponseHandler
             implements ResponseHandler<PagesResponse, RuntimeException>
     {
         private final QueryRecoveryManager queryRecoveryManager;
+        private final Optional<PagesStreamListener> streamListener;
 
-        private PageResponseHandler(QueryRecoveryManager queryRecoveryManager)
+        private PageResponseHandler(QueryRecoveryManager queryRecoveryManager, Optional<PagesStreamListener> streamListener)
         {
             this.queryRecoveryManager = queryRecoveryManager;
+            this.streamListener = requireNonNull(streamListener, "streamListener is null");
         }
 
         @Override
@@ -643,6 +587,9 @@ public final class HttpPageBufferClient
                 if (contentType == null) {
                     throw new PageTransportErrorException(format("%s header is not set: %s", CONTENT_TYPE, response));
                 }
+                if (streamListener.isPresent() && mediaTypeMatches(contentType, PRESTO_PAGES_STREAM_TYPE)) {
+                    return readPagesStream(response, streamListener.get());
+                }
                 if (!mediaTypeMatches(contentType, PRESTO_PAGES_TYPE)) {
                     throw new PageTransportErrorException(format("Expected %s response from server but got %s",
                             PRESTO_PAGES_TYPE, contentType));
@@ -673,6 +620,24 @@ public final class HttpPageBufferClient
             }
         }
 
+        private static PagesResponse readPagesStream(Response response, PagesStreamListener listener)
+        {
+            // the pages are handed to the listener frame by frame, so the response itself carries no pages
+            long nextToken = getToken(response);
+            try (InputStream input = response.getInputStream()) {
+                Optional<List<SerializedPage>> pages = readFrame(input);
+                while (pages.isPresent()) {
+                    listener.pagesStreamed(nextToken, pages.get());
+                    nextToken += pages.get().size();
+                    pages = readFrame(input);
+                }
+                return createEmptyPagesResponse(nextToken, nextToken, readBufferComplete(input));
+            }
+            catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
         private static long getToken(Response response)
         {
             String tokenHeader = response.getHeader(PRESTO_PAGE_TOKEN);
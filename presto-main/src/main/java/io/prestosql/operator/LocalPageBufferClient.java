@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.log.Logger;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.hetu.core.transport.execution.buffer.SerializedPage;
+import io.prestosql.execution.TaskId;
+import io.prestosql.execution.TaskManager;
+import io.prestosql.execution.buffer.BufferResult;
+import io.prestosql.execution.buffer.OutputBuffers.OutputBufferId;
+import org.joda.time.DateTime;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.concurrent.MoreFutures.addTimeout;
+import static io.prestosql.execution.buffer.BufferResult.emptyResults;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Reads the output buffer of a task running on this node directly from the {@link TaskManager}, instead
+ * of requesting it over HTTP. The serialized pages are handed over as they are, so they are neither
+ * copied to nor parsed from a response body. The buffer is read and acknowledged with the same tokens as
+ * the HTTP results requests, so the output buffer releases the pages at the same point. Like a results
+ * request, a read waits at most two seconds for pages before it completes empty.
+ */
+@ThreadSafe
+public final class LocalPageBufferClient
+        extends AbstractPageBufferClient
+{
+    private static final Logger log = Logger.get(LocalPageBufferClient.class);
+    private static final Duration MAX_WAIT_TIME = new Duration(2, SECONDS);
+
+    private final TaskManager taskManager;
+    private final DataSize maxResponseSize;
+    private final boolean acknowledgePages;
+    private final TaskId taskId;
+    private final OutputBufferId bufferId;
+    private final String taskInstanceId;
+    private final ScheduledExecutorService scheduler;
+    private final Executor pageBufferClientCallbackExecutor;
+
+    @GuardedBy("this")
+    private ListenableFuture<BufferResult> future;
+    @GuardedBy("this")
+    private long token;
+
+    public LocalPageBufferClient(
+            TaskManager taskManager,
+            DataSize maxResponseSize,
+            boolean acknowledgePages,
+            TaskLocation location,
+            ClientCallback clientCallback,
+            ScheduledExecutorService scheduler,
+            Executor pageBufferClientCallbackExecutor)
+    {
+        super(requireNonNull(location, "TaskLocation is null").getUri(), clientCallback);
+        this.taskManager = requireNonNull(taskManager, "taskManager is null");
+        this.maxResponseSize = requireNonNull(maxResponseSize, "maxResponseSize is null");
+        this.acknowledgePages = acknowledgePages;
+        this.taskInstanceId = requireNonNull(location.getInstanceId(), "taskInstanceId is null");
+        this.scheduler = requireNonNull(scheduler, "scheduler is null");
+        this.pageBufferClientCallbackExecutor = requireNonNull(pageBufferClientCallbackExecutor, "pageBufferClientCallbackExecutor is null");
+
+        // the location of a task output buffer is .../v1/task/{taskId}/results/{bufferId}
+        String[] segments = this.location.getPath().split("/");
+        checkArgument(segments.length >= 3 && segments[segments.length - 2].equals("results"), "Invalid task results location: %s", this.location);
+        this.taskId = TaskId.valueOf(segments[segments.length - 3]);
+        this.bufferId = OutputBufferId.fromString(segments[segments.length - 1]);
+    }
+
+    @Override
+    protected synchronized String getRequestState()
+    {
+        return future != null ? "local" : "not scheduled";
+    }
+
+    @Override
+    public synchronized boolean isRunning()
+    {
+        return future != null;
+    }
+
+    @Override
+    public void close()
+    {
+        boolean shouldAbort;
+        ListenableFuture<BufferResult> resultFuture;
+        synchronized (this) {
+            shouldAbort = !closed;
+            closed = true;
+            resultFuture = future;
+            future = null;
+            lastUpdate = DateTime.now();
+        }
+
+        if (resultFuture != null && !resultFuture.isDone()) {
+            resultFuture.cancel(true);
+        }
+
+        // abort the output buffer, like the delete request of the http client
+        if (shouldAbort) {
+            abortResults();
+        }
+    }
+
+    @Override
+    public synchronized void scheduleRequest()
+    {
+        if (closed || (future != null) || scheduled) {
+            return;
+        }
+        scheduled = true;
+
+        // the request is started from the callback executor, as this is called while the exchange client holds its lock
+        pageBufferClientCallbackExecutor.execute(this::initiateRequest);
+
+        lastUpdate = DateTime.now();
+        requestsScheduled.incrementAndGet();
+    }
+
+    private void initiateRequest()
+    {
+        checkNotHoldsLock(this);
+
+        boolean finished;
+        synchronized (this) {
+            scheduled = false;
+            if (closed || (future != null)) {
+                return;
+            }
+            finished = completed;
+            if (finished) {
+                closed = true;
+            }
+            lastUpdate = DateTime.now();
+        }
+
+        if (finished) {
+            abortResults();
+            requestsCompleted.incrementAndGet();
+            clientCallback.clientFinished(this);
+            return;
+        }
+
+        try {
+            sendGetResults();
+        }
+        catch (RuntimeException e) {
+            handleFailure(e, null);
+        }
+    }
+
+    private synchronized void sendGetResults()
+    {
+        long requestToken = token;
+        ListenableFuture<BufferResult> resultFuture = taskManager.getTaskResults(taskId, bufferId, requestToken, maxResponseSize, taskInstanceId);
+        if (resultFuture == null) {
+            // the task was cancelled to be resumed, so return an empty result like the results resource does
+            resultFuture = Futures.immediateFuture(emptyResults(requestToken, false));
+        }
+        else {
+            // complete the read empty when no pages arrive in time, so the exchange client can rebalance its requests
+            resultFuture = addTimeout(resultFuture, () -> emptyResults(requestToken, false), MAX_WAIT_TIME, scheduler);
+        }
+        future = resultFuture;
+
+        ListenableFuture<BufferResult> expectedFuture = resultFuture;
+        Futures.addCallback(resultFuture, new FutureCallback<BufferResult>()
+        {
+            @Override
+            public void onSuccess(BufferResult result)
+            {
+                handleResult(result, expectedFuture);
+            }
+
+            @Override
+            public void onFailure(Throwable t)
+            {
+                handleFailure(t, expectedFuture);
+            }
+        }, pageBufferClientCallbackExecutor);
+    }
+
+    private void handleResult(BufferResult result, ListenableFuture<BufferResult> expectedFuture)
+    {
+        checkNotHoldsLock(this);
+
+        List<SerializedPage> pages;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (result.getToken() == token) {
+                pages = result.getSerializedPages();
+                token = result.getNextToken();
+            }
+            else {
+                pages = ImmutableList.of();
+            }
+        }
+
+        if (!pages.isEmpty() && acknowledgePages) {
+            // release the pages on the buffer side right away, the next request would acknowledge them too
+            taskManager.acknowledgeTaskResults(taskId, bufferId, result.getNextToken(), taskInstanceId);
+        }
+
+        addPages(pages);
+
+        synchronized (this) {
+            // client is complete, acknowledge it by aborting the buffer in the next request
+            if (result.isBufferComplete()) {
+                completed = true;
+            }
+            if (future == expectedFuture) {
+                future = null;
+            }
+            lastUpdate = DateTime.now();
+        }
+        requestsCompleted.incrementAndGet();
+        clientCallback.requestComplete(this);
+    }
+
+    private void handleFailure(Throwable t, ListenableFuture<BufferResult> expectedFuture)
+    {
+        checkNotHoldsLock(this);
+
+        synchronized (this) {
+            if (closed && t instanceof CancellationException) {
+                return;
+            }
+            if (future == expectedFuture) {
+                future = null;
+            }
+            lastUpdate = DateTime.now();
+        }
+
+        // there is no transport to retry, so any failure reading the buffer fails the exchange
+        requestsFailed.incrementAndGet();
+        requestsCompleted.incrementAndGet();
+        clientCallback.clientFailed(this, t);
+        clientCallback.requestComplete(this);
+    }
+
+    private void abortResults()
+    {
+        try {
+            taskManager.abortTaskResults(taskId, bufferId, taskInstanceId);
+        }
+        catch (RuntimeException e) {
+            log.debug(e, "Aborting results of %s failed", location);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import io.airlift.units.DataSize;
+import io.prestosql.execution.TaskManager;
+import io.prestosql.operator.PageBufferClient.ClientCallback;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Gives exchange clients in-process access to the output buffers of the tasks running on this node.
+ */
+public class LocalTaskResultsSource
+{
+    private final Supplier<TaskManager> taskManager;
+    private final Supplier<URI> localUri;
+
+    /**
+     * @param taskManager task manager of this node, resolved lazily since the task manager itself depends on the exchange clients
+     * @param localUri internal URI of this node, which prefixes the locations of the local tasks
+     */
+    public LocalTaskResultsSource(Supplier<TaskManager> taskManager, Supplier<URI> localUri)
+    {
+        this.taskManager = requireNonNull(taskManager, "taskManager is null");
+        this.localUri = requireNonNull(localUri, "localUri is null");
+    }
+
+    public boolean isLocal(URI location)
+    {
+        URI local = localUri.get();
+        return Objects.equals(location.getScheme(), local.getScheme())
+                && Objects.equals(location.getHost(), local.getHost())
+                && location.getPort() == local.getPort();
+    }
+
+    public PageBufferClient createClient(
+            DataSize maxResponseSize,
+            boolean acknowledgePages,
+            TaskLocation location,
+            ClientCallback clientCallback,
+            ScheduledExecutorService scheduler,
+            Executor pageBufferClientCallbackExecutor)
+    {
+        return new LocalPageBufferClient(taskManager.get(), maxResponseSize, acknowledgePages, location, clientCallback, scheduler, pageBufferClientCallbackExecutor);
+    }
+}
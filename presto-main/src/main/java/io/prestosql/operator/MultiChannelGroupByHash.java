@@ -19,6 +19,7 @@ import io.airlift.slice.Slice;
 import io.airlift.slice.SliceOutput;
 import io.airlift.slice.Slices;
 import io.prestosql.array.LongBigArray;
+import io.prestosql.snapshot.IncrementalRestorable;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PageBuilder;
 import io.prestosql.spi.PrestoException;
@@ -49,9 +50,9 @@ import static java.util.Objects.requireNonNull;
 
 // This implementation assumes arrays used in the hash are always a power of 2
 @RestorableConfig(uncapturedFields = {"types", "hashTypes", "channels", "hashStrategy",
-        "inputHashChannel", "processDictionary", "hashGenerator", "updateMemory"})
+        "inputHashChannel", "processDictionary", "hashGenerator", "updateMemory", "deltaBaseValid", "deltaFirstBlock"})
 public class MultiChannelGroupByHash
-        extends MultiChannelGroupBy implements GroupByHash
+        extends MultiChannelGroupBy implements GroupByHash, IncrementalRestorable
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(MultiChannelGroupByHash.class).instanceSize();
     private static final float FILL_RATIO = 0.75f;
@@ -77,6 +78,10 @@ public class MultiChannelGroupByHash
     private final UpdateMemory updateMemory;
     private long preallocatedMemoryInBytes;
 
+    // Completed group pages are never modified, so a delta only holds the pages completed since the checkpoint
+    private boolean deltaBaseValid;
+    private int deltaFirstBlock;
+
     public MultiChannelGroupByHash(
             List<? extends Type> hashTypes,
             int[] hashChannels,
@@ -415,6 +420,43 @@ public class MultiChannelGroupByHash
 
     @Override
     public Object capture(BlockEncodingSerdeProvider serdeProvider)
+    {
+        return captureState(0, serdeProvider);
+    }
+
+    @Override
+    public void restore(Object state, BlockEncodingSerdeProvider serdeProvider)
+    {
+        restoreState((MultiChannelGroupByHashState) state, serdeProvider);
+        deltaBaseValid = false;
+    }
+
+    @Override
+    public boolean canCaptureDelta()
+    {
+        return deltaBaseValid;
+    }
+
+    @Override
+    public Object captureDelta(BlockEncodingSerdeProvider serdeProvider)
+    {
+        return captureState(deltaFirstBlock, serdeProvider);
+    }
+
+    @Override
+    public void restoreDelta(Object delta, BlockEncodingSerdeProvider serdeProvider)
+    {
+        restoreState((MultiChannelGroupByHashState) delta, serdeProvider);
+    }
+
+    @Override
+    public void checkpoint()
+    {
+        deltaBaseValid = true;
+        deltaFirstBlock = channelBuilders.isEmpty() ? 0 : channelBuilders.get(0).size() - 1;
+    }
+
+    private MultiChannelGroupByHashState captureState(int firstBlock, BlockEncodingSerdeProvider serdeProvider)
     {
         MultiChannelGroupByHashState myState = new MultiChannelGroupByHashState();
         myState.currentPageBuilder = currentPageBuilder.capture(serdeProvider);
@@ -438,25 +480,24 @@ public class MultiChannelGroupByHash
         myState.preallocatedMemoryInBytes = preallocatedMemoryInBytes;
         myState.currentPageSizeInBytes = currentPageSizeInBytes;
 
+        myState.firstBlock = firstBlock;
         myState.channelBuilders = new byte[channelBuilders.size()][][];
         for (int i = 0; i < channelBuilders.size(); i++) {
             if (channelBuilders.get(i).size() > 0) {
                 // The last block in channelBuilder[i] is always in currentPageBuilder
-                myState.channelBuilders[i] = new byte[channelBuilders.get(i).size() - 1][];
-                for (int j = 0; j < channelBuilders.get(i).size() - 1; j++) {
+                myState.channelBuilders[i] = new byte[channelBuilders.get(i).size() - 1 - firstBlock][];
+                for (int j = firstBlock; j < channelBuilders.get(i).size() - 1; j++) {
                     SliceOutput sliceOutput = new DynamicSliceOutput(1);
                     serdeProvider.getBlockEncodingSerde().writeBlock(sliceOutput, channelBuilders.get(i).get(j));
-                    myState.channelBuilders[i][j] = sliceOutput.getUnderlyingSlice().getBytes();
+                    myState.channelBuilders[i][j - firstBlock] = sliceOutput.getUnderlyingSlice().getBytes();
                 }
             }
         }
         return myState;
     }
 
-    @Override
-    public void restore(Object state, BlockEncodingSerdeProvider serdeProvider)
+    private void restoreState(MultiChannelGroupByHashState myState, BlockEncodingSerdeProvider serdeProvider)
     {
-        MultiChannelGroupByHashState myState = (MultiChannelGroupByHashState) state;
         this.currentPageBuilder.restore(myState.currentPageBuilder, serdeProvider);
 
         this.completedPagesMemorySize = myState.completedPagesMemorySize;
@@ -487,7 +528,9 @@ public class MultiChannelGroupByHash
         checkState(myState.channelBuilders.length == this.channelBuilders.size());
         for (int i = 0; i < myState.channelBuilders.length; i++) {
             if (myState.channelBuilders[i] != null) {
-                this.channelBuilders.get(i).clear();
+                // Keep the completed blocks restored from the checkpoint, and drop the currentPageBuilder block
+                checkState(myState.firstBlock == 0 || this.channelBuilders.get(i).size() == myState.firstBlock + 1);
+                this.channelBuilders.get(i).size(myState.firstBlock);
                 for (int j = 0; j < myState.channelBuilders[i].length; j++) {
                     Slice input = Slices.wrappedBuffer(myState.channelBuilders[i][j]);
                     this.channelBuilders.get(i).add(serdeProvider.getBlockEncodingSerde().readBlock(input.getInput()));
@@ -520,6 +563,7 @@ public class MultiChannelGroupByHash
         private long preallocatedMemoryInBytes;
         private long currentPageSizeInBytes;
 
+        private int firstBlock;
         private byte[][][] channelBuilders;
     }
 }
@@ -15,10 +15,13 @@ package io.prestosql.operator;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.airlift.stats.CounterStat;
 import io.airlift.units.Duration;
+import io.hetu.core.transport.execution.buffer.PageCompressionCodec;
+import io.hetu.core.transport.execution.buffer.SerializedPage;
 import io.prestosql.Session;
 import io.prestosql.SystemSessionProperties;
 import io.prestosql.execution.TaskId;
@@ -40,9 +43,11 @@ import javax.annotation.concurrent.ThreadSafe;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -71,7 +76,7 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
         "internalNetworkInputDataSize", "internalNetworkPositions", "addInputTiming", "inputDataSize", "inputPositions", "getOutputTiming", "outputDataSize", "outputPositions",
         "physicalWrittenDataSize", "memoryFuture", "revocableMemoryFuture", "blockedMonitor", "blockedWallNanos", "finishTiming", "spillContext", "infoSupplier",
         "nestedOperatorStatsSupplier", "peakUserMemoryReservation", "peakSystemMemoryReservation", "peakRevocableMemoryReservation", "peakTotalMemoryReservation",
-        "memoryRevokingRequested", "memoryRevocationRequestListener", "operatorMemoryContext"})
+        "memoryRevokingRequested", "memoryRevocationRequestListener", "operatorMemoryContext", "pagesByCompressionCodec", "compressionSavedDataSize"})
 public class OperatorContext
         implements Restorable
 {
@@ -97,6 +102,9 @@ public class OperatorContext
 
     private final AtomicLong physicalWrittenDataSize = new AtomicLong();
 
+    private final AtomicLongArray pagesByCompressionCodec = new AtomicLongArray(PageCompressionCodec.values().length);
+    private final AtomicLong compressionSavedDataSize = new AtomicLong();
+
     private final AtomicReference<SettableFuture<?>> memoryFuture;
     private final AtomicReference<SettableFuture<?>> revocableMemoryFuture;
     private final AtomicReference<BlockedMonitor> blockedMonitor = new AtomicReference<>();
@@ -235,6 +243,21 @@ public class OperatorContext
         physicalWrittenDataSize.getAndAdd(sizeInBytes);
     }
 
+    /**
+     * Record the compression codec of a page serialized by this operator, and the bytes it saved
+     */
+    public void recordSerializedPage(SerializedPage page)
+    {
+        if (page.isMarkerPage()) {
+            return;
+        }
+        PageCompressionCodec codec = PageCompressionCodec.fromMarkers(page.getPageCodecMarkers());
+        pagesByCompressionCodec.incrementAndGet(codec.ordinal());
+        if (codec != PageCompressionCodec.NONE) {
+            compressionSavedDataSize.getAndAdd(max(0, page.getUncompressedSizeInBytes() - page.getSizeInBytes()));
+        }
+    }
+
     public void recordBlocked(ListenableFuture<?> blocked)
     {
         requireNonNull(blocked, "blocked is null");
@@ -573,10 +596,26 @@ public class OperatorContext
 
                 new Duration(spillContext.getSpillReadTime(), MILLISECONDS).convertToMostSuccinctTimeUnit(),
                 new Duration(spillContext.getSpillWriteTime(), MILLISECONDS).convertToMostSuccinctTimeUnit(),
+
+                getPagesByCompressionCodec(),
+                succinctBytes(compressionSavedDataSize.get()),
+
                 memoryFuture.get().isDone() ? Optional.empty() : Optional.of(WAITING_FOR_MEMORY),
                 info);
     }
 
+    private Map<String, Long> getPagesByCompressionCodec()
+    {
+        ImmutableMap.Builder<String, Long> pages = ImmutableMap.builder();
+        for (PageCompressionCodec codec : PageCompressionCodec.values()) {
+            long count = pagesByCompressionCodec.get(codec.ordinal());
+            if (count > 0) {
+                pages.put(codec.name(), count);
+            }
+        }
+        return pages.build();
+    }
+
     public List<OperatorStats> getNestedOperatorStats()
     {
         Supplier<List<OperatorStats>> operatorStatsSupplier = this.nestedOperatorStatsSupplier.get();
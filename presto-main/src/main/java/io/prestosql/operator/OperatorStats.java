@@ -16,6 +16,7 @@ package io.prestosql.operator;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.prestosql.spi.plan.PlanNodeId;
@@ -24,6 +25,8 @@ import io.prestosql.util.Mergeable;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -81,6 +84,9 @@ public class OperatorStats
     private final Duration spillReadTime;
     private final Duration spillWriteTime;
 
+    private final Map<String, Long> pagesByCompressionCodec;
+    private final DataSize compressionSavedDataSize;
+
     private final Optional<BlockedReason> blockedReason;
 
     private final OperatorInfo info;
@@ -133,6 +139,9 @@ public class OperatorStats
             @JsonProperty("spillReadTime") Duration spillReadTime,
             @JsonProperty("spillWriteTime") Duration spillWriteTime,
 
+            @JsonProperty("pagesByCompressionCodec") Map<String, Long> pagesByCompressionCodec,
+            @JsonProperty("compressionSavedDataSize") DataSize compressionSavedDataSize,
+
             @JsonProperty("blockedReason") Optional<BlockedReason> blockedReason,
 
             @JsonProperty("info") OperatorInfo info)
@@ -188,6 +197,9 @@ public class OperatorStats
         this.spillReadTime = requireNonNull(spillReadTime, "spillReadTime is null");
         this.spillWriteTime = requireNonNull(spillWriteTime, "spillWriteTime is null");
 
+        this.pagesByCompressionCodec = ImmutableMap.copyOf(requireNonNull(pagesByCompressionCodec, "pagesByCompressionCodec is null"));
+        this.compressionSavedDataSize = requireNonNull(compressionSavedDataSize, "compressionSavedDataSize is null");
+
         this.blockedReason = blockedReason;
 
         this.info = info;
@@ -415,6 +427,21 @@ public class OperatorStats
         return spillWriteTime;
     }
 
+    /**
+     * Number of pages serialized by the operator for each compression codec, including the uncompressed pages
+     */
+    @JsonProperty
+    public Map<String, Long> getPagesByCompressionCodec()
+    {
+        return pagesByCompressionCodec;
+    }
+
+    @JsonProperty
+    public DataSize getCompressionSavedDataSize()
+    {
+        return compressionSavedDataSize;
+    }
+
     @JsonProperty
     public Optional<BlockedReason> getBlockedReason()
     {
@@ -475,6 +502,9 @@ public class OperatorStats
         long spillRead = this.spillReadTime.roundTo(NANOSECONDS);
         long spillWrite = this.spillWriteTime.roundTo(NANOSECONDS);
 
+        Map<String, Long> codecPages = new HashMap<>(this.pagesByCompressionCodec);
+        long compressionSavedBytes = this.compressionSavedDataSize.toBytes();
+
         Optional<BlockedReason> blockedReasonOptional = this.blockedReason;
 
         Mergeable<OperatorInfo> base = getMergeableInfoOrNull(info);
@@ -522,6 +552,9 @@ public class OperatorStats
             spillRead += operator.getSpillReadTime().roundTo(NANOSECONDS);
             spillWrite += operator.getSpillWriteTime().roundTo(NANOSECONDS);
 
+            operator.getPagesByCompressionCodec().forEach((codec, pages) -> codecPages.merge(codec, pages, Long::sum));
+            compressionSavedBytes += operator.getCompressionSavedDataSize().toBytes();
+
             if (operator.getBlockedReason().isPresent()) {
                 blockedReasonOptional = operator.getBlockedReason();
             }
@@ -578,6 +611,10 @@ public class OperatorStats
                 succinctBytes(currentSpilledDataSize),
                 new Duration(spillRead, NANOSECONDS).convertToMostSuccinctTimeUnit(),
                 new Duration(spillWrite, NANOSECONDS).convertToMostSuccinctTimeUnit(),
+
+                codecPages,
+                succinctBytes(compressionSavedBytes),
+
                 blockedReasonOptional,
 
                 (OperatorInfo) base);
@@ -639,6 +676,8 @@ public class OperatorStats
                 spilledDataSize,
                 spillReadTime,
                 spillWriteTime,
+                pagesByCompressionCodec,
+                compressionSavedDataSize,
                 blockedReason,
                 (info != null && info.isFinal()) ? info : null);
     }
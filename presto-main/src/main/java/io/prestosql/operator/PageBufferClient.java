@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import io.hetu.core.transport.execution.buffer.SerializedPage;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * Reads the pages of one output buffer of an upstream task for an {@link ExchangeClient}.
+ */
+public interface PageBufferClient
+        extends Closeable
+{
+    /**
+     * For each request, the addPage method will be called zero or more times,
+     * followed by either requestComplete or clientFinished (if buffer complete).  If the client is
+     * closed, requestComplete or bufferFinished may never be called.
+     * <p/>
+     * <b>NOTE:</b> Implementations of this interface are not allowed to perform
+     * blocking operations.
+     */
+    interface ClientCallback
+    {
+        boolean addPages(PageBufferClient client, List<SerializedPage> pages);
+
+        void requestComplete(PageBufferClient client);
+
+        void clientFinished(PageBufferClient client);
+
+        void clientFailed(PageBufferClient client, Throwable cause);
+    }
+
+    PageBufferClientStatus getStatus();
+
+    boolean isRunning();
+
+    void scheduleRequest();
+
+    @Override
+    void close();
+}
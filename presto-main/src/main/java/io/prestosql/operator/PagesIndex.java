@@ -25,6 +25,7 @@ import io.prestosql.Session;
 import io.prestosql.geospatial.Rectangle;
 import io.prestosql.metadata.Metadata;
 import io.prestosql.operator.SpatialIndexBuilderOperator.SpatialPredicate;
+import io.prestosql.snapshot.IncrementalRestorable;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PageBuilder;
 import io.prestosql.spi.block.Block;
@@ -32,7 +33,6 @@ import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.block.BlockEncodingSerde;
 import io.prestosql.spi.block.SortOrder;
 import io.prestosql.spi.snapshot.BlockEncodingSerdeProvider;
-import io.prestosql.spi.snapshot.Restorable;
 import io.prestosql.spi.snapshot.RestorableConfig;
 import io.prestosql.spi.type.Type;
 import io.prestosql.sql.analyzer.FeaturesConfig;
@@ -67,6 +67,7 @@ import static io.prestosql.metadata.MetadataManager.createTestMetadataManager;
 import static io.prestosql.operator.SyntheticAddress.decodePosition;
 import static io.prestosql.operator.SyntheticAddress.decodeSliceIndex;
 import static io.prestosql.operator.SyntheticAddress.encodeSyntheticAddress;
+import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -78,9 +79,9 @@ import static java.util.Objects.requireNonNull;
  * <li>Positional output via the {@link #appendTo} method</li>
  * </ul>
  */
-@RestorableConfig(uncapturedFields = {"orderingCompiler", "joinCompiler", "metadata", "types"})
+@RestorableConfig(uncapturedFields = {"orderingCompiler", "joinCompiler", "metadata", "types", "deltaBaseValid", "deltaFirstBlock", "deltaFirstPosition"})
 public class PagesIndex
-        implements Swapper, Restorable
+        implements Swapper, IncrementalRestorable
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(PagesIndex.class).instanceSize();
     private static final Logger log = Logger.get(PagesIndex.class);
@@ -99,6 +100,12 @@ public class PagesIndex
     private long pagesMemorySize;
     private long estimatedSize;
 
+    // Pages are only appended, except for compaction, so a delta holds the blocks from the first one
+    // modified since the checkpoint, and the positions added since the checkpoint
+    private boolean deltaBaseValid;
+    private int deltaFirstBlock;
+    private int deltaFirstPosition;
+
     private PagesIndex(
             OrderingCompiler orderingCompiler,
             JoinCompiler joinCompiler,
@@ -203,6 +210,7 @@ public class PagesIndex
         positionCount = 0;
         nextBlockToCompact = 0;
         pagesMemorySize = 0;
+        deltaBaseValid = false;
 
         estimatedSize = calculateEstimatedSize();
     }
@@ -243,6 +251,7 @@ public class PagesIndex
         if (eagerCompact) {
             return;
         }
+        deltaFirstBlock = min(deltaFirstBlock, nextBlockToCompact);
         for (int channel = 0; channel < types.size(); channel++) {
             ObjectArrayList<Block> blocks = channels[channel];
             for (int i = nextBlockToCompact; i < blocks.size(); i++) {
@@ -384,6 +393,7 @@ public class PagesIndex
 
     public void sort(List<Integer> sortChannels, List<SortOrder> sortOrders, int startPosition, int endPosition)
     {
+        deltaBaseValid = false;
         createPagesIndexComparator(sortChannels, sortOrders).sort(this, startPosition, endPosition);
     }
 
@@ -636,6 +646,79 @@ public class PagesIndex
         this.positionCount = myState.positionCount;
         this.pagesMemorySize = myState.pagesMemorySize;
         this.estimatedSize = myState.estimatedSize;
+        this.deltaBaseValid = false;
+    }
+
+    @Override
+    public boolean canCaptureDelta()
+    {
+        return deltaBaseValid;
+    }
+
+    @Override
+    public Object captureDelta(BlockEncodingSerdeProvider serdeProvider)
+    {
+        BlockEncodingSerde blockSerde = serdeProvider.getBlockEncodingSerde();
+        PagesIndexDeltaState myState = new PagesIndexDeltaState();
+        myState.firstPosition = deltaFirstPosition;
+        myState.valueAddresses = new long[valueAddresses.size() - deltaFirstPosition];
+        valueAddresses.getElements(deltaFirstPosition, myState.valueAddresses, 0, myState.valueAddresses.length);
+        myState.firstBlock = deltaFirstBlock;
+        myState.channels = new byte[channels.length][][];
+        for (int i = 0; i < channels.length; i++) {
+            myState.channels[i] = new byte[channels[i].size() - deltaFirstBlock][];
+            for (int j = deltaFirstBlock; j < channels[i].size(); j++) {
+                SliceOutput sliceOutput = new DynamicSliceOutput(0);
+                blockSerde.writeBlock(sliceOutput, channels[i].get(j));
+                myState.channels[i][j - deltaFirstBlock] = sliceOutput.getUnderlyingSlice().getBytes();
+            }
+        }
+        myState.nextBlockToCompact = nextBlockToCompact;
+        myState.positionCount = positionCount;
+        myState.pagesMemorySize = pagesMemorySize;
+        myState.estimatedSize = estimatedSize;
+        return myState;
+    }
+
+    @Override
+    public void restoreDelta(Object delta, BlockEncodingSerdeProvider serdeProvider)
+    {
+        BlockEncodingSerde blockSerde = serdeProvider.getBlockEncodingSerde();
+        PagesIndexDeltaState myState = (PagesIndexDeltaState) delta;
+        this.valueAddresses.size(myState.firstPosition);
+        this.valueAddresses.addElements(myState.firstPosition, myState.valueAddresses);
+        for (int i = 0; i < myState.channels.length; i++) {
+            this.channels[i].size(myState.firstBlock);
+            for (byte[] blockState : myState.channels[i]) {
+                Slice input = Slices.wrappedBuffer(blockState);
+                this.channels[i].add(blockSerde.readBlock(input.getInput()));
+            }
+        }
+        this.nextBlockToCompact = myState.nextBlockToCompact;
+        this.positionCount = myState.positionCount;
+        this.pagesMemorySize = myState.pagesMemorySize;
+        this.estimatedSize = myState.estimatedSize;
+    }
+
+    @Override
+    public void checkpoint()
+    {
+        deltaBaseValid = true;
+        deltaFirstBlock = (channels.length > 0) ? channels[0].size() : 0;
+        deltaFirstPosition = valueAddresses.size();
+    }
+
+    private static class PagesIndexDeltaState
+            implements Serializable
+    {
+        private int firstPosition;
+        private long[] valueAddresses;
+        private int firstBlock;
+        private byte[][][] channels;
+        private int nextBlockToCompact;
+        private int positionCount;
+        private long pagesMemorySize;
+        private long estimatedSize;
     }
 
     private static class PagesIndexState
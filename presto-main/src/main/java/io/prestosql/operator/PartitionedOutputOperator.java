@@ -267,6 +267,7 @@ public class PartitionedOutputOperator
                 nullChannel,
                 outputBuffer,
                 operatorContext.getDriverContext().getSerde(),
+                operatorContext,
                 sourceTypes,
                 maxMemory);
 
@@ -366,7 +367,7 @@ public class PartitionedOutputOperator
     }
 
     @RestorableConfig(stateClassName = "PagePartitionerState", uncapturedFields = {"outputBuffer", "sourceTypes", "partitionFunction", "partitionChannels",
-            "partitionConstants", "serde", "pageBuilders"})
+            "partitionConstants", "serde", "operatorContext", "pageBuilders"})
     private static class PagePartitioner
             implements Restorable
     {
@@ -378,6 +379,7 @@ public class PartitionedOutputOperator
         private final List<Integer> partitionChannels;
         private final List<Optional<Block>> partitionConstants;
         private final PagesSerde serde;
+        private final OperatorContext operatorContext;
         private final PageBuilder[] pageBuilders;
         private final boolean replicatesAnyRow;
         private final OptionalInt nullChannel; // when present, send the position to every partition if this channel is null.
@@ -394,6 +396,7 @@ public class PartitionedOutputOperator
                 OptionalInt nullChannel,
                 OutputBuffer outputBuffer,
                 PagesSerde serde,
+                OperatorContext operatorContext,
                 List<Type> sourceTypes,
                 DataSize maxMemory)
         {
@@ -408,6 +411,7 @@ public class PartitionedOutputOperator
             this.outputBuffer = requireNonNull(outputBuffer, "outputBuffer is null");
             this.sourceTypes = requireNonNull(sourceTypes, "sourceTypes is null");
             this.serde = requireNonNull(serde, "serde is null");
+            this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
 
             int partitionCount = partitionFunction.getPartitionCount();
             int pageSize = min(DEFAULT_MAX_PAGE_SIZE_IN_BYTES, ((int) maxMemory.toBytes()) / partitionCount);
@@ -511,6 +515,7 @@ public class PartitionedOutputOperator
                     List<SerializedPage> serializedPages = splitPage(pagePartition, DEFAULT_MAX_PAGE_SIZE_IN_BYTES).stream()
                             .map(page -> serde.serialize(page))
                             .collect(toImmutableList());
+                    serializedPages.forEach(operatorContext::recordSerializedPage);
 
                     outputBuffer.enqueue(partition, serializedPages, id);
                     pagesAdded.incrementAndGet();
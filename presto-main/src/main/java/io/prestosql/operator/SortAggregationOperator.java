@@ -434,6 +434,13 @@ public class SortAggregationOperator
         super.restore(myState.baseState, serdeProvider);
     }
 
+    @Override
+    public boolean canCaptureDelta()
+    {
+        // The sort aggregation state is small, it is always captured in full
+        return false;
+    }
+
     private static class SortAggregationOperatorState
             extends GroupAggregationOperatorState
     {
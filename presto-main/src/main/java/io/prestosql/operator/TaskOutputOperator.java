@@ -193,6 +193,7 @@ public class TaskOutputOperator
         List<SerializedPage> serializedPages = splitPage(inputPage, DEFAULT_MAX_PAGE_SIZE_IN_BYTES).stream()
                 .map(p -> serde.serialize(p))
                 .collect(toImmutableList());
+        serializedPages.forEach(operatorContext::recordSerializedPage);
 
         if (inputPage instanceof MarkerPage) {
             // Snapshot: driver/thread 1 reaches here and adds marker 1 to the output buffer.
@@ -18,7 +18,6 @@ import io.airlift.log.Logger;
 import io.prestosql.heuristicindex.HeuristicIndexerManager;
 import io.prestosql.spi.HetuConstant;
 import io.prestosql.spi.Page;
-import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.CreateIndexMetadata;
 import io.prestosql.spi.connector.UpdateIndexMetadata;
 import io.prestosql.spi.heuristicindex.IndexClient;
@@ -28,16 +27,12 @@ import io.prestosql.spi.heuristicindex.Pair;
 import io.prestosql.spi.plan.PlanNodeId;
 import io.prestosql.spi.snapshot.MarkerPage;
 import io.prestosql.spi.snapshot.RestorableConfig;
-import io.prestosql.spi.type.Type;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
@@ -46,9 +41,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkState;
-import static io.prestosql.operator.CreateIndexOperator.getNativeValue;
 import static io.prestosql.operator.CreateIndexOperator.getPartitionName;
-import static io.prestosql.spi.heuristicindex.TypeUtils.getActualValue;
 import static java.util.Objects.requireNonNull;
 
 @RestorableConfig(unsupported = true)
@@ -218,20 +211,7 @@ public class UpdateIndexOperator
             createIndexMetadata.decideIndexLevel(tableIsPartitioned);
         }
 
-        Map<String, List<Object>> values = new HashMap<>();
-
-        for (int blockId = 0; blockId < page.getChannelCount(); blockId++) {
-            Block block = page.getBlock(blockId);
-            Pair<String, Type> entry = createIndexMetadata.getIndexColumns().get(blockId);
-            String indexColumn = entry.getFirst();
-            Type type = entry.getSecond();
-
-            for (int position = 0; position < block.getPositionCount(); ++position) {
-                Object value = getNativeValue(type, block, position);
-                value = getActualValue(type, value);
-                values.computeIfAbsent(indexColumn, k -> new ArrayList<>()).add(value);
-            }
-        }
+        Page values = page.getLoadedPage();
 
         Properties connectorMetadata = new Properties();
         connectorMetadata.put(HetuConstant.DATASOURCE_CATALOG, createIndexMetadata.getTableName().split("\\.")[0]);
@@ -247,7 +227,7 @@ public class UpdateIndexOperator
                     }
                     levelWriter.computeIfAbsent(filePath, k -> heuristicIndexerManager.getIndexWriter(createIndexMetadata, connectorMetadata));
                     persistBy.putIfAbsent(levelWriter.get(filePath), this);
-                    levelWriter.get(filePath).addData(values, connectorMetadata);
+                    levelWriter.get(filePath).addData(values, createIndexMetadata.getIndexColumns(), connectorMetadata);
                     break;
                 }
                 case PARTITION: {
@@ -261,7 +241,7 @@ public class UpdateIndexOperator
                     });
                     levelWriter.putIfAbsent(partition, heuristicIndexerManager.getIndexWriter(createIndexMetadata, connectorMetadata));
                     persistBy.putIfAbsent(levelWriter.get(partition), this);
-                    levelWriter.get(partition).addData(values, connectorMetadata);
+                    levelWriter.get(partition).addData(values, createIndexMetadata.getIndexColumns(), connectorMetadata);
                     break;
                 }
                 case TABLE: {
@@ -273,7 +253,7 @@ public class UpdateIndexOperator
                     });
                     levelWriter.putIfAbsent(createIndexMetadata.getTableName(), heuristicIndexerManager.getIndexWriter(createIndexMetadata, connectorMetadata));
                     persistBy.putIfAbsent(levelWriter.get(createIndexMetadata.getTableName()), this);
-                    levelWriter.get(createIndexMetadata.getTableName()).addData(values, connectorMetadata);
+                    levelWriter.get(createIndexMetadata.getTableName()).addData(values, createIndexMetadata.getIndexColumns(), connectorMetadata);
                     break;
                 }
                 default:
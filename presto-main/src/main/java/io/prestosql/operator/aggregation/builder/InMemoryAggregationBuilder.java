@@ -28,6 +28,7 @@ import io.prestosql.operator.Work;
 import io.prestosql.operator.WorkProcessor;
 import io.prestosql.operator.aggregation.AccumulatorFactory;
 import io.prestosql.operator.aggregation.GroupedAccumulator;
+import io.prestosql.snapshot.IncrementalRestorable;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.plan.AggregationNode;
@@ -53,7 +54,7 @@ import static java.util.Objects.requireNonNull;
 
 @RestorableConfig(uncapturedFields = {"updateMemory"})
 public abstract class InMemoryAggregationBuilder
-        implements AggregationBuilder, Restorable
+        implements AggregationBuilder, IncrementalRestorable
 {
     protected final GroupBy groupBy;
     protected final List<Aggregator> aggregators;
@@ -361,9 +362,51 @@ public abstract class InMemoryAggregationBuilder
 
     @Override
     public Object capture(BlockEncodingSerdeProvider serdeProvider)
+    {
+        return captureState(groupBy.capture(serdeProvider), serdeProvider);
+    }
+
+    @Override
+    public void restore(Object state, BlockEncodingSerdeProvider serdeProvider)
+    {
+        InMemoryAggregationBuilderState myState = (InMemoryAggregationBuilderState) state;
+        this.groupBy.restore(myState.groupBy, serdeProvider);
+        restoreAggregators(myState, serdeProvider);
+    }
+
+    @Override
+    public boolean canCaptureDelta()
+    {
+        return groupBy instanceof IncrementalRestorable && ((IncrementalRestorable) groupBy).canCaptureDelta();
+    }
+
+    @Override
+    public Object captureDelta(BlockEncodingSerdeProvider serdeProvider)
+    {
+        // Accumulators are updated in place for existing groups, so only the group by part is incremental
+        return captureState(((IncrementalRestorable) groupBy).captureDelta(serdeProvider), serdeProvider);
+    }
+
+    @Override
+    public void restoreDelta(Object delta, BlockEncodingSerdeProvider serdeProvider)
+    {
+        InMemoryAggregationBuilderState myState = (InMemoryAggregationBuilderState) delta;
+        ((IncrementalRestorable) this.groupBy).restoreDelta(myState.groupBy, serdeProvider);
+        restoreAggregators(myState, serdeProvider);
+    }
+
+    @Override
+    public void checkpoint()
+    {
+        if (groupBy instanceof IncrementalRestorable) {
+            ((IncrementalRestorable) groupBy).checkpoint();
+        }
+    }
+
+    private InMemoryAggregationBuilderState captureState(Object groupByState, BlockEncodingSerdeProvider serdeProvider)
     {
         InMemoryAggregationBuilderState myState = new InMemoryAggregationBuilderState();
-        myState.groupBy = groupBy.capture(serdeProvider);
+        myState.groupBy = groupByState;
         List<Object> aggregatorsList = new ArrayList<>();
         for (Aggregator aggregator : this.aggregators) {
             aggregatorsList.add(aggregator.capture(serdeProvider));
@@ -373,11 +416,8 @@ public abstract class InMemoryAggregationBuilder
         return myState;
     }
 
-    @Override
-    public void restore(Object state, BlockEncodingSerdeProvider serdeProvider)
+    private void restoreAggregators(InMemoryAggregationBuilderState myState, BlockEncodingSerdeProvider serdeProvider)
     {
-        InMemoryAggregationBuilderState myState = (InMemoryAggregationBuilderState) state;
-        this.groupBy.restore(myState.groupBy, serdeProvider);
         for (int i = 0; i < this.aggregators.size(); i++) {
             this.aggregators.get(i).restore(myState.aggregators.get(i), serdeProvider);
         }
@@ -369,6 +369,9 @@ public class Execution
                 zeroData,
                 0,
                 zeroData,
+                0,
+                0,
+                zeroDuration,
                 ImmutableList.of(),
                 ImmutableList.of());
     }
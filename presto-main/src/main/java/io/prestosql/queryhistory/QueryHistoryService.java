@@ -286,6 +286,9 @@ public class QueryHistoryService
                 ZERO_BYTES,
                 0,
                 ZERO_BYTES,
+                0,
+                0,
+                ZERO_MILLIS,
                 ImmutableList.of(),
                 ImmutableList.of());
 
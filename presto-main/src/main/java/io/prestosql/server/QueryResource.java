@@ -474,6 +474,9 @@ public class QueryResource
                 ZERO_BYTES,
                 0,
                 ZERO_BYTES,
+                0,
+                0,
+                ZERO_MILLIS,
                 ImmutableList.of(),
                 ImmutableList.of());
 
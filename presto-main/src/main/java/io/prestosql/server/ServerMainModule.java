@@ -64,6 +64,7 @@ import io.prestosql.execution.TaskManager;
 import io.prestosql.execution.TaskManagerConfig;
 import io.prestosql.execution.TaskStatus;
 import io.prestosql.execution.executor.MultilevelSplitQueue;
+import io.prestosql.execution.executor.RunnerGroupExporter;
 import io.prestosql.execution.executor.TaskExecutor;
 import io.prestosql.execution.scheduler.FlatNetworkTopology;
 import io.prestosql.execution.scheduler.LegacyNetworkTopology;
@@ -360,6 +361,7 @@ public class ServerMainModule
         newExporter(binder).export(TaskManager.class).withGeneratedName();
         binder.bind(TaskExecutor.class).in(Scopes.SINGLETON);
         newExporter(binder).export(TaskExecutor.class).withGeneratedName();
+        binder.bind(RunnerGroupExporter.class).in(Scopes.SINGLETON);
         binder.bind(MultilevelSplitQueue.class).in(Scopes.SINGLETON);
         newExporter(binder).export(MultilevelSplitQueue.class).withGeneratedName();
         binder.bind(LocalExecutionPlanner.class).in(Scopes.SINGLETON);
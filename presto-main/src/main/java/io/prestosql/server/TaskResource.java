@@ -18,14 +18,18 @@ import com.google.common.reflect.TypeToken;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.concurrent.BoundedExecutor;
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.SliceOutput;
 import io.airlift.stats.TimeStat;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.hetu.core.transport.execution.buffer.SerializedPage;
 import io.prestosql.Session;
+import io.prestosql.dynamicfilter.DynamicFilterCacheManager;
 import io.prestosql.execution.TaskId;
 import io.prestosql.execution.TaskInfo;
 import io.prestosql.execution.TaskManager;
+import io.prestosql.execution.TaskManagerConfig;
 import io.prestosql.execution.TaskState;
 import io.prestosql.execution.TaskStatus;
 import io.prestosql.execution.buffer.BufferResult;
@@ -56,20 +60,31 @@ import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.collect.Iterables.transform;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.addTimeout;
 import static io.airlift.jaxrs.AsyncResponseHandler.bindAsyncResponse;
+import static io.airlift.units.DataSize.Unit.BYTE;
 import static io.prestosql.PrestoMediaTypes.PRESTO_PAGES;
+import static io.prestosql.PrestoMediaTypes.PRESTO_PAGES_STREAM;
 import static io.prestosql.client.PrestoHeaders.PRESTO_BUFFER_COMPLETE;
+import static io.prestosql.client.PrestoHeaders.PRESTO_CURRENT_DYNAMIC_FILTERS_VERSION;
 import static io.prestosql.client.PrestoHeaders.PRESTO_CURRENT_STATE;
 import static io.prestosql.client.PrestoHeaders.PRESTO_MAX_SIZE;
 import static io.prestosql.client.PrestoHeaders.PRESTO_MAX_WAIT;
@@ -77,9 +92,12 @@ import static io.prestosql.client.PrestoHeaders.PRESTO_PAGE_NEXT_TOKEN;
 import static io.prestosql.client.PrestoHeaders.PRESTO_PAGE_TOKEN;
 import static io.prestosql.client.PrestoHeaders.PRESTO_TASK_INSTANCE_ID;
 import static io.prestosql.execution.TaskStatus.initialTaskStatus;
+import static io.prestosql.execution.buffer.PagesStreamFormat.writeEnd;
+import static io.prestosql.execution.buffer.PagesStreamFormat.writeFrame;
 import static io.prestosql.protocol.SmileHeader.APPLICATION_JACKSON_SMILE;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -90,25 +108,35 @@ public class TaskResource
 {
     private static final Duration ADDITIONAL_WAIT_TIME = new Duration(5, SECONDS);
     private static final Duration DEFAULT_MAX_WAIT_TIME = new Duration(2, SECONDS);
+    // a stream holds a response thread while it is open, so it is never kept open longer than this
+    private static final Duration MAX_STREAM_DURATION = new Duration(10, SECONDS);
 
     private final TaskManager taskManager;
     private final SessionPropertyManager sessionPropertyManager;
+    private final DynamicFilterCacheManager dynamicFilterCacheManager;
     private final Executor responseExecutor;
     private final ScheduledExecutorService timeoutExecutor;
     private final TimeStat readFromOutputBufferTime = new TimeStat();
     private final TimeStat resultsRequestTime = new TimeStat();
+    private final int maxResultStreams;
+    private final AtomicInteger activeResultStreams = new AtomicInteger();
 
     @Inject
     public TaskResource(
             TaskManager taskManager,
             SessionPropertyManager sessionPropertyManager,
+            DynamicFilterCacheManager dynamicFilterCacheManager,
             @ForAsyncHttp BoundedExecutor responseExecutor,
-            @ForAsyncHttp ScheduledExecutorService timeoutExecutor)
+            @ForAsyncHttp ScheduledExecutorService timeoutExecutor,
+            TaskManagerConfig taskManagerConfig)
     {
         this.taskManager = requireNonNull(taskManager, "taskManager is null");
         this.sessionPropertyManager = requireNonNull(sessionPropertyManager, "sessionPropertyManager is null");
+        this.dynamicFilterCacheManager = requireNonNull(dynamicFilterCacheManager, "dynamicFilterCacheManager is null");
         this.responseExecutor = requireNonNull(responseExecutor, "responseExecutor is null");
         this.timeoutExecutor = requireNonNull(timeoutExecutor, "timeoutExecutor is null");
+        // an open stream holds one of the response threads, at least half of them are left to the other responses
+        this.maxResultStreams = Math.max(1, requireNonNull(taskManagerConfig, "taskManagerConfig is null").getHttpResponseThreads() / 2);
     }
 
     @GET
@@ -138,6 +166,8 @@ public class TaskResource
             return Response.status(Status.BAD_REQUEST).build();
         }
         Session session = taskUpdateRequest.getSession().toSession(sessionPropertyManager, taskUpdateRequest.getExtraCredentials());
+        // merged dynamic filters pushed by the coordinator are shared by all tasks of the query on this worker
+        dynamicFilterCacheManager.cacheDynamicFilters(taskId.getQueryId().getId(), taskUpdateRequest.getDynamicFilters());
         TaskInfo taskInfo = taskManager.updateTask(session,
                 taskId,
                 taskUpdateRequest.getFragment(),
@@ -216,6 +246,7 @@ public class TaskResource
     public void getTaskStatus(
             @PathParam("taskId") TaskId taskId,
             @HeaderParam(PRESTO_CURRENT_STATE) TaskState currentState,
+            @HeaderParam(PRESTO_CURRENT_DYNAMIC_FILTERS_VERSION) Long currentDynamicFiltersVersion,
             @HeaderParam(PRESTO_MAX_WAIT) Duration maxWait,
             @HeaderParam(PRESTO_TASK_INSTANCE_ID) String taskInstanceId,
             @Context UriInfo uriInfo,
@@ -224,11 +255,17 @@ public class TaskResource
         SecurityRequireNonNull.requireNonNull(taskId, "taskId is null");
 
         if (currentState == null || maxWait == null) {
-            asyncResponse.resume(tryGetTaskStatus(uriInfo, taskId, taskInstanceId));
+            asyncResponse.resume(tryGetTaskStatus(uriInfo, taskId, currentDynamicFiltersVersion, taskInstanceId));
             return;
         }
 
-        ListenableFuture<TaskStatus> futureTaskStatus = taskManager.getTaskStatus(taskId, currentState, taskInstanceId);
+        ListenableFuture<TaskStatus> futureTaskStatus;
+        if (currentDynamicFiltersVersion == null) {
+            futureTaskStatus = taskManager.getTaskStatus(taskId, currentState, taskInstanceId);
+        }
+        else {
+            futureTaskStatus = taskManager.getTaskStatus(taskId, currentState, currentDynamicFiltersVersion, taskInstanceId);
+        }
         if (futureTaskStatus == null) {
             asyncResponse.resume(createAbortedTaskStatus(taskId, uriInfo.getAbsolutePath()));
             return;
@@ -239,7 +276,7 @@ public class TaskResource
         // to justify group-by-group execution. In order to fix this, REST endpoint /v1/{task}/status will need change.
         futureTaskStatus = addTimeout(
                 futureTaskStatus,
-                () -> tryGetTaskStatus(uriInfo, taskId, taskInstanceId),
+                () -> tryGetTaskStatus(uriInfo, taskId, currentDynamicFiltersVersion, taskInstanceId),
                 waitTime,
                 timeoutExecutor);
 
@@ -249,9 +286,16 @@ public class TaskResource
                 .withTimeout(timeout);
     }
 
-    private TaskStatus tryGetTaskStatus(UriInfo uriInfo, TaskId taskId, String taskInstanceId)
+    private TaskStatus tryGetTaskStatus(UriInfo uriInfo, TaskId taskId, Long currentDynamicFiltersVersion, String taskInstanceId)
     {
-        TaskStatus taskStatus = taskManager.getTaskStatus(taskId, taskInstanceId);
+        // partial dynamic filters are only returned to the callers keeping track of them
+        TaskStatus taskStatus;
+        if (currentDynamicFiltersVersion == null) {
+            taskStatus = taskManager.getTaskStatus(taskId, taskInstanceId);
+        }
+        else {
+            taskStatus = taskManager.getTaskStatus(taskId, currentDynamicFiltersVersion, taskInstanceId);
+        }
         if (taskStatus == null) {
             taskStatus = createAbortedTaskStatus(taskId, uriInfo.getAbsolutePath());
         }
@@ -399,6 +443,154 @@ public class TaskResource
         asyncResponse.register((CompletionCallback) throwable -> resultsRequestTime.add(Duration.nanosSince(start)));
     }
 
+    /**
+     * Streams results starting at the token. The first batch is read like {@link #getResults}, then
+     * the response keeps pushing the pages added to the buffer until their size reaches the max size
+     * of the request, the max wait of the request expires, or the buffer completes. The pages pushed
+     * after the first batch are not acknowledged, so a client that loses the stream can request them
+     * again from the last token it received.
+     */
+    @GET
+    @Path("{taskId}/results/{bufferId}/{token}/stream")
+    @Produces(PRESTO_PAGES_STREAM)
+    public void streamResults(
+            @PathParam("taskId") TaskId taskId,
+            @PathParam("bufferId") OutputBufferId bufferId,
+            @PathParam("token") final long token,
+            @HeaderParam(PRESTO_MAX_SIZE) DataSize maxSize,
+            @HeaderParam(PRESTO_MAX_WAIT) Duration maxWait,
+            @HeaderParam(PRESTO_TASK_INSTANCE_ID) String taskInstanceId,
+            @Suspended AsyncResponse asyncResponse)
+    {
+        SecurityRequireNonNull.requireNonNull(taskId, "taskId is null");
+        SecurityRequireNonNull.requireNonNull(bufferId, "bufferId is null");
+        SecurityRequireNonNull.requireNonNull(maxSize, "maxSize is null");
+
+        long start = System.nanoTime();
+        ListenableFuture<BufferResult> bufferResultFuture = taskManager.getTaskResults(taskId, bufferId, token, maxSize, taskInstanceId);
+        if (bufferResultFuture == null) {
+            // Request came from task has been cancelled.
+            asyncResponse.resume(Response
+                    .status(Status.NO_CONTENT)
+                    .header(PRESTO_PAGE_TOKEN, token)
+                    .header(PRESTO_PAGE_NEXT_TOKEN, token)
+                    .header(PRESTO_BUFFER_COMPLETE, false) // keep requesting task running, until they are cancelled (to resume)
+                    .build());
+            return;
+        }
+
+        Duration waitTime = randomizeWaitTime(DEFAULT_MAX_WAIT_TIME);
+        bufferResultFuture = addTimeout(
+                bufferResultFuture,
+                () -> BufferResult.emptyResults(token, false),
+                waitTime,
+                timeoutExecutor);
+
+        long streamDurationNanos = maxWait == null ? 0 : Math.min(maxWait.roundTo(NANOSECONDS), MAX_STREAM_DURATION.roundTo(NANOSECONDS));
+        ListenableFuture<Response> responseFuture = Futures.transform(bufferResultFuture, result -> {
+            if (result.getSerializedPages().isEmpty()) {
+                return Response.status(Status.NO_CONTENT)
+                        .header(PRESTO_PAGE_TOKEN, result.getToken())
+                        .header(PRESTO_PAGE_NEXT_TOKEN, result.getNextToken())
+                        .header(PRESTO_BUFFER_COMPLETE, result.isBufferComplete())
+                        .build();
+            }
+
+            long deadline = System.nanoTime() + streamDurationNanos;
+            StreamingOutput entity = output -> writeResultsStream(output, taskId, bufferId, taskInstanceId, result, maxSize.toBytes(), deadline);
+            return Response.status(Status.OK)
+                    .entity(entity)
+                    .header(PRESTO_PAGE_TOKEN, result.getToken())
+                    .build();
+        }, directExecutor());
+
+        // For hard timeout, add an additional time to max wait for thread scheduling contention and GC
+        Duration timeout = new Duration(waitTime.toMillis() + ADDITIONAL_WAIT_TIME.toMillis(), MILLISECONDS);
+        bindAsyncResponse(asyncResponse, responseFuture, responseExecutor)
+                .withTimeout(timeout,
+                        Response.status(Status.NO_CONTENT)
+                                .header(PRESTO_PAGE_TOKEN, token)
+                                .header(PRESTO_PAGE_NEXT_TOKEN, token)
+                                .header(PRESTO_BUFFER_COMPLETE, false)
+                                .build());
+
+        responseFuture.addListener(() -> readFromOutputBufferTime.add(Duration.nanosSince(start)), directExecutor());
+        asyncResponse.register((CompletionCallback) throwable -> resultsRequestTime.add(Duration.nanosSince(start)));
+    }
+
+    private void writeResultsStream(OutputStream output, TaskId taskId, OutputBufferId bufferId, String taskInstanceId, BufferResult firstResult, long maxSizeInBytes, long deadline)
+            throws IOException
+    {
+        // when too many streams are open, the response ends after the first batch like a regular results response
+        boolean streaming = activeResultStreams.incrementAndGet() <= maxResultStreams;
+        SliceOutput sliceOutput = new OutputStreamSliceOutput(output);
+        try {
+            writeFrame(sliceOutput, firstResult.getSerializedPages());
+            sliceOutput.flush();
+
+            long nextToken = firstResult.getNextToken();
+            long sentBytes = getRetainedSizeInBytes(firstResult.getSerializedPages());
+            boolean bufferComplete = firstResult.isBufferComplete();
+            while (streaming && !bufferComplete && sentBytes < maxSizeInBytes) {
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    break;
+                }
+                ListenableFuture<BufferResult> resultFuture = taskManager.peekTaskResults(taskId, bufferId, nextToken, new DataSize(maxSizeInBytes - sentBytes, BYTE), taskInstanceId);
+                if (resultFuture == null) {
+                    break;
+                }
+
+                BufferResult result;
+                try {
+                    result = resultFuture.get(remainingNanos, NANOSECONDS);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                catch (ExecutionException | TimeoutException e) {
+                    // the client requests the pages again with a regular request, which reports failures
+                    break;
+                }
+                if (result.getToken() != nextToken) {
+                    break;
+                }
+
+                if (!result.getSerializedPages().isEmpty()) {
+                    writeFrame(sliceOutput, result.getSerializedPages());
+                    sliceOutput.flush();
+                    nextToken = result.getNextToken();
+                    sentBytes += getRetainedSizeInBytes(result.getSerializedPages());
+                }
+                bufferComplete = result.isBufferComplete();
+            }
+
+            writeEnd(sliceOutput, bufferComplete);
+            // We use flush instead of close, because the underlying stream would be closed and that is not allowed.
+            sliceOutput.flush();
+        }
+        catch (EOFException e) {
+            // the client disconnected while the stream was flushed, it requests the pages again from the last token it received
+        }
+        catch (UncheckedIOException e) {
+            // EOF exception occurs when the client disconnects while writing data
+            if (!(e.getCause() instanceof EOFException)) {
+                throw e;
+            }
+        }
+        finally {
+            activeResultStreams.decrementAndGet();
+        }
+    }
+
+    private static long getRetainedSizeInBytes(List<SerializedPage> pages)
+    {
+        return pages.stream()
+                .mapToLong(SerializedPage::getRetainedSizeInBytes)
+                .sum();
+    }
+
     @GET
     @Path("{taskId}/results/{bufferId}/{token}/acknowledge")
     public void acknowledgeResults(
@@ -442,6 +634,12 @@ public class TaskResource
         return resultsRequestTime;
     }
 
+    @Managed
+    public int getActiveResultStreams()
+    {
+        return activeResultStreams.get();
+    }
+
     private static boolean shouldSummarize(UriInfo uriInfo)
     {
         return uriInfo.getQueryParameters().containsKey("summarize");
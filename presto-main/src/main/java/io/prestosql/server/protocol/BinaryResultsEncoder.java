@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.server.protocol;
+
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+import io.prestosql.client.BinaryResultsDecoder;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.type.Type;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static io.prestosql.client.BinaryResultsDecoder.FLAG_COMPRESSED;
+import static io.prestosql.spi.type.StandardTypes.BIGINT;
+import static io.prestosql.spi.type.StandardTypes.BOOLEAN;
+import static io.prestosql.spi.type.StandardTypes.DATE;
+import static io.prestosql.spi.type.StandardTypes.DOUBLE;
+import static io.prestosql.spi.type.StandardTypes.INTEGER;
+import static io.prestosql.spi.type.StandardTypes.REAL;
+import static io.prestosql.spi.type.StandardTypes.SMALLINT;
+import static io.prestosql.spi.type.StandardTypes.TINYINT;
+import static io.prestosql.spi.type.StandardTypes.VARBINARY;
+import static io.prestosql.spi.type.StandardTypes.VARCHAR;
+
+/**
+ * Encodes result pages into the columnar binary format read by {@link BinaryResultsDecoder}.
+ */
+final class BinaryResultsEncoder
+{
+    private static final int COMPRESSION_THRESHOLD_BYTES = 4 * 1024;
+
+    private BinaryResultsEncoder() {}
+
+    static boolean isSupported(List<Type> types)
+    {
+        for (Type type : types) {
+            if (!BinaryResultsDecoder.isSupportedType(type.getTypeSignature().getBase())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static byte[] encode(List<Type> types, List<Page> pages, boolean compressionEnabled)
+    {
+        int rowCount = 0;
+        long estimatedSize = 2 * Integer.BYTES;
+        for (Page page : pages) {
+            rowCount += page.getPositionCount();
+            estimatedSize += page.getSizeInBytes() + (long) page.getPositionCount() * page.getChannelCount();
+        }
+
+        SliceOutput output = new DynamicSliceOutput((int) Math.min(estimatedSize, Integer.MAX_VALUE - 8));
+        output.writeInt(rowCount);
+        output.writeInt(types.size());
+        for (int channel = 0; channel < types.size(); channel++) {
+            writeColumn(output, types.get(channel), pages, channel);
+        }
+        Slice body = output.slice();
+
+        if (compressionEnabled && body.length() >= COMPRESSION_THRESHOLD_BYTES) {
+            byte[] compressed = deflate(body);
+            if (compressed.length + Integer.BYTES < body.length()) {
+                SliceOutput result = new DynamicSliceOutput(1 + Integer.BYTES + compressed.length);
+                result.writeByte(FLAG_COMPRESSED);
+                result.writeInt(body.length());
+                result.writeBytes(compressed);
+                return result.slice().getBytes();
+            }
+        }
+
+        byte[] result = new byte[1 + body.length()];
+        body.getBytes(0, result, 1, body.length());
+        return result;
+    }
+
+    private static void writeColumn(SliceOutput output, Type type, List<Page> pages, int channel)
+    {
+        for (Page page : pages) {
+            Block block = page.getBlock(channel);
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                output.writeByte(block.isNull(position) ? 1 : 0);
+            }
+        }
+
+        String base = type.getTypeSignature().getBase();
+        for (Page page : pages) {
+            Block block = page.getBlock(channel);
+            int positionCount = block.getPositionCount();
+            switch (base) {
+                case BOOLEAN:
+                    for (int position = 0; position < positionCount; position++) {
+                        output.writeByte(!block.isNull(position) && type.getBoolean(block, position) ? 1 : 0);
+                    }
+                    break;
+                case TINYINT:
+                    for (int position = 0; position < positionCount; position++) {
+                        output.writeByte(block.isNull(position) ? 0 : (int) type.getLong(block, position));
+                    }
+                    break;
+                case SMALLINT:
+                    for (int position = 0; position < positionCount; position++) {
+                        output.writeShort(block.isNull(position) ? 0 : (int) type.getLong(block, position));
+                    }
+                    break;
+                case INTEGER:
+                case DATE:
+                case REAL:
+                    // REAL values are stored as the int bits of the float
+                    for (int position = 0; position < positionCount; position++) {
+                        output.writeInt(block.isNull(position) ? 0 : (int) type.getLong(block, position));
+                    }
+                    break;
+                case BIGINT:
+                    for (int position = 0; position < positionCount; position++) {
+                        output.writeLong(block.isNull(position) ? 0 : type.getLong(block, position));
+                    }
+                    break;
+                case DOUBLE:
+                    for (int position = 0; position < positionCount; position++) {
+                        output.writeDouble(block.isNull(position) ? 0 : type.getDouble(block, position));
+                    }
+                    break;
+                case VARCHAR:
+                case VARBINARY:
+                    // lengths of all rows are written first, the bytes follow after the last page
+                    for (int position = 0; position < positionCount; position++) {
+                        output.writeInt(block.isNull(position) ? 0 : block.getSliceLength(position));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported type for binary results: " + type);
+            }
+        }
+
+        if (base.equals(VARCHAR) || base.equals(VARBINARY)) {
+            for (Page page : pages) {
+                Block block = page.getBlock(channel);
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (!block.isNull(position)) {
+                        output.writeBytes(type.getSlice(block, position));
+                    }
+                }
+            }
+        }
+    }
+
+    private static byte[] deflate(Slice body)
+    {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body.getBytes());
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(body.length() / 2);
+            byte[] buffer = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int size = deflater.deflate(buffer);
+                output.write(buffer, 0, size);
+            }
+            return output.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+}
@@ -171,6 +171,36 @@ public class ExecutingStatementResource
         asyncQueryResults(query, token, maxWait, targetResultSize, uriInfo, tmpProto, asyncResponse);
     }
 
+    @GET
+    @Path("/v1/statement/executing/{queryId}/{slug}/stream/{streamId}/{token}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getStreamResults(
+            @PathParam("queryId") QueryId queryId,
+            @PathParam("slug") String slug,
+            @PathParam("streamId") int streamId,
+            @PathParam("token") long token,
+            @QueryParam("maxWait") Duration maxWait,
+            @QueryParam("targetResultSize") DataSize targetResultSize,
+            @HeaderParam(X_FORWARDED_PROTO) String proto,
+            @Context UriInfo uriInfo,
+            @Suspended AsyncResponse asyncResponse)
+    {
+        Query query = getQuery(queryId, slug);
+        String tmpProto = proto;
+        if (isNullOrEmpty(tmpProto)) {
+            tmpProto = uriInfo.getRequestUri().getScheme();
+        }
+
+        Duration wait = WAIT_ORDERING.min(MAX_WAIT_TIME, maxWait);
+        DataSize tmpTargetResultSize = targetResultSize == null ? DEFAULT_TARGET_RESULT_SIZE : Ordering.natural().min(targetResultSize, MAX_TARGET_RESULT_SIZE);
+        ListenableFuture<QueryResults> queryResultsFuture = query.waitForStreamResults(streamId, token, uriInfo, tmpProto, wait, tmpTargetResultSize);
+
+        // session updates are only reported on the main statement stream
+        ListenableFuture<Response> response = Futures.transform(queryResultsFuture, queryResults -> toResponse(null, queryResults), directExecutor());
+
+        bindAsyncResponse(asyncResponse, response, responseExecutor);
+    }
+
     protected Query getQuery(QueryId queryId, String slug)
     {
         Query query = queries.get(queryId);
@@ -27,6 +27,7 @@ import io.hetu.core.transport.execution.buffer.PagesSerde;
 import io.hetu.core.transport.execution.buffer.PagesSerdeFactory;
 import io.hetu.core.transport.execution.buffer.SerializedPage;
 import io.prestosql.Session;
+import io.prestosql.client.ClientCapabilities;
 import io.prestosql.client.ClientTypeSignature;
 import io.prestosql.client.ClientTypeSignatureParameter;
 import io.prestosql.client.Column;
@@ -63,6 +64,10 @@ import io.prestosql.spi.QueryId;
 import io.prestosql.spi.WarningCode;
 import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.block.BlockEncodingSerde;
+import io.prestosql.spi.plan.LimitNode;
+import io.prestosql.spi.plan.PlanNode;
+import io.prestosql.spi.plan.ProjectNode;
+import io.prestosql.spi.plan.TopNNode;
 import io.prestosql.spi.security.SelectedRole;
 import io.prestosql.spi.type.BooleanType;
 import io.prestosql.spi.type.StandardTypes;
@@ -70,6 +75,11 @@ import io.prestosql.spi.type.Type;
 import io.prestosql.spi.type.TypeSignature;
 import io.prestosql.spi.type.TypeSignatureParameter;
 import io.prestosql.sql.analyzer.SemanticErrorCode;
+import io.prestosql.sql.planner.PlanFragment;
+import io.prestosql.sql.planner.plan.ExchangeNode;
+import io.prestosql.sql.planner.plan.OutputNode;
+import io.prestosql.sql.planner.plan.RemoteSourceNode;
+import io.prestosql.sql.planner.plan.SortNode;
 import io.prestosql.transaction.TransactionId;
 
 import javax.annotation.concurrent.GuardedBy;
@@ -82,6 +92,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -99,10 +110,14 @@ import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.addTimeout;
+import static io.prestosql.SystemSessionProperties.getResultStreams;
+import static io.prestosql.SystemSessionProperties.isExchangeAdaptiveCompressionEnabled;
 import static io.prestosql.SystemSessionProperties.isExchangeCompressionEnabled;
+import static io.prestosql.SystemSessionProperties.isExchangePooledBuffersEnabled;
 import static io.prestosql.SystemSessionProperties.isRecoveryEnabled;
 import static io.prestosql.execution.QueryState.FAILED;
 import static io.prestosql.execution.QueryState.RECOVERING;
@@ -128,7 +143,16 @@ public class Query
     private final Executor resultsProcessorExecutor;
     private final ScheduledExecutorService timeoutExecutor;
 
+    private final PagesSerdeFactory serdeFactory;
     private final PagesSerde serde;
+    private final boolean binaryResultsRequested;
+    private final int maxResultStreams;
+
+    @GuardedBy("this")
+    private final Map<Integer, ResultStream> resultStreams = new HashMap<>();
+
+    @GuardedBy("this")
+    private Optional<Boolean> orderedOutput = Optional.empty();
 
     @GuardedBy("this")
     private OptionalLong nextToken = OptionalLong.of(0);
@@ -231,7 +255,11 @@ public class Query
         this.resultsProcessorExecutor = resultsProcessorExecutor;
         this.timeoutExecutor = timeoutExecutor;
 
-        serde = new PagesSerdeFactory(blockEncodingSerde, isExchangeCompressionEnabled(session)).createPagesSerde();
+        serdeFactory = new PagesSerdeFactory(blockEncodingSerde, isExchangeCompressionEnabled(session), isExchangePooledBuffersEnabled(session), isExchangeAdaptiveCompressionEnabled(session));
+        serde = serdeFactory.createPagesSerde();
+        binaryResultsRequested = session.getClientCapabilities().contains(ClientCapabilities.BINARY_RESULTS.toString());
+        // with recovery enabled the exchange hands out marker pages per target, which can not be shared by several streams
+        maxResultStreams = isRecoveryEnabled(session) ? 1 : getResultStreams(session);
     }
 
     public void cancel()
@@ -343,6 +371,97 @@ public class Query
         return Futures.transform(futureStateChange, ignored -> getNextResult(token, targetResultSize), resultsProcessorExecutor);
     }
 
+    /**
+     * Returns the next results of an additional result stream. Result streams are opened by clients that fetch
+     * the output of a query over several connections in parallel. All streams, including the main statement stream,
+     * take pages from the same exchange, so every row is returned by exactly one of them and the order of rows across
+     * streams is not defined. A stream ends once the exchange has been drained. When the query has an ORDER BY, the
+     * additional streams end right away and all rows are returned in order by the main statement stream.
+     */
+    public ListenableFuture<QueryResults> waitForStreamResults(int streamId, long token, UriInfo uriInfo, String scheme, Duration wait, DataSize targetResultSize)
+    {
+        ResultStream stream = getResultStream(streamId);
+
+        // before waiting, check if this request has already been processed and cached
+        Optional<QueryResults> cachedResult = stream.getCachedResult(token);
+        if (cachedResult.isPresent()) {
+            return immediateFuture(cachedResult.get());
+        }
+
+        // wait for a results data or query to finish, up to the wait timeout
+        ListenableFuture<?> futureStateChange = addTimeout(
+                getFutureStateChange(),
+                () -> null,
+                wait,
+                timeoutExecutor);
+
+        // when state changes, fetch the next result
+        return Futures.transform(futureStateChange, ignored -> stream.getNextResult(token, uriInfo, scheme, targetResultSize), resultsProcessorExecutor);
+    }
+
+    private synchronized ResultStream getResultStream(int streamId)
+    {
+        // stream 0 is the main statement stream
+        if (streamId < 1 || streamId >= maxResultStreams) {
+            throw new WebApplicationException(Response.Status.NOT_FOUND);
+        }
+        return resultStreams.computeIfAbsent(streamId, ResultStream::new);
+    }
+
+    /**
+     * Returns whether the rows of the query are ordered, or empty while the plan of the output stage is not known yet.
+     * The rows of an ordered query must all be returned by the main statement stream.
+     */
+    private synchronized Optional<Boolean> isOrderedOutput()
+    {
+        if (orderedOutput.isPresent()) {
+            return orderedOutput;
+        }
+        try {
+            orderedOutput = queryManager.getFullQueryInfo(queryId).getOutputStage()
+                    .map(StageInfo::getPlan)
+                    .map(PlanFragment::getRoot)
+                    .map(Query::isOrderedOutput);
+        }
+        catch (NoSuchElementException e) {
+            // the query is gone, the additional streams have nothing left to return
+            orderedOutput = Optional.of(true);
+        }
+        return orderedOutput;
+    }
+
+    private static boolean isOrderedOutput(PlanNode node)
+    {
+        if (node instanceof SortNode || node instanceof TopNNode) {
+            return true;
+        }
+        if (node instanceof RemoteSourceNode) {
+            return ((RemoteSourceNode) node).getOrderingScheme().isPresent();
+        }
+        if (node instanceof ExchangeNode) {
+            return ((ExchangeNode) node).getOrderingScheme().isPresent();
+        }
+        if (node instanceof OutputNode || node instanceof ProjectNode || node instanceof LimitNode) {
+            return isOrderedOutput(getOnlyElement(node.getSources()));
+        }
+        return false;
+    }
+
+    private synchronized List<Type> getTypes()
+    {
+        return types;
+    }
+
+    private synchronized List<Column> getColumns()
+    {
+        return columns;
+    }
+
+    private synchronized boolean isExchangeClientClosed()
+    {
+        return exchangeClient.isClosed();
+    }
+
     private synchronized ListenableFuture<?> getFutureStateChange()
     {
         // if the exchange client is open, wait for data
@@ -448,8 +567,10 @@ public class Query
         // last page is removed.  If another thread observes this state before the response is cached
         // the pages will be lost.
         Iterable<List<Object>> data = null;
+        List<Page> resultPages = ImmutableList.of();
         try {
             ImmutableList.Builder<RowIterable> pages = ImmutableList.builder();
+            ImmutableList.Builder<Page> rawPages = ImmutableList.builder();
             long bytes = 0;
             long rows = 0;
             long targetResultBytes = targetResultSize.toBytes();
@@ -464,10 +585,12 @@ public class Query
                 bytes += page.getLogicalSizeInBytes();
                 rows += page.getPositionCount();
                 pages.add(new RowIterable(session.toConnectorSession(), types, page));
+                rawPages.add(page);
             }
             if (rows > 0) {
                 // client implementations do not properly handle empty list of data
                 data = Iterables.concat(pages.build());
+                resultPages = rawPages.build();
             }
         }
         catch (Throwable cause) {
@@ -498,11 +621,13 @@ public class Query
         if ((queryInfo.getState() == QueryState.FINISHED) && !queryInfo.getOutputStage().isPresent()) {
             columns = ImmutableList.of(createColumn("result", BooleanType.BOOLEAN));
             data = ImmutableSet.of(ImmutableList.of(true));
+            resultPages = ImmutableList.of();
         }
         else if (queryInfo.isRunningAsync()) {
             columns = ImmutableList.of(createColumn("result", BooleanType.BOOLEAN),
                     createColumn("runningAsync", BooleanType.BOOLEAN));
             data = ImmutableSet.of(ImmutableList.of(true, true));
+            resultPages = ImmutableList.of();
         }
 
         // advance next token
@@ -546,6 +671,14 @@ public class Query
         startedTransactionId = queryInfo.getStartedTransactionId();
         clearTransactionId = queryInfo.isClearTransactionId();
 
+        // send rows of plain queries in the binary format if the client asked for it and all column types are supported
+        // RowIterable is lazy, so building it above costs nothing when the binary format is used instead
+        byte[] binaryData = null;
+        if (binaryResultsRequested && data != null && !resultPages.isEmpty() && queryInfo.getUpdateType() == null && BinaryResultsEncoder.isSupported(types)) {
+            binaryData = BinaryResultsEncoder.encode(types, resultPages, isExchangeCompressionEnabled(session));
+            data = null;
+        }
+
         // first time through, self is null
         QueryResults queryResults = new QueryResults(
                 queryId.toString(),
@@ -558,7 +691,8 @@ public class Query
                 toQueryError(queryInfo),
                 mappedCopy(queryInfo.getWarnings(), Query::toClientWarning),
                 queryInfo.getUpdateType(),
-                (queryInfo.isRunningAsync() ? null : updateCount));
+                (queryInfo.isRunningAsync() ? null : updateCount),
+                binaryData);
 
         // cache the new result
         lastToken = token;
@@ -789,6 +923,20 @@ public class Query
                 .build();
     }
 
+    private URI createStreamResultsUri(String scheme, UriInfo uriInfo, int streamId, long nextToken)
+    {
+        return uriInfo.getBaseUriBuilder()
+                .scheme(scheme)
+                .replacePath("/v1/statement/executing")
+                .path(queryId.toString())
+                .path(slug)
+                .path("stream")
+                .path(String.valueOf(streamId))
+                .path(String.valueOf(nextToken))
+                .replaceQuery("")
+                .build();
+    }
+
     private static Column createColumn(String name, Type type)
     {
         TypeSignature signature = type.getTypeSignature();
@@ -1083,4 +1231,137 @@ public class Query
         WarningCode code = warning.getWarningCode();
         return new Warning(new Warning.Code(code.getCode(), code.getName()), warning.getMessage());
     }
+
+    private class ResultStream
+    {
+        private final int streamId;
+        // serdes are not thread safe, every stream deserializes its pages with its own
+        private final PagesSerde streamSerde = serdeFactory.createPagesSerde();
+
+        @GuardedBy("this")
+        private OptionalLong nextToken = OptionalLong.of(0);
+
+        @GuardedBy("this")
+        private QueryResults lastResult;
+
+        @GuardedBy("this")
+        private long lastToken = -1;
+
+        private ResultStream(int streamId)
+        {
+            this.streamId = streamId;
+        }
+
+        private synchronized Optional<QueryResults> getCachedResult(long token)
+        {
+            if (lastResult != null && token == lastToken) {
+                queryManager.recordHeartbeat(queryId);
+                return Optional.of(lastResult);
+            }
+            if (token < lastToken) {
+                throw new WebApplicationException(Response.Status.GONE);
+            }
+            if (!nextToken.isPresent() || token != nextToken.getAsLong()) {
+                throw new WebApplicationException(Response.Status.NOT_FOUND);
+            }
+            return Optional.empty();
+        }
+
+        private synchronized QueryResults getNextResult(long token, UriInfo uriInfo, String scheme, DataSize targetResultSize)
+        {
+            Optional<QueryResults> cachedResult = getCachedResult(token);
+            if (cachedResult.isPresent()) {
+                return cachedResult.get();
+            }
+
+            URI queryHtmlUri = uriInfo.getRequestUriBuilder()
+                    .scheme(scheme)
+                    .replacePath("ui/query.html")
+                    .replaceQuery(queryId.toString())
+                    .build();
+
+            // pages are taken from the exchange without holding the lock of the query, so that the streams
+            // deserialize and encode their batches concurrently. The rows of the polled pages are always
+            // cached in this stream before it reports the end of the stream. The rows of an ordered query are
+            // all returned by the main statement stream, so additional streams end without taking any page.
+            List<Type> outputTypes = getTypes();
+            List<Column> outputColumns = getColumns();
+            Iterable<List<Object>> data = null;
+            byte[] binaryData = null;
+            Optional<Boolean> ordered = (outputTypes == null) ? Optional.empty() : isOrderedOutput();
+            if (ordered.isPresent() && !ordered.get()) {
+                try {
+                    ImmutableList.Builder<RowIterable> pages = ImmutableList.builder();
+                    ImmutableList.Builder<Page> rawPages = ImmutableList.builder();
+                    long bytes = 0;
+                    long rows = 0;
+                    long targetResultBytes = targetResultSize.toBytes();
+                    while (bytes < targetResultBytes) {
+                        SerializedPage serializedPage = exchangeClient.pollPage(null).getLeft();
+                        if (serializedPage == null) {
+                            break;
+                        }
+
+                        Page page = streamSerde.deserialize(serializedPage);
+                        bytes += page.getLogicalSizeInBytes();
+                        rows += page.getPositionCount();
+                        pages.add(new RowIterable(session.toConnectorSession(), outputTypes, page));
+                        rawPages.add(page);
+                    }
+                    if (rows > 0) {
+                        List<Page> resultPages = rawPages.build();
+                        if (binaryResultsRequested && BinaryResultsEncoder.isSupported(outputTypes)) {
+                            binaryData = BinaryResultsEncoder.encode(outputTypes, resultPages, isExchangeCompressionEnabled(session));
+                        }
+                        else {
+                            data = Iterables.concat(pages.build());
+                        }
+                    }
+                }
+                catch (Throwable cause) {
+                    queryManager.failQuery(queryId, cause);
+                }
+            }
+            queryManager.recordHeartbeat(queryId);
+
+            // the main statement stream reports the final state and any failure of the query
+            String state;
+            try {
+                state = queryManager.getQueryState(queryId).toString();
+            }
+            catch (NoSuchElementException e) {
+                state = QueryState.FINISHED.toString();
+            }
+
+            if (ordered.orElse(false) || isExchangeClientClosed()) {
+                nextToken = OptionalLong.empty();
+            }
+            else {
+                nextToken = OptionalLong.of(token + 1);
+            }
+
+            URI nextResultsUri = null;
+            if (nextToken.isPresent()) {
+                nextResultsUri = createStreamResultsUri(scheme, uriInfo, streamId, nextToken.getAsLong());
+            }
+
+            QueryResults queryResults = new QueryResults(
+                    queryId.toString(),
+                    queryHtmlUri,
+                    null,
+                    nextResultsUri,
+                    outputColumns,
+                    data,
+                    StatementStats.builder().setState(state).build(),
+                    null,
+                    ImmutableList.of(),
+                    null,
+                    null,
+                    binaryData);
+
+            lastToken = token;
+            lastResult = queryResults;
+            return queryResults;
+        }
+    }
 }
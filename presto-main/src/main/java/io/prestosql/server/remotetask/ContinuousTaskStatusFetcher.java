@@ -21,6 +21,7 @@ import io.airlift.http.client.Request;
 import io.airlift.http.client.ResponseHandler;
 import io.airlift.log.Logger;
 import io.airlift.units.Duration;
+import io.prestosql.dynamicfilter.PartialDynamicFilter;
 import io.prestosql.execution.StateMachine;
 import io.prestosql.execution.TaskId;
 import io.prestosql.execution.TaskStatus;
@@ -45,9 +46,11 @@ import static com.google.common.net.MediaType.JSON_UTF_8;
 import static io.airlift.http.client.HttpUriBuilder.uriBuilderFrom;
 import static io.airlift.http.client.Request.Builder.prepareGet;
 import static io.airlift.units.Duration.nanosSince;
+import static io.prestosql.client.PrestoHeaders.PRESTO_CURRENT_DYNAMIC_FILTERS_VERSION;
 import static io.prestosql.client.PrestoHeaders.PRESTO_CURRENT_STATE;
 import static io.prestosql.client.PrestoHeaders.PRESTO_MAX_WAIT;
 import static io.prestosql.client.PrestoHeaders.PRESTO_TASK_INSTANCE_ID;
+import static io.prestosql.dynamicfilter.TaskDynamicFilters.INITIAL_VERSION;
 import static io.prestosql.protocol.AdaptingJsonResponseHandler.createAdaptingJsonResponseHandler;
 import static io.prestosql.protocol.FullSmileResponseHandler.createFullSmileResponseHandler;
 import static io.prestosql.protocol.JsonCodecWrapper.unwrapJsonCodec;
@@ -65,6 +68,7 @@ class ContinuousTaskStatusFetcher
     private final TaskId taskId;
     private final String instanceId;
     private final Consumer<Throwable> onFail;
+    private final Consumer<Map<String, PartialDynamicFilter>> onPartialDynamicFilters;
     private final StateMachine<TaskStatus> taskStatus;
     private final Codec<TaskStatus> taskStatusCodec;
 
@@ -76,6 +80,8 @@ class ContinuousTaskStatusFetcher
     private final boolean isBinaryEncoding;
 
     private final AtomicLong currentRequestStartNanos = new AtomicLong();
+    // latest version of the partial dynamic filters received from the task, acknowledged with the next request
+    private final AtomicLong dynamicFiltersVersion = new AtomicLong(INITIAL_VERSION);
 
     @GuardedBy("this")
     private boolean running;
@@ -89,6 +95,7 @@ class ContinuousTaskStatusFetcher
 
     public ContinuousTaskStatusFetcher(
             Consumer<Throwable> onFail,
+            Consumer<Map<String, PartialDynamicFilter>> onPartialDynamicFilters,
             TaskStatus initialTaskStatus,
             String instanceId,
             Duration refreshMaxWait,
@@ -106,6 +113,7 @@ class ContinuousTaskStatusFetcher
         this.taskId = initialTaskStatus.getTaskId();
         this.instanceId = requireNonNull(instanceId, "instanceId is null");
         this.onFail = requireNonNull(onFail, "onFail is null");
+        this.onPartialDynamicFilters = requireNonNull(onPartialDynamicFilters, "onPartialDynamicFilters is null");
         this.taskStatus = new StateMachine<>("task-" + taskId, executor, initialTaskStatus);
 
         this.refreshMaxWait = requireNonNull(refreshMaxWait, "refreshMaxWait is null");
@@ -166,6 +174,7 @@ class ContinuousTaskStatusFetcher
                 .setUri(uriBuilderFrom(tmpTaskStatus.getSelf()).appendPath("status").build())
                 .setHeader(CONTENT_TYPE, JSON_UTF_8.toString())
                 .setHeader(PRESTO_CURRENT_STATE, tmpTaskStatus.getState().toString())
+                .setHeader(PRESTO_CURRENT_DYNAMIC_FILTERS_VERSION, String.valueOf(dynamicFiltersVersion.get()))
                 .setHeader(PRESTO_MAX_WAIT, refreshMaxWait.toString())
                 .build();
 
@@ -207,6 +216,12 @@ class ContinuousTaskStatusFetcher
             }
             updateStats(currentRequestStartNanos.get());
             try {
+                // only the status returned to this fetcher carries the partial dynamic filters,
+                // so the acknowledged version must not be taken from the statuses received with the task info
+                if (!value.getDynamicFilters().isEmpty()) {
+                    onPartialDynamicFilters.accept(value.getDynamicFilters());
+                }
+                dynamicFiltersVersion.accumulateAndGet(value.getDynamicFiltersVersion(), Math::max);
                 updateTaskStatus(value);
                 errorTracker.requestSucceeded();
             }
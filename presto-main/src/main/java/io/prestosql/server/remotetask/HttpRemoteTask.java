@@ -16,6 +16,7 @@ package io.prestosql.server.remotetask;
 import com.google.common.base.Ticker;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
@@ -33,6 +34,7 @@ import io.airlift.log.Logger;
 import io.airlift.units.Duration;
 import io.prestosql.Session;
 import io.prestosql.SystemSessionProperties;
+import io.prestosql.dynamicfilter.PartialDynamicFilter;
 import io.prestosql.execution.ExecutionFailureInfo;
 import io.prestosql.execution.FutureStateChange;
 import io.prestosql.execution.Lifespan;
@@ -72,6 +74,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
@@ -80,6 +83,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -154,6 +158,10 @@ public final class HttpRemoteTask
     private final FutureStateChange<?> whenSplitQueueHasSpace = new FutureStateChange<>();
     @GuardedBy("this")
     private boolean splitQueueHasSpace = true;
+    // merged dynamic filters waiting to be delivered to the task
+    @GuardedBy("this")
+    private final Map<String, byte[]> pendingDynamicFilters = new HashMap<>();
+    private final List<Consumer<Map<String, PartialDynamicFilter>>> partialDynamicFiltersListeners = new CopyOnWriteArrayList<>();
     @GuardedBy("this")
     private OptionalInt whenSplitQueueHasSpaceThreshold = OptionalInt.empty();
 
@@ -261,6 +269,7 @@ public final class HttpRemoteTask
 
             this.taskStatusFetcher = new ContinuousTaskStatusFetcher(
                     this::failTask,
+                    this::notifyPartialDynamicFilters,
                     initialTask.getTaskStatus(),
                     instanceId,
                     taskStatusRefreshMaxWait,
@@ -457,6 +466,34 @@ public final class HttpRemoteTask
         taskInfoFetcher.addFinalTaskInfoListener(stateChangeListener);
     }
 
+    @Override
+    public synchronized void addDynamicFilters(Map<String, byte[]> dynamicFilters)
+    {
+        requireNonNull(dynamicFilters, "dynamicFilters is null");
+
+        // only send the filters if the task can still use them
+        if (dynamicFilters.isEmpty() || getTaskStatus().getState().isDone()) {
+            return;
+        }
+
+        pendingDynamicFilters.putAll(dynamicFilters);
+        needsUpdate.set(true);
+        scheduleUpdate();
+    }
+
+    @Override
+    public void addPartialDynamicFiltersListener(Consumer<Map<String, PartialDynamicFilter>> listener)
+    {
+        partialDynamicFiltersListeners.add(requireNonNull(listener, "listener is null"));
+    }
+
+    private void notifyPartialDynamicFilters(Map<String, PartialDynamicFilter> partialDynamicFilters)
+    {
+        for (Consumer<Map<String, PartialDynamicFilter>> listener : partialDynamicFiltersListeners) {
+            listener.accept(partialDynamicFilters);
+        }
+    }
+
     @Override
     public synchronized ListenableFuture<?> whenSplitQueueHasSpace(int threshold)
     {
@@ -484,10 +521,13 @@ public final class HttpRemoteTask
         }
     }
 
-    private synchronized void processTaskUpdate(TaskInfo newValue, List<TaskSource> sources)
+    private synchronized void processTaskUpdate(TaskInfo newValue, List<TaskSource> sources, Set<String> dynamicFilterIds)
     {
         updateTaskInfo(newValue);
 
+        // remove delivered dynamic filters, a filter is never merged twice so it can not have been replaced
+        pendingDynamicFilters.keySet().removeAll(dynamicFilterIds);
+
         // remove acknowledged splits, which frees memory
         for (TaskSource source : sources) {
             PlanNodeId planNodeId = source.getPlanNodeId();
@@ -548,6 +588,7 @@ public final class HttpRemoteTask
         }
 
         List<TaskSource> sources = getSources();
+        Map<String, byte[]> dynamicFilters = ImmutableMap.copyOf(pendingDynamicFilters);
 
         Optional<PlanFragment> fragment = sendPlan.get() ? Optional.of(planFragment) : Optional.empty();
         TaskUpdateRequest updateRequest = new TaskUpdateRequest(
@@ -560,7 +601,8 @@ public final class HttpRemoteTask
                 sources,
                 outputBuffers.get(),
                 totalPartitions,
-                parent);
+                parent,
+                dynamicFilters);
         byte[] taskUpdateRequestJson = taskUpdateRequestCodec.toBytes(updateRequest);
         if (fragment.isPresent()) {
             stats.updateWithPlanBytes(taskUpdateRequestJson.length);
@@ -588,7 +630,7 @@ public final class HttpRemoteTask
         // and does so without grabbing the instance lock.
         needsUpdate.set(false);
 
-        Futures.addCallback(future, new SimpleHttpResponseHandler<>(new UpdateResponseHandler(sources), request.getUri(), stats), executor);
+        Futures.addCallback(future, new SimpleHttpResponseHandler<>(new UpdateResponseHandler(sources, dynamicFilters.keySet()), request.getUri(), stats), executor);
     }
 
     private synchronized List<TaskSource> getSources()
@@ -933,10 +975,12 @@ public final class HttpRemoteTask
             implements SimpleHttpResponseCallback<TaskInfo>
     {
         private final List<TaskSource> sources;
+        private final Set<String> dynamicFilterIds;
 
-        private UpdateResponseHandler(List<TaskSource> sources)
+        private UpdateResponseHandler(List<TaskSource> sources, Set<String> dynamicFilterIds)
         {
             this.sources = ImmutableList.copyOf(requireNonNull(sources, "sources is null"));
+            this.dynamicFilterIds = ImmutableSet.copyOf(requireNonNull(dynamicFilterIds, "dynamicFilterIds is null"));
         }
 
         @Override
@@ -951,7 +995,7 @@ public final class HttpRemoteTask
                         tmpCurrentRequestStartNanos = HttpRemoteTask.this.currentRequestStartNanos;
                     }
                     updateStats(tmpCurrentRequestStartNanos);
-                    processTaskUpdate(value, sources);
+                    processTaskUpdate(value, sources, dynamicFilterIds);
                     updateErrorTracker.requestSucceeded();
                 }
                 finally {
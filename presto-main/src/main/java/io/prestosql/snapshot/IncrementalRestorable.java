@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.snapshot;
+
+import io.prestosql.spi.snapshot.BlockEncodingSerdeProvider;
+import io.prestosql.spi.snapshot.Restorable;
+
+/**
+ * Indicate an object can capture its internal state incrementally: only the changes since the last checkpoint
+ * are captured, and restoring applies them on top of the state restored from the checkpoint.
+ */
+public interface IncrementalRestorable
+        extends Restorable
+{
+    /**
+     * Determine if the changes since the last checkpoint can be captured as a delta.
+     * This is false before the first checkpoint, and after changes that rewrite the state.
+     *
+     * @return true if {@link #captureDelta} can be called
+     */
+    boolean canCaptureDelta();
+
+    /**
+     * Capture the changes of this object's internal state since the last checkpoint
+     *
+     * @param serdeProvider
+     * @return An object representing the changes
+     */
+    Object captureDelta(BlockEncodingSerdeProvider serdeProvider);
+
+    /**
+     * Apply changes captured by {@link #captureDelta} on top of the state restored from the checkpoint
+     *
+     * @param delta an object that represents the changes
+     * @param serdeProvider
+     */
+    void restoreDelta(Object delta, BlockEncodingSerdeProvider serdeProvider);
+
+    /**
+     * Mark the current state as stored, so that the next delta only contains the changes after this point
+     */
+    void checkpoint();
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.snapshot;
+
+import java.io.Serializable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Stored state of an {@link IncrementalRestorable} captured as a delta.
+ * The base state is the previously stored state of the same component, which may itself be incremental.
+ */
+public class IncrementalState
+        implements Serializable
+{
+    private final String baseStateId;
+    private final Object delta;
+
+    public IncrementalState(String baseStateId, Object delta)
+    {
+        this.baseStateId = requireNonNull(baseStateId, "baseStateId is null");
+        this.delta = delta;
+    }
+
+    public String getBaseStateId()
+    {
+        return baseStateId;
+    }
+
+    public Object getDelta()
+    {
+        return delta;
+    }
+}
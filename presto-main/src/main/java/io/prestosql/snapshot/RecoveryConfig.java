@@ -42,6 +42,11 @@ public class RecoveryConfig
     public static final String SPILLER_SPILL_PROFILE = "experimental.spiller-spill-profile";
     public static final String SPILLER_SPILL_TO_HDFS = "experimental.spiller-spill-to-hdfs";
     public static final String ELIMINATE_DUPLICATE_SPILL_FILES = "experimental.eliminate-duplicate-spill-files";
+    public static final String SNAPSHOT_INCREMENTAL_CAPTURE_ENABLED = "hetu.snapshot.incremental-capture-enabled";
+    public static final String SNAPSHOT_MAX_INCREMENTAL_CAPTURES = "hetu.snapshot.max-incremental-captures";
+    public static final String SNAPSHOT_ASYNC_CAPTURE_ENABLED = "hetu.snapshot.async-capture-enabled";
+    public static final String SNAPSHOT_ASYNC_CAPTURE_THREADS = "hetu.snapshot.async-capture-threads";
+    public static final String SNAPSHOT_ASYNC_CAPTURE_MAX_PENDING = "hetu.snapshot.async-capture-max-pending";
 
     private String snapshotProfile;
     private String spillProfile;
@@ -55,6 +60,11 @@ public class RecoveryConfig
     private Duration snapshotTimeInterval = new Duration(5, TimeUnit.MINUTES);
     private long snapshotSplitCountInterval = 1_000;
     private boolean snapshotUseKryoSerialization;
+    private boolean snapshotIncrementalCaptureEnabled;
+    private int snapshotMaxIncrementalCaptures = 10;
+    private boolean snapshotAsyncCaptureEnabled;
+    private int snapshotAsyncCaptureThreads = 4;
+    private int snapshotAsyncCaptureMaxPending = 32;
 
     public enum IntervalType
     {
@@ -205,4 +215,72 @@ public class RecoveryConfig
         this.eliminateDuplicateSpillFilesEnabled = eliminateDuplicateSpillFilesEnabled;
         return this;
     }
+
+    public boolean isSnapshotIncrementalCaptureEnabled()
+    {
+        return snapshotIncrementalCaptureEnabled;
+    }
+
+    @Config(SNAPSHOT_INCREMENTAL_CAPTURE_ENABLED)
+    @ConfigDescription("capture only the changes since the previous snapshot for operators that support it")
+    public RecoveryConfig setSnapshotIncrementalCaptureEnabled(boolean snapshotIncrementalCaptureEnabled)
+    {
+        this.snapshotIncrementalCaptureEnabled = snapshotIncrementalCaptureEnabled;
+        return this;
+    }
+
+    @Min(1)
+    public int getSnapshotMaxIncrementalCaptures()
+    {
+        return snapshotMaxIncrementalCaptures;
+    }
+
+    @Config(SNAPSHOT_MAX_INCREMENTAL_CAPTURES)
+    @ConfigDescription("number of incremental captures of an operator before its full state is captured again")
+    public RecoveryConfig setSnapshotMaxIncrementalCaptures(int snapshotMaxIncrementalCaptures)
+    {
+        this.snapshotMaxIncrementalCaptures = snapshotMaxIncrementalCaptures;
+        return this;
+    }
+
+    public boolean isSnapshotAsyncCaptureEnabled()
+    {
+        return snapshotAsyncCaptureEnabled;
+    }
+
+    @Config(SNAPSHOT_ASYNC_CAPTURE_ENABLED)
+    @ConfigDescription("serialize and store captured states in background threads instead of the driver threads")
+    public RecoveryConfig setSnapshotAsyncCaptureEnabled(boolean snapshotAsyncCaptureEnabled)
+    {
+        this.snapshotAsyncCaptureEnabled = snapshotAsyncCaptureEnabled;
+        return this;
+    }
+
+    @Min(1)
+    public int getSnapshotAsyncCaptureThreads()
+    {
+        return snapshotAsyncCaptureThreads;
+    }
+
+    @Config(SNAPSHOT_ASYNC_CAPTURE_THREADS)
+    @ConfigDescription("number of threads storing captured states in the background")
+    public RecoveryConfig setSnapshotAsyncCaptureThreads(int snapshotAsyncCaptureThreads)
+    {
+        this.snapshotAsyncCaptureThreads = snapshotAsyncCaptureThreads;
+        return this;
+    }
+
+    @Min(1)
+    public int getSnapshotAsyncCaptureMaxPending()
+    {
+        return snapshotAsyncCaptureMaxPending;
+    }
+
+    @Config(SNAPSHOT_ASYNC_CAPTURE_MAX_PENDING)
+    @ConfigDescription("number of captured states waiting to be stored before driver threads store them directly")
+    public RecoveryConfig setSnapshotAsyncCaptureMaxPending(int snapshotAsyncCaptureMaxPending)
+    {
+        this.snapshotAsyncCaptureMaxPending = snapshotAsyncCaptureMaxPending;
+        return this;
+    }
 }
@@ -20,6 +20,8 @@ import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import io.airlift.log.Logger;
 import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
@@ -34,6 +36,7 @@ import io.prestosql.spi.filesystem.HetuFileSystemClient;
 import io.prestosql.spi.snapshot.BlockEncodingSerdeProvider;
 import org.objenesis.strategy.StdInstantiatorStrategy;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import java.io.IOException;
@@ -48,10 +51,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import static com.google.common.util.concurrent.Futures.immediateFailedFuture;
+import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -78,6 +86,8 @@ public class RecoveryUtils
     // Key is query id; value is number of attempts
     private final Map<String, Long> snapshotsToDelete = new ConcurrentHashMap<>();
     private final ScheduledThreadPoolExecutor deleteSnapshotExecutor = new ScheduledThreadPoolExecutor(1);
+    // Stores captured states in the background. Null if states are stored by the driver threads.
+    private final ListeningExecutorService captureExecutor;
     private static final ThreadLocal<Kryo> kryoPool = ThreadLocal.withInitial(() -> {
         Kryo kryo = new Kryo();
         // Configure the Kryo instance.
@@ -101,6 +111,35 @@ public class RecoveryUtils
                 CLEANUP_INTERVAL_MINUTES,
                 CLEANUP_INTERVAL_MINUTES,
                 TimeUnit.MINUTES);
+
+        if (recoveryConfig.isSnapshotAsyncCaptureEnabled()) {
+            // When too many states are waiting to be stored, the driver thread stores its state itself,
+            // which slows down the drivers until the store catches up
+            captureExecutor = listeningDecorator(new ThreadPoolExecutor(
+                    recoveryConfig.getSnapshotAsyncCaptureThreads(),
+                    recoveryConfig.getSnapshotAsyncCaptureThreads(),
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(recoveryConfig.getSnapshotAsyncCaptureMaxPending()),
+                    daemonThreadsNamed("snapshot-capture-%s"),
+                    new ThreadPoolExecutor.CallerRunsPolicy()));
+        }
+        else {
+            captureExecutor = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        if (captureExecutor != null) {
+            captureExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isAsyncCaptureEnabled()
+    {
+        return captureExecutor != null;
     }
 
     public boolean isCoordinator()
@@ -159,6 +198,24 @@ public class RecoveryUtils
         snapshotStoreClient.storeState(snapshotStateId, state, dataCollector);
     }
 
+    /**
+     * Store the state of snapshotStateId in snapshot store, in a background thread.
+     * The state must not be modified until the returned future is done.
+     */
+    public ListenableFuture<?> storeStateAsync(SnapshotStateId snapshotStateId, Object state, SnapshotDataCollector dataCollector)
+    {
+        requireNonNull(captureExecutor, "async capture is not enabled");
+        requireNonNull(state);
+        if (snapshotStoreClient == null) {
+            return immediateFailedFuture(new IllegalStateException("snapshot store client is not initialized"));
+        }
+
+        return captureExecutor.submit(() -> {
+            snapshotStoreClient.storeState(snapshotStateId, state, dataCollector);
+            return null;
+        });
+    }
+
     /**
      * Load the state of snapshotStateId from snapshot store. Returns:
      * - Empty: state file doesn't exist
@@ -15,8 +15,11 @@
 package io.prestosql.snapshot;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.log.Logger;
 import io.hetu.core.transport.execution.buffer.PagesSerde;
+import io.prestosql.Session;
 import io.prestosql.memory.context.LocalMemoryContext;
 import io.prestosql.operator.Operator;
 import io.prestosql.operator.OperatorContext;
@@ -33,11 +36,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import static com.google.common.util.concurrent.Futures.addCallback;
+import static com.google.common.util.concurrent.Futures.getDone;
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.prestosql.SystemSessionProperties.getSnapshotMaxIncrementalCaptures;
 import static io.prestosql.SystemSessionProperties.isEliminateDuplicateSpillFilesEnabled;
+import static io.prestosql.SystemSessionProperties.isSnapshotIncrementalCaptureEnabled;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -68,9 +79,20 @@ public class SingleInputSnapshotState
     Map<Long, List<String>> snapshotSpillPaths = new LinkedHashMap<>();
     private final boolean isEliminateDuplicateSpillFilesEnabled;
     long lastSnapshotId = -1;
+    // Number of deltas that can be stored on top of a full state, 0 if the restorable is always captured in full
+    private final int maxIncrementalCaptures;
+    private int incrementalCaptures;
+    // Id of the last stored state, which the next delta is based on
+    private String lastStoredStateId;
+    // Store of the last captured state, which may still be running in the background
+    private ListenableFuture<?> lastStoreFuture = immediateFuture(null);
+    // Memory of the captured states that are not stored yet
+    private long pendingStateMemory;
+    private boolean closed;
 
     public static SingleInputSnapshotState forOperator(Operator operator, OperatorContext operatorContext)
     {
+        Session session = operatorContext.getDriverContext().getSession();
         return new SingleInputSnapshotState(
                 operator,
                 operatorContext.getDriverContext().getPipelineContext().getTaskContext().getSnapshotManager(),
@@ -78,7 +100,8 @@ public class SingleInputSnapshotState
                 snapshotId -> SnapshotStateId.forOperator(snapshotId, operatorContext),
                 snapshotId -> SnapshotStateId.forDriverComponent(snapshotId, operatorContext, operatorContext.getOperatorId() + "-spill"),
                 operatorContext.newLocalUserMemoryContext(SingleInputSnapshotState.class.getSimpleName()),
-                isEliminateDuplicateSpillFilesEnabled(operatorContext.getDriverContext().getSession()));
+                isEliminateDuplicateSpillFilesEnabled(session),
+                isSnapshotIncrementalCaptureEnabled(session) ? getSnapshotMaxIncrementalCaptures(session) : 0);
     }
 
     SingleInputSnapshotState(Restorable restorable,
@@ -88,6 +111,18 @@ public class SingleInputSnapshotState
                              Function<Long, SnapshotStateId> spillStateIdGenerator,
                              LocalMemoryContext snapshotMemoryContext,
                              boolean isEliminateDuplicateSpillFilesEnabled)
+    {
+        this(restorable, snapshotManager, pagesSerde, snapshotStateIdGenerator, spillStateIdGenerator, snapshotMemoryContext, isEliminateDuplicateSpillFilesEnabled, 0);
+    }
+
+    SingleInputSnapshotState(Restorable restorable,
+                             TaskSnapshotManager snapshotManager,
+                             PagesSerde pagesSerde,
+                             Function<Long, SnapshotStateId> snapshotStateIdGenerator,
+                             Function<Long, SnapshotStateId> spillStateIdGenerator,
+                             LocalMemoryContext snapshotMemoryContext,
+                             boolean isEliminateDuplicateSpillFilesEnabled,
+                             int maxIncrementalCaptures)
     {
         this.restorable = requireNonNull(restorable, "restorable is null");
         this.restorableId = String.format("%s (%s)", restorable.getClass().getSimpleName(), snapshotStateIdGenerator.apply(0L).getId());
@@ -97,10 +132,14 @@ public class SingleInputSnapshotState
         this.pagesSerde = pagesSerde;
         this.snapshotMemoryContext = snapshotMemoryContext;
         this.isEliminateDuplicateSpillFilesEnabled = isEliminateDuplicateSpillFilesEnabled;
+        // Deltas are chained through the stored state ids, which consolidated writes don't keep
+        boolean incremental = restorable instanceof IncrementalRestorable && !restorable.supportsConsolidatedWrites();
+        this.maxIncrementalCaptures = incremental ? maxIncrementalCaptures : 0;
     }
 
-    public void close()
+    public synchronized void close()
     {
+        closed = true;
         snapshotMemoryContext.close();
     }
 
@@ -138,10 +177,13 @@ public class SingleInputSnapshotState
                 }
                 else {
                     Stopwatch timer = Stopwatch.createStarted();
-                    restorable.restore(state.get(), pagesSerde);
+                    boolean successful = restoreState(state.get());
                     timer.stop();
-                    boolean successful = true;
-                    if (restorable instanceof Spillable && ((Spillable) restorable).isSpilled() && !((Spillable) restorable).isSpillToHdfsEnabled()) {
+                    if (!successful) {
+                        snapshotManager.failedToRestore(componentId, true);
+                        LOG.warn("Can't locate base state of incremental snapshot %d, component %s", snapshotId, restorableId);
+                    }
+                    else if (restorable instanceof Spillable && ((Spillable) restorable).isSpilled() && !((Spillable) restorable).isSpillToHdfsEnabled()) {
                         Boolean result = loadSpilledFiles(snapshotId, (Spillable) restorable);
                         if (result == null) {
                             snapshotManager.failedToRestore(componentId, true);
@@ -174,6 +216,27 @@ public class SingleInputSnapshotState
         return true;
     }
 
+    private boolean restoreState(Object state)
+            throws Exception
+    {
+        // The next capture is a full one, the restored state may not be the last stored one
+        lastStoredStateId = null;
+        if (!(state instanceof IncrementalState)) {
+            restorable.restore(state, pagesSerde);
+            return true;
+        }
+
+        Optional<List<Object>> states = snapshotManager.loadIncrementalStates((IncrementalState) state);
+        if (!states.isPresent()) {
+            return false;
+        }
+        restorable.restore(states.get().get(0), pagesSerde);
+        for (Object delta : states.get().subList(1, states.get().size())) {
+            ((IncrementalRestorable) restorable).restoreDelta(delta, pagesSerde);
+        }
+        return true;
+    }
+
     // Exposed only to be used by HashBuilderOperator
     public void captureExtraState(long snapshotId)
     {
@@ -184,13 +247,27 @@ public class SingleInputSnapshotState
     {
         SnapshotStateId componentId = snapshotStateIdGenerator.apply(snapshotId);
         long stateMemory = restorable.getUsedMemory();
-        if (!snapshotMemoryContext.trySetBytes(stateMemory)) {
+        if (!reserveStateMemory(stateMemory)) {
             LOG.warn("Insufficient memory on worker node to take snapshot");
             snapshotManager.failedToCapture(componentId);
             return;
         }
+        long startNanos = System.nanoTime();
+        ListenableFuture<?> stored;
         try {
-            storeState(componentId);
+            Stopwatch timer = Stopwatch.createStarted();
+            boolean captureDelta = canCaptureDelta(componentId);
+            Object state;
+            if (captureDelta) {
+                state = new IncrementalState(lastStoredStateId, ((IncrementalRestorable) restorable).captureDelta(pagesSerde));
+            }
+            else {
+                state = restorable.capture(pagesSerde);
+            }
+            timer.stop();
+            long serTime = timer.elapsed(TimeUnit.MILLISECONDS);
+
+            // Spilled files keep changing after the marker, they are stored before the driver continues
             if (restorable instanceof Spillable && !((Spillable) restorable).isSpillToHdfsEnabled()) {
                 if (((Spillable) restorable).isSpilled()) {
                     storeSpilledFiles(snapshotId, (Spillable) restorable, true);
@@ -199,37 +276,108 @@ public class SingleInputSnapshotState
                     storeSpilledFiles(snapshotId, (Spillable) restorable, false);
                 }
             }
-            if (record) {
-                snapshotManager.succeededToCapture(componentId);
-                LOG.debug("Successfully saved state to snapshot %d for %s", snapshotId, restorableId);
-            }
-            else {
-                LOG.debug("Successfully saved EXTRA state to snapshot %d for %s", snapshotId, restorableId);
-            }
+            stored = storeState(componentId, state, serTime, captureDelta);
         }
         catch (Exception e) {
             LOG.warn(e, "Failed to capture and store snapshot state");
+            releaseStateMemory(stateMemory);
             snapshotManager.failedToCapture(componentId);
+            return;
         }
-        finally {
-            snapshotMemoryContext.setBytes(0);
-        }
+
+        addCallback(stored, new FutureCallback<Object>()
+        {
+            @Override
+            public void onSuccess(Object result)
+            {
+                releaseStateMemory(stateMemory);
+                if (record) {
+                    snapshotManager.updateSnapshotCaptureLatency(snapshotId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    snapshotManager.succeededToCapture(componentId);
+                    LOG.debug("Successfully saved state to snapshot %d for %s", snapshotId, restorableId);
+                }
+                else {
+                    LOG.debug("Successfully saved EXTRA state to snapshot %d for %s", snapshotId, restorableId);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t)
+            {
+                releaseStateMemory(stateMemory);
+                LOG.warn(t, "Failed to store snapshot state");
+                snapshotManager.failedToCapture(componentId);
+            }
+        }, directExecutor());
     }
 
-    private void storeState(SnapshotStateId componentId)
+    private ListenableFuture<?> storeState(SnapshotStateId componentId, Object state, long serTime, boolean captureDelta)
             throws Exception
     {
-        Stopwatch timer = Stopwatch.createStarted();
-        Object state = restorable.capture(pagesSerde);
-        timer.stop();
-        long serTime = timer.elapsed(TimeUnit.MILLISECONDS);
-
+        ListenableFuture<?> stored;
         if (restorable.supportsConsolidatedWrites()) {
             snapshotManager.storeConsolidatedState(componentId, state, serTime);
+            stored = immediateFuture(null);
+        }
+        else if (snapshotManager.isAsyncCaptureEnabled()) {
+            // Captured states don't share data with the restorable, they are serialized and written in the background
+            stored = snapshotManager.storeStateAsync(componentId, state, serTime);
         }
         else {
             snapshotManager.storeState(componentId, state, serTime);
+            stored = immediateFuture(null);
+        }
+        lastStoreFuture = stored;
+
+        if (maxIncrementalCaptures > 0) {
+            // The next delta is based on this state. It is only captured once this state is stored successfully.
+            ((IncrementalRestorable) restorable).checkpoint();
+            lastStoredStateId = componentId.toString();
+            incrementalCaptures = captureDelta ? incrementalCaptures + 1 : 0;
+        }
+        return stored;
+    }
+
+    private synchronized boolean reserveStateMemory(long bytes)
+    {
+        if (!snapshotMemoryContext.trySetBytes(pendingStateMemory + bytes)) {
+            return false;
         }
+        pendingStateMemory += bytes;
+        return true;
+    }
+
+    private synchronized void releaseStateMemory(long bytes)
+    {
+        pendingStateMemory -= bytes;
+        if (!closed) {
+            snapshotMemoryContext.setBytes(pendingStateMemory);
+        }
+    }
+
+    private static boolean isStored(ListenableFuture<?> future)
+    {
+        if (!future.isDone()) {
+            return false;
+        }
+        try {
+            getDone(future);
+            return true;
+        }
+        catch (ExecutionException | CancellationException e) {
+            return false;
+        }
+    }
+
+    private boolean canCaptureDelta(SnapshotStateId componentId)
+    {
+        return maxIncrementalCaptures > 0
+                && incrementalCaptures < maxIncrementalCaptures
+                && lastStoredStateId != null
+                // The same state may be stored again, e.g. the extra state of HashBuilderOperator, it can't be its own base
+                && !lastStoredStateId.equals(componentId.toString())
+                && isStored(lastStoreFuture)
+                && ((IncrementalRestorable) restorable).canCaptureDelta();
     }
 
     public boolean hasMarker()
@@ -19,12 +19,16 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 
 public class SnapshotInfo
         implements Serializable
 {
+    // Upper bounds, in milliseconds, of the capture latency buckets. The last bucket holds longer captures.
+    public static final long[] CAPTURE_LATENCY_BUCKETS = {10, 100, 1000, 10_000};
+
     // Snapshot status
     private SnapshotResult snapshotResult;
     // captured/restored size in bytes (consolidated to task level)
@@ -36,6 +40,14 @@ public class SnapshotInfo
     private long endTime;
     // Used for capture result, to mark snapshot capture was succesful or not
     private boolean completeSnapshot;
+    // Number of component captures, from marker arrival to state stored, per latency bucket
+    private final AtomicLongArray captureLatencyHistogram;
+    private final AtomicLong maxCaptureLatency;
+
+    public SnapshotInfo(long sizeBytes, long cpuTime, long beginTime, long endTime, SnapshotResult snapshotResult)
+    {
+        this(sizeBytes, cpuTime, beginTime, endTime, snapshotResult, new long[CAPTURE_LATENCY_BUCKETS.length + 1], 0);
+    }
 
     @JsonCreator
     public SnapshotInfo(
@@ -43,7 +55,9 @@ public class SnapshotInfo
             @JsonProperty("cpuTime") long cpuTime,
             @JsonProperty("beginTime") long beginTime,
             @JsonProperty("endTime") long endTime,
-            @JsonProperty("snapshotResult") SnapshotResult snapshotResult)
+            @JsonProperty("snapshotResult") SnapshotResult snapshotResult,
+            @JsonProperty("captureLatencyHistogram") long[] captureLatencyHistogram,
+            @JsonProperty("maxCaptureLatency") long maxCaptureLatency)
     {
         this.sizeBytes = new AtomicLong(sizeBytes);
         this.cpuTime = new AtomicLong(cpuTime);
@@ -51,6 +65,13 @@ public class SnapshotInfo
         this.endTime = endTime;
         this.snapshotResult = snapshotResult;
         this.completeSnapshot = false;
+        this.captureLatencyHistogram = new AtomicLongArray(CAPTURE_LATENCY_BUCKETS.length + 1);
+        if (captureLatencyHistogram != null) {
+            for (int i = 0; i < Math.min(captureLatencyHistogram.length, this.captureLatencyHistogram.length()); i++) {
+                this.captureLatencyHistogram.set(i, captureLatencyHistogram[i]);
+            }
+        }
+        this.maxCaptureLatency = new AtomicLong(maxCaptureLatency);
     }
 
     @JsonProperty
@@ -125,6 +146,32 @@ public class SnapshotInfo
         this.completeSnapshot = restoreCompleted;
     }
 
+    @JsonProperty
+    public long[] getCaptureLatencyHistogram()
+    {
+        long[] histogram = new long[captureLatencyHistogram.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = captureLatencyHistogram.get(i);
+        }
+        return histogram;
+    }
+
+    @JsonProperty
+    public long getMaxCaptureLatency()
+    {
+        return maxCaptureLatency.get();
+    }
+
+    public void recordCaptureLatency(long latencyMillis)
+    {
+        int bucket = 0;
+        while (bucket < CAPTURE_LATENCY_BUCKETS.length && latencyMillis > CAPTURE_LATENCY_BUCKETS[bucket]) {
+            bucket++;
+        }
+        captureLatencyHistogram.incrementAndGet(bucket);
+        maxCaptureLatency.accumulateAndGet(latencyMillis, Math::max);
+    }
+
     public static SnapshotInfo withStatus(SnapshotResult result)
     {
         SnapshotInfo info = new SnapshotInfo(0, 0, 0, 0, result);
@@ -134,9 +181,14 @@ public class SnapshotInfo
 
     public void updateStats(SnapshotInfo curSnapshotInfo)
     {
-        // Update only Size and CpuTime, which to be accumulated from task level
+        // Update only Size, CpuTime and capture latencies, which to be accumulated from task level
         sizeBytes.addAndGet(curSnapshotInfo.getSizeBytes());
         cpuTime.addAndGet(curSnapshotInfo.getCpuTime());
+        long[] histogram = curSnapshotInfo.getCaptureLatencyHistogram();
+        for (int i = 0; i < Math.min(histogram.length, captureLatencyHistogram.length()); i++) {
+            captureLatencyHistogram.addAndGet(i, histogram[i]);
+        }
+        maxCaptureLatency.accumulateAndGet(curSnapshotInfo.getMaxCaptureLatency(), Math::max);
     }
 
     @Override
@@ -149,6 +201,8 @@ public class SnapshotInfo
                 .add("beginTime", beginTime)
                 .add("endTime", endTime)
                 .add("completeSnapshot", completeSnapshot)
+                .add("captureLatencyHistogram", captureLatencyHistogram)
+                .add("maxCaptureLatency", maxCaptureLatency)
                 .toString();
     }
 }
@@ -15,6 +15,8 @@
 package io.prestosql.snapshot;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.log.Logger;
 import io.prestosql.execution.TaskId;
 import io.prestosql.operator.Operator;
@@ -26,6 +28,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -34,6 +37,7 @@ import java.util.OptionalLong;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -106,7 +110,28 @@ public class TaskSnapshotManager
             throws Exception
     {
         recoveryUtils.storeState(snapshotStateId, state, this);
+        stateStored(snapshotStateId, serCpuTime);
+    }
+
+    public boolean isAsyncCaptureEnabled()
+    {
+        return recoveryUtils.isAsyncCaptureEnabled();
+    }
+
+    /**
+     * Store the state of snapshotStateId in snapshot store, in a background thread.
+     * The state must not be modified until the returned future is done.
+     */
+    public ListenableFuture<?> storeStateAsync(SnapshotStateId snapshotStateId, Object state, long serCpuTime)
+    {
+        return Futures.transform(recoveryUtils.storeStateAsync(snapshotStateId, state, this), ignored -> {
+            stateStored(snapshotStateId, serCpuTime);
+            return null;
+        }, directExecutor());
+    }
 
+    private void stateStored(SnapshotStateId snapshotStateId, long serCpuTime)
+    {
         // store dummy value
         Map<String, Object> map = storeCache.computeIfAbsent(snapshotStateId.getSnapshotId(), (x) -> Collections.synchronizedMap(new HashMap<>()));
         map.put(snapshotStateId.toString(), snapshotStateId.toString());
@@ -200,6 +225,31 @@ public class TaskSnapshotManager
         return loadedValue;
     }
 
+    /**
+     * Load the states an incremental state is built on. Returns:
+     * - Empty: one of the base states doesn't exist
+     * - Other list: the full state followed by the deltas to apply on it, oldest first
+     */
+    public Optional<List<Object>> loadIncrementalStates(IncrementalState incrementalState)
+            throws Exception
+    {
+        LinkedList<Object> states = new LinkedList<>();
+        states.addFirst(incrementalState.getDelta());
+        IncrementalState current = incrementalState;
+        while (true) {
+            Optional<Object> base = recoveryUtils.loadState(SnapshotStateId.fromString(current.getBaseStateId()), this);
+            if (!base.isPresent()) {
+                return Optional.empty();
+            }
+            if (!(base.get() instanceof IncrementalState)) {
+                states.addFirst(base.get());
+                return Optional.of(states);
+            }
+            current = (IncrementalState) base.get();
+            states.addFirst(current.getDelta());
+        }
+    }
+
     public void storeFile(SnapshotStateId snapshotStateId, Path sourceFile, long skipBytes)
             throws Exception
     {
@@ -445,6 +495,17 @@ public class TaskSnapshotManager
         }
     }
 
+    /**
+     * Record the time between a marker reaching a component and its state being stored
+     */
+    public void updateSnapshotCaptureLatency(long snapshotId, long latencyMillis)
+    {
+        synchronized (captureResults) {
+            SnapshotInfo snapshotInfo = captureResults.computeIfAbsent(snapshotId, k -> getNewSnapshotInfo(k));
+            snapshotInfo.recordCaptureLatency(latencyMillis);
+        }
+    }
+
     @Override
     public void updateSnapshotRestoreSize(long sizeBytes)
     {
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.split;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.prestosql.execution.Lifespan;
+import io.prestosql.metadata.Split;
+import io.prestosql.snapshot.MarkerSplit;
+import io.prestosql.spi.connector.CatalogName;
+import io.prestosql.spi.connector.ConnectorPartitionHandle;
+import io.prestosql.spi.connector.ConnectorSplit;
+import org.eclipse.jetty.util.URIUtil;
+
+import javax.annotation.Nullable;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Drops the splits of the files that were not modified since they were last indexed, so that an update
+ * of an index only reads the files added or modified after the index was built.
+ */
+public class ModifiedFilesSplitSource
+        implements SplitSource
+{
+    private final SplitSource splitSource;
+    // path of each indexed file to the last modified time of the file when it was indexed
+    private final Map<String, Long> indexedFileModifiedTimes;
+
+    public ModifiedFilesSplitSource(SplitSource splitSource, Map<String, Long> indexedFileModifiedTimes)
+    {
+        this.splitSource = requireNonNull(splitSource, "splitSource is null");
+        this.indexedFileModifiedTimes = ImmutableMap.copyOf(requireNonNull(indexedFileModifiedTimes, "indexedFileModifiedTimes is null"));
+    }
+
+    @Nullable
+    @Override
+    public CatalogName getCatalogName()
+    {
+        return splitSource.getCatalogName();
+    }
+
+    @Override
+    public ListenableFuture<SplitBatch> getNextBatch(ConnectorPartitionHandle partitionHandle, Lifespan lifespan, int maxSize)
+    {
+        ListenableFuture<SplitBatch> batch = splitSource.getNextBatch(partitionHandle, lifespan, maxSize);
+        return Futures.transform(batch, splitBatch -> new SplitBatch(
+                splitBatch.getSplits().stream()
+                        .filter(this::isModified)
+                        .collect(toImmutableList()),
+                splitBatch.isLastBatch()), directExecutor());
+    }
+
+    private boolean isModified(Split split)
+    {
+        ConnectorSplit connectorSplit = split.getConnectorSplit();
+        if (connectorSplit instanceof MarkerSplit) {
+            return true;
+        }
+
+        String filePath = URI.create(URIUtil.encodePath(connectorSplit.getFilePath())).getPath();
+        Long indexedModifiedTime = indexedFileModifiedTimes.get(filePath);
+        return indexedModifiedTime == null || indexedModifiedTime != connectorSplit.getLastModifiedTime();
+    }
+
+    @Override
+    public List<Split> groupSmallSplits(List<Split> pendingSplits, Lifespan lifespan, int maxGroupSize)
+    {
+        return splitSource.groupSmallSplits(pendingSplits, lifespan, maxGroupSize);
+    }
+
+    @Override
+    public void close()
+    {
+        splitSource.close();
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return splitSource.isFinished();
+    }
+}
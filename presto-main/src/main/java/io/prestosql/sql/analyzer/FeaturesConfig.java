@@ -99,6 +99,8 @@ public class FeaturesConfig
     private boolean pushLimitThroughSemiJoin = true;
     private boolean pushLimitThroughOuterJoin = true;
     private boolean exchangeCompressionEnabled;
+    private boolean exchangePooledBuffersEnabled;
+    private boolean exchangeAdaptiveCompressionEnabled;
     private boolean legacyMapSubscript;
     private boolean optimizeMixedDistinctAggregations;
     private boolean unwrapCasts = true;
@@ -160,6 +162,7 @@ public class FeaturesConfig
     private DynamicFilterDataType dynamicFilteringDataType = BLOOM_FILTER;
     private DataSize dynamicFilteringMaxPerDriverSize = new DataSize(1, MEGABYTE);
     private double dynamicFilteringBloomFilterFpp = 0.1D;
+    private boolean dynamicFilteringPushEnabled;
     // enable or disable execution plan cache functionality via Session properties
     private boolean enableExecutionPlanCache = true;
 
@@ -1062,6 +1065,19 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isDynamicFilteringPushEnabled()
+    {
+        return dynamicFilteringPushEnabled;
+    }
+
+    @Config("dynamic-filtering-push-enabled")
+    @ConfigDescription("Exchange dynamic filters between the coordinator and the workers with the task status and updates instead of the state store")
+    public FeaturesConfig setDynamicFilteringPushEnabled(boolean dynamicFilteringPushEnabled)
+    {
+        this.dynamicFilteringPushEnabled = dynamicFilteringPushEnabled;
+        return this;
+    }
+
     /**
      * Presto can only cache execution plans for supported connectors.
      * This method checks if the session property for enabled execution plan caching
@@ -1114,6 +1130,32 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isExchangePooledBuffersEnabled()
+    {
+        return exchangePooledBuffersEnabled;
+    }
+
+    @Config("exchange.pooled-buffers-enabled")
+    @ConfigDescription("Reuse the serialization, compression and encryption buffers of exchanges across pages")
+    public FeaturesConfig setExchangePooledBuffersEnabled(boolean exchangePooledBuffersEnabled)
+    {
+        this.exchangePooledBuffersEnabled = exchangePooledBuffersEnabled;
+        return this;
+    }
+
+    public boolean isExchangeAdaptiveCompressionEnabled()
+    {
+        return exchangeAdaptiveCompressionEnabled;
+    }
+
+    @Config("exchange.adaptive-compression-enabled")
+    @ConfigDescription("Choose between LZ4, ZSTD and no compression for the pages of each exchange when exchange compression is enabled")
+    public FeaturesConfig setExchangeAdaptiveCompressionEnabled(boolean exchangeAdaptiveCompressionEnabled)
+    {
+        this.exchangeAdaptiveCompressionEnabled = exchangeAdaptiveCompressionEnabled;
+        return this;
+    }
+
     public boolean isEnableIntermediateAggregations()
     {
         return enableIntermediateAggregations;
@@ -54,6 +54,7 @@ import io.prestosql.spi.plan.WindowNode;
 import io.prestosql.spi.predicate.TupleDomain;
 import io.prestosql.spi.resourcegroups.QueryType;
 import io.prestosql.spi.service.PropertyService;
+import io.prestosql.split.ModifiedFilesSplitSource;
 import io.prestosql.split.SampledSplitSource;
 import io.prestosql.split.SplitManager;
 import io.prestosql.split.SplitSource;
@@ -121,12 +122,23 @@ public class DistributedExecutionPlanner
 
     private final SplitManager splitManager;
     private final Metadata metadata;
+    private final Map<String, Long> indexedFileModifiedTimes;
 
     @Inject
     public DistributedExecutionPlanner(SplitManager splitManager, Metadata metadata)
+    {
+        this(splitManager, metadata, ImmutableMap.of());
+    }
+
+    /**
+     * @param indexedFileModifiedTimes last modified times of the files covered by the index updated by the query,
+     * the splits of the files that were not modified since are not scheduled
+     */
+    public DistributedExecutionPlanner(SplitManager splitManager, Metadata metadata, Map<String, Long> indexedFileModifiedTimes)
     {
         this.splitManager = requireNonNull(splitManager, "splitManager is null");
         this.metadata = requireNonNull(metadata, "metadata is null");
+        this.indexedFileModifiedTimes = requireNonNull(indexedFileModifiedTimes, "indexedFileModifiedTimes is null");
     }
 
     public StageExecutionPlan plan(SubPlan root, Session session, Mode mode, Long resumeSnapshotId, long nextSnapshotId)
@@ -364,6 +376,9 @@ public class DistributedExecutionPlanner
                     userDefinedCachePredicates,
                     partOfReuse,
                     nodeId);
+            if (!indexedFileModifiedTimes.isEmpty()) {
+                splitSource = new ModifiedFilesSplitSource(splitSource, indexedFileModifiedTimes);
+            }
 
             splitSources.add(splitSource);
 
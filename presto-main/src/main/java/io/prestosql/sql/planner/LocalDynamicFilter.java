@@ -22,10 +22,13 @@ import com.google.common.util.concurrent.SettableFuture;
 import io.airlift.log.Logger;
 import io.airlift.slice.Slice;
 import io.prestosql.Session;
+import io.prestosql.dynamicfilter.PartialDynamicFilter;
+import io.prestosql.dynamicfilter.TaskDynamicFilters;
 import io.prestosql.execution.TaskId;
 import io.prestosql.operator.DynamicFilterSourceOperator;
 import io.prestosql.spi.dynamicfilter.BloomFilterDynamicFilter;
 import io.prestosql.spi.dynamicfilter.DynamicFilter;
+import io.prestosql.spi.dynamicfilter.RangeDynamicFilter;
 import io.prestosql.spi.plan.FilterNode;
 import io.prestosql.spi.plan.JoinNode;
 import io.prestosql.spi.plan.PlanNode;
@@ -40,8 +43,15 @@ import io.prestosql.sql.DynamicFilters;
 import io.prestosql.sql.analyzer.FeaturesConfig;
 import io.prestosql.sql.planner.plan.SemiJoinNode;
 import io.prestosql.statestore.StateStoreProvider;
+import it.unimi.dsi.fastutil.doubles.DoubleIterator;
+import it.unimi.dsi.fastutil.doubles.DoubleOpenHashSet;
+import it.unimi.dsi.fastutil.doubles.DoubleSet;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -58,7 +68,9 @@ import static io.prestosql.spi.dynamicfilter.DynamicFilter.DataType.BLOOM_FILTER
 import static io.prestosql.spi.statestore.StateCollection.Type.SET;
 import static io.prestosql.sql.DynamicFilters.Descriptor;
 import static io.prestosql.sql.DynamicFilters.extractDynamicFilters;
+import static io.prestosql.utils.DynamicFilterUtils.INCOMPLETEPREFIX;
 import static io.prestosql.utils.DynamicFilterUtils.PARTIALPREFIX;
+import static io.prestosql.utils.DynamicFilterUtils.RANGEPREFIX;
 import static io.prestosql.utils.DynamicFilterUtils.TASKSPREFIX;
 import static io.prestosql.utils.DynamicFilterUtils.createKey;
 import static io.prestosql.utils.DynamicFilterUtils.findFilterNodeInStage;
@@ -79,27 +91,41 @@ public class LocalDynamicFilter
     // If any partial dynamic filter is discarded due to too large
     private boolean isIncomplete;
     private SettableFuture<Map<String, Set>> dynamicFilterResultFuture;
+    // Merged ranges, only set when the values are incomplete
+    private SettableFuture<Map<String, List<Object>>> dynamicFilterRangeFuture;
     // Number of partitions left to be processed.
     private int partitionsLeft;
     // The resulting predicate for local dynamic filtering.
     private Map<String, Set> result = new HashMap<>();
+    // The min/max ranges reported by each operator
+    private Map<String, List<List<Object>>> partialRanges = new HashMap<>();
 
     private FeaturesConfig.DynamicFilterDataType dynamicFilterDataType;
     private final double bloomFilterFpp;
     private final StateStoreProvider stateStoreProvider;
     private final TaskId taskId;
+    // Present when the partial filters are reported to the coordinator with the task status instead of the state store
+    private final Optional<TaskDynamicFilters> taskDynamicFilters;
     private Map<String, DynamicFilterSourceOperator.Channel> channels = new HashMap<>();
 
     public LocalDynamicFilter(Multimap<String, Symbol> probeSymbols, Map<String, Integer> buildChannels, int partitionCount, DynamicFilter.Type type, Session session,
-            TaskId taskId, StateStoreProvider stateStoreProvider)
+            TaskId taskId, StateStoreProvider stateStoreProvider, Optional<TaskDynamicFilters> taskDynamicFilters)
     {
         this(probeSymbols, buildChannels, partitionCount, type, getDynamicFilteringDataType(session),
-                getDynamicFilteringBloomFilterFpp(session), taskId, stateStoreProvider);
+                getDynamicFilteringBloomFilterFpp(session), taskId, stateStoreProvider, taskDynamicFilters);
     }
 
     public LocalDynamicFilter(Multimap<String, Symbol> probeSymbols, Map<String, Integer> buildChannels, int partitionCount,
                               DynamicFilter.Type filterType, FeaturesConfig.DynamicFilterDataType dataType,
                               double bloomFilterFpp, TaskId taskId, StateStoreProvider stateStoreProvider)
+    {
+        this(probeSymbols, buildChannels, partitionCount, filterType, dataType, bloomFilterFpp, taskId, stateStoreProvider, Optional.empty());
+    }
+
+    public LocalDynamicFilter(Multimap<String, Symbol> probeSymbols, Map<String, Integer> buildChannels, int partitionCount,
+                              DynamicFilter.Type filterType, FeaturesConfig.DynamicFilterDataType dataType,
+                              double bloomFilterFpp, TaskId taskId, StateStoreProvider stateStoreProvider,
+                              Optional<TaskDynamicFilters> taskDynamicFilters)
     {
         this.probeSymbols = requireNonNull(probeSymbols, "probeSymbols is null");
         this.buildChannels = requireNonNull(buildChannels, "buildChannels is null");
@@ -107,6 +133,7 @@ public class LocalDynamicFilter
 
         this.resultFuture = SettableFuture.create();
         this.dynamicFilterResultFuture = SettableFuture.create();
+        this.dynamicFilterRangeFuture = SettableFuture.create();
 
         this.partitionsLeft = partitionCount;
 
@@ -115,9 +142,11 @@ public class LocalDynamicFilter
         this.bloomFilterFpp = bloomFilterFpp;
         this.taskId = requireNonNull(taskId, "taskId is null");
         this.stateStoreProvider = requireNonNull(stateStoreProvider, "stateStore is null");
+        this.taskDynamicFilters = requireNonNull(taskDynamicFilters, "taskDynamicFilters is null");
     }
 
-    public static Optional<LocalDynamicFilter> create(JoinNode planNode, int partitionCount, Session session, TaskId taskId, StateStoreProvider stateStoreProvider)
+    public static Optional<LocalDynamicFilter> create(JoinNode planNode, int partitionCount, Session session, TaskId taskId, StateStoreProvider stateStoreProvider,
+            Optional<TaskDynamicFilters> taskDynamicFilters)
     {
         Set<String> joinDynamicFilters = planNode.getDynamicFilters().keySet();
         // Mapping from probe-side dynamic filters' IDs to their matching probe symbols.
@@ -160,10 +189,11 @@ public class LocalDynamicFilter
         if (localBuildChannels.isEmpty()) {
             return Optional.empty();
         }
-        return Optional.of(new LocalDynamicFilter(localProbeSymbols, localBuildChannels, partitionCount, localType, session, taskId, stateStoreProvider));
+        return Optional.of(new LocalDynamicFilter(localProbeSymbols, localBuildChannels, partitionCount, localType, session, taskId, stateStoreProvider, taskDynamicFilters));
     }
 
-    public static Optional<LocalDynamicFilter> create(SemiJoinNode semiJoinNode, Session session, TaskId taskId, StateStoreProvider stateStoreProvider)
+    public static Optional<LocalDynamicFilter> create(SemiJoinNode semiJoinNode, Session session, TaskId taskId, StateStoreProvider stateStoreProvider,
+            Optional<TaskDynamicFilters> taskDynamicFilters)
     {
         if (!semiJoinNode.getDynamicFilterId().isPresent()) {
             return Optional.empty();
@@ -179,7 +209,7 @@ public class LocalDynamicFilter
         }
         Multimap<String, Symbol> probeSymbolMultiMap = ImmutableMultimap.of(dynamicFilterId, semiJoinNode.getSourceJoinSymbol());
         Map<String, Integer> localChannels = ImmutableMap.of(dynamicFilterId, semiJoinNode.getFilteringSource().getOutputSymbols().indexOf(semiJoinNode.getFilteringSourceJoinSymbol()));
-        return Optional.of(new LocalDynamicFilter(probeSymbolMultiMap, localChannels, 1, localType, session, taskId, stateStoreProvider));
+        return Optional.of(new LocalDynamicFilter(probeSymbolMultiMap, localChannels, 1, localType, session, taskId, stateStoreProvider, taskDynamicFilters));
     }
 
     private static void mapProbeSymbols(RowExpression predicate, Set<String> joinDynamicFilters, Multimap<String, Symbol> probeSymbols)
@@ -209,6 +239,20 @@ public class LocalDynamicFilter
         }
     }
 
+    /**
+     * The min/max ranges from each operator are added to the filters. Each operator calls this only once,
+     * right before {@link #addOperatorResult(Map)}
+     *
+     * @param ranges bounds [min, max] of each column, columns without range are absent
+     */
+    public synchronized void addOperatorRanges(Map<DynamicFilterSourceOperator.Channel, List<Object>> ranges)
+    {
+        ranges.forEach((key, value) -> {
+            partialRanges.computeIfAbsent(key.getFilterId(), filterId -> new ArrayList<>()).add(value);
+            channels.put(key.getFilterId(), key);
+        });
+    }
+
     /**
      * The results from each operator is added to the filters. Each operator should call this only once
      *
@@ -225,9 +269,13 @@ public class LocalDynamicFilter
         }
         else if (!isIncomplete) {
             values.forEach((key, value) -> {
-                result.putIfAbsent(key.getFilterId(), new HashSet<>());
                 Set set = result.get(key.getFilterId());
-                set.addAll(value);
+                if (set == null) {
+                    result.put(key.getFilterId(), copyOf(value));
+                }
+                else {
+                    addAll(set, value);
+                }
                 channels.put(key.getFilterId(), key);
             });
         }
@@ -237,22 +285,82 @@ public class LocalDynamicFilter
         if (partitionsLeft == 0) {
             // No more partitions are left to be processed.
             Map<String, Set> dynamicFilterResult = new HashMap<>();
+            Map<String, List<Object>> mergedRanges = new HashMap<>();
+            partialRanges.forEach((filterId, ranges) -> mergedRanges.put(filterId, RangeDynamicFilter.mergeRanges(ranges, RangeDynamicFilter.DEFAULT_MAX_RANGES)));
             if (!isIncomplete) {
                 for (Map.Entry<String, Set> entry : result.entrySet()) {
                     dynamicFilterResult.put(entry.getKey(), entry.getValue());
                 }
-                try {
-                    addPartialFilterToStateStore();
+            }
+            try {
+                if (taskDynamicFilters.isPresent()) {
+                    publishPartialFilters(taskDynamicFilters.get(), mergedRanges);
+                }
+                else if (isIncomplete) {
+                    addPartialRangesToStateStore(mergedRanges);
                 }
-                catch (RuntimeException e) {
-                    log.warn("Cannot add partial filter to state store with following message: " + e.getMessage());
+                else {
+                    addPartialFilterToStateStore(mergedRanges);
                 }
             }
+            catch (RuntimeException e) {
+                log.warn("Cannot add partial filter to state store with following message: " + e.getMessage());
+            }
+            dynamicFilterRangeFuture.set(isIncomplete ? mergedRanges : new HashMap<>());
             dynamicFilterResultFuture.set(dynamicFilterResult);
         }
     }
 
-    private void addPartialFilterToStateStore()
+    /**
+     * Hand the partial filters to the task, they are reported to the coordinator with the next task status.
+     * Same content as in the state store: the values or the ranges only when they were too large
+     */
+    private void publishPartialFilters(TaskDynamicFilters partialFilters, Map<String, List<Object>> mergedRanges)
+    {
+        Map<String, PartialDynamicFilter> partialDynamicFilters = new HashMap<>();
+        if (isIncomplete) {
+            mergedRanges.forEach((filterId, range) -> partialDynamicFilters.put(filterId, PartialDynamicFilter.create(null, range, true)));
+        }
+        else {
+            DynamicFilter.DataType dataType = getDynamicFilterDataType(type, dynamicFilterDataType);
+            for (Map.Entry<String, Set> filter : result.entrySet()) {
+                String filterId = filter.getKey();
+                Object values = filter.getValue();
+                if (dataType == BLOOM_FILTER) {
+                    values = convertBloomFilterToByteArray(createBloomFilterFromSet(channels.get(filterId), filter.getValue(), bloomFilterFpp));
+                    if (values == null) {
+                        continue;
+                    }
+                }
+                partialDynamicFilters.put(filterId, PartialDynamicFilter.create(values, mergedRanges.get(filterId), false));
+            }
+        }
+        partialFilters.addPartialDynamicFilters(partialDynamicFilters);
+        log.debug("publishing %s partial dynamic filters of task %s, incomplete: %s", partialDynamicFilters.size(), taskId, isIncomplete);
+    }
+
+    /**
+     * The values were too large, only publish the ranges and flag this task as incomplete,
+     * so that the merged filter falls back to a range dynamic filter
+     */
+    private void addPartialRangesToStateStore(Map<String, List<Object>> mergedRanges)
+    {
+        StateStore stateStore = stateStoreProvider.getStateStore();
+        if (stateStore == null) {
+            return;
+        }
+
+        for (Map.Entry<String, List<Object>> range : mergedRanges.entrySet()) {
+            DynamicFilterSourceOperator.Channel channel = channels.get(range.getKey());
+            String filterId = channel.getFilterId();
+            ((StateSet) stateStore.getOrCreateStateCollection(createKey(RANGEPREFIX, filterId, channel.getQueryId()), SET)).add(range.getValue());
+            ((StateSet) stateStore.getOrCreateStateCollection(createKey(INCOMPLETEPREFIX, filterId, channel.getQueryId()), SET)).add(taskId.toString());
+            ((StateSet) stateStore.getOrCreateStateCollection(createKey(TASKSPREFIX, filterId, channel.getQueryId()), SET)).add(taskId.toString());
+            log.debug("creating new range dynamic filter: " + range.getValue().size() / 2 + " ranges, filterId: " + filterId + ", taskId: " + taskId);
+        }
+    }
+
+    private void addPartialFilterToStateStore(Map<String, List<Object>> mergedRanges)
     {
         StateStore stateStore = stateStoreProvider.getStateStore();
         if (stateStore == null) {
@@ -273,7 +381,13 @@ public class LocalDynamicFilter
                 }
             }
             else {
-                ((StateSet) stateStore.getOrCreateStateCollection(key, SET)).add(filterValues);
+                // the state store may deserialize the values in a different class loader, so only share plain java sets
+                ((StateSet) stateStore.getOrCreateStateCollection(key, SET)).add(new HashSet<>(filterValues));
+            }
+            // ranges of complete tasks are needed as well, in case another task falls back to a range filter
+            List<Object> range = mergedRanges.get(filterId);
+            if (range != null) {
+                ((StateSet) stateStore.getOrCreateStateCollection(createKey(RANGEPREFIX, filterId, channel.getQueryId()), SET)).add(range);
             }
             ((StateSet) stateStore.getOrCreateStateCollection(createKey(TASKSPREFIX, filterId, channel.getQueryId()), SET)).add(taskId.toString());
             log.debug("creating new " + dataType + " dynamic filter for size of: " + result.size() + ", key: " + key + ", taskId: " + taskId);
@@ -283,7 +397,19 @@ public class LocalDynamicFilter
     private BloomFilter createBloomFilterFromSet(DynamicFilterSourceOperator.Channel channel, Set values, double bloomFilterFpp)
     {
         BloomFilter bloomFilter = new BloomFilter(BloomFilterDynamicFilter.DEFAULT_DYNAMIC_FILTER_SIZE, bloomFilterFpp);
-        if (channel.getType().getJavaType() == long.class) {
+        if (values instanceof LongSet) {
+            LongIterator iterator = ((LongSet) values).iterator();
+            while (iterator.hasNext()) {
+                bloomFilter.add(iterator.nextLong());
+            }
+        }
+        else if (values instanceof DoubleSet) {
+            DoubleIterator iterator = ((DoubleSet) values).iterator();
+            while (iterator.hasNext()) {
+                bloomFilter.add(iterator.nextDouble());
+            }
+        }
+        else if (channel.getType().getJavaType() == long.class) {
             for (Object value : values) {
                 long lv = (Long) value;
                 bloomFilter.add(lv);
@@ -308,6 +434,31 @@ public class LocalDynamicFilter
         return bloomFilter;
     }
 
+    private static Set copyOf(Set values)
+    {
+        // keep the primitive sets produced by the operators, so that merging does not box the values
+        if (values instanceof LongSet) {
+            return new LongOpenHashSet((LongSet) values);
+        }
+        if (values instanceof DoubleSet) {
+            return new DoubleOpenHashSet((DoubleSet) values);
+        }
+        return new HashSet<>(values);
+    }
+
+    private static void addAll(Set set, Set values)
+    {
+        if (set instanceof LongSet && values instanceof LongSet) {
+            ((LongSet) set).addAll((LongSet) values);
+        }
+        else if (set instanceof DoubleSet && values instanceof DoubleSet) {
+            ((DoubleSet) set).addAll((DoubleSet) values);
+        }
+        else {
+            set.addAll(values);
+        }
+    }
+
     public Map<String, Integer> getBuildChannels()
     {
         return buildChannels;
@@ -318,11 +469,21 @@ public class LocalDynamicFilter
         return dynamicFilterResultFuture;
     }
 
+    public ListenableFuture<Map<String, List<Object>>> getDynamicFilterRangeFuture()
+    {
+        return dynamicFilterRangeFuture;
+    }
+
     public Consumer<Map<DynamicFilterSourceOperator.Channel, Set>> getValueConsumer()
     {
         return this::addOperatorResult;
     }
 
+    public Consumer<Map<DynamicFilterSourceOperator.Channel, List<Object>>> getRangeConsumer()
+    {
+        return this::addOperatorRanges;
+    }
+
     public DynamicFilter.Type getType()
     {
         return type;
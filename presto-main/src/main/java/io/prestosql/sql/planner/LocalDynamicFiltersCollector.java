@@ -26,6 +26,7 @@ import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.dynamicfilter.BloomFilterDynamicFilter;
 import io.prestosql.spi.dynamicfilter.DynamicFilter;
 import io.prestosql.spi.dynamicfilter.DynamicFilterFactory;
+import io.prestosql.spi.dynamicfilter.RangeDynamicFilter;
 import io.prestosql.spi.plan.Symbol;
 import io.prestosql.spi.plan.TableScanNode;
 import io.prestosql.spi.relation.RowExpression;
@@ -63,6 +64,10 @@ public class LocalDynamicFiltersCollector
      * (e.g. in case of co-located joins).
      */
     private final Map<String, Set<?>> predicates = new ConcurrentHashMap<>();
+    /**
+     * Range bounds for dynamic filters whose values were too large to be collected
+     */
+    private final Map<String, List<Object>> ranges = new ConcurrentHashMap<>();
     private final Map<String, DynamicFilter> cachedDynamicFilters = new ConcurrentHashMap<>();
     private final DynamicFilterCacheManager dynamicFilterCacheManager;
     private final String queryId;
@@ -107,6 +112,14 @@ public class LocalDynamicFiltersCollector
         }
     }
 
+    void addDynamicFilterRanges(Map<String, List<Object>> newRanges)
+    {
+        for (Map.Entry<String, List<Object>> entry : newRanges.entrySet()) {
+            ranges.merge(entry.getKey(), entry.getValue(),
+                    (existing, added) -> RangeDynamicFilter.mergeRanges(ImmutableList.of(existing, added), RangeDynamicFilter.DEFAULT_MAX_RANGES));
+        }
+    }
+
     /**
      * This function returns the bloom filters fetched from the state store. To prevent excessive reads from state store,
      * it caches fetched bloom filters for re-use
@@ -171,6 +184,12 @@ public class LocalDynamicFiltersCollector
                         cachedDynamicFilters.put(filterId, dynamicFilter);
                         result.put(columnHandle, dynamicFilter);
                     }
+                    else if (ranges.containsKey(filterId) && !context.getFilter(filterId, i).isPresent()) {
+                        // ranges only describe equi-join dynamic filters
+                        DynamicFilter dynamicFilter = DynamicFilterFactory.create(filterId, columnHandle, ranges.get(filterId), LOCAL);
+                        cachedDynamicFilters.put(filterId, dynamicFilter);
+                        result.put(columnHandle, dynamicFilter);
+                    }
                 }
             }
             if (!result.isEmpty()) {
@@ -33,6 +33,7 @@ import io.prestosql.Session;
 import io.prestosql.SystemSessionProperties;
 import io.prestosql.cube.CubeManager;
 import io.prestosql.dynamicfilter.DynamicFilterCacheManager;
+import io.prestosql.dynamicfilter.TaskDynamicFilters;
 import io.prestosql.execution.ExplainAnalyzeContext;
 import io.prestosql.execution.StageId;
 import io.prestosql.execution.TaskId;
@@ -270,6 +271,7 @@ import static io.prestosql.SystemSessionProperties.getTaskConcurrency;
 import static io.prestosql.SystemSessionProperties.getTaskWriterCount;
 import static io.prestosql.SystemSessionProperties.isCTEReuseEnabled;
 import static io.prestosql.SystemSessionProperties.isCrossRegionDynamicFilterEnabled;
+import static io.prestosql.SystemSessionProperties.isDynamicFilteringPushEnabled;
 import static io.prestosql.SystemSessionProperties.isEnableDynamicFiltering;
 import static io.prestosql.SystemSessionProperties.isNonBlockingSpillOrderby;
 import static io.prestosql.SystemSessionProperties.isSpillEnabled;
@@ -2444,6 +2446,7 @@ public class LocalExecutionPlanner
                                         buildContext.getNextOperatorId(),
                                         node.getId(),
                                         filter.getValueConsumer(), /** the consumer to process all values collected to build the dynamic filter */
+                                        filter.getRangeConsumer(), /** the consumer to process the min/max ranges, used when the values are too large */
                                         filterBuildChannels,
                                         getDynamicFilteringMaxPerDriverValueCount(buildContext.getSession()),
                                         getDynamicFilteringMaxPerDriverSize(buildContext.getSession())));
@@ -2635,11 +2638,12 @@ public class LocalExecutionPlanner
             }
             LocalDynamicFiltersCollector collector = context.getDynamicFiltersCollector();
             return LocalDynamicFilter
-                    .create(node, partitionCount, context.getSession(), context.taskContext.getTaskId(), stateStoreProvider)
+                    .create(node, partitionCount, context.getSession(), context.taskContext.getTaskId(), stateStoreProvider, getTaskDynamicFilters(context))
                     .map(filter -> {
                         // Intersect dynamic filters' predicates when they become ready,
                         // in order to support multiple join nodes in the same plan fragment.
                         addSuccessCallback(filter.getDynamicFilterResultFuture(), collector::intersectDynamicFilter);
+                        addSuccessCallback(filter.getDynamicFilterRangeFuture(), collector::addDynamicFilterRanges);
                         return filter;
                     });
         }
@@ -2651,13 +2655,22 @@ public class LocalExecutionPlanner
             }
             LocalDynamicFiltersCollector collector = context.getDynamicFiltersCollector();
             return LocalDynamicFilter
-                    .create(node, context.getSession(), context.taskContext.getTaskId(), stateStoreProvider)
+                    .create(node, context.getSession(), context.taskContext.getTaskId(), stateStoreProvider, getTaskDynamicFilters(context))
                     .map(filter -> {
                         addSuccessCallback(filter.getDynamicFilterResultFuture(), collector::intersectDynamicFilter);
+                        addSuccessCallback(filter.getDynamicFilterRangeFuture(), collector::addDynamicFilterRanges);
                         return filter;
                     });
         }
 
+        private Optional<TaskDynamicFilters> getTaskDynamicFilters(LocalExecutionPlanContext context)
+        {
+            if (!isDynamicFilteringPushEnabled(context.getSession())) {
+                return Optional.empty();
+            }
+            return Optional.of(context.taskContext.getTaskStateMachine().getPartialDynamicFilters());
+        }
+
         private JoinBridgeManager<PartitionedLookupSourceFactory> createLookupSourceFactory(
                 JoinNode node,
                 PlanNode buildNode,
@@ -2759,6 +2772,7 @@ public class LocalExecutionPlanner
                                         buildContext.getNextOperatorId(),
                                         node.getId(),
                                         filter.getValueConsumer(), /** the consumer to process all values collected to build the dynamic filter */
+                                        filter.getRangeConsumer(), /** the consumer to process the min/max ranges, used when the values are too large */
                                         filterBuildChannels,
                                         getDynamicFilteringMaxPerDriverValueCount(buildContext.getSession()),
                                         getDynamicFilteringMaxPerDriverSize(buildContext.getSession())));
@@ -2889,6 +2903,7 @@ public class LocalExecutionPlanner
                             buildContext.getNextOperatorId(),
                             node.getId(),
                             filterConsumer.getValueConsumer(),
+                            filterConsumer.getRangeConsumer(),
                             ImmutableList.of(new DynamicFilterSourceOperator.Channel(filterId, buildSource.getTypes().get(buildChannel), buildChannel, context.getSession().getQueryId().toString())),
                             getDynamicFilteringMaxPerDriverValueCount(context.getSession()),
                             getDynamicFilteringMaxPerDriverSize(context.getSession())));
@@ -15,7 +15,10 @@
 package io.prestosql.testing;
 
 import io.prestosql.spi.HetuConstant;
+import io.prestosql.spi.Page;
 import io.prestosql.spi.heuristicindex.IndexWriter;
+import io.prestosql.spi.heuristicindex.Pair;
+import io.prestosql.spi.type.Type;
 
 import java.io.IOException;
 import java.util.List;
@@ -31,6 +34,12 @@ public class NoOpIndexWriter
         throw new UnsupportedOperationException(HetuConstant.HINDEX_CONFIG_ERROR_MSG);
     }
 
+    @Override
+    public void addData(Page page, List<Pair<String, Type>> columns, Properties connectorMetadata)
+    {
+        throw new UnsupportedOperationException(HetuConstant.HINDEX_CONFIG_ERROR_MSG);
+    }
+
     @Override
     public long persist()
             throws IOException
@@ -40,6 +40,8 @@ public class DynamicFilterUtils
     public static final String FILTERPREFIX = "filter-";
     public static final String PARTIALPREFIX = "partial-";
     public static final String TASKSPREFIX = "tasks-";
+    public static final String RANGEPREFIX = "range-";
+    public static final String INCOMPLETEPREFIX = "incomplete-";
     public static final String MERGED_DYNAMIC_FILTERS = "merged-dynamic-filters";
     public static final double BLOOM_FILTER_EXPECTED_FPP = 0.25F;
 
@@ -47,6 +47,8 @@ public class HetuConfig
     private String indexStoreFileSystemProfile = "local-config-default";
     private boolean indexAutoload = true;
     private String indexToPreload = "";
+    private boolean indexBatchLookupEnabled;
+    private Duration indexBatchLookupTimeout = new Duration(5, TimeUnit.SECONDS);
     private Boolean enableEmbeddedStateStore = Boolean.FALSE;
     private Boolean enableMultipleCoordinator = Boolean.FALSE;
     private Duration stateUpdateInterval = new Duration(100, TimeUnit.MILLISECONDS);
@@ -202,6 +204,32 @@ public class HetuConfig
         return this;
     }
 
+    public boolean isIndexBatchLookupEnabled()
+    {
+        return indexBatchLookupEnabled;
+    }
+
+    @Config(HetuConstant.FILTER_BATCH_LOOKUP_ENABLED)
+    @ConfigDescription("Load the missing indices of a whole split batch in parallel before filtering the batch, instead of loading them in the background")
+    public HetuConfig setIndexBatchLookupEnabled(boolean indexBatchLookupEnabled)
+    {
+        this.indexBatchLookupEnabled = indexBatchLookupEnabled;
+        return this;
+    }
+
+    public Duration getIndexBatchLookupTimeout()
+    {
+        return indexBatchLookupTimeout;
+    }
+
+    @Config(HetuConstant.FILTER_BATCH_LOOKUP_TIMEOUT)
+    @ConfigDescription("Maximum time to wait for the indices of a split batch to be loaded, splits are scheduled unfiltered after that")
+    public HetuConfig setIndexBatchLookupTimeout(Duration indexBatchLookupTimeout)
+    {
+        this.indexBatchLookupTimeout = indexBatchLookupTimeout;
+        return this;
+    }
+
     public Duration getIndexCacheLoadingDelay()
     {
         return this.indexCacheLoadingDelay;
@@ -14,14 +14,20 @@
  */
 package io.prestosql.dynamicfilter;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.prestosql.execution.TaskId;
 import io.prestosql.spi.dynamicfilter.DynamicFilter;
+import io.prestosql.spi.dynamicfilter.RangeDynamicFilter;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import org.testng.annotations.Test;
 
 import static io.prestosql.dynamicfilter.DynamicFilterCacheManager.createCacheKey;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 public class TestDynamicFilterCacheManager
 {
@@ -84,4 +90,23 @@ public class TestDynamicFilterCacheManager
     {
         assertEquals(createCacheKey("filterId", "queryId"), "filterId-queryId");
     }
+
+    @Test
+    public void testCachePushedDynamicFilters()
+    {
+        DynamicFilterCacheManager cacheManager = new DynamicFilterCacheManager();
+        LongOpenHashSet values = new LongOpenHashSet(new long[] {1, 5, 7});
+
+        cacheManager.cacheDynamicFilters("query", ImmutableMap.of(
+                "filter1", DynamicFilterSerde.serialize(values),
+                "filter2", DynamicFilterSerde.serialize(ImmutableList.of(1L, 10L))));
+        DynamicFilter filter1 = cacheManager.getDynamicFilter(createCacheKey("filter1", "query"));
+        assertEquals(filter1.getSize(), 3);
+        assertTrue(filter1.contains(5L));
+        assertTrue(cacheManager.getDynamicFilter(createCacheKey("filter2", "query")) instanceof RangeDynamicFilter);
+
+        // the same filters are pushed to every task of the query, the cached filter is kept
+        cacheManager.cacheDynamicFilters("query", ImmutableMap.of("filter1", DynamicFilterSerde.serialize(values)));
+        assertSame(cacheManager.getDynamicFilter(createCacheKey("filter1", "query")), filter1);
+    }
 }
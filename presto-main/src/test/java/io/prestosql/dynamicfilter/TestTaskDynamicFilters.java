@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.dynamicfilter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.prestosql.dynamicfilter.TaskDynamicFilters.INITIAL_VERSION;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestTaskDynamicFilters
+{
+    @Test
+    public void testAcknowledge()
+    {
+        TaskDynamicFilters taskDynamicFilters = new TaskDynamicFilters();
+        ListenableFuture<?> versionChange = taskDynamicFilters.getVersionChange(INITIAL_VERSION);
+        assertFalse(versionChange.isDone());
+
+        taskDynamicFilters.addPartialDynamicFilters(ImmutableMap.of("1", PartialDynamicFilter.create(ImmutableSet.of(1L), null, false)));
+        assertTrue(versionChange.isDone());
+        long version = taskDynamicFilters.getVersion();
+        assertEquals(taskDynamicFilters.acknowledgeAndGetNewPartialDynamicFilters(INITIAL_VERSION).keySet(), ImmutableSet.of("1"));
+
+        taskDynamicFilters.addPartialDynamicFilters(ImmutableMap.of("2", PartialDynamicFilter.create(null, ImmutableList.of(1L, 2L), true)));
+        assertTrue(taskDynamicFilters.getVersionChange(version).isDone());
+        // the filters up to the acknowledged version are released
+        assertEquals(taskDynamicFilters.acknowledgeAndGetNewPartialDynamicFilters(version).keySet(), ImmutableSet.of("2"));
+        assertTrue(taskDynamicFilters.acknowledgeAndGetNewPartialDynamicFilters(taskDynamicFilters.getVersion()).isEmpty());
+        assertFalse(taskDynamicFilters.getVersionChange(taskDynamicFilters.getVersion()).isDone());
+    }
+
+    @Test
+    public void testPartialDynamicFilter()
+    {
+        PartialDynamicFilter complete = PartialDynamicFilter.create(new LongOpenHashSet(new long[] {1, 3}), ImmutableList.of(1L, 3L), false);
+        assertEquals(complete.deserializeValues(), new LongOpenHashSet(new long[] {1, 3}));
+        assertEquals(complete.deserializeRanges(), Optional.of(ImmutableList.of(1L, 3L)));
+
+        PartialDynamicFilter incomplete = PartialDynamicFilter.create(ImmutableSet.of(utf8Slice("a")), null, true);
+        assertTrue(incomplete.isIncomplete());
+        assertNull(incomplete.deserializeValues());
+        assertEquals(incomplete.deserializeRanges(), Optional.empty());
+    }
+
+    @Test
+    public void testSerde()
+    {
+        byte[] bloomFilter = new byte[] {1, 2, 3};
+        Map<String, Object> values = ImmutableMap.of(
+                "set", ImmutableSet.of(utf8Slice("a"), "b", 1.5, true),
+                "longs", ImmutableList.of(1L, 10L, 20L, 30L),
+                "ranges", ImmutableList.of(utf8Slice("a"), utf8Slice("c")));
+        values.forEach((name, value) -> assertEquals(DynamicFilterSerde.deserialize(DynamicFilterSerde.serialize(value)), value, name));
+        assertEquals((byte[]) DynamicFilterSerde.deserialize(DynamicFilterSerde.serialize(bloomFilter)), bloomFilter);
+    }
+}
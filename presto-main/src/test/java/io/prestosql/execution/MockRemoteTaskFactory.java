@@ -26,6 +26,7 @@ import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.prestosql.Session;
 import io.prestosql.cost.StatsAndCosts;
+import io.prestosql.dynamicfilter.PartialDynamicFilter;
 import io.prestosql.execution.NodeTaskMap.PartitionedSplitCountTracker;
 import io.prestosql.execution.buffer.LazyOutputBuffer;
 import io.prestosql.execution.buffer.OutputBuffer;
@@ -70,6 +71,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static com.google.common.util.concurrent.Futures.nonCancellationPropagating;
@@ -282,7 +284,9 @@ public class MockRemoteTaskFactory
                             0,
                             new Duration(0, MILLISECONDS),
                             ImmutableMap.of(),
-                            Optional.empty()),
+                            Optional.empty(),
+                            0,
+                            ImmutableMap.of()),
                     DateTime.now(),
                     outputBuffer.getInfo(),
                     ImmutableSet.of(),
@@ -312,7 +316,9 @@ public class MockRemoteTaskFactory
                     0,
                     new Duration(0, MILLISECONDS),
                     ImmutableMap.of(),
-                    Optional.empty());
+                    Optional.empty(),
+                    0,
+                    ImmutableMap.of());
         }
 
         private synchronized void updateSplitQueueSpace()
@@ -410,6 +416,16 @@ public class MockRemoteTaskFactory
             taskStateMachine.addStateChangeListener(newValue -> stateChangeListener.stateChanged(getTaskStatus()));
         }
 
+        @Override
+        public void addDynamicFilters(Map<String, byte[]> dynamicFilters)
+        {
+        }
+
+        @Override
+        public void addPartialDynamicFiltersListener(Consumer<Map<String, PartialDynamicFilter>> listener)
+        {
+        }
+
         @Override
         public void addFinalTaskInfoListener(StateChangeListener<TaskInfo> stateChangeListener)
         {
@@ -14,6 +14,7 @@
 package io.prestosql.execution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.json.JsonCodec;
 import io.airlift.units.DataSize;
@@ -76,6 +77,8 @@ public class TestQueryStats
                     succinctBytes(131L),
                     new Duration(133, NANOSECONDS),
                     new Duration(134, NANOSECONDS),
+                    ImmutableMap.of(),
+                    succinctBytes(0L),
                     Optional.empty(),
                     null),
             new OperatorStats(
@@ -116,6 +119,8 @@ public class TestQueryStats
                     succinctBytes(231L),
                     new Duration(233, NANOSECONDS),
                     new Duration(234, NANOSECONDS),
+                    ImmutableMap.of(),
+                    succinctBytes(0L),
                     Optional.empty(),
                     null),
             new OperatorStats(
@@ -156,6 +161,8 @@ public class TestQueryStats
                     succinctBytes(331L),
                     new Duration(333, NANOSECONDS),
                     new Duration(334, NANOSECONDS),
+                    ImmutableMap.of(),
+                    succinctBytes(0L),
                     Optional.empty(),
                     null));
 
@@ -222,6 +229,10 @@ public class TestQueryStats
 
             new DataSize(30, BYTE),
 
+            31,
+            93,
+            new Duration(32, NANOSECONDS),
+
             ImmutableList.of(new StageGcStatistics(
                     101,
                     102,
@@ -305,6 +316,11 @@ public class TestQueryStats
 
         assertEquals(actual.getPhysicalWrittenDataSize(), new DataSize(30, BYTE));
 
+        assertEquals(actual.getIndexCacheHits(), 31);
+        assertEquals(actual.getIndexCacheMisses(), 93);
+        assertEquals(actual.getIndexCacheHitRate(), 0.25);
+        assertEquals(actual.getIndexLookupTime(), new Duration(32, NANOSECONDS));
+
         assertEquals(actual.getStageGcStatistics().size(), 1);
         StageGcStatistics gcStatistics = actual.getStageGcStatistics().get(0);
         assertEquals(gcStatistics.getStageId(), 101);
@@ -16,11 +16,13 @@ package io.prestosql.execution;
 import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.SettableFuture;
 import io.airlift.node.NodeInfo;
 import io.airlift.stats.TestingGcMonitor;
 import io.airlift.units.DataSize;
 import io.airlift.units.DataSize.Unit;
 import io.airlift.units.Duration;
+import io.hetu.core.transport.execution.buffer.SerializedPage;
 import io.prestosql.execution.buffer.BufferResult;
 import io.prestosql.execution.buffer.BufferState;
 import io.prestosql.execution.buffer.OutputBuffers;
@@ -32,6 +34,11 @@ import io.prestosql.memory.context.LocalMemoryContext;
 import io.prestosql.metadata.InternalNode;
 import io.prestosql.operator.ExchangeClient;
 import io.prestosql.operator.ExchangeClientSupplier;
+import io.prestosql.operator.LocalPageBufferClient;
+import io.prestosql.operator.PageBufferClient;
+import io.prestosql.operator.PageBufferClient.ClientCallback;
+import io.prestosql.operator.PageBufferClientStatus;
+import io.prestosql.operator.TaskLocation;
 import io.prestosql.spi.QueryId;
 import io.prestosql.spiller.LocalSpillManager;
 import io.prestosql.spiller.NodeSpillConfig;
@@ -39,8 +46,11 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.Test;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
@@ -56,6 +66,7 @@ import static io.prestosql.metadata.MetadataManager.createTestMetadataManager;
 import static io.prestosql.testing.TestingPagesSerdeFactory.TESTING_SERDE_FACTORY;
 import static io.prestosql.testing.TestingRecoveryUtils.NOOP_RECOVERY_UTILS;
 import static io.prestosql.testing.TestingSession.testSessionBuilder;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
@@ -175,6 +186,118 @@ public class TestSqlTaskManager
         }
     }
 
+    @Test
+    public void testLocalPageBufferClient()
+            throws Exception
+    {
+        ScheduledExecutorService executor = newSingleThreadScheduledExecutor();
+        try (SqlTaskManager sqlTaskManager = createSqlTaskManager(new TaskManagerConfig())) {
+            TaskId taskId = TASK_ID;
+            createTask(sqlTaskManager, taskId, ImmutableSet.of(SPLIT), createInitialEmptyOutputBuffers(PARTITIONED).withBuffer(OUT, 0).withNoMoreBufferIds());
+
+            List<SerializedPage> pages = new CopyOnWriteArrayList<>();
+            SettableFuture<?> finished = SettableFuture.create();
+            TaskLocation location = new TaskLocation(URI.create("http://localhost:8080/v1/task/" + taskId + "/results/" + OUT), "0-test_instance_id");
+            PageBufferClient client = new LocalPageBufferClient(sqlTaskManager, new DataSize(1, Unit.MEGABYTE), true, location, new ClientCallback()
+            {
+                @Override
+                public boolean addPages(PageBufferClient client, List<SerializedPage> newPages)
+                {
+                    pages.addAll(newPages);
+                    return true;
+                }
+
+                @Override
+                public void requestComplete(PageBufferClient client)
+                {
+                    client.scheduleRequest();
+                }
+
+                @Override
+                public void clientFinished(PageBufferClient client)
+                {
+                    finished.set(null);
+                }
+
+                @Override
+                public void clientFailed(PageBufferClient client, Throwable cause)
+                {
+                    finished.setException(cause);
+                }
+            }, executor, executor);
+
+            client.scheduleRequest();
+            finished.get(10, TimeUnit.SECONDS);
+
+            assertEquals(pages.size(), 1);
+            assertEquals(pages.get(0).getPositionCount(), 1);
+            assertEquals(client.getStatus().getPagesReceived(), 1);
+
+            // the client aborts the buffer once it is complete, which finishes the task
+            TaskInfo taskInfo = sqlTaskManager.getTaskInfo(taskId, "0-test_instance_id");
+            assertEquals(taskInfo.getOutputBuffers().getState(), BufferState.FINISHED);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLocalPageBufferClientWaitIsBounded()
+            throws Exception
+    {
+        ScheduledExecutorService executor = newSingleThreadScheduledExecutor();
+        try (SqlTaskManager sqlTaskManager = createSqlTaskManager(new TaskManagerConfig())) {
+            TaskId taskId = TASK_ID;
+            createTask(sqlTaskManager, taskId, createInitialEmptyOutputBuffers(PARTITIONED).withBuffer(OUT, 0).withNoMoreBufferIds());
+
+            List<SerializedPage> pages = new CopyOnWriteArrayList<>();
+            SettableFuture<?> requestComplete = SettableFuture.create();
+            TaskLocation location = new TaskLocation(URI.create("http://localhost:8080/v1/task/" + taskId + "/results/" + OUT), "0-test_instance_id");
+            PageBufferClient client = new LocalPageBufferClient(sqlTaskManager, new DataSize(1, Unit.MEGABYTE), true, location, new ClientCallback()
+            {
+                @Override
+                public boolean addPages(PageBufferClient client, List<SerializedPage> newPages)
+                {
+                    pages.addAll(newPages);
+                    return true;
+                }
+
+                @Override
+                public void requestComplete(PageBufferClient client)
+                {
+                    requestComplete.set(null);
+                }
+
+                @Override
+                public void clientFinished(PageBufferClient client)
+                {
+                    requestComplete.setException(new AssertionError("buffer is not complete"));
+                }
+
+                @Override
+                public void clientFailed(PageBufferClient client, Throwable cause)
+                {
+                    requestComplete.setException(cause);
+                }
+            }, executor, executor);
+
+            // the task produces no pages, so the read completes empty once the wait expires
+            client.scheduleRequest();
+            requestComplete.get(10, TimeUnit.SECONDS);
+
+            assertEquals(pages.size(), 0);
+            PageBufferClientStatus status = client.getStatus();
+            assertEquals(status.getState(), "queued");
+            assertEquals(status.getRequestsCompleted(), 1);
+            assertEquals(status.getRequestsFailed(), 0);
+            client.close();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testCancel()
     {
@@ -35,6 +35,10 @@ public class TestStageStats
 
             getTestDistribution(1),
 
+            27,
+            28,
+            getTestDistribution(2),
+
             4,
             5,
             6,
@@ -104,6 +108,10 @@ public class TestStageStats
 
         assertEquals(actual.getGetSplitDistribution().getCount(), 1.0);
 
+        assertEquals(actual.getIndexCacheHits(), 27);
+        assertEquals(actual.getIndexCacheMisses(), 28);
+        assertEquals(actual.getIndexLookupDistribution().getCount(), 2.0);
+
         assertEquals(actual.getTotalTasks(), 4);
         assertEquals(actual.getRunningTasks(), 5);
         assertEquals(actual.getCompletedTasks(), 6);
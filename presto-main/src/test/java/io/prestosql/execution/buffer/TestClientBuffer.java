@@ -203,6 +203,40 @@ public class TestClientBuffer
         assertBufferInfo(buffer, 0, 3);
     }
 
+    @Test
+    public void testPeekPages()
+    {
+        ClientBuffer buffer = new ClientBuffer(BUFFER_ID);
+
+        // add three pages
+        for (int i = 0; i < 3; i++) {
+            addPage(buffer, createPage(i));
+        }
+
+        // get the first page
+        assertBufferResultEquals(TYPES, getBufferResult(buffer, 0, sizeOfPages(1), NO_WAIT), bufferResult(0, createPage(0)));
+
+        // read ahead of the first page, which is not acknowledged
+        assertBufferResultEquals(TYPES, getFuture(buffer.peekPages(1, sizeOfPages(10), Optional.empty()), NO_WAIT), bufferResult(1, createPage(1), createPage(2)));
+        assertBufferInfo(buffer, 3, 0);
+
+        // a read ahead of all pages waits for more pages
+        ListenableFuture<BufferResult> future = buffer.peekPages(3, sizeOfPages(10), Optional.empty());
+        assertFalse(future.isDone());
+        addPage(buffer, createPage(3));
+        assertBufferResultEquals(TYPES, getFuture(future, NO_WAIT), bufferResult(3, createPage(3)));
+        assertBufferInfo(buffer, 4, 0);
+
+        // the pages that were read ahead can still be read again, e.g. when the client lost the response
+        assertBufferResultEquals(TYPES, getBufferResult(buffer, 1, sizeOfPages(10), NO_WAIT), bufferResult(1, createPage(1), createPage(2), createPage(3)));
+        assertBufferInfo(buffer, 3, 1);
+
+        // a read ahead of all pages of a finished buffer completes the client
+        buffer.setNoMorePages();
+        assertBufferResultEquals(TYPES, getFuture(buffer.peekPages(4, sizeOfPages(10), Optional.empty()), NO_WAIT), emptyResults(4, true));
+        assertBufferInfo(buffer, 3, 1);
+    }
+
     @Test
     public void testAddAfterNoMorePages()
     {
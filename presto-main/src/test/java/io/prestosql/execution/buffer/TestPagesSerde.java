@@ -16,24 +16,32 @@ package io.prestosql.execution.buffer;
 import com.google.common.collect.ImmutableList;
 import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
+import io.hetu.core.transport.execution.buffer.PageCompressionCodec;
 import io.hetu.core.transport.execution.buffer.PagesSerde;
+import io.hetu.core.transport.execution.buffer.PagesSerdeFactory;
+import io.hetu.core.transport.execution.buffer.SerializedPage;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.block.BlockEncodingSerde;
+import io.prestosql.spi.block.DictionaryBlock;
 import io.prestosql.spi.type.Type;
 import io.prestosql.testing.TestingPagesSerdeFactory;
 import org.testng.annotations.Test;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import static io.hetu.core.transport.execution.buffer.PagesSerdeUtil.readPages;
 import static io.hetu.core.transport.execution.buffer.PagesSerdeUtil.writePages;
+import static io.prestosql.metadata.MetadataManager.createTestMetadataManager;
 import static io.prestosql.operator.PageAssertions.assertPageEquals;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class TestPagesSerde
 {
@@ -61,6 +69,79 @@ public class TestPagesSerde
         assertFalse(pageIterator.hasNext());
     }
 
+    @Test
+    public void testRoundTripPooledBuffers()
+    {
+        BlockEncodingSerde blockEncodingSerde = createTestMetadataManager().getFunctionAndTypeManager().getBlockEncodingSerde();
+        PagesSerde serde = new PagesSerdeFactory(blockEncodingSerde, true, true).createPagesSerde();
+
+        BlockBuilder smallBlockBuilder = VARCHAR.createBlockBuilder(null, 2);
+        VARCHAR.writeString(smallBlockBuilder, "alice");
+        VARCHAR.writeString(smallBlockBuilder, "bob");
+        Page smallPage = new Page(smallBlockBuilder.build());
+
+        BlockBuilder largeBlockBuilder = VARCHAR.createBlockBuilder(null, 1000);
+        for (int i = 0; i < 1000; i++) {
+            VARCHAR.writeString(largeBlockBuilder, "value" + i % 10);
+        }
+        Page largePage = new Page(largeBlockBuilder.build());
+
+        // the serialized pages must not share the reused buffers
+        SerializedPage serializedLargePage = serde.serialize(largePage);
+        SerializedPage serializedSmallPage = serde.serialize(smallPage);
+        SerializedPage serializedLargePage2 = serde.serialize(largePage);
+        assertTrue(serializedLargePage.isCompressed());
+        assertFalse(serializedSmallPage.isCompressed());
+
+        List<Type> types = ImmutableList.of(VARCHAR);
+        Page deserializedLargePage = serde.deserialize(serializedLargePage);
+        Page deserializedSmallPage = serde.deserialize(serializedSmallPage);
+        assertPageEquals(types, serde.deserialize(serializedLargePage2), largePage);
+        assertPageEquals(types, deserializedLargePage, largePage);
+        assertPageEquals(types, deserializedSmallPage, smallPage);
+    }
+
+    @Test
+    public void testRoundTripAdaptiveCompression()
+    {
+        BlockEncodingSerde blockEncodingSerde = createTestMetadataManager().getFunctionAndTypeManager().getBlockEncodingSerde();
+        PagesSerdeFactory factory = new PagesSerdeFactory(blockEncodingSerde, true, false, true);
+        PagesSerde serializer = factory.createPagesSerde();
+        PagesSerde deserializer = factory.createPagesSerde();
+
+        Random random = new Random(0);
+        BlockBuilder randomBlockBuilder = BIGINT.createBlockBuilder(null, 1000);
+        for (int i = 0; i < 1000; i++) {
+            BIGINT.writeLong(randomBlockBuilder, random.nextLong());
+        }
+        Page randomPage = new Page(randomBlockBuilder.build());
+
+        BlockBuilder repeatedBlockBuilder = VARCHAR.createBlockBuilder(null, 1000);
+        for (int i = 0; i < 1000; i++) {
+            VARCHAR.writeString(repeatedBlockBuilder, "value" + i % 10);
+        }
+        Block repeatedBlock = repeatedBlockBuilder.build();
+        Page repeatedPage = new Page(repeatedBlock);
+
+        int[] ids = new int[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i % 10;
+        }
+        Page dictionaryPage = new Page(new DictionaryBlock(repeatedBlock.getRegion(0, 10), ids));
+
+        SerializedPage serializedRepeatedPage = serializer.serialize(repeatedPage);
+        SerializedPage serializedRandomPage = serializer.serialize(randomPage);
+        SerializedPage serializedDictionaryPage = serializer.serialize(dictionaryPage);
+
+        // whichever codec was chosen from the first page, the random values are not worth compressing
+        assertEquals(PageCompressionCodec.fromMarkers(serializedRandomPage.getPageCodecMarkers()), PageCompressionCodec.NONE);
+        assertEquals(PageCompressionCodec.fromMarkers(serializedDictionaryPage.getPageCodecMarkers()), PageCompressionCodec.LZ4);
+
+        assertPageEquals(ImmutableList.of(BIGINT), deserializer.deserialize(serializedRandomPage), randomPage);
+        assertPageEquals(ImmutableList.of(VARCHAR), deserializer.deserialize(serializedRepeatedPage), repeatedPage);
+        assertPageEquals(ImmutableList.of(VARCHAR), deserializer.deserialize(serializedDictionaryPage), dictionaryPage);
+    }
+
     @Test
     public void testBigintSerializedSize()
     {
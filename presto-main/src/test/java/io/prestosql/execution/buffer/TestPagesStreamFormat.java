@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.execution.buffer;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.SliceInput;
+import io.hetu.core.transport.execution.buffer.SerializedPage;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static io.prestosql.execution.buffer.BufferTestUtils.PAGES_SERDE;
+import static io.prestosql.execution.buffer.BufferTestUtils.createPage;
+import static io.prestosql.execution.buffer.PagesStreamFormat.readBufferComplete;
+import static io.prestosql.execution.buffer.PagesStreamFormat.readFrame;
+import static io.prestosql.execution.buffer.PagesStreamFormat.writeEnd;
+import static io.prestosql.execution.buffer.PagesStreamFormat.writeFrame;
+import static io.prestosql.operator.PageAssertions.assertPageEquals;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestPagesStreamFormat
+{
+    @Test
+    public void testRoundTrip()
+            throws IOException
+    {
+        DynamicSliceOutput output = new DynamicSliceOutput(1024);
+        writeFrame(output, ImmutableList.of(PAGES_SERDE.serialize(createPage(0)), PAGES_SERDE.serialize(createPage(1))));
+        writeFrame(output, ImmutableList.of(PAGES_SERDE.serialize(createPage(2))));
+        writeEnd(output, true);
+
+        SliceInput input = output.slice().getInput();
+        assertFrame(readFrame(input), 0, 1);
+        assertFrame(readFrame(input), 2);
+        assertFalse(readFrame(input).isPresent());
+        assertTrue(readBufferComplete(input));
+        assertFalse(input.isReadable());
+    }
+
+    @Test
+    public void testEmptyStream()
+            throws IOException
+    {
+        DynamicSliceOutput output = new DynamicSliceOutput(16);
+        writeEnd(output, false);
+
+        SliceInput input = output.slice().getInput();
+        assertFalse(readFrame(input).isPresent());
+        assertFalse(readBufferComplete(input));
+    }
+
+    private static void assertFrame(Optional<List<SerializedPage>> frame, int... expectedPages)
+    {
+        assertTrue(frame.isPresent());
+        assertEquals(frame.get().size(), expectedPages.length);
+        for (int i = 0; i < expectedPages.length; i++) {
+            assertPageEquals(ImmutableList.of(BIGINT), PAGES_SERDE.deserialize(frame.get().get(i)), createPage(expectedPages[i]));
+        }
+    }
+}
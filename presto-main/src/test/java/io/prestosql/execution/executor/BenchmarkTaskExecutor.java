@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.execution.executor;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.units.Duration;
+import io.prestosql.execution.SplitRunner;
+import io.prestosql.execution.TaskId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures splits/sec the task executor can schedule for many short splits spread over several tasks, depending on
+ * the number of runner threads. The splits do almost no work, so the result is dominated by the split bookkeeping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BenchmarkTaskExecutor.TASKS * BenchmarkTaskExecutor.SPLITS_PER_TASK)
+@Fork(2)
+@Warmup(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class BenchmarkTaskExecutor
+{
+    static final int TASKS = 32;
+    static final int SPLITS_PER_TASK = 256;
+    private static final int QUANTA_PER_SPLIT = 4;
+
+    private final AtomicInteger nextTaskId = new AtomicInteger();
+
+    @Param({"1", "4", "16", "64"})
+    private int runnerThreads;
+
+    private TaskExecutor taskExecutor;
+
+    @Setup
+    public void setup()
+    {
+        taskExecutor = new TaskExecutor(runnerThreads, runnerThreads * 2, 3, 16, Ticker.systemTicker());
+        taskExecutor.start();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        taskExecutor.stop();
+    }
+
+    @Benchmark
+    public int scheduleSplits()
+    {
+        List<TaskHandle> taskHandles = new ArrayList<>(TASKS);
+        List<ListenableFuture<?>> finishedFutures = new ArrayList<>(TASKS * SPLITS_PER_TASK);
+        for (int task = 0; task < TASKS; task++) {
+            TaskId taskId = new TaskId("benchmark", 0, nextTaskId.getAndIncrement());
+            TaskHandle taskHandle = taskExecutor.addTask(taskId, () -> 0, 10, new Duration(1, MILLISECONDS), OptionalInt.empty());
+            taskHandles.add(taskHandle);
+
+            ImmutableList.Builder<SplitRunner> splits = ImmutableList.builder();
+            for (int split = 0; split < SPLITS_PER_TASK; split++) {
+                splits.add(new ShortSplit());
+            }
+            finishedFutures.addAll(taskExecutor.enqueueSplits(taskHandle, false, splits.build()));
+        }
+
+        getFutureValue(Futures.allAsList(finishedFutures));
+        for (TaskHandle taskHandle : taskHandles) {
+            taskExecutor.removeTask(taskHandle);
+        }
+        return finishedFutures.size();
+    }
+
+    private static class ShortSplit
+            implements SplitRunner
+    {
+        private final AtomicInteger remainingQuanta = new AtomicInteger(QUANTA_PER_SPLIT);
+
+        @Override
+        public boolean isFinished()
+        {
+            return remainingQuanta.get() <= 0;
+        }
+
+        @Override
+        public ListenableFuture<?> processFor(Duration duration)
+        {
+            remainingQuanta.decrementAndGet();
+            return immediateFuture(null);
+        }
+
+        @Override
+        public String getInfo()
+        {
+            return "short split";
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        Options options = new OptionsBuilder()
+                .verbosity(VerboseMode.NORMAL)
+                .include(".*" + BenchmarkTaskExecutor.class.getSimpleName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -450,6 +450,74 @@ public class TestTaskExecutor
         }
     }
 
+    @Test(timeOut = 30_000)
+    public void testWorkStealing()
+            throws Exception
+    {
+        TestingTicker ticker = new TestingTicker();
+        // two runner groups with one runner thread each
+        TaskExecutor taskExecutor = new TaskExecutor(2, 4, 3, 4, 2, true, ticker);
+        taskExecutor.start();
+        try {
+            TaskHandle taskHandle = taskExecutor.addTask(new TaskId("test", 0, 0), () -> 0, 10, new Duration(1, MILLISECONDS), OptionalInt.empty());
+            RunnerGroup taskGroup = taskExecutor.getRunnerGroups().get(0);
+            RunnerGroup idleGroup = taskExecutor.getRunnerGroups().get(1);
+            assertEquals(taskGroup.getTasks(), 1);
+            assertEquals(idleGroup.getTasks(), 0);
+
+            // occupy the only runner thread of the group of the task
+            Phaser gate = new Phaser(1);
+            TestingJob blockedSplit = new TestingJob(ticker, new Phaser(), new Phaser(), gate, 1, 0);
+            taskExecutor.enqueueSplits(taskHandle, false, ImmutableList.of(blockedSplit));
+            waitUntilSplitsStart(ImmutableList.of(blockedSplit));
+
+            // the runner thread of the other group steals the next split
+            TestingJob stolenSplit = new TestingJob(ticker, new Phaser(), new Phaser(), new Phaser(), 1, 0);
+            taskExecutor.enqueueSplits(taskHandle, false, ImmutableList.of(stolenSplit));
+            stolenSplit.getCompletedFuture().get(10, SECONDS);
+            assertGreaterThan(idleGroup.getStolenSplits().getTotalCount(), 0L);
+
+            gate.arriveAndDeregister();
+            blockedSplit.getCompletedFuture().get(10, SECONDS);
+            taskExecutor.removeTask(taskHandle);
+            assertEquals(taskGroup.getTasks(), 0);
+        }
+        finally {
+            taskExecutor.stop();
+        }
+    }
+
+    @Test(timeOut = 30_000)
+    public void testRunnerGroupsWithoutWorkStealing()
+            throws Exception
+    {
+        TestingTicker ticker = new TestingTicker();
+        TaskExecutor taskExecutor = new TaskExecutor(2, 4, 3, 4, 2, false, ticker);
+        taskExecutor.start();
+        try {
+            TaskHandle taskHandle = taskExecutor.addTask(new TaskId("test", 0, 0), () -> 0, 10, new Duration(1, MILLISECONDS), OptionalInt.empty());
+
+            Phaser gate = new Phaser(1);
+            TestingJob blockedSplit = new TestingJob(ticker, new Phaser(), new Phaser(), gate, 1, 0);
+            TestingJob pinnedSplit = new TestingJob(ticker, new Phaser(), new Phaser(), new Phaser(), 1, 0);
+            taskExecutor.enqueueSplits(taskHandle, false, ImmutableList.of(blockedSplit));
+            waitUntilSplitsStart(ImmutableList.of(blockedSplit));
+            taskExecutor.enqueueSplits(taskHandle, false, ImmutableList.of(pinnedSplit));
+
+            // the split stays in the queue of its group while the runner thread of the group is busy
+            Thread.sleep(500);
+            assertFalse(pinnedSplit.isStarted());
+            assertEquals(taskExecutor.getWaitingSplits(), 1);
+
+            gate.arriveAndDeregister();
+            pinnedSplit.getCompletedFuture().get(10, SECONDS);
+            assertEquals(taskExecutor.getRunnerGroups().get(1).getProcessedQuanta().getTotalCount(), 0L);
+        }
+        finally {
+            taskExecutor.stop();
+        }
+    }
+
     private void assertSplitStates(int endIndex, TestingJob[] splits)
     {
         // assert that splits up to and including endIndex are all started
@@ -14,6 +14,8 @@
  */
 package io.prestosql.heuristicindex;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.prestosql.execution.Lifespan;
@@ -23,14 +25,17 @@ import io.prestosql.spi.connector.CatalogName;
 import io.prestosql.spi.connector.ConnectorSplit;
 import io.prestosql.spi.heuristicindex.Index;
 import io.prestosql.spi.heuristicindex.IndexMetadata;
+import io.prestosql.spi.heuristicindex.IndexRecord;
 import io.prestosql.spi.service.PropertyService;
 import io.prestosql.testing.NoOpIndexClient;
 import org.mockito.internal.stubbing.answers.Returns;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -101,6 +106,57 @@ public class TestIndexCacheFetch
         }
     }
 
+    @Test
+    public void testIndexCachePreloadIndices() throws Exception
+    {
+        synchronized (this) {
+            IndexMetadata indexMetadata = mock(IndexMetadata.class);
+            when(indexMetadata.getLastModifiedTime()).thenReturn(testLastModifiedTime);
+            Index index = mock(Index.class);
+            when(indexMetadata.getIndex()).then(new Returns(index));
+            when(index.getMemoryUsage()).thenReturn(new DataSize(1, KILOBYTE).toBytes());
+
+            List<IndexMetadata> expectedIndices = new LinkedList<>();
+            expectedIndices.add(indexMetadata);
+
+            IndexCacheLoader indexCacheLoader = mock(IndexCacheLoader.class);
+            when(indexCacheLoader.load(any())).then(new Returns(expectedIndices));
+
+            Map<String, IndexRecord> indexRecords = new HashMap<>();
+            for (String indexType : IndexCache.INDEX_TYPES) {
+                indexRecords.put(table + "/" + column + "/" + indexType, mock(IndexRecord.class));
+            }
+
+            IndexCache indexCache = new IndexCache(indexCacheLoader, new NoOpIndexClient(), false);
+            // the indices are loaded without waiting for the loading delay
+            indexCache.preloadIndices(table, ImmutableSet.of(column), ImmutableList.of(split), indexRecords, new Duration(10, TimeUnit.SECONDS))
+                    .get(loadDelay, TimeUnit.MILLISECONDS);
+
+            IndexLookupStats lookupStats = new IndexLookupStats();
+            List<IndexMetadata> actualSplitIndex = indexCache.getIndices(table, column, split, indexRecords, lookupStats);
+            assertEquals(actualSplitIndex.size(), numberOfIndexTypes);
+            assertEquals(actualSplitIndex.get(0), expectedIndices.get(0));
+            assertEquals(lookupStats.getHits(), numberOfIndexTypes);
+            assertEquals(lookupStats.getMisses(), 0);
+        }
+    }
+
+    @Test
+    public void testIndexCacheLookupStats() throws Exception
+    {
+        synchronized (this) {
+            IndexCacheLoader indexCacheLoader = mock(IndexCacheLoader.class);
+            when(indexCacheLoader.load(any())).thenThrow(ExecutionException.class);
+
+            IndexCache indexCache = new IndexCache(indexCacheLoader, new NoOpIndexClient(), false);
+            IndexLookupStats lookupStats = new IndexLookupStats();
+            List<IndexMetadata> actualSplitIndex = indexCache.getIndices(table, column, split, new HashMap<>(), lookupStats);
+            assertEquals(actualSplitIndex.size(), 0);
+            assertEquals(lookupStats.getHits(), 0);
+            assertEquals(lookupStats.getMisses(), numberOfIndexTypes);
+        }
+    }
+
     @Test
     public void testIndexCacheThrowsExecutionException() throws Exception
     {
@@ -20,6 +20,7 @@ import io.airlift.tpch.LineItemGenerator;
 import io.airlift.units.DataSize;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PageBuilder;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.plan.PlanNodeId;
 import io.prestosql.testing.TestingTaskContext;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -39,8 +40,10 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.VerboseMode;
 import org.testng.annotations.Test;
 
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +54,7 @@ import static io.prestosql.SessionTestUtils.TEST_SESSION;
 import static io.prestosql.SystemSessionProperties.getDynamicFilteringMaxPerDriverSize;
 import static io.prestosql.SystemSessionProperties.getDynamicFilteringMaxPerDriverValueCount;
 import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.TypeUtils.readNativeValue;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static org.testng.Assert.assertEquals;
@@ -171,6 +175,35 @@ public class BenchmarkDynamicFilterSourceOperator
         return outputPages.build();
     }
 
+    @Benchmark
+    public Set<?> typedValueCollect(BenchmarkContext context)
+    {
+        DynamicFilterValueCollector collector = DynamicFilterValueCollector.create(BIGINT);
+        for (Page page : context.getPages()) {
+            collector.add(page.getBlock(0));
+        }
+        return collector.getValues();
+    }
+
+    /**
+     * Baseline: collect the values boxed into a java set, as done before the typed collectors
+     */
+    @Benchmark
+    public Set<?> boxedValueCollect(BenchmarkContext context)
+    {
+        Set<Object> values = new HashSet<>();
+        for (Page page : context.getPages()) {
+            Block block = page.getBlock(0);
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                Object value = readNativeValue(BIGINT, block, position);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        }
+        return values;
+    }
+
     @Test
     public void testBenchmark()
     {
@@ -179,6 +212,7 @@ public class BenchmarkDynamicFilterSourceOperator
 
         List<Page> outputPages = dynamicFilterCollect(context);
         assertEquals(TOTAL_POSITIONS, outputPages.stream().mapToInt(Page::getPositionCount).sum());
+        assertEquals(typedValueCollect(context), boxedValueCollect(context));
 
         context.cleanup();
     }
@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.prestosql.spi.block.Block;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.prestosql.block.BlockAssertions.createBooleansBlock;
+import static io.prestosql.block.BlockAssertions.createDoublesBlock;
+import static io.prestosql.block.BlockAssertions.createLongsBlock;
+import static io.prestosql.block.BlockAssertions.createStringsBlock;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestDynamicFilterValueCollector
+{
+    @Test
+    public void testLongValues()
+    {
+        DynamicFilterValueCollector collector = DynamicFilterValueCollector.create(BIGINT);
+        collector.add(createLongsBlock(Arrays.asList(1L, 2L, null, 2L)));
+        collector.add(createLongsBlock(3L, 1L));
+
+        assertEquals(collector.size(), 3);
+        assertEquals(collector.getValues(), ImmutableSet.of(1L, 2L, 3L));
+        assertTrue(collector.getValues().contains(3L));
+    }
+
+    @Test
+    public void testDoubleValues()
+    {
+        DynamicFilterValueCollector collector = DynamicFilterValueCollector.create(DOUBLE);
+        collector.add(createDoublesBlock(1.5, null, 1.5, 3.0));
+
+        assertEquals(collector.getValues(), ImmutableSet.of(1.5, 3.0));
+    }
+
+    @Test
+    public void testSliceValues()
+    {
+        DynamicFilterValueCollector collector = DynamicFilterValueCollector.create(VARCHAR);
+        Block block = createStringsBlock("a", null, "bb", "a");
+        collector.add(block);
+
+        assertEquals(collector.getValues(), ImmutableSet.of(utf8Slice("a"), utf8Slice("bb")));
+
+        long retainedSize = collector.getRetainedSizeInBytes();
+        collector.add(createStringsBlock("bb"));
+        assertEquals(collector.getRetainedSizeInBytes(), retainedSize);
+    }
+
+    @Test
+    public void testGenericValues()
+    {
+        DynamicFilterValueCollector collector = DynamicFilterValueCollector.create(BOOLEAN);
+        collector.add(createBooleansBlock(true, false, null, true));
+
+        assertEquals(collector.getValues(), ImmutableSet.of(true, false));
+
+        // the range of generic values is not tracked
+        collector.addRange(false, true);
+        assertFalse(collector.getRange().isPresent());
+    }
+
+    @Test
+    public void testAddAllAndClear()
+    {
+        DynamicFilterValueCollector collector = DynamicFilterValueCollector.create(BIGINT);
+        collector.addAll(ImmutableSet.of(5L, 6L));
+        assertEquals(collector.getValues(), ImmutableSet.of(5L, 6L));
+
+        collector.clear();
+        assertEquals(collector.size(), 0);
+    }
+
+    @Test
+    public void testRangeAfterDiscardingValues()
+    {
+        DynamicFilterValueCollector collector = DynamicFilterValueCollector.create(BIGINT);
+        collector.add(createLongsBlock(5L, 2L));
+        collector.discardValues();
+        collector.add(createLongsBlock(Arrays.asList(9L, null, 3L)));
+
+        assertEquals(collector.size(), 0);
+        assertEquals(collector.getRange(), Optional.of(ImmutableList.of(2L, 9L)));
+        assertFalse(DynamicFilterValueCollector.create(BOOLEAN).getRange().isPresent());
+    }
+}
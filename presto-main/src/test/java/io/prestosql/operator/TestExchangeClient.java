@@ -25,6 +25,11 @@ import io.airlift.units.Duration;
 import io.hetu.core.transport.execution.buffer.PagesSerde;
 import io.hetu.core.transport.execution.buffer.SerializedPage;
 import io.prestosql.block.BlockAssertions;
+import io.prestosql.execution.StateMachine;
+import io.prestosql.execution.TaskId;
+import io.prestosql.execution.TaskManager;
+import io.prestosql.execution.buffer.OutputBuffers.OutputBufferId;
+import io.prestosql.execution.buffer.PartitionedOutputBuffer;
 import io.prestosql.failuredetector.FailureDetectorManager;
 import io.prestosql.failuredetector.NoOpFailureDetector;
 import io.prestosql.failuredetector.TimeoutFailureRetryFactory;
@@ -38,6 +43,9 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -49,13 +57,24 @@ import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterrup
 import static io.airlift.concurrent.MoreFutures.tryGetFutureValue;
 import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.testing.Assertions.assertLessThan;
+import static io.prestosql.execution.buffer.BufferState.OPEN;
+import static io.prestosql.execution.buffer.BufferState.TERMINAL_BUFFER_STATES;
+import static io.prestosql.execution.buffer.OutputBuffers.BufferType.PARTITIONED;
+import static io.prestosql.execution.buffer.OutputBuffers.createInitialEmptyOutputBuffers;
 import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.prestosql.testing.TestingPagesSerdeFactory.testingPagesSerde;
 import static io.prestosql.testing.TestingRecoveryUtils.NOOP_RECOVERY_UTILS;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
@@ -387,6 +406,85 @@ public class TestExchangeClient
         assertStatus(exchangeClient.getStatus().getPageBufferClientStatuses().get(0), location, "closed", 3, 5, 5, "not scheduled");
     }
 
+    @Test
+    public void testLocalLocation()
+    {
+        DataSize maxResponseSize = new DataSize(10, Unit.MEGABYTE);
+        MockExchangeRequestProcessor processor = new MockExchangeRequestProcessor(maxResponseSize);
+        List<URI> httpRequests = new CopyOnWriteArrayList<>();
+        TestingHttpClient.Processor recordingProcessor = request -> {
+            httpRequests.add(request.getUri());
+            return processor.handle(request);
+        };
+
+        // a task on another port of the same host is remote
+        URI remoteLocation = URI.create("http://localhost:8081/v1/task/query.0.1/results/0");
+        processor.addPage(remoteLocation, createPage(1));
+        processor.setComplete(remoteLocation);
+
+        URI localLocation = URI.create("http://localhost:8080/v1/task/query.0.0/results/0");
+        TaskId localTaskId = new TaskId("query", 0, 0);
+        OutputBufferId bufferId = new OutputBufferId(0);
+        String instanceId = "testing instance id";
+        PartitionedOutputBuffer outputBuffer = new PartitionedOutputBuffer(
+                new StateMachine<>("bufferState", scheduler, OPEN, TERMINAL_BUFFER_STATES),
+                createInitialEmptyOutputBuffers(PARTITIONED).withBuffer(bufferId, 0).withNoMoreBufferIds(),
+                new DataSize(10, Unit.MEGABYTE),
+                () -> new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
+                scheduler);
+        outputBuffer.enqueue(ImmutableList.of(PAGES_SERDE.serialize(createPage(2))), "id");
+        outputBuffer.setNoMorePages();
+
+        TaskManager taskManager = mock(TaskManager.class);
+        when(taskManager.getTaskResults(eq(localTaskId), eq(bufferId), anyLong(), any(), eq(instanceId)))
+                .thenAnswer(invocation -> outputBuffer.get(bufferId, invocation.getArgument(2), invocation.getArgument(3)));
+        doAnswer(invocation -> {
+            outputBuffer.acknowledge(bufferId, invocation.getArgument(2));
+            return null;
+        }).when(taskManager).acknowledgeTaskResults(eq(localTaskId), eq(bufferId), anyLong(), eq(instanceId));
+        doAnswer(invocation -> {
+            outputBuffer.abort(bufferId);
+            return null;
+        }).when(taskManager).abortTaskResults(localTaskId, bufferId, instanceId);
+
+        @SuppressWarnings("resource")
+        ExchangeClient exchangeClient = new ExchangeClient(
+                new DataSize(32, Unit.MEGABYTE),
+                maxResponseSize,
+                1,
+                true,
+                Optional.empty(),
+                Optional.of(new LocalTaskResultsSource(() -> taskManager, () -> URI.create("http://localhost:8080"))),
+                new TestingHttpClient(recordingProcessor, scheduler),
+                scheduler,
+                new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
+                pageBufferClientCallbackExecutor,
+                failureDetectorManager);
+
+        exchangeClient.addLocation(new TaskLocation(localLocation, instanceId));
+        exchangeClient.addLocation(new TaskLocation(remoteLocation, instanceId));
+        exchangeClient.noMoreLocations();
+
+        int positions = 0;
+        SerializedPage page = getNextPage(exchangeClient);
+        while (page != null) {
+            positions += page.getPositionCount();
+            page = getNextPage(exchangeClient);
+        }
+        assertEquals(positions, 3);
+        assertEquals(exchangeClient.isClosed(), true);
+
+        // the local task is read from the task manager, only the remote one over http
+        verify(taskManager, atLeastOnce()).getTaskResults(eq(localTaskId), eq(bufferId), anyLong(), any(), eq(instanceId));
+        assertFalse(httpRequests.isEmpty());
+        assertTrue(httpRequests.stream().allMatch(uri -> uri.getPort() == 8081), httpRequests.toString());
+        assertTrue(outputBuffer.isFinished());
+
+        ImmutableMap<URI, PageBufferClientStatus> statuses = uniqueIndex(exchangeClient.getStatus().getPageBufferClientStatuses(), PageBufferClientStatus::getUri);
+        assertEquals(statuses.get(localLocation).getPagesReceived(), 1);
+        assertEquals(statuses.get(remoteLocation).getPagesReceived(), 1);
+    }
+
     @Test
     public void testClose()
             throws Exception
@@ -16,9 +16,11 @@ package io.prestosql.operator;
 import com.google.common.collect.ImmutableMap;
 import io.airlift.http.client.HttpClientConfig;
 import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
 import org.testng.annotations.Test;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
 import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
@@ -36,7 +38,10 @@ public class TestExchangeClientConfig
                 .setMaxResponseSize(new HttpClientConfig().getMaxContentLength())
                 .setPageBufferClientMaxCallbackThreads(25)
                 .setClientThreads(25)
-                .setAcknowledgePages(true));
+                .setAcknowledgePages(true)
+                .setStreamingEnabled(false)
+                .setMaxStreamDuration(new Duration(1, TimeUnit.SECONDS))
+                .setInProcessEnabled(false));
     }
 
     @Test
@@ -49,6 +54,9 @@ public class TestExchangeClientConfig
                 .put("exchange.client-threads", "2")
                 .put("exchange.page-buffer-client.max-callback-threads", "16")
                 .put("exchange.acknowledge-pages", "false")
+                .put("exchange.streaming-enabled", "true")
+                .put("exchange.max-stream-duration", "500ms")
+                .put("exchange.in-process-enabled", "true")
                 .build();
 
         ExchangeClientConfig expected = new ExchangeClientConfig()
@@ -57,7 +65,10 @@ public class TestExchangeClientConfig
                 .setMaxResponseSize(new DataSize(1, Unit.MEGABYTE))
                 .setClientThreads(2)
                 .setPageBufferClientMaxCallbackThreads(16)
-                .setAcknowledgePages(false);
+                .setAcknowledgePages(false)
+                .setStreamingEnabled(true)
+                .setMaxStreamDuration(new Duration(500, TimeUnit.MILLISECONDS))
+                .setInProcessEnabled(true);
 
         assertFullMapping(properties, expected);
     }
@@ -13,8 +13,11 @@
  */
 package io.prestosql.operator;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.SettableFuture;
+import io.airlift.concurrent.BoundedExecutor;
 import io.airlift.discovery.client.ServiceDescriptor;
 import io.airlift.http.client.HttpStatus;
 import io.airlift.http.client.Request;
@@ -28,6 +31,13 @@ import io.airlift.units.DataSize.Unit;
 import io.airlift.units.Duration;
 import io.hetu.core.transport.execution.buffer.PagesSerde;
 import io.hetu.core.transport.execution.buffer.SerializedPage;
+import io.prestosql.dynamicfilter.DynamicFilterCacheManager;
+import io.prestosql.execution.StateMachine;
+import io.prestosql.execution.TaskId;
+import io.prestosql.execution.TaskManager;
+import io.prestosql.execution.TaskManagerConfig;
+import io.prestosql.execution.buffer.OutputBuffers.OutputBufferId;
+import io.prestosql.execution.buffer.PartitionedOutputBuffer;
 import io.prestosql.failuredetector.FailureDetector;
 import io.prestosql.failuredetector.FailureDetectorManager;
 import io.prestosql.failuredetector.FailureRetryConfig;
@@ -35,7 +45,10 @@ import io.prestosql.failuredetector.MaxRetryFailureRetryFactory;
 import io.prestosql.failuredetector.MaxRetryFailureRetryPolicy;
 import io.prestosql.failuredetector.NoOpFailureDetector;
 import io.prestosql.failuredetector.TimeoutFailureRetryFactory;
-import io.prestosql.operator.HttpPageBufferClient.ClientCallback;
+import io.prestosql.memory.context.SimpleLocalMemoryContext;
+import io.prestosql.metadata.SessionPropertyManager;
+import io.prestosql.operator.PageBufferClient.ClientCallback;
+import io.prestosql.server.TaskResource;
 import io.prestosql.spi.HostAddress;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.failuredetector.FailureRetryFactory;
@@ -44,16 +57,27 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -61,6 +85,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
@@ -68,14 +93,31 @@ import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.testing.Assertions.assertContains;
 import static io.airlift.testing.Assertions.assertInstanceOf;
 import static io.prestosql.PrestoMediaTypes.PRESTO_PAGES;
+import static io.prestosql.PrestoMediaTypes.PRESTO_PAGES_STREAM;
+import static io.prestosql.client.PrestoHeaders.PRESTO_MAX_SIZE;
+import static io.prestosql.client.PrestoHeaders.PRESTO_MAX_WAIT;
+import static io.prestosql.client.PrestoHeaders.PRESTO_TASK_INSTANCE_ID;
+import static io.prestosql.execution.buffer.BufferState.OPEN;
+import static io.prestosql.execution.buffer.BufferState.TERMINAL_BUFFER_STATES;
+import static io.prestosql.execution.buffer.OutputBuffers.BufferType.PARTITIONED;
+import static io.prestosql.execution.buffer.OutputBuffers.createInitialEmptyOutputBuffers;
+import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.prestosql.spi.StandardErrorCode.PAGE_TOO_LARGE;
 import static io.prestosql.spi.StandardErrorCode.PAGE_TRANSPORT_ERROR;
 import static io.prestosql.spi.StandardErrorCode.PAGE_TRANSPORT_TIMEOUT;
 import static io.prestosql.testing.TestingPagesSerdeFactory.testingPagesSerde;
 import static io.prestosql.util.Failures.WORKER_NODE_ERROR;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 public class TestHttpPageBufferClient
@@ -255,6 +297,171 @@ public class TestHttpPageBufferClient
         assertStatus(client, location, "closed", 3, 5, 5, 0, "not scheduled");
     }
 
+    @Test
+    public void testStreamedResults()
+            throws Exception
+    {
+        TaskId taskId = new TaskId("query", 0, 0);
+        OutputBufferId bufferId = new OutputBufferId(0);
+        String instanceId = "testing instance id";
+        ExecutorService executor = newCachedThreadPool(daemonThreadsNamed("test-stream-%s"));
+        try {
+            PartitionedOutputBuffer outputBuffer = new PartitionedOutputBuffer(
+                    new StateMachine<>("bufferState", executor, OPEN, TERMINAL_BUFFER_STATES),
+                    createInitialEmptyOutputBuffers(PARTITIONED).withBuffer(bufferId, 0).withNoMoreBufferIds(),
+                    new DataSize(10, Unit.MEGABYTE),
+                    () -> new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
+                    executor);
+
+            List<Long> acknowledgedTokens = new CopyOnWriteArrayList<>();
+            TaskManager taskManager = mock(TaskManager.class);
+            when(taskManager.getTaskResults(eq(taskId), eq(bufferId), anyLong(), any(), eq(instanceId)))
+                    .thenAnswer(invocation -> outputBuffer.get(bufferId, invocation.getArgument(2), invocation.getArgument(3)));
+            when(taskManager.peekTaskResults(eq(taskId), eq(bufferId), anyLong(), any(), eq(instanceId)))
+                    .thenAnswer(invocation -> outputBuffer.peek(bufferId, invocation.getArgument(2), invocation.getArgument(3)));
+            doAnswer(invocation -> {
+                acknowledgedTokens.add(invocation.getArgument(2));
+                outputBuffer.acknowledge(bufferId, invocation.getArgument(2));
+                return null;
+            }).when(taskManager).acknowledgeTaskResults(eq(taskId), eq(bufferId), anyLong(), eq(instanceId));
+            doAnswer(invocation -> {
+                outputBuffer.abort(bufferId);
+                return null;
+            }).when(taskManager).abortTaskResults(taskId, bufferId, instanceId);
+            TaskResource taskResource = new TaskResource(
+                    taskManager,
+                    new SessionPropertyManager(),
+                    new DynamicFilterCacheManager(),
+                    new BoundedExecutor(executor, 4),
+                    scheduler,
+                    new TaskManagerConfig());
+
+            AtomicInteger resultRequests = new AtomicInteger();
+            TestingHttpClient.Processor processor = request -> {
+                if (request.getMethod().equals("DELETE")) {
+                    taskResource.abortResults(request.getHeader(PRESTO_TASK_INSTANCE_ID), taskId, bufferId, null);
+                    return new TestingResponse(HttpStatus.NO_CONTENT, ImmutableListMultimap.of(), new byte[0]);
+                }
+                // the path ends with either {token}/stream or {token}/acknowledge
+                String[] path = request.getUri().getPath().split("/");
+                long token = Long.parseLong(path[path.length - 2]);
+                if (path[path.length - 1].equals("acknowledge")) {
+                    taskResource.acknowledgeResults(request.getHeader(PRESTO_TASK_INSTANCE_ID), taskId, bufferId, token);
+                    return new TestingResponse(HttpStatus.NO_CONTENT, ImmutableListMultimap.of(), new byte[0]);
+                }
+                assertEquals(path[path.length - 1], "stream");
+                resultRequests.incrementAndGet();
+                return streamResults(taskResource, request, taskId, bufferId, token, executor);
+            };
+
+            CyclicBarrier requestComplete = new CyclicBarrier(2);
+            TestingClientCallback callback = new TestingClientCallback(requestComplete);
+
+            URI location = URI.create("http://localhost:8080/v1/task/query.0.0/results/0");
+            HttpPageBufferClient client = new HttpPageBufferClient(new TestingHttpClient(processor, executor),
+                    new DataSize(10, Unit.MEGABYTE),
+                    true,
+                    Optional.of(new Duration(10, TimeUnit.SECONDS)),
+                    new TaskLocation(location, instanceId),
+                    callback,
+                    scheduler,
+                    pageBufferClientCallbackExecutor,
+                    false,
+                    failureDetectorManager,
+                    null);
+
+            outputBuffer.enqueue(ImmutableList.of(PAGES_SERDE.serialize(new Page(1))), "id");
+            client.scheduleRequest();
+
+            // the first page arrives while the response is still open
+            waitFor(() -> callback.getPages().size() == 1);
+            assertEquals(callback.getCompletedRequests(), 0);
+            assertEquals(acknowledgedTokens, ImmutableList.of());
+
+            // pages added later are pushed in the same response, until the buffer completes
+            outputBuffer.enqueue(ImmutableList.of(PAGES_SERDE.serialize(new Page(2))), "id");
+            outputBuffer.enqueue(ImmutableList.of(PAGES_SERDE.serialize(new Page(3))), "id");
+            outputBuffer.setNoMorePages();
+            requestComplete.await(10, TimeUnit.SECONDS);
+
+            List<Page> pages = callback.getPages();
+            assertEquals(pages.size(), 3);
+            for (int i = 0; i < pages.size(); i++) {
+                assertPageEquals(new Page(i + 1), pages.get(i));
+            }
+            assertEquals(callback.getCompletedRequests(), 1);
+            assertEquals(callback.getFailedBuffers(), 0);
+            assertEquals(resultRequests.get(), 1);
+
+            // all the streamed pages are acknowledged by a single request for the last token
+            waitFor(() -> !acknowledgedTokens.isEmpty());
+            assertEquals(acknowledgedTokens, ImmutableList.of(3L));
+
+            // the next request closes the buffer
+            callback.resetStats();
+            client.scheduleRequest();
+            requestComplete.await(10, TimeUnit.SECONDS);
+            assertEquals(callback.getFinishedBuffers(), 1);
+            assertTrue(outputBuffer.isFinished());
+            assertEquals(resultRequests.get(), 1);
+            assertEquals(acknowledgedTokens, ImmutableList.of(3L));
+            assertStatus(client, location, "closed", 3, 2, 2, 0, "not scheduled");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Response streamResults(TaskResource taskResource, Request request, TaskId taskId, OutputBufferId bufferId, long token, Executor executor)
+            throws Exception
+    {
+        SettableFuture<Object> resumed = SettableFuture.create();
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        when(asyncResponse.resume(any(Object.class))).thenAnswer(invocation -> resumed.set(invocation.getArgument(0)));
+        taskResource.streamResults(
+                taskId,
+                bufferId,
+                token,
+                DataSize.valueOf(request.getHeader(PRESTO_MAX_SIZE)),
+                Duration.valueOf(request.getHeader(PRESTO_MAX_WAIT)),
+                request.getHeader(PRESTO_TASK_INSTANCE_ID),
+                asyncResponse);
+
+        javax.ws.rs.core.Response response = (javax.ws.rs.core.Response) resumed.get(10, TimeUnit.SECONDS);
+        ImmutableListMultimap.Builder<String, String> headers = ImmutableListMultimap.builder();
+        response.getStringHeaders().forEach(headers::putAll);
+        if (!(response.getEntity() instanceof StreamingOutput)) {
+            return new TestingResponse(HttpStatus.fromStatusCode(response.getStatus()), headers.build(), new byte[0]);
+        }
+
+        // the client reads the frames while the server is still writing the response
+        StreamingOutput entity = (StreamingOutput) response.getEntity();
+        PipedInputStream input = new PipedInputStream();
+        PipedOutputStream output = new PipedOutputStream(input);
+        executor.execute(() -> {
+            try (OutputStream out = output) {
+                entity.write(out);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        headers.put(CONTENT_TYPE, PRESTO_PAGES_STREAM);
+        return new TestingResponse(HttpStatus.OK, headers.build(), input);
+    }
+
+    private static void waitFor(BooleanSupplier condition)
+            throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met within 10 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+
     @Test
     public void testLifecycle()
             throws Exception
@@ -742,28 +949,28 @@ public class TestHttpPageBufferClient
         }
 
         @Override
-        public boolean addPages(HttpPageBufferClient client, List<SerializedPage> pages)
+        public boolean addPages(PageBufferClient client, List<SerializedPage> pages)
         {
             this.pages.addAll(pages);
             return true;
         }
 
         @Override
-        public void requestComplete(HttpPageBufferClient client)
+        public void requestComplete(PageBufferClient client)
         {
             completedRequests.getAndIncrement();
             awaitDone();
         }
 
         @Override
-        public void clientFinished(HttpPageBufferClient client)
+        public void clientFinished(PageBufferClient client)
         {
             finishedBuffers.getAndIncrement();
             awaitDone();
         }
 
         @Override
-        public void clientFailed(HttpPageBufferClient client, Throwable cause)
+        public void clientFailed(PageBufferClient client, Throwable cause)
         {
             failedBuffers.getAndIncrement();
             failure.compareAndSet(null, cause);
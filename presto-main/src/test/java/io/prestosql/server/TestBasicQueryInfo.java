@@ -103,6 +103,9 @@ public class TestBasicQueryInfo
                                 DataSize.valueOf("31GB"),
                                 32,
                                 DataSize.valueOf("32GB"),
+                                33,
+                                34,
+                                Duration.valueOf("35m"),
                                 ImmutableList.of(new StageGcStatistics(
                                         101,
                                         102,
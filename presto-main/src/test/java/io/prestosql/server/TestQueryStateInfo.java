@@ -154,6 +154,9 @@ public class TestQueryStateInfo
                         DataSize.valueOf("31GB"),
                         32,
                         DataSize.valueOf("33GB"),
+                        34,
+                        35,
+                        Duration.valueOf("36m"),
                         ImmutableList.of(),
                         ImmutableList.of()),
                 Optional.empty(),
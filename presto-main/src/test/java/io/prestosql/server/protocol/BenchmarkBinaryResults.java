@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.server.protocol;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import io.airlift.json.JsonCodec;
+import io.prestosql.RowPagesBuilder;
+import io.prestosql.client.Column;
+import io.prestosql.client.QueryResults;
+import io.prestosql.client.StatementStats;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.type.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.airlift.json.JsonCodec.jsonCodec;
+import static io.prestosql.RowPagesBuilder.rowPagesBuilder;
+import static io.prestosql.server.protocol.Query.toClientTypeSignature;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static io.prestosql.testing.TestingConnectorSession.SESSION;
+
+/**
+ * Measures rows/sec of encoding query results on the server and decoding them on the client, JSON versus the binary format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BenchmarkBinaryResults.ROWS)
+@Fork(2)
+@Warmup(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class BenchmarkBinaryResults
+{
+    static final int ROWS = 10_000;
+
+    private static final JsonCodec<QueryResults> QUERY_RESULTS_CODEC = jsonCodec(QueryResults.class);
+    private static final List<Type> TYPES = ImmutableList.of(BIGINT, DOUBLE, DATE, VARCHAR);
+
+    @Param({"false", "true"})
+    private boolean compressionEnabled;
+
+    private List<Page> pages;
+    private List<Column> columns;
+
+    @Setup
+    public void setup()
+    {
+        RowPagesBuilder builder = rowPagesBuilder(TYPES);
+        for (int i = 0; i < ROWS; i++) {
+            builder.row((long) i, i * 0.5, (long) (i % 10_000), "comment " + (i % 1_000));
+            if (i % 1024 == 1023) {
+                builder.pageBreak();
+            }
+        }
+        pages = builder.build();
+
+        ImmutableList.Builder<Column> columnsBuilder = ImmutableList.builder();
+        for (int i = 0; i < TYPES.size(); i++) {
+            columnsBuilder.add(new Column("col" + i, TYPES.get(i).getDisplayName(), toClientTypeSignature(TYPES.get(i).getTypeSignature())));
+        }
+        columns = columnsBuilder.build();
+    }
+
+    @Benchmark
+    public int json()
+    {
+        ImmutableList.Builder<RowIterable> rows = ImmutableList.builder();
+        for (Page page : pages) {
+            rows.add(new RowIterable(SESSION, TYPES, page));
+        }
+        return consume(roundTrip(Iterables.concat(rows.build()), null));
+    }
+
+    @Benchmark
+    public int binary()
+    {
+        return consume(roundTrip(null, BinaryResultsEncoder.encode(TYPES, pages, compressionEnabled)));
+    }
+
+    private QueryResults roundTrip(Iterable<List<Object>> data, byte[] binaryData)
+    {
+        QueryResults results = new QueryResults(
+                "20160128_214710_00012_rk68b",
+                URI.create("http://localhost/query.html?20160128_214710_00012_rk68b"),
+                null,
+                null,
+                columns,
+                data,
+                StatementStats.builder().setState("FINISHED").build(),
+                null,
+                ImmutableList.of(),
+                null,
+                null,
+                binaryData);
+        return QUERY_RESULTS_CODEC.fromJson(QUERY_RESULTS_CODEC.toJson(results));
+    }
+
+    private static int consume(QueryResults results)
+    {
+        int count = 0;
+        for (List<Object> row : results.getData()) {
+            count += row.size();
+        }
+        return count;
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        Options options = new OptionsBuilder()
+                .verbosity(VerboseMode.NORMAL)
+                .include(".*" + BenchmarkBinaryResults.class.getSimpleName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+}
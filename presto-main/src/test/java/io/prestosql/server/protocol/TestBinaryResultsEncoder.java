@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.server.protocol;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import io.airlift.json.JsonCodec;
+import io.prestosql.RowPagesBuilder;
+import io.prestosql.client.Column;
+import io.prestosql.client.QueryResults;
+import io.prestosql.client.StatementStats;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.type.Type;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static io.airlift.json.JsonCodec.jsonCodec;
+import static io.prestosql.RowPagesBuilder.rowPagesBuilder;
+import static io.prestosql.server.protocol.Query.toClientTypeSignature;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DecimalType.createDecimalType;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static io.prestosql.spi.type.VarcharType.createVarcharType;
+import static io.prestosql.testing.TestingConnectorSession.SESSION;
+import static java.lang.Float.floatToRawIntBits;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestBinaryResultsEncoder
+{
+    private static final JsonCodec<QueryResults> QUERY_RESULTS_CODEC = jsonCodec(QueryResults.class);
+    private static final List<Type> TYPES = ImmutableList.of(BOOLEAN, TINYINT, SMALLINT, INTEGER, BIGINT, REAL, DOUBLE, DATE, VARCHAR, createVarcharType(10));
+
+    @Test
+    public void testSupportedTypes()
+    {
+        assertTrue(BinaryResultsEncoder.isSupported(TYPES));
+        assertTrue(BinaryResultsEncoder.isSupported(ImmutableList.of(VARBINARY)));
+        assertFalse(BinaryResultsEncoder.isSupported(ImmutableList.of(BIGINT, createDecimalType(10, 2))));
+    }
+
+    @Test
+    public void testMatchesJson()
+    {
+        List<Page> pages = rowPagesBuilder(TYPES)
+                .row(true, 1L, 2L, 3L, 4L, (long) floatToRawIntBits(1.5f), 2.5, 18000L, "hello", "short")
+                .row(null, null, null, null, null, null, null, null, null, null)
+                .pageBreak()
+                .row(false, -1L, -2L, -3L, Long.MIN_VALUE, (long) floatToRawIntBits(-0.25f), -0.5, 0L, "", "中文")
+                .build();
+
+        assertSameRows(decodeJson(pages), decodeBinary(pages, false));
+        assertSameRows(decodeJson(pages), decodeBinary(pages, true));
+    }
+
+    @Test
+    public void testCompression()
+    {
+        RowPagesBuilder builder = rowPagesBuilder(BIGINT, VARCHAR);
+        for (int i = 0; i < 10_000; i++) {
+            builder.row((long) (i % 100), "value" + (i % 10));
+        }
+        List<Page> pages = builder.build();
+
+        byte[] uncompressed = BinaryResultsEncoder.encode(ImmutableList.of(BIGINT, VARCHAR), pages, false);
+        byte[] compressed = BinaryResultsEncoder.encode(ImmutableList.of(BIGINT, VARCHAR), pages, true);
+        assertTrue(compressed.length < uncompressed.length);
+        assertEquals(compressed[0], 1);
+        assertEquals(uncompressed[0], 0);
+
+        QueryResults results = roundTrip(ImmutableList.of(BIGINT, VARCHAR), null, compressed);
+        assertEquals(Iterables.size(results.getData()), 10_000);
+    }
+
+    private static Iterable<List<Object>> decodeJson(List<Page> pages)
+    {
+        ImmutableList.Builder<RowIterable> rows = ImmutableList.builder();
+        for (Page page : pages) {
+            rows.add(new RowIterable(SESSION, TYPES, page));
+        }
+        QueryResults results = roundTrip(TYPES, Iterables.concat(rows.build()), null);
+        assertNull(results.getBinaryData());
+        return results.getData();
+    }
+
+    private static Iterable<List<Object>> decodeBinary(List<Page> pages, boolean compressionEnabled)
+    {
+        QueryResults results = roundTrip(TYPES, null, BinaryResultsEncoder.encode(TYPES, pages, compressionEnabled));
+        // binary data is decoded into rows when the results are read
+        assertNull(results.getBinaryData());
+        assertNotNull(results.getData());
+        return results.getData();
+    }
+
+    private static QueryResults roundTrip(List<Type> types, Iterable<List<Object>> data, byte[] binaryData)
+    {
+        ImmutableList.Builder<Column> columns = ImmutableList.builder();
+        for (int i = 0; i < types.size(); i++) {
+            Type type = types.get(i);
+            columns.add(new Column("col" + i, type.getDisplayName(), toClientTypeSignature(type.getTypeSignature())));
+        }
+        QueryResults results = new QueryResults(
+                "20160128_214710_00012_rk68b",
+                URI.create("http://localhost/query.html?20160128_214710_00012_rk68b"),
+                null,
+                null,
+                columns.build(),
+                data,
+                StatementStats.builder().setState("FINISHED").build(),
+                null,
+                ImmutableList.of(),
+                null,
+                null,
+                binaryData);
+        return QUERY_RESULTS_CODEC.fromJson(QUERY_RESULTS_CODEC.toJson(results));
+    }
+
+    private static void assertSameRows(Iterable<List<Object>> expected, Iterable<List<Object>> actual)
+    {
+        assertEquals(ImmutableList.copyOf(actual), ImmutableList.copyOf(expected));
+    }
+}
@@ -37,7 +37,12 @@ public class TestRecoveryConfig
                 .setRecoveryMaxRetries(10)
                 .setRecoveryRetryTimeout(new Duration(10, TimeUnit.MINUTES))
                 .setSnapshotUseKryoSerialization(false)
-                .setEliminateDuplicateSpillFilesEnabled(false));
+                .setEliminateDuplicateSpillFilesEnabled(false)
+                .setSnapshotIncrementalCaptureEnabled(false)
+                .setSnapshotMaxIncrementalCaptures(10)
+                .setSnapshotAsyncCaptureEnabled(false)
+                .setSnapshotAsyncCaptureThreads(4)
+                .setSnapshotAsyncCaptureMaxPending(32));
     }
 
     @Test
@@ -54,6 +59,11 @@ public class TestRecoveryConfig
                 .put("hetu.recovery.retryTimeout", "5m")
                 .put("hetu.snapshot.useKryoSerialization", "true")
                 .put("experimental.eliminate-duplicate-spill-files", "true")
+                .put("hetu.snapshot.incremental-capture-enabled", "true")
+                .put("hetu.snapshot.max-incremental-captures", "5")
+                .put("hetu.snapshot.async-capture-enabled", "true")
+                .put("hetu.snapshot.async-capture-threads", "8")
+                .put("hetu.snapshot.async-capture-max-pending", "64")
                 .build();
 
         RecoveryConfig expected = new RecoveryConfig()
@@ -66,7 +76,12 @@ public class TestRecoveryConfig
                 .setRecoveryMaxRetries(20)
                 .setRecoveryRetryTimeout(new Duration(5, TimeUnit.MINUTES))
                 .setSnapshotUseKryoSerialization(true)
-                .setEliminateDuplicateSpillFilesEnabled(true);
+                .setEliminateDuplicateSpillFilesEnabled(true)
+                .setSnapshotIncrementalCaptureEnabled(true)
+                .setSnapshotMaxIncrementalCaptures(5)
+                .setSnapshotAsyncCaptureEnabled(true)
+                .setSnapshotAsyncCaptureThreads(8)
+                .setSnapshotAsyncCaptureMaxPending(64);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
@@ -15,6 +15,7 @@
 package io.prestosql.snapshot;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.SettableFuture;
 import io.prestosql.execution.TaskId;
 import io.prestosql.memory.context.LocalMemoryContext;
 import io.prestosql.operator.DriverContext;
@@ -28,6 +29,7 @@ import io.prestosql.spi.snapshot.Restorable;
 import io.prestosql.spi.snapshot.RestorableConfig;
 import io.prestosql.testing.assertions.Assert;
 import org.apache.commons.lang3.tuple.Pair;
+import org.mockito.ArgumentCaptor;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -321,6 +323,77 @@ public class TestSingleInputSnapshotState
         verify(snapshotManager, times(1)).loadState(anyObject());
     }
 
+    @Test
+    public void testIncrementalCapture()
+            throws Exception
+    {
+        TestingIncrementalRestorable testingRestorable = new TestingIncrementalRestorable();
+        testingRestorable.setSupportsConsolidatedWrites(false);
+        SingleInputSnapshotState singleInputSnapshotState = new SingleInputSnapshotState(
+                testingRestorable,
+                snapshotManager,
+                null,
+                TestSingleInputSnapshotState::createSnapshotStateId,
+                TestSingleInputSnapshotState::createSnapshotStateId,
+                snapshotMemoryContext,
+                false,
+                1);
+
+        testingRestorable.state = 10;
+        singleInputSnapshotState.processPage(marker1);
+        testingRestorable.state = 15;
+        singleInputSnapshotState.processPage(marker2);
+        testingRestorable.state = 20;
+        singleInputSnapshotState.processPage(MarkerPage.snapshotPage(3));
+
+        ArgumentCaptor<Object> states = ArgumentCaptor.forClass(Object.class);
+        verify(snapshotManager, times(3)).storeState(anyObject(), states.capture(), anyLong());
+        Assert.assertEquals(states.getAllValues().get(0), 10);
+        IncrementalState incrementalState = (IncrementalState) states.getAllValues().get(1);
+        Assert.assertEquals(incrementalState.getBaseStateId(), snapshotId1.toString());
+        Assert.assertEquals(incrementalState.getDelta(), 5);
+        // At most 1 delta is based on a full state
+        Assert.assertEquals(states.getAllValues().get(2), 20);
+
+        when(snapshotManager.loadState(snapshotId2)).thenReturn(Optional.of(incrementalState));
+        when(snapshotManager.loadIncrementalStates(incrementalState)).thenReturn(Optional.of(ImmutableList.of(10, 5)));
+        singleInputSnapshotState.processPage(resume2);
+        Assert.assertEquals(testingRestorable.state, 15);
+
+        // Base state is missing
+        when(snapshotManager.loadIncrementalStates(incrementalState)).thenReturn(Optional.empty());
+        singleInputSnapshotState.processPage(resume2);
+        verify(snapshotManager).failedToRestore(snapshotId2, true);
+    }
+
+    @Test
+    public void testAsyncCapture()
+            throws Exception
+    {
+        when(snapshotManager.isAsyncCaptureEnabled()).thenReturn(true);
+        SettableFuture<?> stored = SettableFuture.create();
+        when(snapshotManager.storeStateAsync(anyObject(), anyObject(), anyLong())).thenAnswer(invocation -> stored);
+        restorable.setSupportsConsolidatedWrites(false);
+
+        processPage(marker1);
+        verify(snapshotManager).storeStateAsync(eq(snapshotId1), eq(100), anyLong());
+        verify(snapshotManager, times(0)).storeState(anyObject(), anyObject(), anyLong());
+        verify(snapshotManager, times(0)).succeededToCapture(anyObject());
+        // The marker is passed on without waiting for the state to be stored
+        Assert.assertEquals(state.nextMarker().getSnapshotId(), 1);
+
+        stored.set(null);
+        verify(snapshotManager).updateSnapshotCaptureLatency(eq(1L), anyLong());
+        verify(snapshotManager).succeededToCapture(snapshotId1);
+        verify(snapshotMemoryContext).setBytes(0);
+
+        SettableFuture<?> failed = SettableFuture.create();
+        when(snapshotManager.storeStateAsync(anyObject(), anyObject(), anyLong())).thenAnswer(invocation -> failed);
+        processPage(marker2);
+        failed.setException(new IllegalStateException("failed"));
+        verify(snapshotManager).failedToCapture(snapshotId2);
+    }
+
     @RestorableConfig(uncapturedFields = {"supportsConsolidatedWrites"})
     private static class TestingRestorable
             implements Restorable
@@ -380,4 +453,36 @@ public class TestSingleInputSnapshotState
             return ImmutableList.of(Pair.of(Paths.get("path1"), Long.valueOf(10000)), Pair.of(Paths.get("path2"), Long.valueOf(20000)));
         }
     }
+
+    @RestorableConfig(uncapturedFields = {"checkpointState"})
+    private static class TestingIncrementalRestorable
+            extends TestingRestorable
+            implements IncrementalRestorable
+    {
+        Integer checkpointState;
+
+        @Override
+        public boolean canCaptureDelta()
+        {
+            return checkpointState != null;
+        }
+
+        @Override
+        public Object captureDelta(BlockEncodingSerdeProvider serdeProvider)
+        {
+            return state - checkpointState;
+        }
+
+        @Override
+        public void restoreDelta(Object delta, BlockEncodingSerdeProvider serdeProvider)
+        {
+            state += (Integer) delta;
+        }
+
+        @Override
+        public void checkpoint()
+        {
+            checkpointState = state;
+        }
+    }
 }
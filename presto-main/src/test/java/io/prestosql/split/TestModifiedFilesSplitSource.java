@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.split;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.prestosql.MockSplit;
+import io.prestosql.execution.Lifespan;
+import io.prestosql.metadata.Split;
+import io.prestosql.spi.connector.CatalogName;
+import io.prestosql.spi.connector.FixedSplitSource;
+import io.prestosql.split.SplitSource.SplitBatch;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.prestosql.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestModifiedFilesSplitSource
+{
+    private static final String TABLE_PATH = "hdfs://hacluster/user/hive/warehouse/test.db/t";
+
+    @Test
+    public void testSkipsUnmodifiedFiles()
+    {
+        SplitSource source = new ConnectorAwareSplitSource(new CatalogName("test"), new FixedSplitSource(ImmutableList.of(
+                new MockSplit(TABLE_PATH + "/indexed", 0L, 10L, 100L),
+                new MockSplit(TABLE_PATH + "/indexed", 10L, 20L, 100L),
+                new MockSplit(TABLE_PATH + "/modified", 0L, 10L, 300L),
+                new MockSplit(TABLE_PATH + "/new", 0L, 10L, 400L))));
+
+        SplitSource modifiedFiles = new ModifiedFilesSplitSource(source, ImmutableMap.of(
+                "/user/hive/warehouse/test.db/t/indexed", 100L,
+                "/user/hive/warehouse/test.db/t/modified", 200L));
+
+        SplitBatch batch = getFutureValue(modifiedFiles.getNextBatch(NOT_PARTITIONED, Lifespan.taskWide(), 10));
+        assertTrue(batch.isLastBatch());
+        assertEquals(filePaths(batch.getSplits()), ImmutableList.of(TABLE_PATH + "/modified", TABLE_PATH + "/new"));
+        assertTrue(modifiedFiles.isFinished());
+    }
+
+    @Test
+    public void testNoIndexedFiles()
+    {
+        SplitSource source = new ConnectorAwareSplitSource(new CatalogName("test"), new FixedSplitSource(ImmutableList.of(
+                new MockSplit(TABLE_PATH + "/a", 0L, 10L, 100L),
+                new MockSplit(TABLE_PATH + "/b", 0L, 10L, 100L))));
+
+        SplitSource modifiedFiles = new ModifiedFilesSplitSource(source, ImmutableMap.of());
+
+        SplitBatch batch = getFutureValue(modifiedFiles.getNextBatch(NOT_PARTITIONED, Lifespan.taskWide(), 10));
+        assertEquals(filePaths(batch.getSplits()), ImmutableList.of(TABLE_PATH + "/a", TABLE_PATH + "/b"));
+    }
+
+    private static List<String> filePaths(List<Split> splits)
+    {
+        return splits.stream()
+                .map(split -> split.getConnectorSplit().getFilePath())
+                .collect(toImmutableList());
+    }
+}
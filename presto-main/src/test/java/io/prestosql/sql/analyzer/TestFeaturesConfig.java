@@ -104,6 +104,8 @@ public class TestFeaturesConfig
                 .setDefaultFilterFactorEnabled(false)
                 .setEnableForcedExchangeBelowGroupId(true)
                 .setExchangeCompressionEnabled(false)
+                .setExchangePooledBuffersEnabled(false)
+                .setExchangeAdaptiveCompressionEnabled(false)
                 .setEnableIntermediateAggregations(false)
                 .setPushAggregationThroughJoin(true)
                 .setParseDecimalLiteralsAsDouble(false)
@@ -129,6 +131,7 @@ public class TestFeaturesConfig
                 .setDynamicFilteringMaxSize(1000000)
                 .setDynamicFilteringMaxPerDriverSize(new DataSize(1, MEGABYTE))
                 .setDynamicFilteringBloomFilterFpp(0.1)
+                .setDynamicFilteringPushEnabled(false)
                 .setQueryPushDown(true)
                 .setPushLimitDown(true)
                 .setPushLimitThroughOuterJoin(true)
@@ -216,6 +219,8 @@ public class TestFeaturesConfig
                 .put("experimental.memory-revoking-threshold", "0.2")
                 .put("experimental.memory-revoking-target", "0.8")
                 .put("exchange.compression-enabled", "true")
+                .put("exchange.pooled-buffers-enabled", "true")
+                .put("exchange.adaptive-compression-enabled", "true")
                 .put("optimizer.enable-intermediate-aggregations", "true")
                 .put("parse-decimal-literals-as-double", "true")
                 .put("optimizer.force-single-node-output", "false")
@@ -246,6 +251,7 @@ public class TestFeaturesConfig
                 .put("dynamic-filtering-data-type", "HASHSET")
                 .put("dynamic-filtering-max-per-driver-size", "64kB")
                 .put("dynamic-filtering-bloom-filter-fpp", "0.001")
+                .put("dynamic-filtering-push-enabled", "true")
                 .put("implicit-conversion", "true")
                 .put("optimizer.push-table-through-subquery", "true")
                 .put("optimizer.rewrite-filtering-semi-join-to-inner-join", "true")
@@ -322,6 +328,8 @@ public class TestFeaturesConfig
                 .setMemoryRevokingThreshold(0.2)
                 .setMemoryRevokingTarget(0.8)
                 .setExchangeCompressionEnabled(true)
+                .setExchangePooledBuffersEnabled(true)
+                .setExchangeAdaptiveCompressionEnabled(true)
                 .setEnableIntermediateAggregations(true)
                 .setParseDecimalLiteralsAsDouble(true)
                 .setForceSingleNodeOutput(false)
@@ -355,6 +363,7 @@ public class TestFeaturesConfig
                 .setDynamicFilteringMaxSize(10000)
                 .setDynamicFilteringMaxPerDriverSize(new DataSize(64, KILOBYTE))
                 .setDynamicFilteringBloomFilterFpp(0.001)
+                .setDynamicFilteringPushEnabled(true)
                 .setTransformSelfJoinToGroupby(false)
                 .setReuseTableScanEnabled(true)
                 .setSpillReuseExchange(true)
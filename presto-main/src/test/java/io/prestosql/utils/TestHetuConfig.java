@@ -38,6 +38,8 @@ public class TestHetuConfig
                 .setIndexCacheTTL(new Duration(24, TimeUnit.HOURS))
                 .setIndexCacheLoadingThreads(10L)
                 .setIndexCacheLoadingDelay(new Duration(10, TimeUnit.SECONDS))
+                .setIndexBatchLookupEnabled(false)
+                .setIndexBatchLookupTimeout(new Duration(5, TimeUnit.SECONDS))
                 .setIndexCacheSoftReferenceEnabled(true)
                 .setIndexAutoload(true)
                 .setExecutionPlanCacheEnabled(false)
@@ -71,6 +73,8 @@ public class TestHetuConfig
                 .put("hetu.heuristicindex.filter.cache.loading-threads", "5")
                 .put("hetu.heuristicindex.filter.cache.autoload-default", "false")
                 .put("hetu.heuristicindex.filter.cache.loading-delay", "1000ms")
+                .put("hetu.heuristicindex.filter.batch-lookup.enabled", "true")
+                .put("hetu.heuristicindex.filter.batch-lookup.timeout", "2s")
                 .put("hetu.heuristicindex.filter.cache.ttl", "20m")
                 .put("hetu.heuristicindex.filter.cache.soft-reference", "false")
                 .put("hetu.executionplan.cache.enabled", "true")
@@ -101,6 +105,8 @@ public class TestHetuConfig
                 .setIndexCacheTTL(new Duration(20, TimeUnit.MINUTES))
                 .setIndexCacheLoadingThreads(5L)
                 .setIndexCacheLoadingDelay(new Duration(1000, TimeUnit.MILLISECONDS))
+                .setIndexBatchLookupEnabled(true)
+                .setIndexBatchLookupTimeout(new Duration(2, TimeUnit.SECONDS))
                 .setIndexCacheSoftReferenceEnabled(false)
                 .setIndexAutoload(false)
                 .setExecutionPlanCacheEnabled(true)
@@ -44,6 +44,7 @@ public class MemoryConfig
     private Path spillRoot;
     private int threadPoolSize = Math.max((Runtime.getRuntime().availableProcessors() / 2), 1);
     private boolean tableStatisticsEnabled; //default value is false unless specified in memory config file
+    private boolean columnarStorageEnabled;
 
     @NotNull
     public Path getSpillRoot()
@@ -120,6 +121,20 @@ public class MemoryConfig
         return tableStatisticsEnabled;
     }
 
+    @Config("memory.columnar-storage-enabled")
+    @ConfigDescription("Store processed logical parts in a columnar file that is memory-mapped on read, " +
+            "so table data does not count against memory.max-data-per-node (default: false)")
+    public MemoryConfig setColumnarStorageEnabled(boolean columnarStorageEnabled)
+    {
+        this.columnarStorageEnabled = columnarStorageEnabled;
+        return this;
+    }
+
+    public boolean isColumnarStorageEnabled()
+    {
+        return columnarStorageEnabled;
+    }
+
     @MinDataSize("1kB")
     @MaxDataSize("10MB")
     public DataSize getMaxPageSize()
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.memory.data;
+
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockEncodingSerde;
+import io.prestosql.spi.block.LazyBlock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Column-major file layout for the pages of a LogicalPart.
+ * <p>
+ * All blocks of column 0 are written first (one per page), followed by all blocks of column 1 and so on,
+ * then a footer with the position count of every page and the offset of every block:
+ * <pre>
+ * [col 0: page 0 .. page N-1][col 1: page 0 .. page N-1]...[footer][footer offset (long)][magic (int)]
+ * </pre>
+ * On read the file is memory-mapped and every page is returned as a set of LazyBlocks,
+ * so only the columns a query actually touches are deserialized, and the raw data stays off-heap.
+ */
+final class ColumnarPagesFile
+{
+    private static final int MAGIC = 0x434f4c50; // "COLP"
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final BlockEncodingSerde blockEncodingSerde;
+    private final Slice data;
+    private final int columnCount;
+    private final int[] positionCounts;
+    // offsets[column * pageCount + page] is the start of that block, offsets[columnCount * pageCount] is the footer offset
+    private final long[] offsets;
+
+    private ColumnarPagesFile(BlockEncodingSerde blockEncodingSerde, Slice data, int columnCount, int[] positionCounts, long[] offsets)
+    {
+        this.blockEncodingSerde = blockEncodingSerde;
+        this.data = data;
+        this.columnCount = columnCount;
+        this.positionCounts = positionCounts;
+        this.offsets = offsets;
+    }
+
+    static void write(BlockEncodingSerde blockEncodingSerde, Path file, List<Page> pages, int columnCount)
+            throws IOException
+    {
+        int pageCount = pages.size();
+        long[] offsets = new long[columnCount * pageCount + 1];
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            SliceOutput sliceOutput = new OutputStreamSliceOutput(outputStream);
+            for (int column = 0; column < columnCount; column++) {
+                for (int page = 0; page < pageCount; page++) {
+                    offsets[column * pageCount + page] = sliceOutput.size();
+                    blockEncodingSerde.writeBlock(sliceOutput, pages.get(page).getBlock(column));
+                }
+            }
+            long footerOffset = sliceOutput.size();
+            offsets[columnCount * pageCount] = footerOffset;
+
+            sliceOutput.writeInt(pageCount);
+            sliceOutput.writeInt(columnCount);
+            for (Page page : pages) {
+                sliceOutput.writeInt(page.getPositionCount());
+            }
+            for (long offset : offsets) {
+                sliceOutput.writeLong(offset);
+            }
+            sliceOutput.writeLong(footerOffset);
+            sliceOutput.writeInt(MAGIC);
+            sliceOutput.flush();
+        }
+    }
+
+    static ColumnarPagesFile open(BlockEncodingSerde blockEncodingSerde, Path file)
+            throws IOException
+    {
+        requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            checkArgument(size >= TRAILER_SIZE && size <= Integer.MAX_VALUE, "Invalid columnar pages file size %s: %s", size, file);
+            // the mapping stays valid after the channel is closed and is released once the slice is garbage collected
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Slice data = Slices.wrappedBuffer(buffer);
+
+            checkArgument(data.getInt(toIntExact(size) - Integer.BYTES) == MAGIC, "Not a columnar pages file: %s", file);
+            int footerOffset = toIntExact(data.getLong(toIntExact(size) - TRAILER_SIZE));
+
+            int pageCount = data.getInt(footerOffset);
+            int columnCount = data.getInt(footerOffset + Integer.BYTES);
+            int position = footerOffset + 2 * Integer.BYTES;
+            int[] positionCounts = new int[pageCount];
+            for (int page = 0; page < pageCount; page++) {
+                positionCounts[page] = data.getInt(position);
+                position += Integer.BYTES;
+            }
+            long[] offsets = new long[columnCount * pageCount + 1];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = data.getLong(position);
+                position += Long.BYTES;
+            }
+            return new ColumnarPagesFile(blockEncodingSerde, data, columnCount, positionCounts, offsets);
+        }
+    }
+
+    int getPageCount()
+    {
+        return positionCounts.length;
+    }
+
+    /**
+     * Heap memory retained by the file metadata, the mapped data itself is not counted
+     */
+    long getRetainedSizeInBytes()
+    {
+        return (long) positionCounts.length * Integer.BYTES + (long) offsets.length * Long.BYTES;
+    }
+
+    Page getPage(int page)
+    {
+        int positionCount = positionCounts[page];
+        Block[] blocks = new Block[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            int blockIndex = column * getPageCount() + page;
+            blocks[column] = new LazyBlock<>(positionCount, lazyBlock -> lazyBlock.setBlock(readBlock(blockIndex)));
+        }
+        return new Page(positionCount, blocks);
+    }
+
+    List<Page> getPages()
+    {
+        List<Page> pages = new ArrayList<>(getPageCount());
+        for (int page = 0; page < getPageCount(); page++) {
+            pages.add(getPage(page));
+        }
+        return pages;
+    }
+
+    private Block readBlock(int blockIndex)
+    {
+        int start = toIntExact(offsets[blockIndex]);
+        int end = toIntExact(offsets[blockIndex + 1]);
+        return blockEncodingSerde.readBlock(data.slice(start, end - start).getInput());
+    }
+}
@@ -31,6 +31,7 @@ import io.prestosql.plugin.memory.MemoryColumnHandle;
 import io.prestosql.plugin.memory.SortingColumn;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PageSorter;
+import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.SortOrder;
 import io.prestosql.spi.connector.ColumnHandle;
@@ -68,6 +69,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import static io.prestosql.plugin.memory.MemoryErrorCode.MISSING_DATA;
 import static java.util.Objects.requireNonNull;
 
 public class LogicalPart
@@ -94,6 +96,7 @@ public class LogicalPart
     private final int maxPageSizeBytes;
     private final int logicalPartNum;
     private final boolean compressionEnabled;
+    private boolean columnarEnabled;
 
     // indexes
     /*
@@ -136,6 +139,8 @@ public class LogicalPart
     private transient List<Type> types;
     // Using majority of memory and disk space. Serialized and deserialized separately. Only loaded when used.
     private transient List<Page> pages;
+    // Memory-mapped columnar data, only used when columnar storage is enabled and the LogicalPart is completed.
+    private transient ColumnarPagesFile columnarPages;
 
     public LogicalPart(
             List<MemoryColumnHandle> columns,
@@ -149,6 +154,23 @@ public class LogicalPart
             PagesSerde pagesSerde,
             int logicalPartNum,
             boolean compressionEnabled)
+    {
+        this(columns, sortedBy, indexColumns, tableDataRoot, pageSorter, maxLogicalPartBytes, maxPageSizeBytes, typeManager, pagesSerde, logicalPartNum, compressionEnabled, false);
+    }
+
+    public LogicalPart(
+            List<MemoryColumnHandle> columns,
+            List<SortingColumn> sortedBy,
+            List<String> indexColumns,
+            Path tableDataRoot,
+            PageSorter pageSorter,
+            long maxLogicalPartBytes,
+            int maxPageSizeBytes,
+            TypeManager typeManager,
+            PagesSerde pagesSerde,
+            int logicalPartNum,
+            boolean compressionEnabled,
+            boolean columnarEnabled)
     {
         this.tableDataRoot = tableDataRoot;
         this.logicalPartNum = logicalPartNum;
@@ -156,6 +178,7 @@ public class LogicalPart
         this.maxLogicalPartBytes = maxLogicalPartBytes;
         this.maxPageSizeBytes = maxPageSizeBytes;
         this.compressionEnabled = compressionEnabled;
+        this.columnarEnabled = columnarEnabled;
         this.pagesSerde = requireNonNull(pagesSerde, "pagesSerde is null");
         this.pageSorter = requireNonNull(pageSorter, "pageSorter is null");
         requireNonNull(columns, "columns is null");
@@ -198,6 +221,29 @@ public class LogicalPart
         return byteSize;
     }
 
+    /**
+     * Heap memory needed to serve this LogicalPart. Completed columnar LogicalParts are served from memory-mapped files,
+     * so only the file metadata stays on heap.
+     */
+    long getResidentByteSize()
+    {
+        if (isColumnarCompleted()) {
+            ColumnarPagesFile file = columnarPages;
+            return file == null ? 0 : file.getRetainedSizeInBytes();
+        }
+        return byteSize;
+    }
+
+    boolean isColumnarEnabled()
+    {
+        return columnarEnabled;
+    }
+
+    private boolean isColumnarCompleted()
+    {
+        return columnarEnabled && processingState.get() == LogicalPartState.COMPLETED;
+    }
+
     public int getLogicalPartNum()
     {
         return logicalPartNum;
@@ -227,12 +273,16 @@ public class LogicalPart
 
     boolean pageInMemory()
     {
+        if (isColumnarCompleted()) {
+            return columnarPages != null;
+        }
         return pages != null;
     }
 
     void unloadPages()
     {
         pages = null;
+        columnarPages = null;
     }
 
     void finishAdding()
@@ -242,6 +292,9 @@ public class LogicalPart
 
     List<Page> getPages()
     {
+        if (isColumnarCompleted()) {
+            return getColumnarPages();
+        }
         if (!pageInMemory()) {
             try {
                 readPages();
@@ -753,6 +806,20 @@ public class LogicalPart
             bloomIdx.put(indexChannel, filter);
         }
 
+        if (columnarEnabled) {
+            try {
+                writeColumnarPages();
+                // pages are served from the memory-mapped file from now on
+                this.processingState.set(LogicalPartState.COMPLETED);
+                this.pages = null;
+                return;
+            }
+            catch (Exception e) {
+                LOG.error("Error writing columnar LogicalPart " + getPageFileName() + " to disk. Falling back to row-oriented pages file.", e);
+                this.columnarEnabled = false;
+            }
+        }
+
         try {
             writePages();
         }
@@ -812,6 +879,55 @@ public class LogicalPart
         LOG.debug("[Spill] %s completed. Time elapsed: %dms", pagesFile.toString(), dur);
     }
 
+    /**
+     * Returns lazy pages backed by the memory-mapped columnar file. New pages are created on every call
+     * so that loaded blocks are not retained on heap after the query is done with them.
+     */
+    private List<Page> getColumnarPages()
+    {
+        ColumnarPagesFile file = columnarPages;
+        if (file == null) {
+            try {
+                file = openColumnarPages();
+            }
+            catch (IOException | RuntimeException e) {
+                // returning no pages would silently drop the rows of this LogicalPart from the query results
+                throw new PrestoException(MISSING_DATA, "Failed to map columnar pages from " + getPageFileName(), e);
+            }
+        }
+        return file.getPages();
+    }
+
+    private synchronized ColumnarPagesFile openColumnarPages()
+            throws IOException
+    {
+        if (columnarPages == null) {
+            long start = System.currentTimeMillis();
+            Path pagesFile = tableDataRoot.resolve(TABLE_DATA_FOLDER).resolve(getPageFileName());
+            columnarPages = ColumnarPagesFile.open(pagesSerde.getBlockEncodingSerde(), pagesFile);
+            long dur = System.currentTimeMillis() - start;
+            LOG.debug("[Map] %s completed. Time elapsed: %dms", pagesFile.toString(), dur);
+        }
+        return columnarPages;
+    }
+
+    /**
+     * Serialize pages to disk in column-major order, so they can be memory-mapped and loaded per column
+     * @throws IOException
+     */
+    private synchronized void writeColumnarPages()
+            throws IOException
+    {
+        long start = System.currentTimeMillis();
+        Path pagesFile = tableDataRoot.resolve(TABLE_DATA_FOLDER).resolve(getPageFileName());
+        if (!Files.exists(pagesFile.getParent())) {
+            Files.createDirectories(pagesFile.getParent());
+        }
+        ColumnarPagesFile.write(pagesSerde.getBlockEncodingSerde(), pagesFile, pages, types.size());
+        long dur = System.currentTimeMillis() - start;
+        LOG.debug("[Spill] %s completed in columnar format. Time elapsed: %dms", pagesFile.toString(), dur);
+    }
+
     private Comparable min(Comparable c1, Comparable c2)
     {
         if (c1 == null && c2 != null) {
@@ -171,7 +171,12 @@ public class MemoryTableManager
                     // For example, 23 bytes are not yet processed, store in tableNotProcessedBytes corresponding to tableID 1.
                     // This means that 23 * CREATION_SCALE_FACTOR = 23 * 4 = 92 bytes was applied earlier.
                     // Then, 23 * (CREATION_SCALE_FACTOR - 1) = 23 * 3 = 69 bytes need to be released for spilling.
-                    releaseMemory(tableNotProcessedBytes.get(id).get() * (CREATION_SCALE_FACTOR - 1), id, "Finish processing table " + id);
+                    long releasedBytes = tableNotProcessedBytes.get(id).get() * (CREATION_SCALE_FACTOR - 1);
+                    if (tables.get(id).isColumnarEnabled()) {
+                        // columnar tables are served from memory-mapped files, only their metadata stays on heap
+                        releasedBytes += tables.get(id).getByteSize() - tables.get(id).getResidentByteSize();
+                    }
+                    releaseMemory(Math.min(releasedBytes, tableProcessedBytes.get(id).get()), id, "Finish processing table " + id);
                 }
                 catch (Exception e) {
                     LOG.error("Failed to serialize table " + id, e);
@@ -424,7 +429,7 @@ public class MemoryTableManager
         try (SecureObjectInputStream ois = new SecureObjectInputStream(Files.newInputStream(tablePath.resolve(TABLE_METADATA_SUFFIX)), Table.TYPES_WHITELIST)) {
             Table table = (Table) ois.readObject();
             table.restoreTransientObjects(pageSorter, typeManager, pagesSerde, tablePath);
-            applyForMemory(table.getByteSize(), -1, () -> logNumFormat("Loaded table %s with %s bytes.", id, table.getByteSize()), () -> {});
+            applyForMemory(table.getResidentByteSize(), -1, () -> logNumFormat("Loaded table %s with %s bytes.", id, table.getResidentByteSize()), () -> {});
             tables.put(id, table);
         }
         long dur = System.currentTimeMillis() - start;
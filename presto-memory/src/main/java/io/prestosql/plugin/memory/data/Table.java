@@ -59,6 +59,23 @@ public class Table
         return byteSize;
     }
 
+    /**
+     * Heap memory needed to serve this table, which is less than the byte size for tables stored in columnar format.
+     */
+    public long getResidentByteSize()
+    {
+        long size = 0;
+        for (LogicalPart lp : logicalParts) {
+            size += lp.getResidentByteSize();
+        }
+        return size;
+    }
+
+    public boolean isColumnarEnabled()
+    {
+        return columnarEnabled;
+    }
+
     enum TableState
     {
         MODIFIED, COMMITTED, SPILLED
@@ -114,6 +131,7 @@ public class Table
     private final List<LogicalPart> logicalParts; // actual data structure that stores the LPs
     private final Map<String, List<Integer>> logicalPartPartitionedMap;  // data structure to store the mapping between that partition value and LP index
     private final boolean compressionEnabled;
+    private final boolean columnarEnabled;
     private TableState tableState;
     private long byteSize;
     private final long id;
@@ -133,6 +151,7 @@ public class Table
         this.maxLogicalPartBytes = config.getMaxLogicalPartSize().toBytes();
         this.maxPageSizeBytes = Long.valueOf(config.getMaxPageSize().toBytes()).intValue();
         this.compressionEnabled = compressionEnabled;
+        this.columnarEnabled = config.isColumnarStorageEnabled();
         this.columns = requireNonNull(columns, "columns is null");
         this.sortedBy = requireNonNull(sortedBy, "sortedBy is null");
         this.partitionedBy = requireNonNull(partitionedBy, "partitionedBy is null"); //only support one partition column
@@ -170,7 +189,7 @@ public class Table
         // if there is no partition statement, just create one LP with the empty partition key
         if (partitionedBy.isEmpty()) {
             if (logicalParts.isEmpty() || !logicalParts.get(logicalParts.size() - 1).canAdd()) {
-                this.logicalParts.add(new LogicalPart(columns, sortedBy, indexColumns, tableDataRoot, pageSorter, maxLogicalPartBytes, maxPageSizeBytes, typeManager, pagesSerde, logicalParts.size() + 1, compressionEnabled));
+                this.logicalParts.add(new LogicalPart(columns, sortedBy, indexColumns, tableDataRoot, pageSorter, maxLogicalPartBytes, maxPageSizeBytes, typeManager, pagesSerde, logicalParts.size() + 1, compressionEnabled, columnarEnabled));
             }
             logicalParts.get(logicalParts.size() - 1).add(page);
         }
@@ -194,10 +213,10 @@ public class Table
                         //  2. partitioned and sorted_by on different columns -> sort on the specified column.
                         //  The purpose is to prevent generating many small pages.
                         List<SortingColumn> convertedSortingCol = Arrays.asList(new SortingColumn(partitionedBy.get(0), SortOrder.ASC_NULLS_LAST));
-                        lastLogicalPart = new LogicalPart(columns, convertedSortingCol, indexColumns, tableDataRoot, pageSorter, maxLogicalPartBytes, maxPageSizeBytes, typeManager, pagesSerde, logicalPartNum, compressionEnabled);
+                        lastLogicalPart = new LogicalPart(columns, convertedSortingCol, indexColumns, tableDataRoot, pageSorter, maxLogicalPartBytes, maxPageSizeBytes, typeManager, pagesSerde, logicalPartNum, compressionEnabled, columnarEnabled);
                     }
                     else {
-                        lastLogicalPart = new LogicalPart(columns, sortedBy, indexColumns, tableDataRoot, pageSorter, maxLogicalPartBytes, maxPageSizeBytes, typeManager, pagesSerde, logicalPartNum, compressionEnabled);
+                        lastLogicalPart = new LogicalPart(columns, sortedBy, indexColumns, tableDataRoot, pageSorter, maxLogicalPartBytes, maxPageSizeBytes, typeManager, pagesSerde, logicalPartNum, compressionEnabled, columnarEnabled);
                     }
                     logicalParts.add(lastLogicalPart);
                     logicalPartIndices.add(logicalPartNum);
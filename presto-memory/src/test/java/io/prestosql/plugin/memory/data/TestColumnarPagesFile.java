@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.memory.data;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.RowPagesBuilder;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.BlockEncodingSerde;
+import io.prestosql.spi.block.LazyBlock;
+import io.prestosql.spi.type.Type;
+import io.prestosql.testing.TestingPagesSerdeFactory;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.prestosql.operator.PageAssertions.assertPageEquals;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestColumnarPagesFile
+{
+    private static final List<Type> TYPES = ImmutableList.of(BIGINT, VARCHAR);
+
+    @Test
+    public void testRoundTrip()
+            throws IOException
+    {
+        List<Page> pages = RowPagesBuilder.rowPagesBuilder(TYPES)
+                .row(1L, "a")
+                .row(2L, null)
+                .pageBreak()
+                .row(3L, "c")
+                .pageBreak()
+                .row(null, "d")
+                .row(5L, "e")
+                .row(6L, "f")
+                .build();
+
+        BlockEncodingSerde serde = new TestingPagesSerdeFactory().createPagesSerde().getBlockEncodingSerde();
+        Path file = Files.createTempFile("test-columnar-pages", ".dat");
+        try {
+            ColumnarPagesFile.write(serde, file, pages, TYPES.size());
+            ColumnarPagesFile columnarPages = ColumnarPagesFile.open(serde, file);
+
+            assertEquals(columnarPages.getPageCount(), pages.size());
+            List<Page> actual = columnarPages.getPages();
+            assertEquals(actual.size(), pages.size());
+            for (int i = 0; i < pages.size(); i++) {
+                assertPageEquals(TYPES, actual.get(i), pages.get(i));
+            }
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testColumnsLoadedLazily()
+            throws IOException
+    {
+        List<Page> pages = RowPagesBuilder.rowPagesBuilder(TYPES)
+                .row(1L, "a")
+                .row(2L, "b")
+                .build();
+
+        BlockEncodingSerde serde = new TestingPagesSerdeFactory().createPagesSerde().getBlockEncodingSerde();
+        Path file = Files.createTempFile("test-columnar-pages", ".dat");
+        try {
+            ColumnarPagesFile.write(serde, file, pages, TYPES.size());
+            Page page = ColumnarPagesFile.open(serde, file).getPage(0);
+
+            assertEquals(page.getPositionCount(), 2);
+            assertEquals(BIGINT.getLong(page.getBlock(0), 1), 2L);
+            assertTrue(((LazyBlock<?>) page.getBlock(0)).isLoaded());
+            assertFalse(((LazyBlock<?>) page.getBlock(1)).isLoaded());
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
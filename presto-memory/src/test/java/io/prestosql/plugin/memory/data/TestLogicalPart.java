@@ -20,7 +20,9 @@ import io.hetu.core.transport.execution.buffer.PagesSerde;
 import io.prestosql.RowPagesBuilder;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PageSorter;
+import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockEncodingSerde;
 import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.SortedRangeSet;
 import io.prestosql.spi.predicate.ValueSet;
@@ -32,6 +34,8 @@ import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -46,12 +50,15 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
 import static io.prestosql.spi.predicate.Range.equal;
 import static io.prestosql.spi.predicate.Range.greaterThan;
 import static io.prestosql.spi.predicate.Range.greaterThanOrEqual;
 import static io.prestosql.spi.predicate.Range.lessThan;
 import static io.prestosql.spi.predicate.Range.lessThanOrEqual;
 import static io.prestosql.spi.predicate.Range.range;
+import static java.nio.file.Files.createTempDirectory;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -2130,6 +2137,37 @@ public class TestLogicalPart
         assertTrue(areListPagesEqual(result, newPages.subList(1, 3)));
     }
 
+    @Test(expectedExceptions = PrestoException.class, expectedExceptionsMessageRegExp = "Failed to map columnar pages from logicalPartNumber0")
+    public void testGetColumnarPagesMissingFile()
+            throws IOException
+    {
+        Path tableDataRoot = createTempDirectory(getClass().getSimpleName());
+        try {
+            PagesSerde pagesSerde = mock(PagesSerde.class);
+            doReturn(mock(BlockEncodingSerde.class)).when(pagesSerde).getBlockEncodingSerde();
+            LogicalPart logicalPart = new LogicalPart(
+                    Collections.emptyList(),
+                    Collections.emptyList(),
+                    Collections.emptyList(),
+                    tableDataRoot,
+                    mock(PageSorter.class),
+                    0,
+                    0,
+                    mock(TypeManager.class),
+                    pagesSerde,
+                    0,
+                    false,
+                    true);
+            ReflectionTestUtils.setField(logicalPart, "processingState", new AtomicReference<>(LogicalPart.LogicalPartState.COMPLETED));
+
+            // the rows of the LogicalPart must not be silently dropped when its file cannot be mapped
+            logicalPart.getPages();
+        }
+        finally {
+            deleteRecursively(tableDataRoot, ALLOW_INSECURE);
+        }
+    }
+
     static class BlockComparator
             implements Comparator<long[]>
     {
@@ -29,6 +29,7 @@ import io.prestosql.plugin.jdbc.ColumnMapping;
 import io.prestosql.plugin.jdbc.ConnectionFactory;
 import io.prestosql.plugin.jdbc.JdbcColumnHandle;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
+import io.prestosql.plugin.jdbc.JdbcOutputTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTypeHandle;
 import io.prestosql.plugin.jdbc.StatsCollecting;
@@ -303,6 +304,12 @@ public class MySqlClient
         return true;
     }
 
+    @Override
+    public Optional<String> buildMultiRowInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return Optional.of(buildMultiRowValuesInsertSql(handle, rowCount));
+    }
+
     @Override
     public Optional<QueryGenerator<JdbcQueryGeneratorResult, JdbcConverterContext>> getQueryGenerator(DeterminismEvaluator determinismEvaluator, RowExpressionService rowExpressionService, FunctionMetadataManager functionManager, StandardFunctionResolution functionResolution)
     {
@@ -377,7 +384,10 @@ public class MySqlClient
     {
         return ColumnMapping.sliceMapping(
                 jsonType,
-                (resultSet, columnIndex) -> jsonParse(utf8Slice(resultSet.getString(columnIndex))),
+                (resultSet, columnIndex) -> {
+                    String value = resultSet.getString(columnIndex);
+                    return value == null ? null : jsonParse(utf8Slice(value));
+                },
                 varcharWriteFunction(),
                 DISABLE_PUSHDOWN);
     }
@@ -17,9 +17,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
-import com.google.common.collect.PeekingIterator;
 import com.google.common.io.Closer;
 import io.airlift.log.Logger;
 import io.airlift.slice.Slice;
@@ -49,6 +47,7 @@ import io.prestosql.spi.heuristicindex.IndexMetadata;
 import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.type.FixedWidthType;
 import io.prestosql.spi.type.Type;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.joda.time.DateTimeZone;
 import org.openjdk.jol.info.ClassLayout;
 
@@ -56,13 +55,16 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -95,7 +97,6 @@ abstract class AbstractOrcRecordReader<T extends AbstractColumnReader>
     protected final long maxBlockBytes;
     protected long currentPosition;
     protected long currentStripePosition;
-    protected int[] matchingRowsInBatchArray;
     protected int currentBatchSize;
     protected int nextBatchSize;
     protected int maxBatchSize = MAX_BATCH_SIZE;
@@ -129,7 +130,11 @@ abstract class AbstractOrcRecordReader<T extends AbstractColumnReader>
     protected final Optional<OrcWriteValidation.StatisticsValidation> stripeStatisticsValidation;
     protected final Optional<OrcWriteValidation.StatisticsValidation> fileStatisticsValidation;
 
-    Map<StripeInformation, PeekingIterator<Integer>> stripeMatchingRows = new HashMap<>();
+    private final int rowsInRowGroup;
+    private final Map<StripeInformation, Iterator<Integer>> stripeMatchingRows = new HashMap<>();
+    // rows of the current stripe matched by the bitmap indexes, sorted, or null if the stripe has no such rows
+    private int[] currentStripeMatchingRows;
+    private int nextMatchingRowIndex;
 
     public AbstractOrcRecordReader(
             List<OrcColumn> readColumns,
@@ -192,6 +197,7 @@ abstract class AbstractOrcRecordReader<T extends AbstractColumnReader>
 
         // it is possible that old versions of orc use 0 to mean there are no row groups
         checkArgument(rowsInRowGroup > 0, "rowsInRowGroup must be greater than zero");
+        this.rowsInRowGroup = rowsInRowGroup;
         checkArgument(orDomains != null, "orDomain map cannot be null");
 
         // sort stripes by file position
@@ -357,9 +363,8 @@ abstract class AbstractOrcRecordReader<T extends AbstractColumnReader>
                 }
             }
             if (!matchings.isEmpty()) {
-                Iterator<Integer> thisStripeMatchingRows = SequenceUtils.intersect(matchings);
-                PeekingIterator<Integer> peekingIterator = Iterators.peekingIterator(thisStripeMatchingRows);
-                this.stripeMatchingRows.put(stripe, peekingIterator);
+                // the matching rows are materialized when the stripe is read
+                this.stripeMatchingRows.put(stripe, SequenceUtils.intersect(matchings));
             }
             return false;
         }
@@ -642,7 +647,20 @@ abstract class AbstractOrcRecordReader<T extends AbstractColumnReader>
         StripeInformation stripeInformation = stripes.get(currentStripe);
         validateWriteStripe(stripeInformation.getNumberOfRows());
 
-        Stripe stripe = stripeReader.readStripe(stripeInformation, currentStripeSystemMemoryContext);
+        Stripe stripe = null;
+        currentStripeMatchingRows = getMatchingRows(stripeMatchingRows.remove(stripeInformation));
+        nextMatchingRowIndex = 0;
+        if (currentStripeMatchingRows == null) {
+            stripe = stripeReader.readStripe(stripeInformation, currentStripeSystemMemoryContext);
+        }
+        else if (currentStripeMatchingRows.length > 0) {
+            // only read the row groups holding rows matched by the index
+            Set<Integer> rowGroupsToRead = new HashSet<>();
+            for (int row : currentStripeMatchingRows) {
+                rowGroupsToRead.add(row / rowsInRowGroup);
+            }
+            stripe = stripeReader.readStripe(stripeInformation, currentStripeSystemMemoryContext, Optional.of(rowGroupsToRead));
+        }
         if (stripe != null) {
             // Give readers access to dictionary streams
             InputStreamSources dictionaryStreamSources = stripe.getDictionaryStreamSources();
@@ -659,6 +677,59 @@ abstract class AbstractOrcRecordReader<T extends AbstractColumnReader>
         }
     }
 
+    private static int[] getMatchingRows(Iterator<Integer> matchingRows)
+    {
+        if (matchingRows == null) {
+            return null;
+        }
+        IntArrayList rows = new IntArrayList();
+        while (matchingRows.hasNext()) {
+            rows.add(matchingRows.next().intValue());
+        }
+        int[] sortedRows = rows.toIntArray();
+        Arrays.sort(sortedRows);
+        return sortedRows;
+    }
+
+    /**
+     * Returns the positions within the current batch of the rows matched by the bitmap indexes, or null if
+     * the rows of the current stripe are not selected by an index, in which case all positions of the batch are read.
+     */
+    protected int[] getMatchingRowsInBatch(int batchSize)
+    {
+        if (currentStripeMatchingRows == null) {
+            return null;
+        }
+
+        long batchStart = currentPosition - currentStripePosition;
+        // matching rows before the batch belong to row groups that were skipped, e.g. by the statistics of another column
+        int start = lowerBound(currentStripeMatchingRows, nextMatchingRowIndex, batchStart);
+        int end = lowerBound(currentStripeMatchingRows, start, batchStart + batchSize);
+        nextMatchingRowIndex = end;
+
+        int[] positions = new int[end - start];
+        for (int i = start; i < end; i++) {
+            positions[i - start] = toIntExact(currentStripeMatchingRows[i] - batchStart);
+        }
+        return positions;
+    }
+
+    private static int lowerBound(int[] sortedValues, int fromIndex, long value)
+    {
+        int low = fromIndex;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < value) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     private void validateWrite(Predicate<OrcWriteValidation> test, String messageFormat, Object... args)
             throws OrcCorruptionException
     {
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+import static java.util.UUID.randomUUID;
+
+/**
+ * Second tier of the off-heap row data cache: the serialized blocks evicted from memory are written
+ * to one file each in a local directory (ideally on NVMe), and read back through a memory mapping.
+ * Entries are written by the spill executor of the cache, never on the thread evicting them.
+ * <p>
+ * Each cache instance spills to its own subdirectory of the configured directory, which can be shared with
+ * other processes, and only ever deletes the files it wrote.
+ */
+final class MappedFileRowDataCacheTier
+{
+    private static final Logger log = Logger.get(MappedFileRowDataCacheTier.class);
+    private static final String DIRECTORY_PREFIX = "orc-row-data-";
+    private static final String FILE_PREFIX = "entry-";
+
+    private final Path directory;
+    private final Cache<OrcRowDataCacheKey, SpilledEntry> entries;
+    private final Runnable evictionListener;
+    private final AtomicLong nextFileId = new AtomicLong();
+    private final AtomicLong spilledBytes = new AtomicLong();
+
+    MappedFileRowDataCacheTier(Path parentDirectory, long maximumWeight, Duration ttl, Runnable evictionListener)
+    {
+        requireNonNull(parentDirectory, "parentDirectory is null");
+        this.directory = createDirectory(parentDirectory);
+        this.evictionListener = requireNonNull(evictionListener, "evictionListener is null");
+        this.entries = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .<OrcRowDataCacheKey, SpilledEntry>weigher((key, entry) -> entry.getLength())
+                .expireAfterAccess(ttl)
+                .<OrcRowDataCacheKey, SpilledEntry>removalListener(this::onRemoval)
+                .build();
+    }
+
+    private static Path createDirectory(Path parentDirectory)
+    {
+        Path directory = parentDirectory.resolve(DIRECTORY_PREFIX + randomUUID());
+        try {
+            Files.createDirectories(directory);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to create row data cache spill directory " + directory, e);
+        }
+        // removed on exit if all the entries have been removed by then
+        directory.toFile().deleteOnExit();
+        return directory;
+    }
+
+    /**
+     * @return whether the data has been written, the entry is dropped if the file could not be written
+     */
+    boolean put(OrcRowDataCacheKey key, Slice data)
+    {
+        Path file = directory.resolve(FILE_PREFIX + nextFileId.incrementAndGet());
+        try (FileChannel channel = FileChannel.open(file, CREATE_NEW, WRITE)) {
+            ByteBuffer buffer = data.toByteBuffer();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to spill row data cache entry to %s", file);
+            deleteQuietly(file);
+            return false;
+        }
+        spilledBytes.addAndGet(data.length());
+        entries.put(key, new SpilledEntry(file, data.length()));
+        return true;
+    }
+
+    /**
+     * @return serialized block mapped from the spill file, null if the key is not present or the file cannot be read
+     */
+    Slice getIfPresent(Object key)
+    {
+        SpilledEntry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(entry.getFile(), READ)) {
+            // the mapping stays valid after the channel is closed, or the file deleted, and is released once the slice is garbage collected
+            return Slices.wrappedBuffer(channel.map(READ_ONLY, 0, entry.getLength()));
+        }
+        catch (IOException e) {
+            // the entry can be removed concurrently, treat it as a miss
+            return null;
+        }
+    }
+
+    void invalidate(Object key)
+    {
+        entries.invalidate(key);
+    }
+
+    void invalidateAll()
+    {
+        entries.invalidateAll();
+    }
+
+    void cleanUp()
+    {
+        entries.cleanUp();
+    }
+
+    long size()
+    {
+        return entries.size();
+    }
+
+    long getSpilledBytes()
+    {
+        return spilledBytes.get();
+    }
+
+    private void onRemoval(RemovalNotification<OrcRowDataCacheKey, SpilledEntry> notification)
+    {
+        SpilledEntry entry = notification.getValue();
+        deleteQuietly(entry.getFile());
+        spilledBytes.addAndGet(-entry.getLength());
+        if (notification.getCause() == RemovalCause.SIZE) {
+            evictionListener.run();
+        }
+    }
+
+    private static void deleteQuietly(Path file)
+    {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to delete row data cache spill file %s", file);
+        }
+    }
+
+    private static class SpilledEntry
+    {
+        private final Path file;
+        private final int length;
+
+        SpilledEntry(Path file, int length)
+        {
+            this.file = file;
+            this.length = length;
+        }
+
+        Path getFile()
+        {
+            return file;
+        }
+
+        int getLength()
+        {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc;
+
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import io.prestosql.spi.block.Block;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Row data cache keeping the cached blocks serialized in direct memory instead of on the Java heap,
+ * so that a large cache does not put pressure on the garbage collector.
+ * <p>
+ * Entries are weighed by their serialized size in bytes. Entries larger than a fraction of the cache
+ * (which would evict a large part of it), and blocks that cannot be serialized without the type manager
+ * (map blocks), are not admitted. When a spill directory is configured, the entries evicted for size are
+ * demoted to memory mapped files by the spill executor, and promoted back to memory on the next hit.
+ * <p>
+ * Blocks are deserialized straight from the direct (or mapped) memory of the entry, without copying the
+ * entry to the heap first. Variable width blocks keep referencing that memory, so, as for any direct buffer,
+ * the memory of a removed entry is released once it is garbage collected, that is once no block read from
+ * it is reachable anymore. The size reported by the cache is bounded by the maximum weight, plus the entries
+ * waiting to be spilled.
+ */
+public class OffHeapRowDataCache
+        extends AbstractCache<OrcRowDataCacheKey, Block>
+{
+    // the maximum weight is split between the segments of the cache, larger entries would be evicted right away
+    private static final int MAXIMUM_ENTRY_WEIGHT_FRACTION = 16;
+    // entries evicted while this many bytes are already waiting to be spilled are dropped instead
+    private static final int MAXIMUM_PENDING_SPILL_WEIGHT_FRACTION = 4;
+
+    private final OrcBlockEncodingSerde serde = new OrcBlockEncodingSerde();
+    private final Cache<OrcRowDataCacheKey, OffHeapEntry> cache;
+    private final Optional<MappedFileRowDataCacheTier> spillTier;
+    private final Executor spillExecutor;
+    private final ConcurrentMap<OrcRowDataCacheKey, OffHeapEntry> pendingSpills = new ConcurrentHashMap<>();
+    private final long maximumEntryWeight;
+    private final long maximumPendingSpillWeight;
+    private final boolean recordStats;
+    private final StatsCounter statsCounter = new SimpleStatsCounter();
+    private final AtomicLong offHeapBytes = new AtomicLong();
+    private final AtomicLong pendingSpillBytes = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * @param spillExecutor executor writing the evicted entries to the spill directory, off the thread that triggered the eviction
+     */
+    public OffHeapRowDataCache(long maximumWeight, Duration ttl, Optional<Path> spillPath, long spillMaximumWeight, Executor spillExecutor, boolean recordStats)
+    {
+        requireNonNull(ttl, "ttl is null");
+        requireNonNull(spillPath, "spillPath is null");
+        this.spillExecutor = requireNonNull(spillExecutor, "spillExecutor is null");
+        this.maximumEntryWeight = Math.min(maximumWeight / MAXIMUM_ENTRY_WEIGHT_FRACTION, Integer.MAX_VALUE);
+        this.maximumPendingSpillWeight = maximumWeight / MAXIMUM_PENDING_SPILL_WEIGHT_FRACTION;
+        this.recordStats = recordStats;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .<OrcRowDataCacheKey, OffHeapEntry>weigher((key, entry) -> entry.getLength())
+                .expireAfterAccess(ttl)
+                .<OrcRowDataCacheKey, OffHeapEntry>removalListener(this::onRemoval)
+                .build();
+        this.spillTier = spillPath.map(path -> new MappedFileRowDataCacheTier(path, spillMaximumWeight, ttl, this::recordEviction));
+    }
+
+    @Override
+    public Block getIfPresent(Object key)
+    {
+        Block block = getBlock(key);
+        if (recordStats) {
+            if (block == null) {
+                statsCounter.recordMisses(1);
+            }
+            else {
+                statsCounter.recordHits(1);
+            }
+        }
+        return block;
+    }
+
+    @Override
+    public Block get(OrcRowDataCacheKey key, Callable<? extends Block> loader)
+            throws ExecutionException
+    {
+        Block block = getIfPresent(key);
+        if (block != null) {
+            return block;
+        }
+
+        long start = System.nanoTime();
+        try {
+            block = loader.call();
+        }
+        catch (RuntimeException e) {
+            recordLoadException(start);
+            throw new UncheckedExecutionException(e);
+        }
+        catch (Exception e) {
+            recordLoadException(start);
+            throw new ExecutionException(e);
+        }
+        catch (Error e) {
+            recordLoadException(start);
+            throw new ExecutionError(e);
+        }
+        if (block == null) {
+            recordLoadException(start);
+            throw new InvalidCacheLoadException("CacheLoader returned null for key " + key + ".");
+        }
+        if (recordStats) {
+            statsCounter.recordLoadSuccess(System.nanoTime() - start);
+        }
+        put(key, block);
+        return block;
+    }
+
+    @Override
+    public void put(OrcRowDataCacheKey key, Block block)
+    {
+        requireNonNull(key, "key is null");
+        requireNonNull(block, "block is null");
+        Optional<Slice> serialized = serialize(block);
+        if (serialized.isPresent()) {
+            putSerialized(key, copyOffHeap(serialized.get()));
+        }
+        else {
+            rejectedCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long size()
+    {
+        return cache.size() + pendingSpills.size() + spillTier.map(MappedFileRowDataCacheTier::size).orElse(0L);
+    }
+
+    @Override
+    public void invalidate(Object key)
+    {
+        cache.invalidate(key);
+        pendingSpills.remove(key);
+        spillTier.ifPresent(tier -> tier.invalidate(key));
+    }
+
+    @Override
+    public void invalidateAll()
+    {
+        cache.invalidateAll();
+        pendingSpills.clear();
+        spillTier.ifPresent(MappedFileRowDataCacheTier::invalidateAll);
+    }
+
+    @Override
+    public void cleanUp()
+    {
+        cache.cleanUp();
+        spillTier.ifPresent(MappedFileRowDataCacheTier::cleanUp);
+    }
+
+    @Override
+    public CacheStats stats()
+    {
+        if (!recordStats) {
+            return new CacheStats(0, 0, 0, 0, 0, 0);
+        }
+        return statsCounter.snapshot();
+    }
+
+    public long getOffHeapSizeInBytes()
+    {
+        return offHeapBytes.get();
+    }
+
+    public long getSpilledSizeInBytes()
+    {
+        return spillTier.map(MappedFileRowDataCacheTier::getSpilledBytes).orElse(0L);
+    }
+
+    /**
+     * @return number of blocks not admitted in the cache because they are too large or cannot be serialized
+     */
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+    private Block getBlock(Object key)
+    {
+        Block block = readBlock(cache.getIfPresent(key));
+        if (block != null) {
+            return block;
+        }
+        block = readBlock(pendingSpills.get(key));
+        if (block != null || !spillTier.isPresent()) {
+            return block;
+        }
+
+        Slice mapped = spillTier.get().getIfPresent(key);
+        if (mapped == null) {
+            return null;
+        }
+        // promote the entry back to memory, the spill file is deleted once the entry is invalidated
+        spillTier.get().invalidate(key);
+        OffHeapEntry entry = copyOffHeap(mapped);
+        putSerialized((OrcRowDataCacheKey) key, entry);
+        return readBlock(entry);
+    }
+
+    private Block readBlock(OffHeapEntry entry)
+    {
+        if (entry == null) {
+            return null;
+        }
+        return serde.readBlock(entry.getSlice().getInput());
+    }
+
+    private Optional<Slice> serialize(Block block)
+    {
+        if (block.getSizeInBytes() > maximumEntryWeight) {
+            return Optional.empty();
+        }
+        DynamicSliceOutput output = new DynamicSliceOutput((int) block.getSizeInBytes() + Integer.BYTES);
+        try {
+            serde.writeBlock(output, block);
+        }
+        catch (IllegalArgumentException e) {
+            // the block, or one of its nested blocks, has an encoding the cache cannot read back
+            return Optional.empty();
+        }
+        if (output.size() > maximumEntryWeight) {
+            return Optional.empty();
+        }
+        return Optional.of(output.slice());
+    }
+
+    private static OffHeapEntry copyOffHeap(Slice slice)
+    {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(slice.length());
+        Slice offHeap = Slices.wrappedBuffer(buffer);
+        offHeap.setBytes(0, slice);
+        return new OffHeapEntry(offHeap);
+    }
+
+    private void putSerialized(OrcRowDataCacheKey key, OffHeapEntry entry)
+    {
+        offHeapBytes.addAndGet(entry.getLength());
+        cache.put(key, entry);
+    }
+
+    private void onRemoval(RemovalNotification<OrcRowDataCacheKey, OffHeapEntry> notification)
+    {
+        OffHeapEntry entry = notification.getValue();
+        if (notification.getCause() != RemovalCause.SIZE) {
+            release(entry);
+            return;
+        }
+        if (!spillTier.isPresent()) {
+            release(entry);
+            recordEviction();
+            return;
+        }
+        if (pendingSpillBytes.addAndGet(entry.getLength()) > maximumPendingSpillWeight) {
+            // the spill directory does not keep up with the evictions
+            pendingSpillBytes.addAndGet(-entry.getLength());
+            release(entry);
+            recordEviction();
+            return;
+        }
+
+        // demote the cold entry to the spill tier in the background, it stays readable from memory until it is written
+        OrcRowDataCacheKey key = notification.getKey();
+        pendingSpills.put(key, entry);
+        spillExecutor.execute(() -> {
+            try {
+                if (pendingSpills.get(key) != entry) {
+                    // invalidated while waiting to be spilled
+                    return;
+                }
+                if (!spillTier.get().put(key, entry.getSlice())) {
+                    pendingSpills.remove(key, entry);
+                    recordEviction();
+                }
+                else if (!pendingSpills.remove(key, entry)) {
+                    spillTier.get().invalidate(key);
+                }
+            }
+            finally {
+                pendingSpillBytes.addAndGet(-entry.getLength());
+                release(entry);
+            }
+        });
+    }
+
+    private void release(OffHeapEntry entry)
+    {
+        offHeapBytes.addAndGet(-entry.getLength());
+    }
+
+    private void recordEviction()
+    {
+        if (recordStats) {
+            statsCounter.recordEviction();
+        }
+    }
+
+    private void recordLoadException(long start)
+    {
+        if (recordStats) {
+            statsCounter.recordLoadException(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Serialized block in direct memory, released when garbage collected.
+     */
+    private static final class OffHeapEntry
+    {
+        private final Slice slice;
+
+        private OffHeapEntry(Slice slice)
+        {
+            this.slice = slice;
+        }
+
+        private int getLength()
+        {
+            return slice.length();
+        }
+
+        private Slice getSlice()
+        {
+            return slice;
+        }
+    }
+}
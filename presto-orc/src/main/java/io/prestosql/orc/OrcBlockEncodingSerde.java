@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc;
+
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+import io.prestosql.spi.block.ArrayBlockEncoding;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockEncoding;
+import io.prestosql.spi.block.BlockEncodingSerde;
+import io.prestosql.spi.block.ByteArrayBlockEncoding;
+import io.prestosql.spi.block.DictionaryBlockEncoding;
+import io.prestosql.spi.block.Int128ArrayBlockEncoding;
+import io.prestosql.spi.block.IntArrayBlockEncoding;
+import io.prestosql.spi.block.LazyBlockEncoding;
+import io.prestosql.spi.block.LongArrayBlockEncoding;
+import io.prestosql.spi.block.RowBlockEncoding;
+import io.prestosql.spi.block.RunLengthBlockEncoding;
+import io.prestosql.spi.block.ShortArrayBlockEncoding;
+import io.prestosql.spi.block.SingleRowBlockEncoding;
+import io.prestosql.spi.block.VariableWidthBlockEncoding;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Block serde for the row data cached off-heap. The ORC readers only produce the built-in block types,
+ * map blocks excepted, since they need the type manager to be decoded; those are not admitted by the cache.
+ */
+final class OrcBlockEncodingSerde
+        implements BlockEncodingSerde
+{
+    private final Map<String, BlockEncoding> blockEncodings = new ConcurrentHashMap<>();
+
+    OrcBlockEncodingSerde()
+    {
+        addBlockEncoding(new VariableWidthBlockEncoding());
+        addBlockEncoding(new ByteArrayBlockEncoding());
+        addBlockEncoding(new ShortArrayBlockEncoding());
+        addBlockEncoding(new IntArrayBlockEncoding());
+        addBlockEncoding(new LongArrayBlockEncoding());
+        addBlockEncoding(new Int128ArrayBlockEncoding());
+        addBlockEncoding(new DictionaryBlockEncoding());
+        addBlockEncoding(new ArrayBlockEncoding());
+        addBlockEncoding(new RowBlockEncoding());
+        addBlockEncoding(new SingleRowBlockEncoding());
+        addBlockEncoding(new RunLengthBlockEncoding());
+        addBlockEncoding(new LazyBlockEncoding());
+    }
+
+    private void addBlockEncoding(BlockEncoding blockEncoding)
+    {
+        blockEncodings.put(blockEncoding.getName(), blockEncoding);
+    }
+
+    @Override
+    public Block readBlock(SliceInput input)
+    {
+        String encodingName = readLengthPrefixedString(input);
+        return getBlockEncoding(encodingName).readBlock(this, input);
+    }
+
+    @Override
+    public void writeBlock(SliceOutput output, Block block)
+    {
+        Block blockToWrite = block;
+        while (true) {
+            String encodingName = blockToWrite.getEncodingName();
+            BlockEncoding blockEncoding = getBlockEncoding(encodingName);
+
+            // see if a replacement block should be written instead
+            Optional<Block> replacementBlock = blockEncoding.replacementBlockForWrite(blockToWrite);
+            if (replacementBlock.isPresent()) {
+                blockToWrite = replacementBlock.get();
+                continue;
+            }
+
+            writeLengthPrefixedString(output, encodingName);
+            blockEncoding.writeBlock(this, output, blockToWrite);
+            break;
+        }
+    }
+
+    private BlockEncoding getBlockEncoding(String encodingName)
+    {
+        BlockEncoding blockEncoding = blockEncodings.get(encodingName);
+        if (blockEncoding == null) {
+            throw new IllegalArgumentException("Unsupported block encoding for row data cache: " + encodingName);
+        }
+        return blockEncoding;
+    }
+
+    private static String readLengthPrefixedString(SliceInput input)
+    {
+        byte[] bytes = new byte[input.readInt()];
+        input.readBytes(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeLengthPrefixedString(SliceOutput output, String value)
+    {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.writeBytes(bytes);
+    }
+}
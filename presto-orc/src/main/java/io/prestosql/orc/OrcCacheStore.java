@@ -17,14 +17,21 @@ package io.prestosql.orc;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.airlift.units.DataSize;
 import io.prestosql.orc.metadata.RowGroupIndex;
 import io.prestosql.orc.metadata.StripeFooter;
 import io.prestosql.orc.metadata.statistics.HashableBloomFilter;
 import io.prestosql.spi.block.Block;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
 public class OrcCacheStore
 {
@@ -101,13 +108,39 @@ public class OrcCacheStore
                 long bloomFiltersMaximumSize, Duration bloomFiltersTtl,
                 DataSize rowDataMaximumWeight, Duration rowDataTtl,
                 boolean isOrcCacheStatsMetricCollectionEnabled)
+        {
+            return newCacheStore(fileTailMaximumSize, fileTailTtl,
+                    stripeFooterMaximumSize, stripeFooterTtl,
+                    rowIndexMaximumSize, rowIndexTtl,
+                    bloomFiltersMaximumSize, bloomFiltersTtl,
+                    rowDataMaximumWeight, rowDataTtl,
+                    false, Optional.empty(), new DataSize(0, DataSize.Unit.BYTE),
+                    isOrcCacheStatsMetricCollectionEnabled);
+        }
+
+        public OrcCacheStore newCacheStore(long fileTailMaximumSize, Duration fileTailTtl,
+                long stripeFooterMaximumSize, Duration stripeFooterTtl,
+                long rowIndexMaximumSize, Duration rowIndexTtl,
+                long bloomFiltersMaximumSize, Duration bloomFiltersTtl,
+                DataSize rowDataMaximumWeight, Duration rowDataTtl,
+                boolean rowDataOffHeapEnabled, Optional<Path> rowDataSpillPath, DataSize rowDataSpillMaximumWeight,
+                boolean isOrcCacheStatsMetricCollectionEnabled)
         {
             OrcCacheStore store = new OrcCacheStore();
             store.fileTailCache = buildOrcFileTailCache(fileTailMaximumSize, fileTailTtl, isOrcCacheStatsMetricCollectionEnabled);
             store.stripeFooterCache = buildOrcStripeFooterCache(stripeFooterMaximumSize, stripeFooterTtl, isOrcCacheStatsMetricCollectionEnabled);
             store.rowIndexCache = buildOrcRowGroupIndexCache(rowIndexMaximumSize, rowIndexTtl, isOrcCacheStatsMetricCollectionEnabled);
             store.bloomFiltersCache = buildOrcBloomFilterCache(bloomFiltersMaximumSize, bloomFiltersTtl, isOrcCacheStatsMetricCollectionEnabled);
-            store.rowDataCache = buildOrcRowDataCache(rowDataMaximumWeight, rowDataTtl, isOrcCacheStatsMetricCollectionEnabled);
+            if (rowDataOffHeapEnabled) {
+                Executor spillExecutor = rowDataSpillPath.isPresent()
+                        ? newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("orc-row-data-cache-spill-%s").build())
+                        : directExecutor();
+                store.rowDataCache = new OffHeapRowDataCache(rowDataMaximumWeight.toBytes(), rowDataTtl,
+                        rowDataSpillPath, rowDataSpillMaximumWeight.toBytes(), spillExecutor, isOrcCacheStatsMetricCollectionEnabled);
+            }
+            else {
+                store.rowDataCache = buildOrcRowDataCache(rowDataMaximumWeight, rowDataTtl, isOrcCacheStatsMetricCollectionEnabled);
+            }
             return store;
         }
 
@@ -13,7 +13,6 @@
  */
 package io.prestosql.orc;
 
-import com.google.common.collect.PeekingIterator;
 import io.airlift.log.Logger;
 import io.airlift.slice.Slice;
 import io.airlift.units.DataSize;
@@ -49,11 +48,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.IntStream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.prestosql.orc.reader.SelectiveColumnReaders.createColumnReader;
-import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
 public class OrcSelectiveRecordReader
@@ -234,7 +231,6 @@ public class OrcSelectiveRecordReader
             return new Page(0);
         }
 
-        matchingRowsInBatchArray = null;
         int[] positionsToRead = initializePositions(batchSize);
         int positionCount = positionsToRead.length;
 
@@ -350,66 +346,16 @@ public class OrcSelectiveRecordReader
 
     private int[] initializePositions(int batchSize)
     {
-        // currentPosition to currentBatchSize
-        StripeInformation stripe = stripes.get(currentStripe);
-
-        if (matchingRowsInBatchArray == null && stripeMatchingRows.containsKey(stripe)) {
-            long currentPositionInStripe = currentPosition - currentStripePosition;
-
-            PeekingIterator<Integer> matchingRows = stripeMatchingRows.get(stripe);
-            List<Integer> matchingRowsInBlock = new ArrayList<>();
-
-            while (matchingRows.hasNext()) {
-                Integer row = matchingRows.peek();
-                if (row < currentPositionInStripe) {
-                    // this can happen if a row group containing matching rows was filtered out
-                    // for example, if matchingRows is for column1 but query is for column1 and column2.
-                    // since row groups have minmax values, a row group could have been filtered out because of
-                    // column2 predicate. this means that the current matchingRow could be 10 (within the first
-                    // row group), but the first row group might've been filtered out due to column2 predicate,
-                    // so currentPositionInStripe is already in second row group
-                    //
-                    // stripe 1
-                    //    -> row group 1 (rows 1 to 10000) [filtered out due to column2 predicate]
-                    //       1
-                    //       2
-                    //       ...
-                    //       10     <- matchingRows cursor is here, but this row group has been filtered out
-                    //       ...
-                    //       10000
-                    //    -> row group 2 (rows 10001 to 20000)
-                    //       10001
-                    //       10002   <- currentPositionInStripe is here
-                    //       ...
-                    //       20000
-                    matchingRows.next();
-                }
-                else if (row < currentPositionInStripe + batchSize) {
-                    // matchingRows cursor is within current batch
-                    matchingRowsInBlock.add(toIntExact(Long.valueOf(row) - currentPositionInStripe));
-                    matchingRows.next();
-                }
-                else {
-                    // matchingRows cursor is ahead of current batch, next batch will use it
-                    break;
-                }
-            }
-
-            matchingRowsInBatchArray = new int[matchingRowsInBlock.size()];
-            IntStream.range(0, matchingRowsInBlock.size()).forEach(
-                    i -> matchingRowsInBatchArray[i] = matchingRowsInBlock.get(i));
+        int[] matchingPositions = getMatchingRowsInBatch(batchSize);
+        if (matchingPositions != null) {
+            return matchingPositions;
         }
 
-        if (matchingRowsInBatchArray != null) {
-            return matchingRowsInBatchArray;
-        }
-        else {
-            int[] positions = new int[batchSize];
-            for (int i = 0; i < batchSize; i++) {
-                positions[i] = i;
-            }
-            return positions;
+        int[] positions = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            positions[i] = i;
         }
+        return positions;
     }
 
     @Override
@@ -105,4 +105,22 @@ public class RowDataCacheStatsLister
     {
         return cache.size();
     }
+
+    @Managed
+    public long getOffHeapSizeInBytes()
+    {
+        return cache instanceof OffHeapRowDataCache ? ((OffHeapRowDataCache) cache).getOffHeapSizeInBytes() : 0;
+    }
+
+    @Managed
+    public long getSpilledSizeInBytes()
+    {
+        return cache instanceof OffHeapRowDataCache ? ((OffHeapRowDataCache) cache).getSpilledSizeInBytes() : 0;
+    }
+
+    @Managed
+    public long getRejectedCount()
+    {
+        return cache instanceof OffHeapRowDataCache ? ((OffHeapRowDataCache) cache).getRejectedCount() : 0;
+    }
 }
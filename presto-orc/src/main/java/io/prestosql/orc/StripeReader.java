@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.airlift.log.Logger;
 import io.airlift.slice.Slice;
@@ -125,6 +126,16 @@ public class StripeReader
 
     public Stripe readStripe(StripeInformation stripe, AggregatedMemoryContext systemMemoryUsage)
             throws IOException
+    {
+        return readStripe(stripe, systemMemoryUsage, Optional.empty());
+    }
+
+    /**
+     * Reads the stripe, keeping only the row groups matching the predicate and, if present, included in
+     * {@code rowGroupsToRead}. Returns null if no row group of the stripe is selected.
+     */
+    public Stripe readStripe(StripeInformation stripe, AggregatedMemoryContext systemMemoryUsage, Optional<Set<Integer>> rowGroupsToRead)
+            throws IOException
     {
         // read the stripe footer
         OrcStripeFooterCacheKey cacheKey = new OrcStripeFooterCacheKey();
@@ -180,6 +191,9 @@ public class StripeReader
 
             // select the row groups matching the tuple domain
             Set<Integer> selectedRowGroups = selectRowGroups(stripe, columnIndexes);
+            if (rowGroupsToRead.isPresent()) {
+                selectedRowGroups = Sets.intersection(selectedRowGroups, rowGroupsToRead.get());
+            }
 
             // if all row groups are skipped, return null
             if (selectedRowGroups.isEmpty()) {
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc;
+
+import io.prestosql.orc.metadata.OrcColumnId;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.nio.file.Files.createTempDirectory;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestOffHeapRowDataCache
+{
+    private static final int ENTRIES = 40;
+
+    @Test
+    public void testRoundTrip()
+            throws Exception
+    {
+        OffHeapRowDataCache cache = new OffHeapRowDataCache(1024 * 1024, Duration.ofMinutes(10), Optional.empty(), 0, directExecutor(), true);
+
+        BlockBuilder varcharBuilder = VARCHAR.createBlockBuilder(null, 3);
+        VARCHAR.writeSlice(varcharBuilder, utf8Slice("a"));
+        varcharBuilder.appendNull();
+        VARCHAR.writeSlice(varcharBuilder, utf8Slice("hello"));
+        Block varcharBlock = varcharBuilder.build();
+
+        cache.put(createKey(0), createLongBlock(10, 0));
+        Block loaded = cache.get(createKey(1), () -> varcharBlock);
+        assertEquals(loaded, varcharBlock);
+
+        assertLongBlock(cache.getIfPresent(createKey(0)), 10, 0);
+        Block cached = cache.getIfPresent(createKey(1));
+        assertEquals(cached.getPositionCount(), 3);
+        assertEquals(VARCHAR.getSlice(cached, 0), utf8Slice("a"));
+        assertTrue(cached.isNull(1));
+        assertEquals(VARCHAR.getSlice(cached, 2), utf8Slice("hello"));
+        assertNull(cache.getIfPresent(createKey(2)));
+
+        assertEquals(cache.size(), 2);
+        assertTrue(cache.getOffHeapSizeInBytes() > 0);
+        assertEquals(cache.stats().hitCount(), 2);
+        assertEquals(cache.stats().missCount(), 2);
+        assertEquals(cache.stats().loadSuccessCount(), 1);
+
+        cache.invalidateAll();
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getOffHeapSizeInBytes(), 0);
+    }
+
+    @Test
+    public void testRejectLargeEntries()
+    {
+        OffHeapRowDataCache cache = new OffHeapRowDataCache(16 * 1024, Duration.ofMinutes(10), Optional.empty(), 0, directExecutor(), true);
+        cache.put(createKey(0), createLongBlock(1000, 0));
+
+        assertNull(cache.getIfPresent(createKey(0)));
+        assertEquals(cache.getRejectedCount(), 1);
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testEviction()
+    {
+        OffHeapRowDataCache cache = new OffHeapRowDataCache(16 * 1024, Duration.ofMinutes(10), Optional.empty(), 0, directExecutor(), true);
+        for (int i = 0; i < ENTRIES; i++) {
+            cache.put(createKey(i), createLongBlock(100, i));
+        }
+
+        assertTrue(cache.size() < ENTRIES);
+        assertTrue(cache.stats().evictionCount() > 0);
+        assertTrue(cache.getOffHeapSizeInBytes() <= 16 * 1024);
+    }
+
+    @Test
+    public void testSpill()
+            throws IOException
+    {
+        Path spillPath = createTempDirectory(getClass().getName());
+        try {
+            // the spill directory can be shared, files the cache did not write are left alone
+            Path otherFile = Files.createFile(spillPath.resolve("orc-row-data-other"));
+            OffHeapRowDataCache cache = new OffHeapRowDataCache(16 * 1024, Duration.ofMinutes(10), Optional.of(spillPath), 1024 * 1024, directExecutor(), true);
+            for (int i = 0; i < ENTRIES; i++) {
+                cache.put(createKey(i), createLongBlock(100, i));
+            }
+            assertEquals(cache.size(), ENTRIES);
+            assertEquals(cache.stats().evictionCount(), 0);
+            assertTrue(cache.getSpilledSizeInBytes() > 0);
+            assertTrue(countSpilledFiles(spillPath, otherFile) > 0);
+
+            // spilled entries are promoted back to memory when read
+            for (int i = 0; i < ENTRIES; i++) {
+                assertLongBlock(cache.getIfPresent(createKey(i)), 100, i);
+            }
+            assertEquals(cache.stats().hitCount(), ENTRIES);
+
+            cache.invalidateAll();
+            assertEquals(cache.getSpilledSizeInBytes(), 0);
+            assertEquals(countSpilledFiles(spillPath, otherFile), 0);
+            assertTrue(Files.exists(otherFile));
+        }
+        finally {
+            deleteRecursively(spillPath, ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testBackgroundSpill()
+            throws IOException
+    {
+        Path spillPath = createTempDirectory(getClass().getName());
+        try {
+            List<Runnable> spills = new ArrayList<>();
+            OffHeapRowDataCache cache = new OffHeapRowDataCache(16 * 1024, Duration.ofMinutes(10), Optional.of(spillPath), 1024 * 1024, spills::add, true);
+            for (int i = 0; i < ENTRIES; i++) {
+                cache.put(createKey(i), createLongBlock(100, i));
+            }
+
+            // the evicted entries are not written until the spill executor runs, and are still served from memory meanwhile
+            assertFalse(spills.isEmpty());
+            assertEquals(cache.getSpilledSizeInBytes(), 0);
+            long size = cache.size();
+            assertEquals(size, ENTRIES - cache.stats().evictionCount());
+            int hits = 0;
+            for (int i = 0; i < ENTRIES; i++) {
+                Block block = cache.getIfPresent(createKey(i));
+                if (block != null) {
+                    assertLongBlock(block, 100, i);
+                    hits++;
+                }
+            }
+            assertEquals(hits, size);
+
+            spills.forEach(Runnable::run);
+            assertEquals(cache.size(), size);
+            assertTrue(cache.getSpilledSizeInBytes() > 0);
+            assertTrue(cache.getOffHeapSizeInBytes() <= 16 * 1024);
+            for (int i = 0; i < ENTRIES; i++) {
+                Block block = cache.getIfPresent(createKey(i));
+                if (block != null) {
+                    assertLongBlock(block, 100, i);
+                }
+            }
+        }
+        finally {
+            deleteRecursively(spillPath, ALLOW_INSECURE);
+        }
+    }
+
+    private static long countSpilledFiles(Path spillPath, Path otherFile)
+            throws IOException
+    {
+        try (Stream<Path> files = Files.walk(spillPath)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.equals(otherFile))
+                    .count();
+        }
+    }
+
+    private static OrcRowDataCacheKey createKey(int rowGroup)
+    {
+        OrcRowDataCacheKey key = new OrcRowDataCacheKey();
+        key.setOrcDataSourceId(new OrcDataSourceIdWithTimeStamp(new OrcDataSourceId("test"), 0));
+        key.setStripeOffset(0);
+        key.setRowGroupOffset(rowGroup);
+        key.setColumnId(new OrcColumnId(1));
+        return key;
+    }
+
+    private static Block createLongBlock(int positionCount, long start)
+    {
+        BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, positionCount);
+        for (int i = 0; i < positionCount; i++) {
+            BIGINT.writeLong(blockBuilder, start + i);
+        }
+        return blockBuilder.build();
+    }
+
+    private static void assertLongBlock(Block block, int positionCount, long start)
+    {
+        assertNotNull(block);
+        assertEquals(block.getPositionCount(), positionCount);
+        for (int i = 0; i < positionCount; i++) {
+            assertEquals(BIGINT.getLong(block, i), start + i);
+        }
+    }
+}
@@ -13,7 +13,9 @@
  */
 package io.prestosql.orc;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import io.airlift.slice.Slice;
 import io.airlift.units.DataSize;
@@ -23,6 +25,11 @@ import io.prestosql.orc.metadata.OrcColumnId;
 import io.prestosql.orc.metadata.statistics.IntegerStatistics;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.block.Block;
+import io.prestosql.spi.connector.CreateIndexMetadata;
+import io.prestosql.spi.heuristicindex.Index;
+import io.prestosql.spi.heuristicindex.IndexMetadata;
+import io.prestosql.spi.heuristicindex.Pair;
+import io.prestosql.spi.predicate.Domain;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.ql.exec.FileSinkOperator;
@@ -40,15 +47,23 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.prestosql.orc.OrcReader.BATCH_SIZE_GROWTH_FACTOR;
 import static io.prestosql.orc.OrcReader.INITIAL_BATCH_SIZE;
 import static io.prestosql.orc.OrcReader.MAX_BATCH_SIZE;
 import static io.prestosql.orc.OrcTester.Format.ORC_12;
+import static io.prestosql.orc.OrcTester.HIVE_STORAGE_TIME_ZONE;
 import static io.prestosql.orc.OrcTester.MAX_BLOCK_SIZE;
 import static io.prestosql.orc.OrcTester.createCustomOrcRecordReader;
 import static io.prestosql.orc.OrcTester.createOrcRecordWriter;
@@ -187,6 +202,57 @@ public class TestOrcReaderPositions
         }
     }
 
+    @Test
+    public void testIndexRowSkipping()
+            throws Exception
+    {
+        try (TempFile tempFile = new TempFile()) {
+            // create single stripe file with multiple row groups
+            int rowCount = 142_000;
+            createSequentialFile(tempFile.getFile(), rowCount);
+
+            OrcDataSource orcDataSource = new FileOrcDataSource(tempFile.getFile(), new DataSize(1, MEGABYTE), new DataSize(1, MEGABYTE), new DataSize(1, MEGABYTE), true, tempFile.getFile().lastModified());
+            OrcReader orcReader = new OrcReader(orcDataSource, new DataSize(1, MEGABYTE), new DataSize(1, MEGABYTE), MAX_BLOCK_SIZE);
+            assertEquals(orcReader.getFooter().getRowsInRowGroup(), 10_000);
+
+            // the index matches rows of the second and the last row group only
+            long stripeOffset = orcReader.getFooter().getStripes().get(0).getOffset();
+            IndexMetadata index = new IndexMetadata(new TestingPositionsIndex(ImmutableList.of(10_005, 10_006, 19_999, 141_000)), "test", new String[] {"test"}, null, null, stripeOffset, 0);
+
+            try (OrcRecordReader reader = orcReader.createRecordReader(
+                    orcReader.getRootColumn().getNestedColumns(),
+                    ImmutableList.of(BIGINT),
+                    OrcPredicate.TRUE,
+                    0,
+                    orcDataSource.getSize(),
+                    HIVE_STORAGE_TIME_ZONE,
+                    newSimpleAggregatedMemoryContext(),
+                    INITIAL_BATCH_SIZE,
+                    RuntimeException::new,
+                    Optional.of(ImmutableList.of(index)),
+                    null,
+                    ImmutableMap.of("test", Domain.singleValue(BIGINT, 10_005L)),
+                    OrcCacheStore.CACHE_NOTHING,
+                    new OrcCacheProperties(),
+                    false)) {
+                ImmutableList.Builder<Long> values = ImmutableList.builder();
+                boolean firstPage = true;
+                for (Page page = reader.nextPage(); page != null; page = reader.nextPage()) {
+                    if (firstPage) {
+                        // the first row group has no matching rows, so it is not read
+                        assertEquals(reader.getFilePosition(), 10_000);
+                        firstPage = false;
+                    }
+                    Block block = page.getLoadedPage().getBlock(0);
+                    for (int i = 0; i < block.getPositionCount(); i++) {
+                        values.add(BIGINT.getLong(block, i));
+                    }
+                }
+                assertEquals(values.build(), ImmutableList.of(10_005L, 10_006L, 19_999L, 141_000L));
+            }
+        }
+    }
+
     @Test
     public void testBatchSizesForVariableWidth()
             throws Exception
@@ -508,4 +574,58 @@ public class TestOrcReaderPositions
 
         writer.close(false);
     }
+
+    private static class TestingPositionsIndex
+            implements Index
+    {
+        private final List<Integer> positions;
+
+        TestingPositionsIndex(List<Integer> positions)
+        {
+            this.positions = positions;
+        }
+
+        @Override
+        public Set<CreateIndexMetadata.Level> getSupportedIndexLevels()
+        {
+            return ImmutableSet.of(CreateIndexMetadata.Level.STRIPE);
+        }
+
+        @Override
+        public String getId()
+        {
+            return "TESTING";
+        }
+
+        @Override
+        public boolean addValues(List<Pair<String, List<Object>>> values)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean matches(Object expression)
+        {
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Comparable<T>> Iterator<T> lookUp(Object expression)
+        {
+            return (Iterator<T>) positions.iterator();
+        }
+
+        @Override
+        public void serialize(OutputStream out)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Index deserialize(InputStream in)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -34,6 +34,7 @@ import io.prestosql.plugin.jdbc.ConnectionFactory;
 import io.prestosql.plugin.jdbc.DoubleWriteFunction;
 import io.prestosql.plugin.jdbc.JdbcColumnHandle;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
+import io.prestosql.plugin.jdbc.JdbcOutputTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTypeHandle;
 import io.prestosql.plugin.jdbc.LongWriteFunction;
@@ -68,6 +69,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -277,14 +279,23 @@ public abstract class BasePostgreSqlClient
         return true;
     }
 
+    @Override
+    public Optional<String> buildMultiRowInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return Optional.of(buildMultiRowValuesInsertSql(handle, rowCount));
+    }
+
     protected static ColumnMapping timestampWithTimeZoneColumnMapping()
     {
         return ColumnMapping.longMapping(
                 TIMESTAMP_WITH_TIME_ZONE,
                 (resultSet, columnIndex) -> {
                     // PostgreSQL does not store zone information in "timestamp with time zone" data type
-                    long millisUtc = resultSet.getTimestamp(columnIndex).getTime();
-                    return packDateTimeWithZone(millisUtc, UTC_KEY);
+                    Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+                    if (timestamp == null) {
+                        return 0;
+                    }
+                    return packDateTimeWithZone(timestamp.getTime(), UTC_KEY);
                 },
                 timestampWithTimeZoneWriteFunction());
     }
@@ -309,7 +320,11 @@ public abstract class BasePostgreSqlClient
     protected static BlockReadFunction arrayReadFunction(ConnectorSession session, Type elementType)
     {
         return (resultSet, columnIndex) -> {
-            Object[] objectArray = toBoxedArray(resultSet.getArray(columnIndex).getArray());
+            Array array = resultSet.getArray(columnIndex);
+            if (array == null) {
+                return null;
+            }
+            Object[] objectArray = toBoxedArray(array.getArray());
             return jdbcObjectArrayToBlock(session, elementType, objectArray);
         };
     }
@@ -362,7 +377,10 @@ public abstract class BasePostgreSqlClient
     {
         return ColumnMapping.sliceMapping(
                 uuidType,
-                (resultSet, columnIndex) -> uuidSlice((UUID) resultSet.getObject(columnIndex)),
+                (resultSet, columnIndex) -> {
+                    UUID value = (UUID) resultSet.getObject(columnIndex);
+                    return value == null ? null : uuidSlice(value);
+                },
                 uuidWriteFunction());
     }
 
@@ -152,7 +152,10 @@ public class PostgreSqlClient
     {
         return ColumnMapping.sliceMapping(
                 jsonType,
-                (resultSet, columnIndex) -> jsonParse(utf8Slice(resultSet.getString(columnIndex))),
+                (resultSet, columnIndex) -> {
+                    String value = resultSet.getString(columnIndex);
+                    return value == null ? null : jsonParse(utf8Slice(value));
+                },
                 typedVarcharWriteFunction("json"),
                 DISABLE_PUSHDOWN);
     }
@@ -162,7 +165,10 @@ public class PostgreSqlClient
     {
         return ColumnMapping.sliceMapping(
                 VarcharType.VARCHAR,
-                (resultSet, columnIndex) -> utf8Slice(resultSet.getString(columnIndex)),
+                (resultSet, columnIndex) -> {
+                    String value = resultSet.getString(columnIndex);
+                    return value == null ? null : utf8Slice(value);
+                },
                 typedVarcharWriteFunction(jdbcTypeName));
     }
 
@@ -31,6 +31,8 @@ public class HetuConstant
     public static final String FILTER_CACHE_SOFT_REFERENCE = "hetu.heuristicindex.filter.cache.soft-reference";
     public static final String FILTER_CACHE_PRELOAD_INDICES = "hetu.heuristicindex.filter.cache.preload-indices";
     public static final String FILTER_CACHE_AUTOLOAD_DEFAULT = "hetu.heuristicindex.filter.cache.autoload-default";
+    public static final String FILTER_BATCH_LOOKUP_ENABLED = "hetu.heuristicindex.filter.batch-lookup.enabled";
+    public static final String FILTER_BATCH_LOOKUP_TIMEOUT = "hetu.heuristicindex.filter.batch-lookup.timeout";
     public static final String INDEXSTORE_URI = "hetu.heuristicindex.indexstore.uri";
     public static final String INDEXSTORE_FILESYSTEM_PROFILE = "hetu.heuristicindex.indexstore.filesystem.profile";
     public static final String DATA_CENTER_CONNECTOR_NAME = "dc";
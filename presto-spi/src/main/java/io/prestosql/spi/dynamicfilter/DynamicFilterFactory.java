@@ -48,6 +48,11 @@ public class DynamicFilterFactory
         }
     }
 
+    public static RangeDynamicFilter create(String filterId, ColumnHandle columnHandle, List<?> bounds, DynamicFilter.Type type)
+    {
+        return new RangeDynamicFilter(filterId, columnHandle, bounds, type);
+    }
+
     public static CombinedDynamicFilter combine(ColumnHandle columnHandle, DynamicFilter filter1, DynamicFilter filter2)
     {
         return new CombinedDynamicFilter(columnHandle, filter1, filter2);
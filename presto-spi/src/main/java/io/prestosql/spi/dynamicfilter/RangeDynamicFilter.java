@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.spi.dynamicfilter;
+
+import io.prestosql.spi.connector.ColumnHandle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * RangeDynamicFilter keeps a small, sorted list of disjoint closed ranges covering the build side values.
+ * It is used when the build side is too large for a hash set or bloom filter, so that probe side scans can
+ * still skip data by min/max statistics.
+ * <p>
+ * The ranges are stored as a flat list of bounds: [low0, high0, low1, high1, ...]. All bounds must be
+ * mutually {@link Comparable} (e.g. Long, Double or Slice values).
+ */
+public class RangeDynamicFilter
+        extends DynamicFilter
+{
+    public static final int DEFAULT_MAX_RANGES = 8;
+
+    private final List<Object> bounds;
+
+    public RangeDynamicFilter(String filterId, ColumnHandle columnHandle, List<?> bounds, Type type)
+    {
+        requireNonNull(bounds, "bounds is null");
+        if (bounds.size() % 2 != 0) {
+            throw new IllegalArgumentException("bounds must contain pairs of low and high values");
+        }
+        this.filterId = filterId;
+        this.columnHandle = columnHandle;
+        this.bounds = Collections.unmodifiableList(new ArrayList<>(bounds));
+        this.type = type;
+        if (!bounds.isEmpty()) {
+            this.min = bounds.get(0);
+            this.max = bounds.get(bounds.size() - 1);
+        }
+    }
+
+    /**
+     * Get the bounds of the ranges of current dynamic filter
+     *
+     * @return sorted bounds in the form of [low0, high0, low1, high1, ...]
+     */
+    public List<Object> getBounds()
+    {
+        return bounds;
+    }
+
+    @Override
+    public boolean contains(Object value)
+    {
+        if (value == null || bounds.isEmpty()) {
+            return false;
+        }
+        if (!bounds.get(0).getClass().isInstance(value)) {
+            // values of a different representation cannot be compared, do not filter them
+            return true;
+        }
+
+        // binary search for the last range whose low bound is not greater than the value
+        int low = 0;
+        int high = bounds.size() / 2 - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compare(bounds.get(mid * 2), value) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return candidate >= 0 && compare(value, bounds.get(candidate * 2 + 1)) <= 0;
+    }
+
+    @Override
+    public long getSize()
+    {
+        return bounds.size() / 2;
+    }
+
+    @Override
+    public DynamicFilter clone()
+    {
+        return new RangeDynamicFilter(filterId, columnHandle, bounds, type);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return bounds.isEmpty();
+    }
+
+    /**
+     * Merge partial range bounds into a sorted list of disjoint ranges.
+     * Overlapping ranges are coalesced, and if more than maxRanges ranges remain
+     * they are collapsed into a single range spanning all values.
+     *
+     * @param partialBounds collection of bounds lists, each in the form of [low0, high0, low1, high1, ...]
+     * @param maxRanges maximum number of ranges to keep
+     * @return merged bounds
+     */
+    public static List<Object> mergeRanges(Collection<? extends List<?>> partialBounds, int maxRanges)
+    {
+        List<Object[]> ranges = new ArrayList<>();
+        for (List<?> bounds : partialBounds) {
+            for (int i = 0; i + 1 < bounds.size(); i += 2) {
+                ranges.add(new Object[] {bounds.get(i), bounds.get(i + 1)});
+            }
+        }
+        if (ranges.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        ranges.sort((left, right) -> compare(left[0], right[0]));
+        List<Object> merged = new ArrayList<>();
+        Object currentLow = ranges.get(0)[0];
+        Object currentHigh = ranges.get(0)[1];
+        for (int i = 1; i < ranges.size(); i++) {
+            Object[] range = ranges.get(i);
+            if (compare(range[0], currentHigh) <= 0) {
+                if (compare(range[1], currentHigh) > 0) {
+                    currentHigh = range[1];
+                }
+            }
+            else {
+                merged.add(currentLow);
+                merged.add(currentHigh);
+                currentLow = range[0];
+                currentHigh = range[1];
+            }
+        }
+        merged.add(currentLow);
+        merged.add(currentHigh);
+
+        if (merged.size() / 2 > maxRanges) {
+            Object low = merged.get(0);
+            Object high = merged.get(merged.size() - 1);
+            merged.clear();
+            merged.add(low);
+            merged.add(high);
+        }
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object left, Object right)
+    {
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+}
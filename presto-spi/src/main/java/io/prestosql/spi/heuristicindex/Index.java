@@ -15,17 +15,23 @@
 
 package io.prestosql.spi.heuristicindex;
 
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.CreateIndexMetadata;
+import io.prestosql.spi.type.Type;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
+import static io.prestosql.spi.heuristicindex.TypeUtils.getActualValue;
+
 /**
  * Interface implemented by all types of indexes (ie, Bloom, minmax etc)
  *
@@ -67,6 +73,30 @@ public interface Index
     boolean addValues(List<Pair<String, List<Object>>> values)
             throws IOException;
 
+    /**
+     * Adds the values of one column to the index, reading them from the blocks holding them.
+     * The positions of the blocks are added in order, as if they were a single list of values.
+     * <p>
+     * The default implementation converts every value to a Java object and calls {@link #addValues(List)}.
+     * Indexes should override it to read the values with the accessors of the type instead.
+     *
+     * @param column name of the column
+     * @param blocks blocks holding the column values
+     * @param type type of the column
+     * @return whether the values are successfully added
+     */
+    default boolean addValues(String column, List<Block> blocks, Type type)
+            throws IOException
+    {
+        List<Object> values = new ArrayList<>();
+        for (Block block : blocks) {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                values.add(getActualValue(type, block, position));
+            }
+        }
+        return addValues(Collections.singletonList(new Pair<>(column, values)));
+    }
+
     /**
      * Add a list of value->symbol pairs to index, for example, 3 -> "ORCFile1"
      * <p>
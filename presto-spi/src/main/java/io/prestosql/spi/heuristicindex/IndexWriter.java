@@ -14,11 +14,19 @@
  */
 package io.prestosql.spi.heuristicindex;
 
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.type.Type;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
+import static io.prestosql.spi.heuristicindex.TypeUtils.getActualValue;
+
 public interface IndexWriter
 {
     /**
@@ -31,6 +39,33 @@ public interface IndexWriter
     void addData(Map<String, List<Object>> values, Properties connectorMetadata)
             throws IOException;
 
+    /**
+     * Add the values of a page to the writer cache. Writers can keep the values in their blocks, so the indexes
+     * can read them with the accessors of the column types instead of converting every value to a Java object.
+     * <p>
+     * The default implementation converts the values and calls {@link #addData(Map, Properties)}.
+     *
+     * @param page page holding one channel for each indexed column
+     * @param columns name and type of the indexed columns, in the order of the page channels
+     * @param connectorMetadata metadata for the index
+     * @throws IOException thrown during index creation
+     */
+    default void addData(Page page, List<Pair<String, Type>> columns, Properties connectorMetadata)
+            throws IOException
+    {
+        Map<String, List<Object>> values = new HashMap<>();
+        for (int channel = 0; channel < page.getChannelCount(); channel++) {
+            Block block = page.getBlock(channel);
+            Type type = columns.get(channel).getSecond();
+            List<Object> columnValues = new ArrayList<>(block.getPositionCount());
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                columnValues.add(getActualValue(type, block, position));
+            }
+            values.put(columns.get(channel).getFirst(), columnValues);
+        }
+        addData(values, connectorMetadata);
+    }
+
     long persist()
             throws IOException;
 }
@@ -17,6 +17,7 @@ package io.prestosql.spi.heuristicindex;
 
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.function.BuiltInFunctionHandle;
 import io.prestosql.spi.relation.CallExpression;
 import io.prestosql.spi.relation.ConstantExpression;
@@ -44,6 +45,7 @@ import java.util.Locale;
 
 import static com.google.common.base.Preconditions.checkState;
 import static io.prestosql.spi.type.Decimals.decodeUnscaledValue;
+import static io.prestosql.spi.type.TypeUtils.readNativeValue;
 import static java.lang.Float.intBitsToFloat;
 
 public class TypeUtils
@@ -101,6 +103,19 @@ public class TypeUtils
         throw new UnsupportedOperationException("Not Implemented Exception: " + value + "->" + type);
     }
 
+    /**
+     * Reads the value at the given position of the block and converts it like {@link #getActualValue(Type, Object)}.
+     *
+     * @return the converted value, or {@code null} if the position is null
+     */
+    public static Object getActualValue(Type type, Block block, int position)
+    {
+        if (block.isNull(position)) {
+            return null;
+        }
+        return getActualValue(type, readNativeValue(type, block, position));
+    }
+
     public static Object extractValueFromRowExpression(RowExpression rowExpression)
     {
         if (rowExpression instanceof CallExpression) {
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.spi.dynamicfilter;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestRangeDynamicFilter
+{
+    @Test
+    public void testContains()
+    {
+        RangeDynamicFilter filter = new RangeDynamicFilter("1", null, ImmutableList.of(1L, 10L, 20L, 30L), DynamicFilter.Type.GLOBAL);
+
+        assertTrue(filter.contains(1L));
+        assertTrue(filter.contains(5L));
+        assertTrue(filter.contains(30L));
+        assertFalse(filter.contains(0L));
+        assertFalse(filter.contains(15L));
+        assertFalse(filter.contains(31L));
+        assertFalse(filter.contains(null));
+        assertEquals(filter.getMin(), 1L);
+        assertEquals(filter.getMax(), 30L);
+        assertEquals(filter.getSize(), 2);
+    }
+
+    @Test
+    public void testContainsSlice()
+    {
+        RangeDynamicFilter filter = new RangeDynamicFilter("1", null, ImmutableList.of(utf8Slice("b"), utf8Slice("d")), DynamicFilter.Type.LOCAL);
+
+        assertTrue(filter.contains(utf8Slice("c")));
+        assertFalse(filter.contains(utf8Slice("a")));
+        assertFalse(filter.contains(utf8Slice("e")));
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        RangeDynamicFilter filter = new RangeDynamicFilter("1", null, ImmutableList.of(), DynamicFilter.Type.LOCAL);
+
+        assertTrue(filter.isEmpty());
+        assertFalse(filter.contains(1L));
+    }
+
+    @Test
+    public void testMergeRanges()
+    {
+        List<Object> merged = RangeDynamicFilter.mergeRanges(
+                ImmutableList.of(ImmutableList.of(20L, 30L), ImmutableList.of(1L, 5L), ImmutableList.of(4L, 8L)),
+                RangeDynamicFilter.DEFAULT_MAX_RANGES);
+        assertEquals(merged, ImmutableList.of(1L, 8L, 20L, 30L));
+
+        List<Object> collapsed = RangeDynamicFilter.mergeRanges(
+                ImmutableList.of(ImmutableList.of(20L, 30L), ImmutableList.of(1L, 5L)),
+                1);
+        assertEquals(collapsed, ImmutableList.of(1L, 30L));
+    }
+}
@@ -20,6 +20,7 @@ import io.prestosql.plugin.jdbc.ColumnMapping;
 import io.prestosql.plugin.jdbc.ConnectionFactory;
 import io.prestosql.plugin.jdbc.JdbcColumnHandle;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
+import io.prestosql.plugin.jdbc.JdbcOutputTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTypeHandle;
 import io.prestosql.plugin.jdbc.StatsCollecting;
@@ -57,6 +58,9 @@ public class SqlServerClient
     // SqlServer supports 2100 parameters in prepared statement, let's create a space for about 4 big IN predicates
     private static final int SQL_SERVER_MAX_LIST_EXPRESSIONS = 500;
 
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+    private static final int MAX_PARAMETERS_PER_STATEMENT = 2100;
+
     // TODO improve this by calling Domain#simplify
     private static final UnaryOperator<Domain> DISABLE_UNSUPPORTED_PUSHDOWN = domain -> {
         if (domain.getValues().getRanges().getRangeCount() <= SQL_SERVER_MAX_LIST_EXPRESSIONS) {
@@ -164,6 +168,15 @@ public class SqlServerClient
         return true;
     }
 
+    @Override
+    public Optional<String> buildMultiRowInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        if (rowCount > MAX_ROWS_PER_INSERT || (long) rowCount * handle.getColumnNames().size() > MAX_PARAMETERS_PER_STATEMENT) {
+            return Optional.empty();
+        }
+        return Optional.of(buildMultiRowValuesInsertSql(handle, rowCount));
+    }
+
     private static String singleQuoteByList(String... objects)
     {
         return singleQuote(DOT_JOINER.join(objects));